@@ -34,11 +34,13 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectBuildingException;
 import org.codehaus.mojo.license.api.DefaultThirdPartyHelper;
+import org.codehaus.mojo.license.api.DefaultThirdPartyTool;
 import org.codehaus.mojo.license.api.DependenciesTool;
 import org.codehaus.mojo.license.api.ThirdPartyHelper;
 import org.codehaus.mojo.license.api.ThirdPartyTool;
 import org.codehaus.mojo.license.api.ThirdPartyToolException;
 import org.codehaus.mojo.license.model.LicenseMap;
+import org.codehaus.mojo.license.model.LicensePolicy;
 import org.codehaus.mojo.license.utils.FileUtil;
 import org.codehaus.mojo.license.utils.MojoHelper;
 import org.codehaus.mojo.license.utils.SortedProperties;
@@ -104,6 +106,38 @@ public abstract class AbstractAddThirdPartyMojo
     @Parameter( property = "license.useRepositoryMissingFiles", defaultValue = "true" )
     protected boolean useRepositoryMissingFiles;
 
+    /**
+     * To record the third party descriptors not found in the remote repositories (see
+     * {@link #useRepositoryMissingFiles}) in {@link #thirdPartyDescriptorMissCacheFile}, so that they are not looked
+     * up again by the next builds during {@link #thirdPartyDescriptorMissTtl} hours. Misses are never recorded in
+     * offline mode.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( property = "license.useThirdPartyDescriptorMissCache", defaultValue = "false" )
+    boolean useThirdPartyDescriptorMissCache;
+
+    /**
+     * Number of hours during which a third party descriptor not found in the remote repositories is not looked up
+     * again when {@link #useThirdPartyDescriptorMissCache} is set; misses are kept per dependency and remote
+     * repository, SNAPSHOT dependencies are always looked up.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( property = "license.thirdPartyDescriptorMissTtl", defaultValue = "24" )
+    int thirdPartyDescriptorMissTtl;
+
+    /**
+     * The file where the third party descriptors missing from the remote repositories are recorded when
+     * {@link #useThirdPartyDescriptorMissCache} is set; by default it is shared by all the builds using the same local
+     * repository.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( property = "license.thirdPartyDescriptorMissCacheFile",
+                defaultValue = "${settings.localRepository}/.license-metadata/third-party-misses.properties" )
+    File thirdPartyDescriptorMissCacheFile;
+
     /**
      * If {@code true} the mojo will be executed for reactor projects having any packaging (including {@code pom});
      * otherwise the mojo will be executed only for projects that do <b>not</b> have packaging {@code pom}.
@@ -257,6 +291,41 @@ public abstract class AbstractAddThirdPartyMojo
     @Parameter( property = "license.includeTransitiveDependencies", defaultValue = "true" )
     boolean includeTransitiveDependencies;
 
+    /**
+     * Number of threads used to build the projects of the dependencies.
+     * <p>
+     * Building the effective POM of each dependency is the most expensive part of the goal on big dependency graphs;
+     * by default the POMs are built one after the other. Whatever the value is, dependencies are reported in the
+     * same order.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( property = "license.dependencyThreads", defaultValue = "1" )
+    int dependencyThreads;
+
+    /**
+     * If {@code true}, the name, url and licenses read from the POMs of the dependencies are kept in a persistent
+     * cache (see {@link #licenseMetadataCacheDirectory}), and read from there by the next builds instead of building
+     * the POMs again.
+     * <p>
+     * The entries of released versions are always reused, the ones of SNAPSHOT versions only while their POM file is
+     * unchanged in the local repository.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( property = "license.useLicenseMetadataCache", defaultValue = "false" )
+    boolean useLicenseMetadataCache;
+
+    /**
+     * The directory of the cache used when {@link #useLicenseMetadataCache} is {@code true}; by default it is shared
+     * by all the builds using the same local repository.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( property = "license.licenseMetadataCacheDirectory",
+                defaultValue = "${settings.localRepository}/.license-metadata" )
+    File licenseMetadataCacheDirectory;
+
     /**
      * If {@code true} enforces excluding transitive dependencies of the
      * excluded artifacts in the reactor; otherwise only artifacts that match
@@ -771,7 +840,8 @@ public abstract class AbstractAddThirdPartyMojo
             LOG.warn( "" );
             if ( UrlRequester.isStringUrl( licenseMergesUrl ) )
             {
-                licenseMerges = Arrays.asList( UrlRequester.getFromUrl( licenseMergesUrl ).split( "[\n\r]+" ) );
+                licenseMerges = Arrays.asList( UrlRequester.getFromUrl( licenseMergesUrl, getUrlContentCache() )
+                        .split( "[\n\r]+" ) );
             }
         }
 
@@ -867,11 +937,22 @@ public abstract class AbstractAddThirdPartyMojo
         {
             helper = new DefaultThirdPartyHelper( getProject(), getEncoding(), isVerbose(), dependenciesTool,
                     thirdPartyTool, getProject().getRemoteArtifactRepositories(),
-                    getProject().getRemoteProjectRepositories() );
+                    getProject().getRemoteProjectRepositories(),
+                    LicenseMojoUtils.loadThirdPartyDescriptorMissCache( getSession().getRepositorySession(),
+                            getThirdPartyDescriptorMissCacheFile(), thirdPartyDescriptorMissTtl ),
+                    getUrlContentCache() );
         }
         return helper;
     }
 
+    /**
+     * @return the file of the cache of the missing third party descriptors, or {@code null} if it is not used
+     */
+    File getThirdPartyDescriptorMissCacheFile()
+    {
+        return useThirdPartyDescriptorMissCache ? thirdPartyDescriptorMissCacheFile : null;
+    }
+
     void resolveUnsafeDependenciesFromArtifact( String groupId, String artifactId, String version )
       throws ArtifactNotFoundException, IOException, ArtifactResolutionException, MojoExecutionException
     {
@@ -897,7 +978,7 @@ public abstract class AbstractAddThirdPartyMojo
         }
         if ( useMissingFile && UrlRequester.isStringUrl( missingFileUrl ) )
         {
-            String httpRequestResult = UrlRequester.getFromUrl( missingFileUrl );
+            String httpRequestResult = UrlRequester.getFromUrl( missingFileUrl, getUrlContentCache() );
             unsafeMappings.load( new ByteArrayInputStream( httpRequestResult.getBytes() ) );
         }
 
@@ -949,101 +1030,33 @@ public abstract class AbstractAddThirdPartyMojo
     {
         List<String> whiteLicenses = getIncludedLicenses();
         List<String> blackLicenses = getExcludedLicenses();
-        Set<String> unsafeLicenses = new HashSet<>();
         if ( CollectionUtils.isNotEmpty( blackLicenses ) )
         {
-            Set<String> licenses = licenseMap.keySet();
             LOG.info( "Excluded licenses (blacklist): {}", blackLicenses );
-
-            for ( String excludeLicense : blackLicenses )
-            {
-                if ( licenses.contains( excludeLicense )
-                        && CollectionUtils.isNotEmpty( licenseMap.get( excludeLicense ) ) )
-                {
-                    //bad license found
-                    unsafeLicenses.add( excludeLicense );
-                }
-            }
         }
-
         if ( CollectionUtils.isNotEmpty( whiteLicenses ) )
         {
-            Set<String> dependencyLicenses = licenseMap.keySet();
             LOG.info( "Included licenses (whitelist): {}", whiteLicenses );
-
-            for ( String dependencyLicense : dependencyLicenses )
-            {
-                LOG.debug( "Testing license '{}'", dependencyLicense );
-                if ( !whiteLicenses.contains( dependencyLicense )
-                        && CollectionUtils.isNotEmpty( licenseMap.get( dependencyLicense ) ) )
-                {
-                    LOG.debug( "Testing dependency license '{}' against all other licenses", dependencyLicense );
-
-                    for ( MavenProject dependency : licenseMap.get( dependencyLicense ) )
-                    {
-                        LOG.debug( "- testing dependency {}" + dependency );
-
-                        boolean forbiddenLicenseUsed = true;
-
-                        for ( String otherLicense : dependencyLicenses )
-                        {
-                            // skip this license if it is the same as the dependency license
-                            // skip this license if it has no projects assigned
-                            if ( otherLicense.equals( dependencyLicense )
-                                    || licenseMap.get( dependencyLicense ).isEmpty() )
-                            {
-                                continue;
-                            }
-
-                            // skip this license if it isn't one of the whitelisted
-                            if ( !whiteLicenses.contains( otherLicense ) )
-                            {
-                                continue;
-                            }
-
-                            if ( licenseMap.get( otherLicense ).contains( dependency ) )
-                            {
-                                LOG.info( "License: '{}' for '{}' is OK since it is also licensed under '{}'",
-                                         dependencyLicense,
-                                         dependency,
-                                         otherLicense );
-                                // this dependency is licensed under another license from white list
-                                forbiddenLicenseUsed = false;
-                                break;
-                            }
-                        }
-
-                        //bad license found
-                        if ( forbiddenLicenseUsed )
-                        {
-                            unsafeLicenses.add( dependencyLicense );
-                            break;
-                        }
-                    }
-                }
-            }
         }
 
-        boolean safe = CollectionUtils.isEmpty( unsafeLicenses );
+        LicenseMap unsafeLicenses = new LicensePolicy( whiteLicenses, blackLicenses ).getViolations( licenseMap );
+
+        boolean safe = unsafeLicenses.isEmpty();
 
         if ( !safe )
         {
             LOG.warn( "There are {} forbidden licenses used:", unsafeLicenses.size() );
-            for ( String unsafeLicense : unsafeLicenses )
+            for ( Map.Entry<String, SortedSet<MavenProject>> entry : unsafeLicenses.entrySet() )
             {
-
-                SortedSet<MavenProject> deps = licenseMap.get( unsafeLicense );
-                if ( !deps.isEmpty() )
+                SortedSet<MavenProject> deps = entry.getValue();
+                StringBuilder sb = new StringBuilder();
+                sb.append( "License: '" ).append( entry.getKey() ).append( "' used by " ).append( deps.size() )
+                    .append( " dependencies:" );
+                for ( MavenProject dep : deps )
                 {
-                    StringBuilder sb = new StringBuilder();
-                    sb.append( "License: '" ).append( unsafeLicense ).append( "' used by " ).append( deps.size() )
-                        .append( " dependencies:" );
-                    for ( MavenProject dep : deps )
-                    {
-                        sb.append( "\n -" ).append( MojoHelper.getArtifactName( dep ) );
-                    }
-                    LOG.warn( "{}", sb );
+                    sb.append( "\n -" ).append( MojoHelper.getArtifactName( dep ) );
                 }
+                LOG.warn( "{}", sb );
             }
         }
         return safe;
@@ -1074,7 +1087,15 @@ public abstract class AbstractAddThirdPartyMojo
 
     void overrideLicenses() throws IOException
     {
-        thirdPartyTool.overrideLicenses( licenseMap, projectDependencies, getEncoding(), resolvedOverrideUrl );
+        if ( getUrlContentCache() != null && thirdPartyTool instanceof DefaultThirdPartyTool )
+        {
+            ( (DefaultThirdPartyTool) thirdPartyTool ).overrideLicenses( licenseMap, projectDependencies,
+                    getEncoding(), resolvedOverrideUrl, getUrlContentCache() );
+        }
+        else
+        {
+            thirdPartyTool.overrideLicenses( licenseMap, projectDependencies, getEncoding(), resolvedOverrideUrl );
+        }
     }
 
     private boolean isFailOnMissing()
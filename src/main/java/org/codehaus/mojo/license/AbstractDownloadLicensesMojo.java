@@ -25,6 +25,7 @@ package org.codehaus.mojo.license;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
@@ -32,6 +33,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -39,11 +41,17 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang.StringEscapeUtils;
 import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Component;
@@ -51,12 +59,15 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.settings.Proxy;
 import org.codehaus.mojo.license.api.ArtifactFilters;
-import org.codehaus.mojo.license.api.MavenProjectDependenciesConfigurator;
+import org.codehaus.mojo.license.api.DependencyBuildConfigurator;
 import org.codehaus.mojo.license.download.Cache;
 import org.codehaus.mojo.license.download.FileNameEntry;
+import org.codehaus.mojo.license.download.LicenseDownloadIndex;
 import org.codehaus.mojo.license.download.LicenseDownloader;
 import org.codehaus.mojo.license.download.LicenseDownloader.LicenseDownloadResult;
+import org.codehaus.mojo.license.download.LicenseFileHashes;
 import org.codehaus.mojo.license.download.LicenseMatchers;
+import org.codehaus.mojo.license.download.LicenseStore;
 import org.codehaus.mojo.license.download.LicenseSummaryReader;
 import org.codehaus.mojo.license.download.LicensedArtifact;
 import org.codehaus.mojo.license.download.PreferredFileNames;
@@ -67,6 +78,9 @@ import org.codehaus.mojo.license.osgi.JarEmbeddedFiles;
 import org.codehaus.mojo.license.spdx.SpdxLicenseList;
 import org.codehaus.mojo.license.spdx.SpdxLicenseList.Attachments.ContentSanitizer;
 import org.codehaus.mojo.license.utils.FileUtil;
+import org.codehaus.mojo.license.utils.FutureUtil;
+import org.codehaus.mojo.license.utils.SharedHttpClient;
+import org.codehaus.mojo.license.utils.UrlContentCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -77,7 +91,7 @@ import org.slf4j.LoggerFactory;
  */
 public abstract class AbstractDownloadLicensesMojo
     extends AbstractLicensesXmlMojo
-    implements MavenProjectDependenciesConfigurator
+    implements DependencyBuildConfigurator
 {
     private static final Logger LOG = LoggerFactory.getLogger( AbstractDownloadLicensesMojo.class );
 
@@ -616,6 +630,91 @@ public abstract class AbstractDownloadLicensesMojo
     @Parameter( property = "license.connectionRequestTimeout", defaultValue = "5000" )
     private int connectionRequestTimeout;
 
+    /**
+     * Current maven session.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( defaultValue = "${session}", readonly = true )
+    private MavenSession session;
+
+    /**
+     * Maximum number of licenses downloaded at the same time.
+     * <p>
+     * By default, licenses are downloaded one after the other. With a greater value, the licenses to download are
+     * fetched in parallel (each URL only once) before being handled in the same order as with a single download.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( property = "license.downloadThreads", defaultValue = "1" )
+    private int downloadThreads;
+
+    /**
+     * If {@code true}, the licenses already downloaded are revalidated against their remote URLs using conditional
+     * HTTP requests ({@code If-None-Match} and {@code If-Modified-Since}): a license is only transferred again if it
+     * changed on the server; otherwise the existing local file is kept as is.
+     * <p>
+     * The {@code ETag} and {@code Last-Modified} values sent by the servers are recorded in
+     * {@link #downloadIndexFile}. Licenses not found in this index are downloaded unconditionally.
+     * <p>
+     * Unlike {@link #forceDownload}, the licenses are not all transferred again at each build, so this mode is cheap
+     * enough to keep the local license files up to date on every build.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( property = "license.revalidateDownloads", defaultValue = "false" )
+    private boolean revalidateDownloads;
+
+    /**
+     * The file where the HTTP validators of the downloaded licenses are stored when {@link #revalidateDownloads} is
+     * {@code true}.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( property = "license.downloadIndexFile",
+                defaultValue = "${project.build.directory}/license/license-download-index.properties" )
+    private File downloadIndexFile;
+
+    /**
+     * If {@code true}, the licenses are taken from a store shared by all the projects of the machine (see
+     * {@link #licenseStoreDirectory}) instead of being downloaded, and the downloaded licenses are added to this store.
+     * <p>
+     * The store is not used with {@link #forceDownload}; with {@link #revalidateDownloads}, the downloaded licenses are
+     * still added to the store but never taken from it.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( property = "license.useLicenseStore", defaultValue = "false" )
+    private boolean useLicenseStore;
+
+    /**
+     * The directory of the license store used when {@link #useLicenseStore} is {@code true}.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( property = "license.licenseStoreDirectory", defaultValue = "${user.home}/.m2/license-store" )
+    private File licenseStoreDirectory;
+
+    /**
+     * The maximal size (in kilobytes) of the license store; when the store gets bigger, the least recently used
+     * licenses are removed from it.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( property = "license.licenseStoreMaxSize", defaultValue = "65536" )
+    private long licenseStoreMaxSize;
+
+    /**
+     * The file where the sha1 of the existing license files are memoized between builds, along with the size and the
+     * last modification time of each file: a license file is only read again to compute its sha1 when one of them
+     * changed.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( property = "license.licenseFileHashesFile",
+                defaultValue = "${project.build.directory}/license/license-file-hashes.properties" )
+    private File licenseFileHashesFile;
+
     /**
      * A list of sanitizers to process the content of license files before storing them locally and before computing
      * their sha1 sums. Useful for removing parts of the content that change over time.
@@ -692,10 +791,17 @@ public abstract class AbstractDownloadLicensesMojo
     private int downloadErrorCount = 0;
 
     private ArtifactFilters artifactFilters;
+
+    /**
+     * Cache of the remote configuration URLs ({@link #artifactFiltersUrl}), or {@code null}.
+     */
+    private UrlContentCache urlContentCache;
     private final Set<String> orphanFileNames = new HashSet<>();
 
     private UrlReplacements urlReplacements;
 
+    private LicenseFileHashes fileHashes;
+
     protected abstract boolean isSkip();
 
     protected MavenProject getProject()
@@ -731,18 +837,38 @@ public abstract class AbstractDownloadLicensesMojo
         this.preferredFileNames = PreferredFileNames.build( licensesOutputDirectory, licenseUrlFileNames );
         this.cache = new Cache( licenseUrlFileNames != null && !licenseUrlFileNames.isEmpty() );
         this.urlReplacements = urlReplacements();
+        final SharedHttpClient httpClients;
+        if ( session != null && session.getRepositorySession() != null )
+        {
+            httpClients = SharedHttpClient.forSession( session );
+            // used by artifactFiltersUrl: each URL is fetched once per build
+            urlContentCache = UrlContentCache.forSession( session, findActiveProxy(), null, 0L );
+        }
+        else
+        {
+            httpClients = new SharedHttpClient();
+        }
 
         initDirectories();
 
         final LicenseMatchers matchers = LicenseMatchers.load( licensesConfigFile );
 
-        if ( !forceDownload )
+        try
         {
-            try
+            fileHashes = LicenseFileHashes.load( licenseFileHashesFile );
+        }
+        catch ( IOException e )
+        {
+            throw new MojoExecutionException( "Unable to read the license file hashes: " + licenseFileHashesFile, e );
+        }
+
+        if ( !forceDownload && licensesOutputFile.exists() )
+        {
+            try ( InputStream in = Files.newInputStream( licensesOutputFile.toPath() );
+                  LicenseSummaryReader reader = new LicenseSummaryReader( in ) )
             {
-                final List<ProjectLicenseInfo> projectLicenseInfos =
-                                LicenseSummaryReader.parseLicenseSummary( licensesOutputFile );
-                for ( ProjectLicenseInfo dep : projectLicenseInfos )
+                ProjectLicenseInfo dep;
+                while ( ( dep = reader.next() ) != null )
                 {
                     for ( ProjectLicense lic : dep.getLicenses() )
                     {
@@ -754,10 +880,11 @@ public abstract class AbstractDownloadLicensesMojo
                             if ( url != null )
                             {
                                 final File file = new File( licensesOutputDirectory, fileName );
-                                if ( file.exists() )
+                                /* when revalidating, the URL has to be requested anyway */
+                                if ( file.exists() && !isRevalidated( url ) )
                                 {
                                     final LicenseDownloadResult entry =
-                                        LicenseDownloadResult.success( file, FileUtil.sha1( file.toPath() ), false );
+                                        LicenseDownloadResult.success( file, fileHashes.sha1( file ), false );
                                     cache.put( url, entry );
                                 }
                             }
@@ -776,9 +903,42 @@ public abstract class AbstractDownloadLicensesMojo
         // The resulting list of licenses after dependency resolution
         final List<ProjectLicenseInfo> depProjectLicenses = new ArrayList<>();
 
+        LicenseDownloadIndex downloadIndex = null;
+        if ( revalidateDownloads && !offline )
+        {
+            try
+            {
+                downloadIndex = LicenseDownloadIndex.load( downloadIndexFile, licensesOutputDirectory,
+                                                           organizeLicensesByDependencies, fileHashes );
+            }
+            catch ( IOException e )
+            {
+                throw new MojoExecutionException( "Unable to read the download index file: " + downloadIndexFile, e );
+            }
+        }
+
+        LicenseStore licenseStore = null;
+        if ( useLicenseStore && !forceDownload && !offline )
+        {
+            try
+            {
+                // CHECKSTYLE_OFF: MagicNumber
+                licenseStore = LicenseStore.open( licenseStoreDirectory, licenseStoreMaxSize * 1024L );
+                // CHECKSTYLE_ON: MagicNumber
+            }
+            catch ( IOException e )
+            {
+                LOG.warn( "Unable to open the license store {}: {}", licenseStoreDirectory, e.getMessage() );
+            }
+        }
+
+        final int nbThreads = Math.max( downloadThreads, 1 );
+        final ExecutorService executor = nbThreads > 1 ? Executors.newFixedThreadPool( nbThreads ) : null;
+
         try ( LicenseDownloader licenseDownloader =
-            new LicenseDownloader( findActiveProxy(), connectTimeout, socketTimeout, connectionRequestTimeout,
-                                   contentSanitizers(), getCharset() ) )
+            new LicenseDownloader( httpClients, findActiveProxy(), connectTimeout, socketTimeout,
+                                   connectionRequestTimeout, contentSanitizers(), getCharset(), nbThreads,
+                                   downloadIndex, licenseStore ) )
         {
             for ( LicensedArtifact artifact : dependencies.values() )
             {
@@ -798,19 +958,32 @@ public abstract class AbstractDownloadLicensesMojo
             }
             if ( !offline )
             {
-                /* First save the matching URLs into the cache */
-                for ( ProjectLicenseInfo depProject : depProjectLicenses )
+                downloadAllLicenses( licenseDownloader, executor, depProjectLicenses );
+
+                if ( downloadIndex != null )
+                {
+                    downloadIndex.store();
+                }
+                try
                 {
-                    downloadLicenses( licenseDownloader, depProject, true );
+                    fileHashes.store();
                 }
-                LOG.debug( "Finished populating cache" );
-                 /*
-                 * Then attempt to download the rest of the URLs using the available cache entries to select local
-                 * file names based on file content sha1
-                 */
-                for ( ProjectLicenseInfo depProject : depProjectLicenses )
+                catch ( IOException e )
                 {
-                    downloadLicenses( licenseDownloader, depProject, false );
+                    LOG.warn( "Unable to write the license file hashes {}: {}", licenseFileHashesFile,
+                              e.getMessage() );
+                }
+                if ( licenseStore != null )
+                {
+                    try
+                    {
+                        licenseStore.store();
+                    }
+                    catch ( IOException e )
+                    {
+                        LOG.warn( "Unable to update the license store {}: {}", licenseStoreDirectory,
+                                  e.getMessage() );
+                    }
                 }
             }
         }
@@ -818,6 +991,13 @@ public abstract class AbstractDownloadLicensesMojo
         {
             throw new RuntimeException( e );
         }
+        finally
+        {
+            if ( executor != null )
+            {
+                executor.shutdownNow();
+            }
+        }
 
         try
         {
@@ -1031,7 +1211,8 @@ public abstract class AbstractDownloadLicensesMojo
         {
             artifactFilters = ArtifactFilters.of( includedGroups, excludedGroups, includedArtifacts, excludedArtifacts,
                                                   includedScopes, excludedScopes, includedTypes, excludedTypes,
-                                                  includeOptional, artifactFiltersUrl , getEncoding() );
+                                                  includeOptional, artifactFiltersUrl , getEncoding(),
+                                                  urlContentCache );
         }
         return artifactFilters;
     }
@@ -1045,6 +1226,24 @@ public abstract class AbstractDownloadLicensesMojo
         return getLog().isDebugEnabled();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getDependencyThreads()
+    {
+        return dependencyThreads;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public File getLicenseMetadataCacheDirectory()
+    {
+        return useLicenseMetadataCache ? licenseMetadataCacheDirectory : null;
+    }
+
     // ----------------------------------------------------------------------
     // Private Methods
     // ----------------------------------------------------------------------
@@ -1085,16 +1284,8 @@ public abstract class AbstractDownloadLicensesMojo
     }
 
     private Proxy findActiveProxy()
-        throws MojoExecutionException
     {
-        for ( Proxy proxy : proxies )
-        {
-            if ( proxy.isActive() && "http".equals( proxy.getProtocol() ) )
-            {
-                return proxy;
-            }
-        }
-        return null;
+        return SharedHttpClient.findActiveProxy( proxies );
     }
 
     /**
@@ -1212,15 +1403,180 @@ public abstract class AbstractDownloadLicensesMojo
         return licenseFileName;
     }
 
+    /**
+     * Downloads the licenses of the given projects.
+     *
+     * @param licenseDownloader the downloader
+     * @param executor the executor to download with, or {@code null} to download one license after the other
+     * @param depProjects the projects to download the licenses of
+     * @throws MojoFailureException if a download failed and {@link #errorRemedy} is {@code failFast}
+     */
+    void downloadAllLicenses( LicenseDownloader licenseDownloader, ExecutorService executor,
+                              List<ProjectLicenseInfo> depProjects )
+        throws MojoFailureException
+    {
+        /* First save the matching URLs into the cache */
+        Map<String, Future<LicenseDownloadResult>> prefetched =
+            prefetchLicenses( executor, licenseDownloader, depProjects, true );
+        try
+        {
+            for ( ProjectLicenseInfo depProject : depProjects )
+            {
+                downloadLicenses( licenseDownloader, prefetched, depProject, true );
+            }
+        }
+        finally
+        {
+            awaitPrefetched( prefetched );
+        }
+        LOG.debug( "Finished populating cache" );
+        /*
+         * Then attempt to download the rest of the URLs using the available cache entries to select local
+         * file names based on file content sha1
+         */
+        prefetched = prefetchLicenses( executor, licenseDownloader, depProjects, false );
+        try
+        {
+            for ( ProjectLicenseInfo depProject : depProjects )
+            {
+                downloadLicenses( licenseDownloader, prefetched, depProject, false );
+            }
+        }
+        finally
+        {
+            awaitPrefetched( prefetched );
+        }
+    }
+
+    /**
+     * Waits for the downloads started by {@link #prefetchLicenses} which were not used (e.g. when the pass failed),
+     * so that no download of a pass still runs during the next one.
+     *
+     * @param prefetched the remaining downloads
+     */
+    private static void awaitPrefetched( Map<String, Future<LicenseDownloadResult>> prefetched )
+    {
+        for ( Map.Entry<String, Future<LicenseDownloadResult>> entry : prefetched.entrySet() )
+        {
+            try
+            {
+                FutureUtil.get( entry.getValue(), Exception.class );
+            }
+            catch ( Exception e )
+            {
+                LOG.debug( "Unused download of '{}' failed", entry.getKey(), e );
+            }
+        }
+        prefetched.clear();
+    }
+
+    /**
+     * Starts to download in the given {@code executor} the licenses that {@link #downloadLicenses} will have to
+     * download for the given projects.
+     * <p>
+     * Each URL is only fetched for the first project which {@link #downloadLicenses} would download it for (the
+     * following ones reuse the {@link #cache}), and at most one URL is fetched for a given local file name (the other
+     * ones are left to {@link #downloadLicenses} to keep the sequential behaviour), so that the results can be
+     * applied to the {@link #cache} exactly as if they were downloaded one after the other.
+     *
+     * @param executor the executor to download with, or {@code null} to not download anything in advance
+     * @param licenseDownloader the downloader
+     * @param depProjects the projects to download the licenses of
+     * @param matchingUrlsOnly {@code true} for the pass downloading the preferred file names
+     * @return the downloads started by URL
+     */
+    private Map<String, Future<LicenseDownloadResult>> prefetchLicenses( ExecutorService executor,
+                                                                         final LicenseDownloader licenseDownloader,
+                                                                         List<ProjectLicenseInfo> depProjects,
+                                                                         boolean matchingUrlsOnly )
+    {
+        final Map<String, Future<LicenseDownloadResult>> result = new HashMap<>();
+        if ( executor == null )
+        {
+            return result;
+        }
+        final Set<String> plannedUrls = new HashSet<>();
+        final Set<String> plannedFiles = new HashSet<>();
+        for ( ProjectLicenseInfo depProject : depProjects )
+        {
+            for ( ProjectLicense license : depProject.getLicenses() )
+            {
+                if ( license.getUrl() == null )
+                {
+                    continue;
+                }
+                final String licenseUrl = urlReplacements.rewriteIfNecessary( license.getUrl() );
+                if ( plannedUrls.contains( licenseUrl ) || cache.get( licenseUrl ) != null )
+                {
+                    continue;
+                }
+                final FileNameEntry fileNameEntry;
+                try
+                {
+                    fileNameEntry = getLicenseFileName( depProject, licenseUrl, license.getName(), license.getFile() );
+                }
+                catch ( URISyntaxException e )
+                {
+                    /* reported by downloadLicenses() */
+                    continue;
+                }
+                if ( matchingUrlsOnly != fileNameEntry.isPreferred() )
+                {
+                    /* downloadLicenses() skips this URL for this project in this pass */
+                    continue;
+                }
+                /* the first project decides: the following ones will use what was cached for it */
+                plannedUrls.add( licenseUrl );
+                final File licenseOutputFile = fileNameEntry.getFile();
+                /* the downloader may change the file extension */
+                final String plannedFile = FilenameUtils.removeExtension( licenseOutputFile.getPath() );
+                if ( mustDownload( licenseUrl, licenseOutputFile ) && plannedFiles.add( plannedFile ) )
+                {
+                    result.put( licenseUrl, executor.submit( new Callable<LicenseDownloadResult>()
+                    {
+                        @Override
+                        public LicenseDownloadResult call() throws Exception
+                        {
+                            return licenseDownloader.downloadLicense( licenseUrl, fileNameEntry );
+                        }
+                    } ) );
+                }
+            }
+        }
+        LOG.debug( "Downloading {} license(s) using {} threads", result.size(), downloadThreads );
+        return result;
+    }
+
+    /**
+     * @param licenseUrl the license URL
+     * @param licenseOutputFile the file where the license would be downloaded
+     * @return {@code true} if the license has to be requested, {@code false} if the existing file can be used as is
+     */
+    private boolean mustDownload( String licenseUrl, File licenseOutputFile )
+    {
+        return !licenseOutputFile.exists() || forceDownload || isRevalidated( licenseUrl );
+    }
+
+    /**
+     * @param licenseUrl the license URL
+     * @return {@code true} if the license has to be revalidated against the server (see {@link #revalidateDownloads})
+     */
+    private boolean isRevalidated( String licenseUrl )
+    {
+        return revalidateDownloads && licenseUrl.toLowerCase( Locale.ROOT ).startsWith( "http" );
+    }
+
     /**
      * Download the licenses associated with this project
      *
+     * @param prefetched the downloads started by {@link #prefetchLicenses} for the current pass, by URL
      * @param depProject The project which generated the dependency
      * @param matchingUrlsOnly
      * @throws MojoFailureException
      */
-    private void downloadLicenses( LicenseDownloader licenseDownloader, ProjectLicenseInfo depProject,
-                                   boolean matchingUrlsOnly )
+    private void downloadLicenses( LicenseDownloader licenseDownloader,
+                                   Map<String, Future<LicenseDownloadResult>> prefetched,
+                                   ProjectLicenseInfo depProject, boolean matchingUrlsOnly )
         throws MojoFailureException
     {
         LOG.debug( "Downloading license(s) for project {}", depProject );
@@ -1286,10 +1642,14 @@ public abstract class AbstractDownloadLicensesMojo
                         final File licenseOutputFile = fileNameEntry.getFile();
                         if ( matchingUrlsOnly == fileNameEntry.isPreferred() )
                         {
-                            if ( !licenseOutputFile.exists() || forceDownload )
+                            /* only the project the download was started for gets here before the URL is cached */
+                            final Future<LicenseDownloadResult> prefetchedResult = prefetched.remove( licenseUrl );
+                            if ( prefetchedResult != null || mustDownload( licenseUrl, licenseOutputFile ) )
                             {
-                                LicenseDownloadResult result =
-                                    licenseDownloader.downloadLicense( licenseUrl, fileNameEntry );
+                                LicenseDownloadResult result = prefetchedResult != null
+                                    ? FutureUtil.get( prefetchedResult, IOException.class, URISyntaxException.class,
+                                                     MojoFailureException.class )
+                                    : licenseDownloader.downloadLicense( licenseUrl, fileNameEntry );
                                 if ( !organizeLicensesByDependencies && result.isSuccess() )
                                 {
                                     /* check if we can re-use an existing file that has the same content */
@@ -1315,6 +1675,7 @@ public abstract class AbstractDownloadLicensesMojo
                                                 oldFile.renameTo( newFile );
                                             }
                                             result = result.withFile( newFile );
+                                            licenseDownloader.fileMoved( licenseUrl, newFile );
                                         }
                                     }
                                 }
@@ -1326,7 +1687,7 @@ public abstract class AbstractDownloadLicensesMojo
                                 ensureParentDirExists( licenseOutputFile );
                                 final LicenseDownloadResult result =
                                     LicenseDownloadResult.success( licenseOutputFile,
-                                                                   FileUtil.sha1( licenseOutputFile.toPath() ),
+                                                                   fileHashes.sha1( licenseOutputFile ),
                                                                    fileNameEntry.isPreferred() );
                                 handleResult( licenseUrl, result, depProject, license );
                                 cache.put( licenseUrl, result );
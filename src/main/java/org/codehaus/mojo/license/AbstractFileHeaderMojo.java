@@ -23,6 +23,7 @@ package org.codehaus.mojo.license;
  */
 
 import freemarker.template.Template;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Component;
@@ -36,8 +37,10 @@ import org.codehaus.mojo.license.header.transformer.FileHeaderTransformer;
 import org.codehaus.mojo.license.header.transformer.JavaFileHeaderTransformer;
 import org.codehaus.mojo.license.model.Copyright;
 import org.codehaus.mojo.license.model.License;
+import org.codehaus.mojo.license.utils.DeferredLogger;
 import org.codehaus.mojo.license.utils.FileUtil;
 import org.codehaus.mojo.license.utils.MojoHelper;
+import org.codehaus.mojo.license.utils.OrderedTasks;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,6 +48,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
@@ -53,6 +57,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Abstract mojo for file-header operations (check, update, report,...).
@@ -64,6 +71,11 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
 {
     private static final Logger LOG = LoggerFactory.getLogger( AbstractFileHeaderMojo.class );
 
+    /**
+     * Maximal number of files waiting to be processed, per processing thread.
+     */
+    private static final int PENDING_FILES_PER_THREAD = 16;
+
     // ----------------------------------------------------------------------
     // Mojo Parameters
     // ----------------------------------------------------------------------
@@ -317,6 +329,58 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
             defaultValue = "/org/codehaus/mojo/license/default-file-header-description.ftl" )
     private String descriptionTemplate;
 
+    /**
+     * Number of threads used to process files.
+     * <p>
+     * By default, files are processed one after the other. Use {@code 0} (or any negative value) to use as many
+     * threads as available processors.
+     * <p>
+     * <b>Note:</b> Whatever the number of threads is, logs and results are reported in the same order.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( property = "license.headerThreads", defaultValue = "1" )
+    private int headerThreads;
+
+    /**
+     * Size (in kilo characters) of the beginning of each file to read when no file has to be modified (dry run).
+     * <p>
+     * If the {@link #processEndTag} is found in this first part of the file, the rest of the file is never read.
+     * Otherwise, the whole file is read. By default ({@code 0}), the whole file is always read.
+     * <p>
+     * <b>Note:</b> When used, the {@link #ignoreTag} is only searched in the read part of the file.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( property = "license.headerScanSize", defaultValue = "0" )
+    private int headerScanSize;
+
+    /**
+     * A flag to use an index of already treated files, to only process the files which have changed since the
+     * previous build.
+     * <p>
+     * For each file, the index stores his size, last modification time and sha1 and the state obtained for it. The
+     * index is discarded as soon as the header configuration (license, copyright owners, inception year, description
+     * template, comment styles,...) changes.
+     * <p>
+     * <b>Note:</b> The description template is assumed to only depend on the parameters given to it
+     * ({@code projectName}, {@code organizationName}, {@code inceptionYear}, {@code addSvnKeyWords} and
+     * {@code file}).
+     *
+     * @since 2.0.1
+     */
+    @Parameter( property = "license.useHeaderIndex", defaultValue = "false" )
+    private boolean useHeaderIndex;
+
+    /**
+     * The file where to store the index of already treated files (see {@link #useHeaderIndex}).
+     *
+     * @since 2.0.1
+     */
+    @Parameter( property = "license.headerIndexFile",
+            defaultValue = "${project.build.directory}/license/file-header-index.properties" )
+    private File headerIndexFile;
+
     // ----------------------------------------------------------------------
     // Plexus components
     // ----------------------------------------------------------------------
@@ -333,11 +397,6 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
     // Private fields
     // ----------------------------------------------------------------------
 
-    /**
-     * timestamp used for generation.
-     */
-    private long timestamp;
-
     /**
      * The dictionary of extension indexed by their associated comment style.
      *
@@ -353,19 +412,26 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
     private Template descriptionTemplate0;
 
     /**
-     * set of processed files
+     * The rendered description section of the file header, if it does not depend on the processed file (otherwise
+     * {@code null} and the description is rendered for each file).
+     */
+    private String description;
+
+    /**
+     * set of processed files (shared by all processing threads).
      */
     private Set<File> processedFiles;
 
     /**
-     * Dictionary of treated files indexed by their state.
+     * Dictionary of treated files indexed by their state (shared by all processing threads, see
+     * {@link FileState#addFile(File, EnumMap)}).
      */
     EnumMap<FileState, Set<File>> result;
 
     /**
-     * Dictionary of files to treat indexed by their CommentStyle.
+     * Index of already treated files, or {@code null} if {@link #useHeaderIndex} is off.
      */
-    private Map<String, List<File>> filesToTreatByCommentStyle;
+    private FileHeaderIndex headerIndex;
 
     /**
      * Freemarker helper component.
@@ -436,8 +502,6 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
             }
             LOG.info( "{}", buffer );
         }
-        // set timestamp used for temporary files
-        this.timestamp = System.nanoTime();
         super.init();
         if ( roots == null || roots.length == 0 )
         {
@@ -543,15 +607,21 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
         {
             extraFiles = Collections.emptyMap();
         }
-        // get all files to treat indexed by their comment style
-        filesToTreatByCommentStyle = obtainFilesToProcessByCommentStyle( extraFiles, roots, includes, excludes,
-                extensionToCommentStyle, transformers );
         // build the description template
         if ( isVerbose() )
         {
             LOG.info( "Use description template: {}", descriptionTemplate );
         }
         descriptionTemplate0 = freeMarkerHelper.getTemplate( descriptionTemplate );
+        if ( !FreeMarkerHelper.isUsingVariable( descriptionTemplate0, "file" ) )
+        {
+            // same description for all files, render it once for all
+            description = freeMarkerHelper.renderTemplate( descriptionTemplate0, getDescriptionParameters( null ) );
+            if ( isVerbose() )
+            {
+                LOG.info( "Description template does not depend on files, will use description: {}", description );
+            }
+        }
     }
 
     @Override
@@ -560,24 +630,56 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
 
         long t0 = System.nanoTime();
 
-        processedFiles = new HashSet<>();
+        processedFiles = Collections.newSetFromMap( new ConcurrentHashMap<File, Boolean>() );
         result = new EnumMap<>( FileState.class );
 
-        try
+        int nbThreads = headerThreads > 0 ? headerThreads : Runtime.getRuntime().availableProcessors();
+        ExecutorService executor = null;
+        if ( nbThreads > 1 )
         {
-
-            for ( Map.Entry<String, List<File>> commentStyleFiles : filesToTreatByCommentStyle.entrySet() )
+            if ( isVerbose() )
             {
+                LOG.info( "Will process files using {} threads", nbThreads );
+            }
+            executor = Executors.newFixedThreadPool( nbThreads );
+        }
+
+        try
+        {
 
-                String commentStyle = commentStyleFiles.getKey();
-                List<File> files = commentStyleFiles.getValue();
+            // file header to use if no header is found on a file
+            FileHeader header = getFileHeader( getLicense( getLicenseName(), true ) );
 
-                processCommentStyle( commentStyle, files );
+            if ( useHeaderIndex )
+            {
+                headerIndex = FileHeaderIndex.load( headerIndexFile, getHeaderConfigurationHash( header ) );
             }
 
+            // files are processed as soon as they are found
+            HeaderWorkers workers = new HeaderWorkers( header, executor, nbThreads );
+            scanFilesToProcess( extraFiles, roots, includes, excludes, extensionToCommentStyle, nbThreads, workers );
+            workers.awaitAll();
+
         }
         finally
         {
+            if ( executor != null )
+            {
+                executor.shutdownNow();
+            }
+
+            if ( headerIndex != null )
+            {
+                try
+                {
+                    headerIndex.store();
+                }
+                catch ( IOException e )
+                {
+                    LOG.warn( "Could not store header index {}", headerIndexFile, e );
+                }
+            }
+
             checkResults( result );
 
             int nbFiles = processedFiles.size();
@@ -660,40 +762,105 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
     }
 
     /**
-     * Process a given comment style to all his detected files.
-     *
-     * @param commentStyle comment style to treat
-     * @param filesToTreat files using this comment style to treat
-     * @throws IOException if any IO error while processing files
+     * Processes the files as they are found.
+     * <p>
+     * If an {@code executor} is given, files are processed concurrently (each thread using his own
+     * {@link FileHeaderProcessor} for each comment style), but logs are still flushed in the order the files are
+     * given by the {@link SourceFileScanner}, which does not depend on the number of threads. At most
+     * {@link #PENDING_FILES_PER_THREAD} files per thread are waiting to be processed, so that the scan of the
+     * directories does not run too far ahead of the processing.
      */
-    private void processCommentStyle( String commentStyle, List<File> filesToTreat ) throws IOException
+    private class HeaderWorkers implements SourceFileScanner.Handler
     {
-
-        // obtain license from definition
-        License license = getLicense( getLicenseName(), true );
-
-        if ( isVerbose() )
+        private final FileHeader header;
+
+        private final OrderedTasks tasks;
+
+        /**
+         * The processors of each thread, indexed by comment style (a processor is stateful).
+         */
+        private final ThreadLocal<Map<String, FileHeaderProcessor>> processors;
+
+        /**
+         * Comment styles already met.
+         */
+        private final Set<String> commentStyles = new HashSet<>();
+
+        /**
+         * @param header    file header to use if no header is found on a file
+         * @param executor  executor used to process files, or {@code null} to process them in the current thread
+         * @param nbThreads the number of threads of the executor
+         */
+        HeaderWorkers( FileHeader header, ExecutorService executor, int nbThreads )
         {
-            LOG.info( "Process header '{}'", commentStyle );
-            LOG.info( " - using {}", license.getDescription() );
+            this.header = header;
+            this.tasks = new OrderedTasks( LOG, executor, nbThreads * PENDING_FILES_PER_THREAD );
+            this.processors = new ThreadLocal<Map<String, FileHeaderProcessor>>()
+            {
+                @Override
+                protected Map<String, FileHeaderProcessor> initialValue()
+                {
+                    return new HashMap<>();
+                }
+            };
         }
 
-        // use header transformer according to comment style given in header
-        FileHeaderTransformer transformer = getTransformer( transformers, commentStyle );
-        FileHeaderProcessor processor = getFileHeaderProcessor( license, transformer );
+        @Override
+        public void handle( final File file, final String commentStyle ) throws IOException
+        {
+            final boolean firstOfCommentStyle = commentStyles.add( commentStyle ) && isVerbose();
+            final String licenseDescription =
+                    firstOfCommentStyle ? getLicense( getLicenseName(), true ).getDescription() : null;
+
+            tasks.submit( new OrderedTasks.Task()
+            {
+                @Override
+                public void run( DeferredLogger log ) throws IOException
+                {
+                    if ( firstOfCommentStyle )
+                    {
+                        // logged before the logs of the first file of the comment style
+                        log.info( "Process header '{}'", commentStyle );
+                        log.info( " - using {}", licenseDescription );
+                    }
+                    processFile( getProcessor( commentStyle ), file, log );
+                }
+            } );
+        }
 
+        /**
+         * Waits for all the found files to be processed.
+         *
+         * @throws IOException if any IO error while processing files
+         */
+        void awaitAll() throws IOException
+        {
+            tasks.awaitAll();
+        }
 
-        for ( File file : filesToTreat )
+        private FileHeaderProcessor getProcessor( String commentStyle )
         {
-            processFile( processor, file );
+            Map<String, FileHeaderProcessor> threadProcessors = processors.get();
+            FileHeaderProcessor processor = threadProcessors.get( commentStyle );
+            if ( processor == null )
+            {
+                // use header transformer according to comment style given in header
+                processor = getFileHeaderProcessor( header, getTransformer( transformers, commentStyle ) );
+                threadProcessors.put( commentStyle, processor );
+            }
+            return processor;
         }
-        filesToTreat.clear();
     }
 
-    private FileHeaderProcessor getFileHeaderProcessor( License license, FileHeaderTransformer transformer )
-            throws IOException
+    /**
+     * Builds the default file header to use (if no header is found on a file).
+     *
+     * @param license the license to use in header
+     * @return the default file header
+     * @throws IOException if could not obtain license header content
+     */
+    private FileHeader getFileHeader( License license ) throws IOException
     {
-        // file header to use if no header is found on a file
         FileHeader header = new FileHeader();
 
         if ( inceptionYear == null )
@@ -710,6 +877,64 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
             licenseContent = processLicenseContext( licenseContent );
         }
         header.setLicense( licenseContent );
+        return header;
+    }
+
+    /**
+     * Computes a hash of everything which may change the result of the processing of a file, except the file itself.
+     * <p>
+     * The goal is left out, so that the check and update goals share the same index: the states which require to
+     * rewrite a file are only reused by a dry run (see {@link FileHeaderIndex#get(File, boolean)}).
+     *
+     * @param header file header to use if no header is found on a file
+     * @return the hash of the header configuration
+     */
+    private String getHeaderConfigurationHash( FileHeader header )
+    {
+        StringBuilder buffer = new StringBuilder();
+        buffer.append( getEncoding() ).append( '\n' );
+        buffer.append( header.getCopyright().getText() ).append( '\n' );
+        buffer.append( header.getLicense() ).append( '\n' );
+        buffer.append( projectName ).append( '\n' );
+        buffer.append( organizationName ).append( '\n' );
+        buffer.append( inceptionYear ).append( '\n' );
+        buffer.append( addSvnKeyWords ).append( '\n' );
+        buffer.append( canUpdateDescription ).append( '\n' );
+        buffer.append( canUpdateCopyright ).append( '\n' );
+        buffer.append( canUpdateLicense ).append( '\n' );
+        buffer.append( ignoreTag ).append( '\n' );
+        buffer.append( headerScanSize ).append( '\n' );
+        buffer.append( processStartTag ).append( '\n' );
+        buffer.append( processEndTag ).append( '\n' );
+        buffer.append( sectionDelimiter ).append( '\n' );
+        buffer.append( lineSeparator ).append( '\n' );
+        buffer.append( addJavaLicenseAfterPackage ).append( '\n' );
+        buffer.append( useJavaNoReformatCommentStartTag ).append( '\n' );
+        buffer.append( emptyLineAfterHeader ).append( '\n' );
+        buffer.append( trimHeaderLine ).append( '\n' );
+        buffer.append( extensionToCommentStyle ).append( '\n' );
+        buffer.append( new TreeMap<>( extraFiles ) ).append( '\n' );
+        buffer.append( descriptionTemplate0 );
+        return DigestUtils.sha1Hex( buffer.toString() );
+    }
+
+    /**
+     * Creates a new processor for the given default {@code header}.
+     * <p>
+     * <b>Note:</b> The processor works on his own copy of the header, since the description may be updated for each
+     * processed file.
+     *
+     * @param header      default file header
+     * @param transformer transformer of the comment style to treat
+     * @return the new processor
+     */
+    private FileHeaderProcessor getFileHeaderProcessor( FileHeader header, FileHeaderTransformer transformer )
+    {
+        FileHeader processorHeader = new FileHeader();
+        processorHeader.setCopyright( header.getCopyright() );
+        processorHeader.setLicense( header.getLicense() );
+        // if null, will be set for each file
+        processorHeader.setDescription( description );
 
         UpdateFileHeaderFilter filter = new UpdateFileHeaderFilter();
         filter.setUpdateCopyright( canUpdateCopyright );
@@ -717,100 +942,135 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
         filter.setUpdateLicense( canUpdateLicense );
 
         // update processor filter
-        return new FileHeaderProcessor( filter, header, transformer );
+        return new FileHeaderProcessor( filter, processorHeader, transformer );
     }
 
     /**
-     * Process the given file (will copy it, process the clone file and finally finalizeFile after process)...
+     * Process the given file (will process its content in memory and finally finalizeFile after process)...
      *
      * @param processor current file processor
      * @param file      original file to process
+     * @param log       where to log for this file
      * @throws IOException if any IO error while processing this file
      */
-    private void processFile( FileHeaderProcessor processor, File file ) throws IOException
+    private void processFile( FileHeaderProcessor processor, File file, DeferredLogger log ) throws IOException
     {
 
-        if ( processedFiles.contains( file ) )
+        if ( !processedFiles.add( file ) )
         {
-            LOG.info( " - skip already processed file {}", file );
+            log.info( " - skip already processed file {}", file );
             return;
         }
 
-        // output file
-        File processFile = new File( file.getAbsolutePath() + "_" + timestamp );
-        boolean doFinalize = false;
+        if ( headerIndex != null )
+        {
+            FileState indexedState = headerIndex.get( file, isDryRun() );
+            if ( indexedState != null )
+            {
+                log.debug( " - file {} has not changed since last build ({})", file, indexedState );
+                indexedState.addFile( file, result );
+                return;
+            }
+        }
+
+        ProcessedFile processedFile;
         try
         {
-            doFinalize = processFile( processor, file, processFile );
+            processedFile = processFileContent( processor, file, log );
         }
         catch ( Exception e )
         {
-            LOG.warn( "skip failed file: " + e.getMessage()
+            log.warn( "skip failed file: " + e.getMessage()
                                    + ( e.getCause() == null ? "" : " Cause : " + e.getCause().getMessage() ), e );
-            FileState.fail.addFile( file, result );
-            doFinalize = false;
+            processedFile = new ProcessedFile( FileState.fail, null, null );
         }
-        finally
+
+        FileState state = processedFile.state;
+        state.addFile( file, result );
+
+        FileState indexState = state;
+        byte[] content = processedFile.originalContent;
+        if ( processedFile.newContent != null && !isDryRun() )
         {
+            byte[] updatedContent = FileUtil.getPrintedBytes( processedFile.newContent, getEncoding() );
+            boolean updated = finalizeFile( file, processedFile.originalContent, updatedContent, log );
 
-            // whatever was the result, this file is treated.
-            processedFiles.add( file );
+            // once rewritten, the file header is up to date
+            indexState = updated ? FileState.uptodate : FileState.fail;
+            content = updatedContent;
+        }
 
-            if ( doFinalize )
+        if ( headerIndex != null )
+        {
+            if ( content != null || indexState == FileState.fail )
             {
-                finalizeFile( file, processFile );
+                headerIndex.put( file, indexState, content );
             }
             else
             {
-                FileUtil.deleteFile( processFile );
+                // only the beginning of the file was read, do not read it all to compute its sha1
+                headerIndex.putMetadata( file, indexState );
             }
         }
     }
 
     /**
-     * Process the given {@code file} and save the result in the given {@code processFile}.
+     * Process the given {@code file} in memory.
      *
-     * @param processor   current file processor
-     * @param file        the file to process
-     * @param processFile the output processed file
-     * @return {@code true} if prepareProcessFile can be finalize, otherwise need to be delete
+     * @param processor current file processor
+     * @param file      the file to process
+     * @param log       where to log for this file
+     * @return the state of the file, with his new content if the state is {@link FileState#add} or
+     *      {@link FileState#update}
      * @throws java.io.IOException if any pb while treatment
      */
-    private boolean processFile( FileHeaderProcessor processor, File file, File processFile ) throws IOException
+    private ProcessedFile processFileContent( FileHeaderProcessor processor, File file, DeferredLogger log )
+            throws IOException
     {
 
-        if ( getLog().isDebugEnabled() )
+        if ( log.isDebugEnabled() )
         {
-            LOG.debug( " - process file {}", file );
-            LOG.debug( " - will process into file {}", processFile );
+            log.debug( " - process file {}", file );
         }
 
-        // update the file header description
-        Map<String, Object> descriptionParameters = new HashMap<>();
-        descriptionParameters.put( "project", getProject() );
-        descriptionParameters.put( "addSvnKeyWords", addSvnKeyWords );
-        descriptionParameters.put( "projectName", projectName );
-        descriptionParameters.put( "inceptionYear", inceptionYear );
-        descriptionParameters.put( "organizationName", organizationName );
-        descriptionParameters.put( "file", file );
+        if ( description == null )
+        {
+            // update the file header description (this also resets the cached header of the processor)
+            Map<String, Object> descriptionParameters = getDescriptionParameters( file );
 
-        LOG.debug( "Description parameters: {}", descriptionParameters );
+            log.debug( "Description parameters: {}", descriptionParameters );
 
-        String description = freeMarkerHelper.renderTemplate( descriptionTemplate0, descriptionParameters );
-        processor.updateDescription( description );
+            processor.updateDescription( freeMarkerHelper.renderTemplate( descriptionTemplate0,
+                    descriptionParameters ) );
+        }
 
-        LOG.debug( "header description : " + processor.getFileHeaderDescription() );
+        log.debug( "header description : {}", processor.getFileHeaderDescription() );
 
-        String content;
+        byte[] bytes = null;
+        String content = null;
 
         try
         {
 
             // check before all that file should not be skip by the ignoreTag
             // this is a costy operation
-            //TODO-TC-20100411 We should process always from the read content not reading again from file
 
-            content = FileUtil.readAsString( file, getEncoding() );
+            if ( headerScanSize > 0 && isDryRun() )
+            {
+                // only the header is required, try to read just the beginning of the file
+                int maxLength = headerScanSize * 1024;
+                content = FileUtil.readPrefix( file, getEncoding(), maxLength );
+                if ( content.length() == maxLength && !content.contains( processEndTag ) )
+                {
+                    log.debug( " - no header end found in the first {} characters of file {}", maxLength, file );
+                    content = null;
+                }
+            }
+            if ( content == null )
+            {
+                bytes = Files.readAllBytes( file.toPath() );
+                content = new String( bytes, getEncoding() );
+            }
 
         }
         catch ( IOException e )
@@ -821,32 +1081,16 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
         //check that file is not marked to be ignored
         if ( content.contains( ignoreTag ) )
         {
-            LOG.info( " - ignore file (detected {}) {}", ignoreTag, file );
+            log.info( " - ignore file (detected {}) {}", ignoreTag, file );
 
-            FileState.ignore.addFile( file, result );
-
-            return false;
+            return new ProcessedFile( FileState.ignore, bytes, null );
         }
 
-        // process file to detect header
-
-        try
-        {
-            processor.process( content, processFile, getEncoding() );
-        }
-        catch ( IllegalStateException e )
+        String processedContent = processHeader( processor, file, content, processStartTag, processEndTag );
+        if ( processedContent == null )
         {
-            // could not obtain existing header
-            throw new InvalideFileHeaderException(
-                    "Could not extract header on file " + file + " for reason " + e.getMessage() );
-        }
-        catch ( Exception e )
-        {
-            if ( e instanceof InvalideFileHeaderException )
-            {
-                throw (InvalideFileHeaderException) e;
-            }
-            throw new IOException( "Could not process file " + file + " for reason " + e.getMessage() );
+            // the processor would not detect anything
+            return addHeader( processor, file, bytes, content, log );
         }
 
         if ( processor.isTouched() )
@@ -854,21 +1098,19 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
 
             if ( isVerbose() )
             {
-                LOG.info( " - header was updated for {}", file );
+                log.info( " - header was updated for {}", file );
             }
             if ( processor.isModified() )
             {
 
                 // header content has changed
-                // must copy back process file to file (if not dry run)
+                // must write back processed content to file (if not dry run)
 
-                FileState.update.addFile( file, result );
-                return true;
+                return new ProcessedFile( FileState.update, bytes, processedContent );
 
             }
 
-            FileState.uptodate.addFile( file, result );
-            return false;
+            return new ProcessedFile( FileState.uptodate, bytes, null );
         }
 
         // header was not fully (or not at all) detected in file
@@ -881,37 +1123,155 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
             throw new InvalideFileHeaderException( "Could not find header end on file " + file );
         }
 
-        // no header at all, add a new header
-        if ( isVerbose() )
+        return addHeader( processor, file, bytes, content, log );
+    }
+
+    /**
+     * Detects and updates the header of the given file content, with the same result as processing the whole content.
+     * <p>
+     * The content is first classified with plain substring searches, so that the processor only goes through the
+     * lines of the header when there is a single complete one, and is not used at all when there is no process start
+     * tag.
+     *
+     * @param processor       current file processor
+     * @param file            the processed file
+     * @param content         the content of the file
+     * @param processStartTag the process start tag of the header
+     * @param processEndTag   the process end tag of the header
+     * @return the processed content, or {@code null} if there is no process start tag in the content
+     * @throws IOException if could not process the content
+     */
+    static String processHeader( FileHeaderProcessor processor, File file, String content, String processStartTag,
+                                 String processEndTag ) throws IOException
+    {
+        int headerStart = content.indexOf( processStartTag );
+        if ( headerStart == -1 )
         {
-            LOG.info( " - adding license header on file {}", file );
+            return null;
         }
+        int endTagIndex = content.indexOf( processEndTag, headerStart + processStartTag.length() );
+        if ( endTagIndex != -1 && content.indexOf( processStartTag, endTagIndex + processEndTag.length() ) == -1
+                && hasPlainLines( content ) )
+        {
+            // a single complete header, up to the end of the line of its end tag
+            int headerEnd = content.indexOf( '\n', endTagIndex + processEndTag.length() ) + 1;
+            String processedHeader = processContent( processor, file, content.substring( headerStart, headerEnd ) );
+            if ( processor.isTouched() )
+            {
+                return processor.isModified()
+                        ? content.substring( 0, headerStart ) + processedHeader + content.substring( headerEnd )
+                        : content;
+            }
+        }
+        // no complete header or several ones: let the processor go through the whole file
+        return processContent( processor, file, content );
+    }
 
-        //FIXME tchemit 20100409 xml files must add header after a xml prolog line
-        content = processor.addHeader( content );
+    /**
+     * The processor reads the content line by line, writing each line back with a {@code \n} terminator: only a
+     * content whose lines all end with a single {@code \n} gives the same result when just a slice of whole lines
+     * is processed.
+     *
+     * @param content a file content
+     * @return {@code true} if all the lines of the content end with {@code \n}
+     */
+    private static boolean hasPlainLines( String content )
+    {
+        return content.endsWith( "\n" ) && content.indexOf( '\r' ) == -1;
+    }
 
-        if ( !isDryRun() )
+    /**
+     * Processes the given content (or part of a file content) to detect and update its header.
+     *
+     * @param processor current file processor
+     * @param file      the processed file
+     * @param content   the content to process
+     * @return the processed content
+     * @throws IOException if could not process the content
+     */
+    private static String processContent( FileHeaderProcessor processor, File file, String content )
+            throws IOException
+    {
+        try
+        {
+            return processor.process( content );
+        }
+        catch ( IllegalStateException e )
+        {
+            // could not obtain existing header
+            throw new InvalideFileHeaderException(
+                    "Could not extract header on file " + file + " for reason " + e.getMessage() );
+        }
+        catch ( Exception e )
+        {
+            if ( e instanceof InvalideFileHeaderException )
+            {
+                throw (InvalideFileHeaderException) e;
+            }
+            throw new IOException( "Could not process file " + file + " for reason " + e.getMessage() );
+        }
+    }
+
+    /**
+     * Adds a new header to a file which has none.
+     *
+     * @param processor current file processor
+     * @param file      the processed file
+     * @param bytes     the original content of the file, or {@code null} if only its beginning was read
+     * @param content   the content of the file
+     * @param log       where to log for this file
+     * @return the processed file
+     */
+    private ProcessedFile addHeader( FileHeaderProcessor processor, File file, byte[] bytes, String content,
+                                     DeferredLogger log )
+    {
+        // no header at all, add a new header
+        if ( isVerbose() )
         {
-            FileUtil.printString( processFile, content, getEncoding() );
+            log.info( " - adding license header on file {}", file );
         }
 
-        FileState.add.addFile( file, result );
-        return true;
+        //FIXME tchemit 20100409 xml files must add header after a xml prolog line
+        return new ProcessedFile( FileState.add, bytes, processor.addHeader( content ) );
     }
 
     /**
-     * Finalize the process of a file.
-     * <p>
-     * If ad DryRun then just remove processed file, else use process file as original file.
+     * @param file the file to process (may be {@code null} if the description does not depend on it)
+     * @return the parameters to render the description template
+     */
+    private Map<String, Object> getDescriptionParameters( File file )
+    {
+        Map<String, Object> descriptionParameters = new HashMap<>();
+        descriptionParameters.put( "project", getProject() );
+        descriptionParameters.put( "addSvnKeyWords", addSvnKeyWords );
+        descriptionParameters.put( "projectName", projectName );
+        descriptionParameters.put( "inceptionYear", inceptionYear );
+        descriptionParameters.put( "organizationName", organizationName );
+        descriptionParameters.put( "file", file );
+        return descriptionParameters;
+    }
+
+    /**
+     * Finalize the process of a file: write the processed content to the original file (only if it changed).
      *
-     * @param file        the original file
-     * @param processFile the processed file
+     * @param file            the original file
+     * @param originalContent the original content of the file, or {@code null} if it was not fully read
+     * @param updatedContent  the processed content of the file
+     * @param log             where to log for this file
+     * @return {@code true} if the original file is up to date with the processed content, {@code false} otherwise
      * @throws IOException if any IO error while finalizing file
      */
-    private void finalizeFile( File file, File processFile ) throws IOException
+    private boolean finalizeFile( File file, byte[] originalContent, byte[] updatedContent, DeferredLogger log )
+            throws IOException
     {
 
-        if ( isKeepBackup() && !isDryRun() )
+        if ( Arrays.equals( originalContent, updatedContent ) )
+        {
+            log.debug( " - no change to write on file {}", file );
+            return true;
+        }
+
+        if ( isKeepBackup() )
         {
             File backupFile = FileUtil.getBackupFile( file );
 
@@ -922,29 +1282,48 @@ public abstract class AbstractFileHeaderMojo extends AbstractLicenseNameMojo
                 FileUtil.deleteFile( backupFile );
             }
 
-            LOG.debug( " - backup original file {}", file );
+            log.debug( " - backup original file {}", file );
             Files.copy( file.toPath(), backupFile.toPath(), StandardCopyOption.COPY_ATTRIBUTES );
         }
 
-        if ( isDryRun() )
+        try
         {
-
-            // dry run, delete temporary file
-            FileUtil.deleteFile( processFile );
+            // replace file with the updated one
+            FileUtil.writeAtomically( file, updatedContent );
+            return true;
         }
-        else
+        catch ( IOException e )
         {
-            try
-            {
-                // replace file with the updated one
-                String updatedContent = FileUtil.readAsString( processFile, getEncoding() );
-                FileUtil.printString( file, updatedContent, getEncoding() );
-                FileUtil.deleteFile( processFile );
-            }
-            catch ( IOException e )
-            {
-                LOG.warn( "Error updating {} -> {}", processFile, file, e );
-            }
+            log.warn( "Error updating {}", file, e );
+            return false;
+        }
+    }
+
+    /**
+     * Result of the in memory processing of a file.
+     */
+    private static class ProcessedFile
+    {
+        /**
+         * State of the processed file.
+         */
+        private final FileState state;
+
+        /**
+         * Original content of the file (only if the whole file was read).
+         */
+        private final byte[] originalContent;
+
+        /**
+         * New content of the file, or {@code null} if nothing has to be written.
+         */
+        private final String newContent;
+
+        ProcessedFile( FileState state, byte[] originalContent, String newContent )
+        {
+            this.state = state;
+            this.originalContent = originalContent;
+            this.newContent = newContent;
         }
     }
 
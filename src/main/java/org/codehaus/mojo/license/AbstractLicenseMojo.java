@@ -29,12 +29,16 @@ import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.settings.Proxy;
 import org.codehaus.mojo.license.utils.MojoHelper;
+import org.codehaus.mojo.license.utils.SharedHttpClient;
+import org.codehaus.mojo.license.utils.UrlContentCache;
 import org.codehaus.plexus.util.ReaderFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Abstract license mojo.
@@ -89,6 +93,32 @@ public abstract class AbstractLicenseMojo
     @Parameter( defaultValue = "${project}", readonly = true )
     MavenProject project;
 
+    /**
+     * Directory where the contents of the remote configuration URLs ({@code missingFileUrl}, {@code overrideUrl},
+     * {@code licenseMergesUrl}, ...) are kept for the next builds; they are then only revalidated with conditional
+     * requests once {@link #configUrlCacheTtl} is over.
+     * <p>
+     * Whether it is set or not, each URL is fetched at most once per build.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( property = "license.configUrlCacheDirectory" )
+    File configUrlCacheDirectory;
+
+    /**
+     * Number of minutes during which a content kept in {@link #configUrlCacheDirectory} is used without asking the
+     * server if it changed.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( property = "license.configUrlCacheTtl", defaultValue = "60" )
+    int configUrlCacheTtl;
+
+    /**
+     * Cache of the remote configuration URLs, as configured for this mojo.
+     */
+    private UrlContentCache urlContentCache;
+
     // ----------------------------------------------------------------------
     // Abstract methods
     // ----------------------------------------------------------------------
@@ -164,6 +194,15 @@ public abstract class AbstractLicenseMojo
 
             // init the mojo
 
+            if ( session != null && session.getRepositorySession() != null )
+            {
+                // used by remote configuration files (missingFileUrl, overrideUrl, ...)
+                Proxy proxy = session.getSettings() == null ? null
+                                : SharedHttpClient.findActiveProxy( session.getSettings().getProxies() );
+                urlContentCache = UrlContentCache.forSession( session, proxy,
+                        configUrlCacheDirectory, TimeUnit.MINUTES.toMillis( configUrlCacheTtl ) );
+            }
+
             try
             {
                 checkEncoding();
@@ -279,6 +318,15 @@ public abstract class AbstractLicenseMojo
         return session;
     }
 
+    /**
+     * @return the cache to fetch the remote configuration URLs with, or {@code null} to fetch them on each use
+     * @since 2.0.1
+     */
+    public final UrlContentCache getUrlContentCache()
+    {
+        return urlContentCache;
+    }
+
     /**
      * @return the build timestamp (used to have a unique timestamp all over a build).
      */
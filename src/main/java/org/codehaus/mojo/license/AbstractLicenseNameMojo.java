@@ -29,19 +29,16 @@ import org.codehaus.mojo.license.header.transformer.FileHeaderTransformer;
 import org.codehaus.mojo.license.model.Copyright;
 import org.codehaus.mojo.license.model.License;
 import org.codehaus.mojo.license.model.LicenseStore;
-import org.codehaus.plexus.util.DirectoryScanner;
-import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.mojo.license.utils.FileUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.List;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
@@ -273,63 +270,6 @@ public abstract class AbstractLicenseNameMojo
         return Copyright.newCopyright( inceptionYear, holder );
     }
 
-    /**
-     * Collects some files.
-     *
-     * @param includes includes
-     * @param excludes excludes
-     * @param roots    root directories to treat
-     * @param files    cache of file detected indexed by their root directory
-     */
-    void getFilesToTreatForRoots( String[] includes, String[] excludes, List<String> roots, Map<File, String[]> files )
-    {
-
-        DirectoryScanner ds = new DirectoryScanner();
-        ds.setIncludes( includes );
-        if ( excludes != null )
-        {
-            ds.setExcludes( excludes );
-        }
-        for ( String src : roots )
-        {
-
-            File f = new File( src );
-            if ( !f.exists() )
-            {
-                // do nothing on a non-existent
-                continue;
-            }
-
-            LOG.debug( "discovering source files in {}", src );
-
-            ds.setBasedir( f );
-            // scan
-            ds.scan();
-
-            // get files
-            String[] tmp = ds.getIncludedFiles();
-
-            if ( tmp.length < 1 )
-            {
-                // no files found
-                continue;
-            }
-
-            List<String> toTreate = new ArrayList<>();
-
-            Collections.addAll( toTreate, tmp );
-
-            if ( toTreate.isEmpty() )
-            {
-                // no file or all are up-to-date
-                continue;
-            }
-
-            // register files
-            files.put( f, toTreate.toArray( new String[toTreate.size()] ) );
-        }
-    }
-
     /**
      * Obtain for a given value, a trim version of it. If value is empty then use the given default value
      *
@@ -413,7 +353,7 @@ public abstract class AbstractLicenseNameMojo
         }
         if ( isVerbose() )
         {
-            for ( File file : set )
+            for ( File file : FileUtil.orderFiles( set ) )
             {
                 buffer.append( "\n   - " ).append( file );
             }
@@ -422,47 +362,37 @@ public abstract class AbstractLicenseNameMojo
 
 
     /**
-     * Gets all files to process indexed by their comment style.
+     * Discovers all files to process, and gives each of them with its comment style to the given handler.
+     * <p>
+     * The handler is called from the current thread, in the same order whatever the number of threads is, while the
+     * directories are still being walked
+     * (see {@link SourceFileScanner#scan(java.util.Collection, SourceFileScanner.Handler)}).
      *
-     * @return for each comment style, list of files to process
-     * @param extraFiles
-     * @param roots
-     * @param includes
-     * @param excludes
-     * @param extensionToCommentStyle
-     * @param transformers
+     * @param extraFiles              the comment styles indexed by file names
+     * @param roots                   the root directories
+     * @param includes                the include patterns
+     * @param excludes                the exclude patterns
+     * @param extensionToCommentStyle the comment styles indexed by file extensions
+     * @param threads                 the number of threads used to walk the directories
+     * @param handler                 the handler of the files to process
+     * @throws IOException if could not walk a root directory, or if the handler failed
      */
-    Map<String, List<File>> obtainFilesToProcessByCommentStyle( Map<String, String> extraFiles, String[] roots,
-            String[] includes, String[] excludes, Map<String, String> extensionToCommentStyle, Map<String,
-            FileHeaderTransformer> transformers )
+    void scanFilesToProcess( Map<String, String> extraFiles, String[] roots, String[] includes, String[] excludes,
+            Map<String, String> extensionToCommentStyle, int threads, SourceFileScanner.Handler handler )
+            throws IOException
     {
-
-        Map<String, List<File>> results = new HashMap<>();
-
-        // add for all known comment style (says transformer) a empty list
-        // this permits not to have to test if there is an already list each time
-        // we wants to add a new file...
-        for ( String commentStyle : transformers.keySet() )
-        {
-            results.put( commentStyle, new ArrayList<File>() );
-        }
-
-        List<String> rootsList = new ArrayList<>( roots.length );
+        Set<File> rootsList = new LinkedHashSet<>( roots.length );
         for ( String root : roots )
         {
             File f = new File( root );
-            if ( f.isAbsolute() )
-            {
-                rootsList.add( f.getAbsolutePath() );
-            }
-            else
+            if ( !f.isAbsolute() )
             {
                 f = new File( getProject().getBasedir(), root );
             }
             if ( f.exists() )
             {
                 LOG.info( "Will search files to update from root {}", f );
-                rootsList.add( f.getAbsolutePath() );
+                rootsList.add( f.getAbsoluteFile() );
             }
             else
             {
@@ -473,41 +403,9 @@ public abstract class AbstractLicenseNameMojo
             }
         }
 
-        // Obtain all files to treat
-        Map<File, String[]> allFiles = new HashMap<>();
-        getFilesToTreatForRoots( includes, excludes, rootsList, allFiles );
-
-        // filter all these files according to their extension
-
-        for ( Map.Entry<File, String[]> entry : allFiles.entrySet() )
-        {
-            File root = entry.getKey();
-            String[] filesPath = entry.getValue();
-
-            // sort them by the associated comment style to their extension
-            for ( String path : filesPath )
-            {
-                String extension = FileUtils.extension( path );
-                String commentStyle = extensionToCommentStyle.get( extension );
-                if ( StringUtils.isEmpty( commentStyle ) )
-                {
-
-                    // unknown extension, try with extra files
-                    File file = new File( root, path );
-                    commentStyle = extraFiles.get( file.getName() );
-                    if ( StringUtils.isEmpty( commentStyle ) )
-                    {
-                        // do not treat this file
-                        continue;
-                    }
-                }
-                //
-                File file = new File( root, path );
-                List<File> files = results.get( commentStyle );
-                files.add( file );
-            }
-        }
-        return results;
+        SourceFileScanner scanner = new SourceFileScanner( includes, excludes, extensionToCommentStyle, extraFiles,
+                threads );
+        scanner.scan( rootsList, handler );
     }
 
     /**
@@ -29,8 +29,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.TransformerException;
+import javax.xml.stream.XMLStreamException;
 
 import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.plugin.AbstractMojo;
@@ -77,6 +76,38 @@ public abstract class AbstractLicensesXmlMojo
     @Parameter( property = "licensesOutputFileEol", defaultValue = "AUTODETECT" )
     protected Eol licensesOutputFileEol;
 
+    /**
+     * Number of threads used to build the effective POMs of the dependencies (to read their licenses).
+     * <p>
+     * By default, the POMs are built one after the other.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( property = "license.dependencyThreads", defaultValue = "1" )
+    protected int dependencyThreads;
+
+    /**
+     * If {@code true}, the licenses read from the POMs of the dependencies are kept in a cache shared by all the
+     * builds of the machine (see {@link #licenseMetadataCacheDirectory}), so that the POMs of the dependencies do not
+     * need to be built again on the next builds.
+     * <p>
+     * Released dependencies are only read once; SNAPSHOT dependencies are read again each time their POM file
+     * changes in the local repository.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( property = "license.useLicenseMetadataCache", defaultValue = "false" )
+    protected boolean useLicenseMetadataCache;
+
+    /**
+     * The directory of the cache used when {@link #useLicenseMetadataCache} is {@code true}.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( property = "license.licenseMetadataCacheDirectory",
+                defaultValue = "${settings.localRepository}/.license-metadata" )
+    protected File licenseMetadataCacheDirectory;
+
     /**
      * Encoding used to (1) read the file specified in {@link #licensesConfigFile} and (2) write the file specified in
      * {@link #licensesOutputFile}.
@@ -172,7 +203,7 @@ public abstract class AbstractLicensesXmlMojo
     }
 
     protected void writeLicenseSummary( List<ProjectLicenseInfo> deps, File licensesOutputFile, boolean writeVersions )
-        throws ParserConfigurationException, TransformerException, IOException
+        throws IOException, XMLStreamException
     {
         initEncoding();
         LicenseSummaryWriter.writeLicenseSummary( deps, licensesOutputFile, charset, licensesOutputFileEol,
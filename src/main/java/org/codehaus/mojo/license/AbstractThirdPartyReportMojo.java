@@ -26,6 +26,7 @@ import org.apache.commons.collections.CollectionUtils;
 import org.apache.maven.artifact.resolver.ArtifactNotFoundException;
 import org.apache.maven.artifact.resolver.ArtifactResolutionException;
 import org.apache.maven.doxia.siterenderer.Renderer;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Component;
@@ -35,18 +36,22 @@ import org.apache.maven.project.ProjectBuildingException;
 import org.apache.maven.project.artifact.InvalidDependencyVersionException;
 import org.apache.maven.reporting.AbstractMavenReport;
 import org.apache.maven.reporting.MavenReportException;
+import org.apache.maven.settings.Proxy;
 import org.codehaus.mojo.license.api.ArtifactFilters;
 import org.codehaus.mojo.license.api.DefaultThirdPartyDetails;
 import org.codehaus.mojo.license.api.DefaultThirdPartyHelper;
+import org.codehaus.mojo.license.api.DefaultThirdPartyTool;
 import org.codehaus.mojo.license.api.DependenciesTool;
 import org.codehaus.mojo.license.api.DependenciesToolException;
-import org.codehaus.mojo.license.api.MavenProjectDependenciesConfigurator;
+import org.codehaus.mojo.license.api.DependencyBuildConfigurator;
 import org.codehaus.mojo.license.api.ThirdPartyDetails;
 import org.codehaus.mojo.license.api.ThirdPartyHelper;
 import org.codehaus.mojo.license.api.ThirdPartyTool;
 import org.codehaus.mojo.license.api.ThirdPartyToolException;
 import org.codehaus.mojo.license.model.LicenseMap;
 import org.codehaus.mojo.license.utils.MojoHelper;
+import org.codehaus.mojo.license.utils.SharedHttpClient;
+import org.codehaus.mojo.license.utils.UrlContentCache;
 import org.codehaus.mojo.license.utils.UrlRequester;
 import org.codehaus.plexus.i18n.I18N;
 import org.slf4j.Logger;
@@ -64,6 +69,7 @@ import java.util.Set;
 import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
 import org.codehaus.mojo.license.api.ResolvedProjectDependencies;
 
 /**
@@ -73,7 +79,7 @@ import org.codehaus.mojo.license.api.ResolvedProjectDependencies;
  * @since 1.1
  */
 public abstract class AbstractThirdPartyReportMojo extends AbstractMavenReport
-    implements MavenProjectDependenciesConfigurator
+    implements DependencyBuildConfigurator
 {
     private static final Logger LOG = LoggerFactory.getLogger( AbstractThirdPartyReportMojo.class );
 
@@ -153,6 +159,33 @@ public abstract class AbstractThirdPartyReportMojo extends AbstractMavenReport
     @Parameter( property = "license.includeTransitiveDependencies", defaultValue = "true" )
     private boolean includeTransitiveDependencies;
 
+    /**
+     * Number of threads used to build the projects of the dependencies; they are built one after the other by
+     * default.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( property = "license.dependencyThreads", defaultValue = "1" )
+    private int dependencyThreads;
+
+    /**
+     * To keep the licenses read from the POMs of the dependencies in a cache shared by the builds of the machine;
+     * released dependencies are then only built once, SNAPSHOT ones again when their POM file changes.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( property = "license.useLicenseMetadataCache", defaultValue = "false" )
+    private boolean useLicenseMetadataCache;
+
+    /**
+     * Directory of the cache used when {@code useLicenseMetadataCache} is set.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( property = "license.licenseMetadataCacheDirectory",
+                defaultValue = "${settings.localRepository}/.license-metadata" )
+    private File licenseMetadataCacheDirectory;
+
     /**
      * A filter to exclude transitive dependencies from excluded artifacts.
      *
@@ -243,6 +276,38 @@ public abstract class AbstractThirdPartyReportMojo extends AbstractMavenReport
     @Parameter( property = "license.useRepositoryMissingFiles", defaultValue = "true" )
     private boolean useRepositoryMissingFiles;
 
+    /**
+     * To record the third party descriptors not found in the remote repositories (see
+     * {@link #useRepositoryMissingFiles}) in {@link #thirdPartyDescriptorMissCacheFile}, so that they are not looked
+     * up again by the next builds during {@link #thirdPartyDescriptorMissTtl} hours. Misses are never recorded in
+     * offline mode.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( property = "license.useThirdPartyDescriptorMissCache", defaultValue = "false" )
+    private boolean useThirdPartyDescriptorMissCache;
+
+    /**
+     * Number of hours during which a third party descriptor not found in the remote repositories is not looked up
+     * again when {@link #useThirdPartyDescriptorMissCache} is set; misses are kept per dependency and remote
+     * repository, SNAPSHOT dependencies are always looked up.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( property = "license.thirdPartyDescriptorMissTtl", defaultValue = "24" )
+    private int thirdPartyDescriptorMissTtl;
+
+    /**
+     * The file where the third party descriptors missing from the remote repositories are recorded when
+     * {@link #useThirdPartyDescriptorMissCache} is set; by default it is shared by all the builds using the same local
+     * repository.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( property = "license.thirdPartyDescriptorMissCacheFile",
+                defaultValue = "${settings.localRepository}/.license-metadata/third-party-misses.properties" )
+    private File thirdPartyDescriptorMissCacheFile;
+
     /**
      * To merge licenses in final file.
      * <p>
@@ -311,6 +376,48 @@ public abstract class AbstractThirdPartyReportMojo extends AbstractMavenReport
     @Parameter( defaultValue = "${project}", readonly = true )
     private MavenProject project;
 
+    /**
+     * Get declared proxies from the {@code settings.xml} file.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( defaultValue = "${settings.proxies}", readonly = true )
+    private List<Proxy> proxies;
+
+    /**
+     * Current maven session.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( defaultValue = "${session}", readonly = true )
+    private MavenSession session;
+
+    /**
+     * Directory where the contents of the remote configuration URLs ({@code missingFileUrl}, {@code overrideUrl},
+     * {@code licenseMergesUrl}, ...) are kept for the next builds; they are then only revalidated with conditional
+     * requests once {@link #configUrlCacheTtl} is over.
+     * <p>
+     * Whether it is set or not, each URL is fetched at most once per build.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( property = "license.configUrlCacheDirectory" )
+    private File configUrlCacheDirectory;
+
+    /**
+     * Number of minutes during which a content kept in {@link #configUrlCacheDirectory} is used without asking the
+     * server if it changed.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( property = "license.configUrlCacheTtl", defaultValue = "60" )
+    private int configUrlCacheTtl;
+
+    /**
+     * Cache of the remote configuration URLs, as configured for this mojo.
+     */
+    private UrlContentCache urlContentCache;
+
     // ----------------------------------------------------------------------
     // Plexus Components
     // ----------------------------------------------------------------------
@@ -391,6 +498,12 @@ public abstract class AbstractThirdPartyReportMojo extends AbstractMavenReport
     protected void init()
             throws IOException
     {
+        if ( session != null && session.getRepositorySession() != null )
+        {
+            urlContentCache = UrlContentCache.forSession( session, SharedHttpClient.findActiveProxy( proxies ),
+                    configUrlCacheDirectory, TimeUnit.MINUTES.toMillis( configUrlCacheTtl ) );
+        }
+
         if ( licenseMergesUrl != null )
         {
             LOG.warn( "" );
@@ -398,7 +511,8 @@ public abstract class AbstractThirdPartyReportMojo extends AbstractMavenReport
             LOG.warn( "" );
             if ( UrlRequester.isStringUrl( licenseMergesUrl ) )
             {
-                licenseMerges = Arrays.asList( UrlRequester.getFromUrl( licenseMergesUrl ).split( "[\n\r]+" ) );
+                licenseMerges = Arrays.asList( UrlRequester.getFromUrl( licenseMergesUrl, urlContentCache )
+                        .split( "[\n\r]+" ) );
             }
         }
     }
@@ -530,7 +644,8 @@ public abstract class AbstractThirdPartyReportMojo extends AbstractMavenReport
         {
             artifactFilters = ArtifactFilters.of( includedGroups, excludedGroups, includedArtifacts, excludedArtifacts,
                                                   includedScopes, excludedScopes, includedTypes, excludedTypes,
-                                                  includeOptional, artifactFiltersUrl , getEncoding() );
+                                                  includeOptional, artifactFiltersUrl , getEncoding(),
+                                                  urlContentCache );
         }
         return artifactFilters;
     }
@@ -543,6 +658,22 @@ public abstract class AbstractThirdPartyReportMojo extends AbstractMavenReport
         return verbose;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public int getDependencyThreads()
+    {
+        return dependencyThreads;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public File getLicenseMetadataCacheDirectory()
+    {
+        return useLicenseMetadataCache ? licenseMetadataCacheDirectory : null;
+    }
+
     // ----------------------------------------------------------------------
     // Protected Methods
     // ----------------------------------------------------------------------
@@ -567,7 +698,10 @@ public abstract class AbstractThirdPartyReportMojo extends AbstractMavenReport
         ThirdPartyHelper thirdPartyHelper =
                 new DefaultThirdPartyHelper( project, encoding, verbose,
                         dependenciesTool, thirdPartyTool,
-                        project.getRemoteArtifactRepositories(), project.getRemoteProjectRepositories() );
+                        project.getRemoteArtifactRepositories(), project.getRemoteProjectRepositories(),
+                        LicenseMojoUtils.loadThirdPartyDescriptorMissCache( session.getRepositorySession(),
+                                useThirdPartyDescriptorMissCache ? thirdPartyDescriptorMissCacheFile : null,
+                                thirdPartyDescriptorMissTtl ), urlContentCache );
         // load dependencies of the project
         SortedMap<String, MavenProject> projectDependencies = thirdPartyHelper.loadDependencies( this,
                 loadedDependencies );
@@ -601,7 +735,15 @@ public abstract class AbstractThirdPartyReportMojo extends AbstractMavenReport
         thirdPartyHelper.mergeLicenses( licenseMerges, licenseMap );
 
         // Add override licenses
-        thirdPartyTool.overrideLicenses( licenseMap, projectDependencies, encoding, resolvedOverrideUrl );
+        if ( urlContentCache != null && thirdPartyTool instanceof DefaultThirdPartyTool )
+        {
+            ( (DefaultThirdPartyTool) thirdPartyTool ).overrideLicenses( licenseMap, projectDependencies, encoding,
+                    resolvedOverrideUrl, urlContentCache );
+        }
+        else
+        {
+            thirdPartyTool.overrideLicenses( licenseMap, projectDependencies, encoding, resolvedOverrideUrl );
+        }
 
         // let's build third party details for each dependencies
         Collection<ThirdPartyDetails> details = new ArrayList<>();
@@ -42,7 +42,7 @@ import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectBuildingException;
 import org.codehaus.mojo.license.api.ArtifactFilters;
 import org.codehaus.mojo.license.api.DependenciesToolException;
-import org.codehaus.mojo.license.api.MavenProjectDependenciesConfigurator;
+import org.codehaus.mojo.license.api.DependencyBuildConfigurator;
 import org.codehaus.mojo.license.api.ResolvedProjectDependencies;
 import org.codehaus.mojo.license.api.ThirdPartyToolException;
 import org.codehaus.mojo.license.model.LicenseMap;
@@ -68,7 +68,7 @@ import org.slf4j.LoggerFactory;
 // CHECKSTYLE_ON: LineLength
 @Mojo( name = "add-third-party", requiresDependencyResolution = ResolutionScope.TEST,
        defaultPhase = LifecyclePhase.GENERATE_RESOURCES )
-public class AddThirdPartyMojo extends AbstractAddThirdPartyMojo implements MavenProjectDependenciesConfigurator
+public class AddThirdPartyMojo extends AbstractAddThirdPartyMojo implements DependencyBuildConfigurator
 {
     private static final Logger LOG = LoggerFactory.getLogger( AddThirdPartyMojo.class );
 
@@ -317,6 +317,22 @@ public class AddThirdPartyMojo extends AbstractAddThirdPartyMojo implements Mave
         return excludeTransitiveDependencies;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    public int getDependencyThreads()
+    {
+        return dependencyThreads;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public File getLicenseMetadataCacheDirectory()
+    {
+        return useLicenseMetadataCache ? licenseMetadataCacheDirectory : null;
+    }
+
     /** {@inheritDoc} */
     public ArtifactFilters getArtifactFilters()
     {
@@ -324,7 +340,8 @@ public class AddThirdPartyMojo extends AbstractAddThirdPartyMojo implements Mave
         {
             artifactFilters = ArtifactFilters.of( includedGroups, excludedGroups, includedArtifacts, excludedArtifacts,
                                                   includedScopes, excludedScopes, includedTypes, excludedTypes,
-                                                  includeOptional, artifactFiltersUrl , getEncoding() );
+                                                  includeOptional, artifactFiltersUrl , getEncoding(),
+                                                  getUrlContentCache() );
         }
         return artifactFilters;
     }
@@ -418,11 +435,14 @@ public class AddThirdPartyMojo extends AbstractAddThirdPartyMojo implements Mave
     }
 
     void initFromMojo( AggregatorAddThirdPartyMojo mojo, MavenProject mavenProject,
-            List<MavenProject> reactorProjects ) throws Exception
+            List<MavenProject> reactorProjects, int dependencyThreads ) throws Exception
     {
         project = mavenProject;
         deployMissingFile = mojo.deployMissingFile;
         useRepositoryMissingFiles = mojo.useRepositoryMissingFiles;
+        useThirdPartyDescriptorMissCache = mojo.useThirdPartyDescriptorMissCache;
+        thirdPartyDescriptorMissTtl = mojo.thirdPartyDescriptorMissTtl;
+        thirdPartyDescriptorMissCacheFile = mojo.thirdPartyDescriptorMissCacheFile;
         acceptPomPackaging = mojo.acceptPomPackaging;
         includeOptional = mojo.includeOptional;
         excludedScopes = mojo.excludedScopes;
@@ -433,6 +453,9 @@ public class AddThirdPartyMojo extends AbstractAddThirdPartyMojo implements Mave
         includedArtifacts = mojo.includedArtifacts;
         includeTransitiveDependencies = mojo.includeTransitiveDependencies;
         excludeTransitiveDependencies = mojo.excludeTransitiveDependencies;
+        this.dependencyThreads = dependencyThreads;
+        useLicenseMetadataCache = mojo.useLicenseMetadataCache;
+        licenseMetadataCacheDirectory = mojo.licenseMetadataCacheDirectory;
         thirdPartyFilename = mojo.thirdPartyFilename;
         useMissingFile = mojo.useMissingFile;
         String absolutePath = mojo.getProject().getBasedir().getAbsolutePath();
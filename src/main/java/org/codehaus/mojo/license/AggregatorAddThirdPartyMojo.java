@@ -29,6 +29,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
 import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.model.Plugin;
@@ -41,6 +46,7 @@ import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectBuildingException;
 import org.codehaus.mojo.license.model.LicenseMap;
+import org.codehaus.mojo.license.utils.FutureUtil;
 import org.codehaus.mojo.license.utils.SortedProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -104,6 +110,20 @@ public class AggregatorAddThirdPartyMojo extends AbstractAddThirdPartyMojo
     @Parameter( property = "license.aggregateMissingLicensesFile" )
     private File aggregateMissingLicensesFile;
 
+    /**
+     * Number of modules whose dependencies and licenses are collected at the same time.
+     * <p>
+     * By default the modules are processed one after the other. Whatever the value is, the licenses of the modules
+     * are merged in the order of the reactor, so the generated files do not depend on it.
+     * <p>
+     * The {@code dependencyThreads} are then shared by the modules processed at the same time, so that no more than
+     * the greatest of both values of threads build dependency projects.
+     *
+     * @since 2.0.1
+     */
+    @Parameter( property = "license.moduleThreads", defaultValue = "1" )
+    private int moduleThreads;
+
     // ----------------------------------------------------------------------
     // AbstractLicenseMojo Implementaton
     // ----------------------------------------------------------------------
@@ -163,6 +183,12 @@ public class AggregatorAddThirdPartyMojo extends AbstractAddThirdPartyMojo
         }
         // CHECKSTYLE_ON: LineLength
         super.init();
+
+        if ( doGenerate || doGenerateBundle )
+        {
+            // otherwise the goal is skipped
+            collectModules();
+        }
     }
 
     /**
@@ -171,6 +197,27 @@ public class AggregatorAddThirdPartyMojo extends AbstractAddThirdPartyMojo
     @Override
     protected void doAction()
             throws Exception
+    {
+        consolidate();
+
+        checkUnsafeDependencies();
+
+        boolean safeLicense = checkForbiddenLicenses();
+
+        checkBlacklist( safeLicense );
+
+        writeThirdPartyFile();
+
+        checkMissing( CollectionUtils.isNotEmpty( unsafeDependencies ) );
+    }
+
+    /**
+     * Collects the licenses and the dependencies of the reactor modules into {@link #licenseMap} and
+     * {@link #projectDependencies}.
+     *
+     * @throws Exception if a module could not be collected
+     */
+    private void collectModules() throws Exception
     {
         if ( isVerbose() )
         {
@@ -228,6 +275,8 @@ public class AggregatorAddThirdPartyMojo extends AbstractAddThirdPartyMojo
 
         LOG.info( "The default plugin hint is: " + addThirdPartyRoleHint );
 
+        final List<MavenProject> modules = new ArrayList<>();
+        final List<AddThirdPartyMojo> mojos = new ArrayList<>();
         for ( MavenProject reactorProject : reactorProjects )
         {
             if ( getProject().equals( reactorProject ) && !acceptPomPackaging )
@@ -236,20 +285,39 @@ public class AggregatorAddThirdPartyMojo extends AbstractAddThirdPartyMojo
                 continue;
             }
 
-            AddThirdPartyMojo mojo = (AddThirdPartyMojo) getSession()
-                    .lookup( AddThirdPartyMojo.ROLE, addThirdPartyRoleHint );
+            modules.add( reactorProject );
+            mojos.add( (AddThirdPartyMojo) getSession().lookup( AddThirdPartyMojo.ROLE, addThirdPartyRoleHint ) );
+        }
 
-            mojo.initFromMojo( this, reactorProject, new ArrayList<>( this.reactorProjects ) );
+        // the third party tool is shared by the modules: set its verbose mode before they use it concurrently
+        getHelper();
 
-            LicenseMap childLicenseMap = mojo.licenseMap;
-            if ( isVerbose() )
+        final int nbModuleThreads = Math.max( 1, Math.min( moduleThreads, mojos.size() ) );
+        final int nbDependencyThreads = getDependencyThreadsPerModule( dependencyThreads, nbModuleThreads );
+        forEachModule( mojos.size(), nbModuleThreads, new ModuleTask()
+        {
+            @Override
+            public void run( int index ) throws Exception
             {
-                LOG.info( "Found {} license(s) in module {}:{}",
-                        childLicenseMap.size(), mojo.project.getGroupId(), mojo.project.getArtifactId() );
+                mojos.get( index ).initFromMojo( AggregatorAddThirdPartyMojo.this, modules.get( index ),
+                                                 new ArrayList<>( reactorProjects ), nbDependencyThreads );
             }
-            licenseMap.putAll( childLicenseMap );
-
-        }
+        }, new ModuleTask()
+        {
+            @Override
+            public void run( int index )
+            {
+                AddThirdPartyMojo mojo = mojos.get( index );
+                LicenseMap childLicenseMap = mojo.licenseMap;
+                if ( isVerbose() )
+                {
+                    LOG.info( "Found {} license(s) in module {}:{}",
+                            childLicenseMap.size(), mojo.project.getGroupId(), mojo.project.getArtifactId() );
+                }
+                licenseMap.putAll( childLicenseMap );
+                projectDependencies.putAll( mojo.projectDependencies );
+            }
+        } );
 
         LOG.info( "Detected {} license(s).", licenseMap.size() );
         if ( isVerbose() )
@@ -259,18 +327,91 @@ public class AggregatorAddThirdPartyMojo extends AbstractAddThirdPartyMojo
                 LOG.info( " - {} for {} artifact(s).", entry.getKey(), entry.getValue().size() );
             }
         }
+    }
 
-        consolidate();
-
-        checkUnsafeDependencies();
-
-        boolean safeLicense = checkForbiddenLicenses();
+    /**
+     * A step of the processing of a module.
+     */
+    interface ModuleTask
+    {
+        /**
+         * @param index the index of the module
+         * @throws Exception if the module could not be processed
+         */
+        void run( int index ) throws Exception;
+    }
 
-        checkBlacklist( safeLicense );
+    /**
+     * Collects the given number of modules with at most {@code nbThreads} modules at the same time, and merges each
+     * of them in the order of the modules (i.e. of the reactor), as soon as it and the previous ones are collected.
+     *
+     * @param nbModules the number of modules
+     * @param nbThreads the number of modules to collect at the same time
+     * @param collect   the collection of a module, run in any thread
+     * @param merge     the merge of a module, run in the current thread
+     * @throws Exception the failure of the first module which could not be collected or merged, once the previous
+     *                   modules are merged
+     */
+    static void forEachModule( int nbModules, int nbThreads, final ModuleTask collect, ModuleTask merge )
+        throws Exception
+    {
+        ExecutorService executor = null;
+        if ( nbThreads > 1 && nbModules > 1 )
+        {
+            executor = Executors.newFixedThreadPool( Math.min( nbThreads, nbModules ) );
+        }
+        try
+        {
+            List<Future<Void>> collections = new ArrayList<>();
+            if ( executor != null )
+            {
+                for ( int i = 0; i < nbModules; i++ )
+                {
+                    final int index = i;
+                    collections.add( executor.submit( new Callable<Void>()
+                    {
+                        @Override
+                        public Void call() throws Exception
+                        {
+                            collect.run( index );
+                            return null;
+                        }
+                    } ) );
+                }
+            }
 
-        writeThirdPartyFile();
+            // merge in the reactor order, whatever the order the modules are collected in
+            for ( int i = 0; i < nbModules; i++ )
+            {
+                if ( executor == null )
+                {
+                    collect.run( i );
+                }
+                else
+                {
+                    FutureUtil.get( collections.get( i ), Exception.class );
+                }
+                merge.run( i );
+            }
+        }
+        finally
+        {
+            if ( executor != null )
+            {
+                executor.shutdownNow();
+            }
+        }
+    }
 
-        checkMissing( CollectionUtils.isNotEmpty( unsafeDependencies ) );
+    /**
+     * @param dependencyThreads the number of threads configured to build the dependency projects
+     * @param nbModuleThreads   the number of modules processed at the same time
+     * @return the number of threads building the dependency projects of each module, so that the modules do not use
+     *         more than {@code dependencyThreads} threads together (but at least one each)
+     */
+    static int getDependencyThreadsPerModule( int dependencyThreads, int nbModuleThreads )
+    {
+        return Math.max( 1, dependencyThreads / Math.max( 1, nbModuleThreads ) );
     }
 
     // ----------------------------------------------------------------------
@@ -283,8 +424,8 @@ public class AggregatorAddThirdPartyMojo extends AbstractAddThirdPartyMojo
     @Override
     protected SortedMap<String, MavenProject> loadDependencies()
     {
-        // use the cache filled by modules in reactor
-        return getHelper().getArtifactCache();
+        // filled with the dependencies of the modules at the end of init, once the configuration they share is ready
+        return new TreeMap<>();
     }
 
     /**
@@ -0,0 +1,153 @@
+package org.codehaus.mojo.license;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+
+import org.codehaus.mojo.license.utils.FileFingerprint;
+import org.codehaus.mojo.license.utils.FileFingerprintMemo;
+
+/**
+ * A persistent index of the files already treated by a file header goal.
+ * <p>
+ * For each file, the index keeps his {@link FileFingerprint fingerprint} with the {@link FileState} obtained the last
+ * time the file was processed. The whole index is bound to a hash of the header configuration, if the configuration
+ * changes then the index is discarded.
+ * <p>
+ * <b>Note:</b> This class is thread safe.
+ *
+ * @since 2.0.1
+ */
+public class FileHeaderIndex
+{
+    /**
+     * Version of the index format, part of the configuration hash.
+     */
+    private static final String FORMAT_VERSION = "2";
+
+    private final FileFingerprintMemo memo;
+
+    FileHeaderIndex( FileFingerprintMemo memo )
+    {
+        this.memo = memo;
+    }
+
+    /**
+     * Loads the index from the given file.
+     *
+     * @param indexFile         the index file (may not exist)
+     * @param configurationHash hash of the current header configuration
+     * @return the loaded index, empty if the file does not exist or was built with another configuration
+     * @throws IOException if could not read the index file
+     */
+    public static FileHeaderIndex load( File indexFile, String configurationHash ) throws IOException
+    {
+        return new FileHeaderIndex( FileFingerprintMemo.load( indexFile, FORMAT_VERSION + ":" + configurationHash ) );
+    }
+
+    /**
+     * Obtains the state of the given file as recorded in the index, if the file did not change since.
+     * <p>
+     * See {@link FileFingerprint#check(File)} for how a file is considered unchanged. Only states which do not
+     * require to rewrite the file are returned, unless {@code dryRun} is on.
+     *
+     * @param file   the file to check
+     * @param dryRun {@code true} if the caller will not modify the file
+     * @return the recorded state of the file, or {@code null} if the file must be processed
+     * @throws IOException if could not compute the sha1 of the file
+     */
+    public FileState get( File file, boolean dryRun ) throws IOException
+    {
+        FileFingerprintMemo.Entry entry = memo.getRecorded( file );
+        FileState state = entry == null ? null : parseState( entry.getValue() );
+        if ( state == null || state == FileState.fail )
+        {
+            return null;
+        }
+        if ( !dryRun && ( state == FileState.add || state == FileState.update ) )
+        {
+            return null;
+        }
+        return memo.get( file ) != null ? state : null;
+    }
+
+    /**
+     * Records the state of the given file (with his current fingerprint).
+     *
+     * @param file    the processed file
+     * @param state   the state of the file (use {@link FileState#uptodate} for a file which was just rewritten)
+     * @param content the current content of the file if known (to not read it again), or {@code null}
+     * @throws IOException if could not compute the sha1 of the file
+     */
+    public void put( File file, FileState state, byte[] content ) throws IOException
+    {
+        if ( state == FileState.fail )
+        {
+            memo.remove( file );
+            return;
+        }
+        memo.put( file, FileFingerprint.of( file, content ), state.name() );
+    }
+
+    /**
+     * Records the state of the given file with only his size and last modification time, when his whole content was
+     * not read: the file is then only recognized if both did not change, once his last modification time can be
+     * trusted.
+     *
+     * @param file  the processed file
+     * @param state the state of the file
+     */
+    public void putMetadata( File file, FileState state )
+    {
+        FileFingerprint fingerprint = state == FileState.fail ? null : FileFingerprint.ofMetadata( file );
+        if ( fingerprint == null )
+        {
+            memo.remove( file );
+            return;
+        }
+        memo.put( file, fingerprint, state.name() );
+    }
+
+    private static FileState parseState( String value )
+    {
+        try
+        {
+            return FileState.valueOf( value );
+        }
+        catch ( IllegalArgumentException e )
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Stores the entries of the files seen during this build into the index file.
+     *
+     * @throws IOException if could not write the index file
+     */
+    public void store() throws IOException
+    {
+        memo.store();
+    }
+}
@@ -67,18 +67,23 @@ public enum FileState
 
     /**
      * Register a file for this state on result dictionary.
+     * <p>
+     * <b>Note:</b> The dictionary is used as lock, so files can be registered from several threads.
      *
      * @param file    file to add
      * @param results dictionary to update
      */
     public void addFile( File file, EnumMap<FileState, Set<File>> results )
     {
-        Set<File> fileSet = results.get( this );
-        if ( fileSet == null )
+        synchronized ( results )
         {
-            fileSet = new HashSet<>();
-            results.put( this, fileSet );
+            Set<File> fileSet = results.get( this );
+            if ( fileSet == null )
+            {
+                fileSet = new HashSet<>();
+                results.put( this, fileSet );
+            }
+            fileSet.add( file );
         }
-        fileSet.add( file );
     }
 }
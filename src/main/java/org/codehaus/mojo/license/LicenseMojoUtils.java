@@ -23,10 +23,14 @@ package org.codehaus.mojo.license;
  */
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
 
+import org.codehaus.mojo.license.api.ThirdPartyDescriptorMissCache;
 import org.codehaus.mojo.license.utils.UrlRequester;
+import org.eclipse.aether.RepositorySystemSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -152,6 +156,35 @@ public final class LicenseMojoUtils
         return NO_URL;
     }
 
+    /**
+     * Loads the cache of the third party descriptors missing from the remote repositories, shared by the modules of
+     * the build.
+     *
+     * @param repositorySession the repository session of the build
+     * @param file              the cache file, {@code null} to disable the cache
+     * @param timeToLive        the number of hours during which a miss is kept, {@code 0} to disable the cache
+     * @return the cache, or {@code null} if it is disabled or could not be loaded
+     * @since 2.0.1
+     */
+    public static ThirdPartyDescriptorMissCache loadThirdPartyDescriptorMissCache(
+            RepositorySystemSession repositorySession, File file, int timeToLive )
+    {
+        if ( timeToLive <= 0 || file == null )
+        {
+            return null;
+        }
+        try
+        {
+            return ThirdPartyDescriptorMissCache.forSession( repositorySession, file,
+                    TimeUnit.HOURS.toMillis( timeToLive ) );
+        }
+        catch ( IOException e )
+        {
+            LOG.warn( "Could not load the missing third party descriptors from {}, looking up all of them", file );
+            return null;
+        }
+    }
+
     /**
      * A {@link LoggerFacade} implementation backed by a SLF4J {@link Logger}.
      */
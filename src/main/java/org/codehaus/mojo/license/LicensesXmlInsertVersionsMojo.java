@@ -36,7 +36,7 @@ import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.codehaus.mojo.license.api.ArtifactFilters;
-import org.codehaus.mojo.license.api.MavenProjectDependenciesConfigurator;
+import org.codehaus.mojo.license.api.DependencyBuildConfigurator;
 import org.codehaus.mojo.license.api.ResolvedProjectDependencies;
 import org.codehaus.mojo.license.download.LicenseSummaryReader;
 import org.codehaus.mojo.license.download.LicensedArtifact;
@@ -111,7 +111,7 @@ public class LicensesXmlInsertVersionsMojo
             }
             final ArtifactFilters artifactFilters = artifactFiltersBuilder.build();
 
-            final MavenProjectDependenciesConfigurator config = new MavenProjectDependenciesConfigurator()
+            final DependencyBuildConfigurator config = new DependencyBuildConfigurator()
             {
 
                 @Override
@@ -137,6 +137,18 @@ public class LicensesXmlInsertVersionsMojo
                 {
                     return artifactFilters;
                 }
+
+                @Override
+                public int getDependencyThreads()
+                {
+                    return dependencyThreads;
+                }
+
+                @Override
+                public File getLicenseMetadataCacheDirectory()
+                {
+                    return useLicenseMetadataCache ? licenseMetadataCacheDirectory : null;
+                }
             };
             final Map<String, LicensedArtifact> resolvedDeps = new TreeMap<String, LicensedArtifact>();
             licensedArtifactResolver.loadProjectDependencies(
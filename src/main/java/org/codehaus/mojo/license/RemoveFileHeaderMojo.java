@@ -40,7 +40,6 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
@@ -215,9 +214,9 @@ public class RemoveFileHeaderMojo extends AbstractLicenseNameMojo
     private EnumMap<FileState, Set<File>> result;
 
     /**
-     * Dictionary of files to treat indexed by their CommentStyle.
+     * The dictionary of extension indexed by their associated comment style.
      */
-    private Map<String, List<File>> filesToTreatByCommentStyle;
+    private Map<String, String> extensionToCommentStyle;
 
     // ----------------------------------------------------------------------
     // AbstractLicenceMojo Implementation
@@ -292,7 +291,7 @@ public class RemoveFileHeaderMojo extends AbstractLicenseNameMojo
             }
         }
 
-        Map<String, String> extensionToCommentStyle = new TreeMap<>();
+        extensionToCommentStyle = new TreeMap<>();
 
         // add default extensions from header transformers
         for ( Map.Entry<String, FileHeaderTransformer> entry : transformers.entrySet() )
@@ -341,10 +340,6 @@ public class RemoveFileHeaderMojo extends AbstractLicenseNameMojo
         {
             extraFiles = Collections.emptyMap();
         }
-
-        // get all files to treat indexed by their comment style
-        filesToTreatByCommentStyle = obtainFilesToProcessByCommentStyle( extraFiles, roots, includes, excludes,
-                extensionToCommentStyle, transformers );
     }
 
     @Override
@@ -359,14 +354,22 @@ public class RemoveFileHeaderMojo extends AbstractLicenseNameMojo
         try
         {
 
-            for ( Map.Entry<String, List<File>> commentStyleFiles : filesToTreatByCommentStyle.entrySet() )
+            // files are processed as soon as they are found
+            final Set<String> commentStyles = new HashSet<>();
+            scanFilesToProcess( extraFiles, roots, includes, excludes, extensionToCommentStyle, 1,
+                                new SourceFileScanner.Handler()
             {
-
-                String commentStyle = commentStyleFiles.getKey();
-                List<File> files = commentStyleFiles.getValue();
-
-                processCommentStyle( commentStyle, files );
-            }
+                @Override
+                public void handle( File file, String commentStyle ) throws IOException
+                {
+                    if ( commentStyles.add( commentStyle ) )
+                    {
+                        startCommentStyle( commentStyle );
+                    }
+                    // use header transformer according to comment style given in header
+                    processFile( getTransformer( transformers, commentStyle ), file );
+                }
+            } );
 
         }
         finally
@@ -409,33 +412,20 @@ public class RemoveFileHeaderMojo extends AbstractLicenseNameMojo
     }
 
     /**
-     * Process a given comment style to all his detected files.
+     * Reports the first file found for a given comment style.
      *
      * @param commentStyle comment style to treat
-     * @param filesToTreat files using this comment style to treat
-     * @throws IOException if any IO error while processing files
      */
-    private void processCommentStyle( String commentStyle, List<File> filesToTreat ) throws IOException
+    private void startCommentStyle( String commentStyle )
     {
-
-        // obtain license from definition
-        License license = getLicense( getLicenseName(), true );
-
         if ( isVerbose() )
         {
+            // obtain license from definition
+            License license = getLicense( getLicenseName(), true );
+
             LOG.info( "Process header '{}'", commentStyle );
             LOG.info( " - using {}", license.getDescription() );
         }
-
-        // use header transformer according to comment style given in header
-        FileHeaderTransformer transformer = getTransformer( transformers, commentStyle );
-
-
-        for ( File file : filesToTreat )
-        {
-            processFile( transformer, file );
-        }
-        filesToTreat.clear();
     }
 
     private boolean processFile( FileHeaderTransformer transformer, File file, File processFile ) throws IOException
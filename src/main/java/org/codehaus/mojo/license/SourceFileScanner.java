@@ -0,0 +1,619 @@
+package org.codehaus.mojo.license;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+import org.codehaus.mojo.license.utils.FutureUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Discovers the files to treat by a file header goal below some root directories, and sorts them by the comment style
+ * associated to their extension (or to their name).
+ * <p>
+ * The includes and excludes are Ant patterns relative to the root directories (with the semantics of the plexus
+ * {@code DirectoryScanner}, {@code %regex[...]} patterns included), compiled once into {@link PathMatcher}s. A
+ * directory matched by an exclude pattern ending with {@code **} is not walked at all.
+ * <p>
+ * The first levels of the root directories are listed by a background thread, then the subtrees below them are walked
+ * in parallel. The files found are streamed to a {@link Handler} as soon as their subtree is walked, so that they can
+ * be treated while the other directories are still being walked; they are given in the same order whatever the
+ * number of threads is.
+ *
+ * @since 2.0.1
+ */
+public class SourceFileScanner
+{
+    private static final Logger LOG = LoggerFactory.getLogger( SourceFileScanner.class );
+
+    /**
+     * Depth of the directories below the roots which are each walked by a distinct task.
+     */
+    private static final int FAN_OUT_DEPTH = 2;
+
+    /**
+     * Number of subtrees per thread which can be walked ahead of the handler.
+     */
+    private static final int PENDING_SUBTREES_PER_THREAD = 2;
+
+    /**
+     * Maximal number of files found and not yet handled.
+     */
+    private static final int QUEUE_CAPACITY = 1024;
+
+    private static final String REGEX_HANDLER_PREFIX = "%regex[";
+
+    private static final String ANT_HANDLER_PREFIX = "%ant[";
+
+    private static final String PATTERN_HANDLER_SUFFIX = "]";
+
+    private final List<PathMatcher> includes;
+
+    private final List<PathMatcher> excludes;
+
+    /**
+     * Excludes matching a directory only if they match all the files below it.
+     */
+    private final List<PathMatcher> directoryExcludes;
+
+    private final Map<String, String> extensionToCommentStyle;
+
+    private final Map<String, String> extraFiles;
+
+    private final int threads;
+
+    /**
+     * @param includes                the include patterns ({@code null} to include all the files)
+     * @param excludes                the exclude patterns (may be {@code null})
+     * @param extensionToCommentStyle the comment styles indexed by file extensions
+     * @param extraFiles              the comment styles indexed by file names, for the files whose extension is not
+     *                                known
+     * @param threads                 the number of threads used to walk the directories
+     */
+    public SourceFileScanner( String[] includes, String[] excludes, Map<String, String> extensionToCommentStyle,
+                              Map<String, String> extraFiles, int threads )
+    {
+        this.includes = new ArrayList<>();
+        this.excludes = new ArrayList<>();
+        this.directoryExcludes = new ArrayList<>();
+        this.extensionToCommentStyle = extensionToCommentStyle;
+        this.extraFiles = extraFiles;
+        this.threads = threads;
+        for ( String include : includes == null ? new String[] { "**" } : includes )
+        {
+            this.includes.add( toPathMatcher( include ) );
+        }
+        if ( excludes != null )
+        {
+            for ( String exclude : excludes )
+            {
+                PathMatcher matcher = toPathMatcher( exclude );
+                this.excludes.add( matcher );
+                if ( isDirectoryPattern( exclude ) )
+                {
+                    directoryExcludes.add( matcher );
+                }
+            }
+        }
+    }
+
+    /**
+     * Receives the files to treat, as soon as they are found.
+     */
+    public interface Handler
+    {
+        /**
+         * @param file         a file to treat
+         * @param commentStyle the comment style of the file
+         * @throws IOException if could not treat the file
+         */
+        void handle( File file, String commentStyle ) throws IOException;
+    }
+
+    /**
+     * A file found, waiting to be handled.
+     */
+    private static class FoundFile
+    {
+        private final File file;
+
+        private final String commentStyle;
+
+        FoundFile( File file, String commentStyle )
+        {
+            this.file = file;
+            this.commentStyle = commentStyle;
+        }
+    }
+
+    /**
+     * Marks the end of the files found.
+     */
+    private static final FoundFile END = new FoundFile( null, null );
+
+    /**
+     * Discovers the files to treat below the given root directories.
+     * <p>
+     * The directories are walked in background threads, and the files found are handed over through a bounded queue
+     * to the given handler, which is called from the current thread while the walk goes on. If the handler fails, the
+     * walk is stopped.
+     *
+     * @param roots   the root directories (the ones which are not directories are ignored)
+     * @param handler the handler of the files found
+     * @throws IOException if the handler failed (the directories which cannot be listed are ignored)
+     */
+    public void scan( final Collection<File> roots, Handler handler ) throws IOException
+    {
+        final BlockingQueue<FoundFile> queue = new ArrayBlockingQueue<>( QUEUE_CAPACITY );
+        final Handler enqueuer = new Handler()
+        {
+            @Override
+            public void handle( File file, String commentStyle ) throws IOException
+            {
+                try
+                {
+                    queue.put( new FoundFile( file, commentStyle ) );
+                }
+                catch ( InterruptedException e )
+                {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException( "Interrupted while discovering source files" );
+                }
+            }
+        };
+        ExecutorService producer = Executors.newSingleThreadExecutor();
+        try
+        {
+            Future<Void> walk = producer.submit( new Callable<Void>()
+            {
+                @Override
+                public Void call() throws IOException
+                {
+                    try
+                    {
+                        walkRoots( roots, enqueuer );
+                    }
+                    finally
+                    {
+                        try
+                        {
+                            queue.put( END );
+                        }
+                        catch ( InterruptedException e )
+                        {
+                            // only interrupted once the handler failed, nobody is waiting for the end anymore
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    return null;
+                }
+            } );
+            FoundFile found;
+            while ( ( found = take( queue ) ) != END )
+            {
+                handler.handle( found.file, found.commentStyle );
+            }
+            FutureUtil.get( walk, IOException.class );
+        }
+        finally
+        {
+            producer.shutdownNow();
+        }
+    }
+
+    /**
+     * Walks the given root directories, giving the files found to the given handler.
+     * <p>
+     * The files of the first levels are given as they are listed, then the files of each subtree once it is walked,
+     * in the order the subtrees were listed, so that the files are given in the same order whatever the number of
+     * threads is. Only a few subtrees per thread are walked ahead of the handler, the others wait to be submitted.
+     */
+    private void walkRoots( Collection<File> roots, Handler handler ) throws IOException
+    {
+        ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool( threads ) : null;
+        // walked only when handled, the files of the previous subtrees being already handled
+        int maxPending = executor == null ? 0 : threads * PENDING_SUBTREES_PER_THREAD;
+        try
+        {
+            Deque<FutureTask<List<FoundFile>>> pending = new ArrayDeque<>();
+            for ( File root : roots )
+            {
+                if ( !root.isDirectory() )
+                {
+                    LOG.debug( "Skip root {} which is not a directory", root );
+                    continue;
+                }
+                LOG.debug( "discovering source files in {}", root );
+                final Path rootPath = root.toPath();
+                List<Path> subtrees = new ArrayList<>();
+                fanOut( rootPath, rootPath, 0, subtrees, handler );
+                for ( final Path subtree : subtrees )
+                {
+                    FutureTask<List<FoundFile>> walk = new FutureTask<>( new Callable<List<FoundFile>>()
+                    {
+                        @Override
+                        public List<FoundFile> call() throws IOException
+                        {
+                            return walk( rootPath, subtree );
+                        }
+                    } );
+                    if ( executor != null )
+                    {
+                        executor.execute( walk );
+                    }
+                    pending.add( walk );
+                    handlePending( pending, maxPending, handler );
+                }
+                handlePending( pending, 0, handler );
+            }
+        }
+        finally
+        {
+            if ( executor != null )
+            {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Gives the files of the oldest subtrees to the given handler, until at most the given number of subtrees are
+     * pending.
+     */
+    private static void handlePending( Deque<FutureTask<List<FoundFile>>> pending, int maxPending, Handler handler )
+        throws IOException
+    {
+        while ( pending.size() > maxPending )
+        {
+            FutureTask<List<FoundFile>> subtree = pending.removeFirst();
+            // no-op if already walked by the executor
+            subtree.run();
+            for ( FoundFile found : FutureUtil.get( subtree, IOException.class ) )
+            {
+                handler.handle( found.file, found.commentStyle );
+            }
+        }
+    }
+
+    /**
+     * Lists the given directory, gives its files to the given handler, and collects its subdirectories deep enough to
+     * be walked by a distinct task.
+     * <p>
+     * As in the walk of the subtrees, the directories which cannot be listed are ignored.
+     */
+    private void fanOut( Path root, Path dir, int depth, List<Path> subtrees, Handler handler ) throws IOException
+    {
+        List<Path> files = new ArrayList<>();
+        List<Path> subdirectories = new ArrayList<>();
+        try ( DirectoryStream<Path> stream = Files.newDirectoryStream( dir ) )
+        {
+            for ( Path entry : stream )
+            {
+                BasicFileAttributes attrs;
+                try
+                {
+                    attrs = Files.readAttributes( entry, BasicFileAttributes.class );
+                }
+                catch ( IOException e )
+                {
+                    LOG.debug( "Could not visit {}", entry, e );
+                    continue;
+                }
+                if ( attrs.isDirectory() )
+                {
+                    if ( !isExcludedDirectory( root.relativize( entry ) ) )
+                    {
+                        subdirectories.add( entry );
+                    }
+                }
+                else if ( attrs.isRegularFile() )
+                {
+                    files.add( entry );
+                }
+            }
+        }
+        catch ( IOException | DirectoryIteratorException e )
+        {
+            LOG.debug( "Could not visit {}", dir, e );
+        }
+        for ( Path file : files )
+        {
+            addFile( root, file, handler );
+        }
+        for ( Path subdirectory : subdirectories )
+        {
+            if ( depth + 1 < FAN_OUT_DEPTH )
+            {
+                fanOut( root, subdirectory, depth + 1, subtrees, handler );
+            }
+            else
+            {
+                subtrees.add( subdirectory );
+            }
+        }
+    }
+
+    /**
+     * Walks the given directory (following the symbolic links, as the plexus {@code DirectoryScanner} does).
+     *
+     * @return the files to treat below the directory, in the order they were visited
+     */
+    private List<FoundFile> walk( final Path root, final Path start ) throws IOException
+    {
+        final List<FoundFile> result = new ArrayList<>();
+        final Handler collector = new Handler()
+        {
+            @Override
+            public void handle( File file, String commentStyle )
+            {
+                result.add( new FoundFile( file, commentStyle ) );
+            }
+        };
+        Files.walkFileTree( start, EnumSet.of( FileVisitOption.FOLLOW_LINKS ), Integer.MAX_VALUE,
+                            new SimpleFileVisitor<Path>()
+        {
+            @Override
+            public FileVisitResult preVisitDirectory( Path dir, BasicFileAttributes attrs )
+            {
+                if ( !dir.equals( root ) && isExcludedDirectory( root.relativize( dir ) ) )
+                {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile( Path file, BasicFileAttributes attrs ) throws IOException
+            {
+                if ( attrs.isRegularFile() )
+                {
+                    addFile( root, file, collector );
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed( Path file, IOException exc )
+            {
+                // unreadable files and symbolic link cycles are ignored
+                LOG.debug( "Could not visit {}", file, exc );
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory( Path dir, IOException exc )
+            {
+                if ( exc != null )
+                {
+                    // the directory could not be listed until its end
+                    LOG.debug( "Could not visit {}", dir, exc );
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        } );
+        return result;
+    }
+
+    private void addFile( Path root, Path file, Handler handler ) throws IOException
+    {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf( '.' );
+        String commentStyle = extensionToCommentStyle.get( dot < 0 ? "" : name.substring( dot + 1 ) );
+        if ( StringUtils.isEmpty( commentStyle ) )
+        {
+            // unknown extension, try with extra files
+            commentStyle = extraFiles.get( name );
+            if ( StringUtils.isEmpty( commentStyle ) )
+            {
+                // do not treat this file
+                return;
+            }
+        }
+        Path relativePath = root.relativize( file );
+        if ( matchesAny( includes, relativePath ) && !matchesAny( excludes, relativePath ) )
+        {
+            handler.handle( file.toFile(), commentStyle );
+        }
+    }
+
+    private boolean isExcludedDirectory( Path relativePath )
+    {
+        return matchesAny( directoryExcludes, relativePath );
+    }
+
+    private static boolean matchesAny( List<PathMatcher> matchers, Path relativePath )
+    {
+        for ( PathMatcher matcher : matchers )
+        {
+            if ( matcher.matches( relativePath ) )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static FoundFile take( BlockingQueue<FoundFile> queue ) throws IOException
+    {
+        try
+        {
+            return queue.take();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException( "Interrupted while discovering source files" );
+        }
+    }
+
+    private static PathMatcher toPathMatcher( String pattern )
+    {
+        return FileSystems.getDefault().getPathMatcher( "regex:" + toRegex( pattern, File.separatorChar ) );
+    }
+
+    /**
+     * @return {@code true} if the given pattern matches a directory only if it matches all the files below it
+     */
+    static boolean isDirectoryPattern( String pattern )
+    {
+        if ( pattern.startsWith( REGEX_HANDLER_PREFIX ) )
+        {
+            return false;
+        }
+        String antPattern = stripAntHandler( pattern );
+        return antPattern.endsWith( "/" ) || antPattern.endsWith( "\\" ) || antPattern.equals( "**" )
+            || antPattern.endsWith( "/**" ) || antPattern.endsWith( "\\**" );
+    }
+
+    /**
+     * Converts a pattern of the plexus {@code DirectoryScanner} to a regular expression matching the relative paths
+     * using the given separator.
+     *
+     * @param pattern   an Ant pattern (a pattern ending with a separator being a pattern ending with {@code **}), or
+     *                  a regular expression in a {@code %regex[...]} handler
+     * @param separator the separator of the paths to match
+     * @return the regular expression
+     */
+    static String toRegex( String pattern, char separator )
+    {
+        if ( pattern.startsWith( REGEX_HANDLER_PREFIX ) && pattern.endsWith( PATTERN_HANDLER_SUFFIX ) )
+        {
+            return pattern.substring( REGEX_HANDLER_PREFIX.length(),
+                                      pattern.length() - PATTERN_HANDLER_SUFFIX.length() );
+        }
+        String antPattern = stripAntHandler( pattern );
+        String quotedSeparator = separator == '\\' ? "\\\\" : String.valueOf( separator );
+        String segmentChar = "[^" + quotedSeparator + "]";
+
+        StringBuilder regex = new StringBuilder();
+        if ( antPattern.startsWith( "/" ) || antPattern.startsWith( "\\" ) )
+        {
+            // never matches a relative path
+            regex.append( quotedSeparator );
+        }
+        if ( antPattern.endsWith( "/" ) || antPattern.endsWith( "\\" ) )
+        {
+            antPattern += "**";
+        }
+        List<String> tokens = new ArrayList<>();
+        for ( String token : antPattern.split( "[/\\\\]" ) )
+        {
+            // as the tokenizer of the plexus SelectorUtils, ignore empty tokens
+            if ( !token.isEmpty() )
+            {
+                tokens.add( token );
+            }
+        }
+        for ( int i = 0; i < tokens.size(); i++ )
+        {
+            String token = tokens.get( i );
+            boolean last = i == tokens.size() - 1;
+            if ( "**".equals( token ) )
+            {
+                if ( last )
+                {
+                    regex.append( ".*" );
+                }
+                else
+                {
+                    // any number of directories
+                    regex.append( "(?:" ).append( segmentChar ).append( "*" ).append( quotedSeparator )
+                        .append( ")*" );
+                }
+                continue;
+            }
+            int literalStart = 0;
+            for ( int j = 0; j < token.length(); j++ )
+            {
+                char c = token.charAt( j );
+                if ( c == '*' || c == '?' )
+                {
+                    if ( literalStart < j )
+                    {
+                        regex.append( Pattern.quote( token.substring( literalStart, j ) ) );
+                    }
+                    regex.append( segmentChar );
+                    if ( c == '*' )
+                    {
+                        regex.append( '*' );
+                    }
+                    literalStart = j + 1;
+                }
+            }
+            if ( literalStart < token.length() )
+            {
+                regex.append( Pattern.quote( token.substring( literalStart ) ) );
+            }
+            if ( i + 2 == tokens.size() && "**".equals( tokens.get( i + 1 ) ) )
+            {
+                // a trailing ** matches the directory itself too
+                regex.append( "(?:" ).append( quotedSeparator ).append( ".*)?" );
+                break;
+            }
+            if ( !last )
+            {
+                regex.append( quotedSeparator );
+            }
+        }
+        return regex.toString();
+    }
+
+    private static String stripAntHandler( String pattern )
+    {
+        if ( pattern.startsWith( ANT_HANDLER_PREFIX ) && pattern.endsWith( PATTERN_HANDLER_SUFFIX ) )
+        {
+            return pattern.substring( ANT_HANDLER_PREFIX.length(),
+                                      pattern.length() - PATTERN_HANDLER_SUFFIX.length() );
+        }
+        return pattern;
+    }
+}
@@ -24,13 +24,18 @@ package org.codehaus.mojo.license.api;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import org.apache.maven.artifact.Artifact;
 import org.codehaus.mojo.license.utils.MojoHelper;
+import org.codehaus.mojo.license.utils.UrlContentCache;
 import org.codehaus.mojo.license.utils.UrlRequester;
 
 /**
@@ -59,6 +64,24 @@ public class ArtifactFilters
                                       String includedTypes, String excludedTypes, boolean includeOptional,
                                       String artifactFiltersUrl, String encoding )
     // CHECKSTYLE_ON: ParameterNumber
+    {
+        return of( includedGroups, excludedGroups, includedArtifacts, excludedArtifacts, includedScopes,
+                   excludedScopes, includedTypes, excludedTypes, includeOptional, artifactFiltersUrl, encoding, null );
+    }
+
+    // CHECKSTYLE_OFF: ParameterNumber
+
+    /**
+     * Creates the filters, fetching {@code artifactFiltersUrl} through the given {@code urlContentCache} (may be
+     * {@code null}).
+     *
+     * @since 2.0.1
+     */
+    public static ArtifactFilters of( String includedGroups, String excludedGroups, String includedArtifacts,
+                                      String excludedArtifacts, String includedScopes, String excludedScopes,
+                                      String includedTypes, String excludedTypes, boolean includeOptional,
+                                      String artifactFiltersUrl, String encoding, UrlContentCache urlContentCache )
+    // CHECKSTYLE_ON: ParameterNumber
     {
         Builder builder = new Builder();
 
@@ -78,7 +101,7 @@ public class ArtifactFilters
         {
             try
             {
-                final String content = UrlRequester.getFromUrl( artifactFiltersUrl, encoding );
+                final String content = UrlRequester.getFromUrl( artifactFiltersUrl, encoding, urlContentCache );
                 if ( content != null )
                 {
                     builder.script( artifactFiltersUrl, content );
@@ -415,10 +438,18 @@ public class ArtifactFilters
 
         public boolean matches( Artifact artifact )
         {
-            return pattern.matcher( artifact.getGroupId() + ":" + artifact.getArtifactId() ).matches();
+            return matches( artifact.getGroupId() + ":" + artifact.getArtifactId() );
+        }
+
+        boolean matches( String gaKey )
+        {
+            return pattern.matcher( gaKey ).matches();
         }
     }
 
+    /**
+     * Includes and excludes, each compiled into {@link CompiledFilters} when built.
+     */
     static class IncludesExcludes
     {
         static class Builder
@@ -448,35 +479,447 @@ public class ArtifactFilters
             }
         }
 
-        private final int includesCount;
+        /**
+         * The compiled includes, {@code null} if there are none (i.e. everything is included).
+         */
+        private final CompiledFilters includes;
 
-        private final List<ArtifactFilter> includesExcludes;
+        private final CompiledFilters excludes;
 
         public IncludesExcludes( List<ArtifactFilter> includesExcludes, int includesCount )
         {
             super();
-            this.includesExcludes = includesExcludes;
-            this.includesCount = includesCount;
+            this.includes =
+                includesCount == 0 ? null : new CompiledFilters( includesExcludes.subList( 0, includesCount ) );
+            this.excludes = new CompiledFilters( includesExcludes.subList( includesCount, includesExcludes.size() ) );
         }
 
         public boolean isIncluded( Artifact artifact )
         {
-            return ( includesCount == 0 || matchesAny( artifact, 0, includesCount ) )
-                && !matchesAny( artifact, includesCount, includesExcludes.size() );
+            String groupId = null;
+            String artifactId = null;
+            String gaKey = null;
+            boolean plain = true;
+            if ( ( includes != null && includes.hasGaFilters() ) || excludes.hasGaFilters() )
+            {
+                groupId = artifact.getGroupId();
+                artifactId = artifact.getArtifactId();
+                plain = CompiledFilters.isPlain( groupId ) && CompiledFilters.isPlain( artifactId );
+                if ( !plain || ( includes != null && includes.needsGaKey() ) || excludes.needsGaKey() )
+                {
+                    // computed once for all the filters
+                    gaKey = groupId + ":" + artifactId;
+                }
+            }
+            if ( !plain )
+            {
+                return ( includes == null || includes.matchesAnyOne( artifact, gaKey ) )
+                    && !excludes.matchesAnyOne( artifact, gaKey );
+            }
+            return ( includes == null || includes.matches( artifact, groupId, artifactId, gaKey ) )
+                && !excludes.matches( artifact, groupId, artifactId, gaKey );
         }
+    }
 
-        boolean matchesAny( Artifact artifact, int start, int end )
+    /**
+     * Filters any of which must match, compiled into lookups instead of being evaluated one by one:
+     * <ul>
+     * <li>scopes and types are looked up in hash sets</li>
+     * <li>literal {@code groupId:artifactId}, {@code groupId:.*} and {@code .*:artifactId} patterns are looked up in
+     * hash sets</li>
+     * <li>the {@code groupId} and {@code artifactId} patterns written by {@link ArtifactFilters#of} are searched as
+     * substrings when the user pattern is a literal (possibly with {@code .} wildcards)</li>
+     * <li>the other patterns are combined into a single alternation</li>
+     * </ul>
+     * The compiled forms rely on the {@code groupId:artifactId} key having a single colon and no line terminator: for
+     * any other artifact, the filters are evaluated one by one.
+     */
+    static class CompiledFilters
+    {
+        private static final String REGEX_META_CHARACTERS = "\\^$.|?*+()[]{}";
+
+        private static final String GROUP_PREFIX = "[^:]*(";
+
+        private static final String GROUP_SUFFIX = ")[^:]*:[^:]+";
+
+        private static final String ARTIFACT_PREFIX = "[^:]+:[^:]*(";
+
+        private static final String ARTIFACT_SUFFIX = ")[^:]*";
+
+        private static final String ANY = ".*";
+
+        private final List<ArtifactFilter> filters;
+
+        private final Set<String> scopes = new HashSet<>();
+
+        private final Set<String> types = new HashSet<>();
+
+        private final Set<String> gaKeys = new HashSet<>();
+
+        private final Set<String> groupIds = new HashSet<>();
+
+        private final Set<String> artifactIds = new HashSet<>();
+
+        private final List<Substring> groupIdSubstrings = new ArrayList<>();
+
+        private final List<Substring> artifactIdSubstrings = new ArrayList<>();
+
+        private final List<Pattern> patterns = new ArrayList<>();
+
+        private final List<ArtifactFilter> others = new ArrayList<>();
+
+        private boolean hasGaFilters;
+
+        CompiledFilters( List<ArtifactFilter> filters )
         {
-            if ( start < includesExcludes.size() )
+            this.filters = new ArrayList<>( filters );
+            List<Pattern> combinable = new ArrayList<>();
+            for ( ArtifactFilter filter : filters )
             {
-                for ( int i = start; i < end; i++ )
+                if ( filter instanceof ScopeFilter )
                 {
-                    if ( includesExcludes.get( i ).matches( artifact ) )
+                    scopes.add( ( (ScopeFilter) filter ).scope );
+                }
+                else if ( filter instanceof TypeFilter )
+                {
+                    types.add( ( (TypeFilter) filter ).type );
+                }
+                else if ( filter instanceof GaFilter )
+                {
+                    hasGaFilters = true;
+                    Pattern pattern = ( (GaFilter) filter ).pattern;
+                    if ( !compileLiteral( pattern ) )
+                    {
+                        ( isCombinable( pattern ) ? combinable : patterns ).add( pattern );
+                    }
+                }
+                else
+                {
+                    others.add( filter );
+                }
+            }
+            if ( combinable.size() == 1 )
+            {
+                patterns.add( combinable.get( 0 ) );
+            }
+            else if ( combinable.size() > 1 )
+            {
+                combine( combinable );
+            }
+        }
+
+        boolean hasGaFilters()
+        {
+            return hasGaFilters;
+        }
+
+        boolean needsGaKey()
+        {
+            return !gaKeys.isEmpty() || !patterns.isEmpty();
+        }
+
+        /**
+         * @param artifact   the artifact to test
+         * @param groupId    its groupId, {@link #isPlain(String) plain}
+         * @param artifactId its artifactId, {@link #isPlain(String) plain}
+         * @param gaKey      its {@code groupId:artifactId} key, may be {@code null} if not {@link #needsGaKey()}
+         * @return {@code true} if any of the filters matches the given artifact
+         */
+        boolean matches( Artifact artifact, String groupId, String artifactId, String gaKey )
+        {
+            if ( !scopes.isEmpty() && scopes.contains( artifact.getScope() ) )
+            {
+                return true;
+            }
+            if ( !types.isEmpty() && types.contains( artifact.getType() ) )
+            {
+                return true;
+            }
+            if ( hasGaFilters )
+            {
+                if ( gaKeys.contains( gaKey ) || groupIds.contains( groupId ) || artifactIds.contains( artifactId ) )
+                {
+                    return true;
+                }
+                if ( !artifactId.isEmpty() && isFoundInAny( groupIdSubstrings, groupId ) )
+                {
+                    return true;
+                }
+                if ( !groupId.isEmpty() && isFoundInAny( artifactIdSubstrings, artifactId ) )
+                {
+                    return true;
+                }
+                for ( Pattern pattern : patterns )
+                {
+                    if ( pattern.matcher( gaKey ).matches() )
                     {
                         return true;
                     }
                 }
             }
+            for ( ArtifactFilter filter : others )
+            {
+                if ( filter.matches( artifact ) )
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Evaluates the filters one by one.
+         *
+         * @param artifact the artifact to test
+         * @param gaKey    its {@code groupId:artifactId} key
+         * @return {@code true} if any of the filters matches the given artifact
+         */
+        boolean matchesAnyOne( Artifact artifact, String gaKey )
+        {
+            for ( ArtifactFilter filter : filters )
+            {
+                if ( filter instanceof GaFilter ? ( (GaFilter) filter ).matches( gaKey ) : filter.matches( artifact ) )
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @param string a groupId or an artifactId
+         * @return {@code true} if the given string can be matched by the compiled forms
+         */
+        static boolean isPlain( String string )
+        {
+            if ( string == null )
+            {
+                return false;
+            }
+            for ( int i = 0; i < string.length(); i++ )
+            {
+                char c = string.charAt( i );
+                if ( c == ':' || c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029'
+                    || Character.isSurrogate( c ) )
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Adds the given pattern to the lookups if it has a literal form.
+         *
+         * @return {@code true} if the pattern was added, {@code false} if it must be matched as a regular expression
+         */
+        private boolean compileLiteral( Pattern pattern )
+        {
+            if ( pattern.flags() != 0 )
+            {
+                return false;
+            }
+            String regex = pattern.pattern();
+            String literal = parseLiteral( regex, null );
+            if ( literal != null )
+            {
+                gaKeys.add( literal );
+                return true;
+            }
+            Substring substring = Substring.parse( between( regex, GROUP_PREFIX, GROUP_SUFFIX ) );
+            if ( substring != null )
+            {
+                groupIdSubstrings.add( substring );
+                return true;
+            }
+            substring = Substring.parse( between( regex, ARTIFACT_PREFIX, ARTIFACT_SUFFIX ) );
+            if ( substring != null )
+            {
+                artifactIdSubstrings.add( substring );
+                return true;
+            }
+            literal = parseLiteral( between( regex, "", ":" + ANY ), null );
+            if ( literal != null )
+            {
+                groupIds.add( literal );
+                return true;
+            }
+            literal = parseLiteral( between( regex, ANY + ":", "" ), null );
+            if ( literal != null )
+            {
+                artifactIds.add( literal );
+                return true;
+            }
+            return false;
+        }
+
+        private void combine( List<Pattern> combinable )
+        {
+            StringBuilder alternation = new StringBuilder();
+            for ( Pattern pattern : combinable )
+            {
+                if ( alternation.length() > 0 )
+                {
+                    alternation.append( '|' );
+                }
+                // a group scopes the inline flags of each pattern
+                alternation.append( "(?:" ).append( pattern.pattern() ).append( ')' );
+            }
+            try
+            {
+                patterns.add( Pattern.compile( alternation.toString() ) );
+            }
+            catch ( PatternSyntaxException e )
+            {
+                patterns.addAll( combinable );
+            }
+        }
+
+        /**
+         * @return {@code true} if the given pattern has the same meaning inside an alternation (i.e. it has no flags,
+         * no back reference, no named group, no quotation and no comment which could span the next alternatives)
+         */
+        private static boolean isCombinable( Pattern pattern )
+        {
+            if ( pattern.flags() != 0 )
+            {
+                return false;
+            }
+            String regex = pattern.pattern();
+            for ( int i = 0; i < regex.length(); i++ )
+            {
+                char c = regex.charAt( i );
+                if ( c == '#' || ( regex.startsWith( "(?<", i ) && i + 3 < regex.length()
+                    && Character.isLetter( regex.charAt( i + 3 ) ) ) )
+                {
+                    return false;
+                }
+                if ( c == '\\' && ++i < regex.length() )
+                {
+                    char escaped = regex.charAt( i );
+                    if ( Character.isDigit( escaped ) || escaped == 'Q' || escaped == 'k' )
+                    {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return the part of {@code regex} between the given prefix and suffix, or {@code null} if it does not start
+         * and end with them
+         */
+        private static String between( String regex, String prefix, String suffix )
+        {
+            if ( regex.length() < prefix.length() + suffix.length() || !regex.startsWith( prefix )
+                || !regex.endsWith( suffix ) )
+            {
+                return null;
+            }
+            return regex.substring( prefix.length(), regex.length() - suffix.length() );
+        }
+
+        /**
+         * @param regex    a regular expression (may be {@code null})
+         * @param anyChars where to record the positions of the {@code .} wildcards, or {@code null} if wildcards are
+         *                 not allowed
+         * @return the string matched by the given regular expression, or {@code null} if it is not a literal
+         */
+        static String parseLiteral( String regex, BitSet anyChars )
+        {
+            if ( regex == null )
+            {
+                return null;
+            }
+            StringBuilder literal = new StringBuilder( regex.length() );
+            for ( int i = 0; i < regex.length(); i++ )
+            {
+                char c = regex.charAt( i );
+                if ( c == '\\' )
+                {
+                    // an escaped letter or digit is a construct, any other escaped character is itself
+                    if ( ++i == regex.length() || Character.isLetterOrDigit( regex.charAt( i ) ) )
+                    {
+                        return null;
+                    }
+                    literal.append( regex.charAt( i ) );
+                }
+                else if ( c == '.' && anyChars != null )
+                {
+                    anyChars.set( literal.length() );
+                    literal.append( c );
+                }
+                else if ( REGEX_META_CHARACTERS.indexOf( c ) >= 0 )
+                {
+                    return null;
+                }
+                else
+                {
+                    literal.append( c );
+                }
+            }
+            return literal.toString();
+        }
+
+        private static boolean isFoundInAny( List<Substring> substrings, String string )
+        {
+            for ( Substring substring : substrings )
+            {
+                if ( substring.isFoundIn( string ) )
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A literal searched in a {@link CompiledFilters#isPlain(String) plain} string, whose {@code .} wildcards match
+     * any character.
+     */
+    static class Substring
+    {
+        private final String literal;
+
+        /**
+         * Positions of the wildcards in {@link #literal}, {@code null} if there are none.
+         */
+        private final BitSet anyChars;
+
+        Substring( String literal, BitSet anyChars )
+        {
+            this.literal = literal;
+            this.anyChars = anyChars.isEmpty() ? null : anyChars;
+        }
+
+        static Substring parse( String regex )
+        {
+            BitSet anyChars = new BitSet();
+            String literal = CompiledFilters.parseLiteral( regex, anyChars );
+            return literal == null ? null : new Substring( literal, anyChars );
+        }
+
+        boolean isFoundIn( String string )
+        {
+            if ( anyChars == null )
+            {
+                return string.contains( literal );
+            }
+            int length = literal.length();
+            for ( int start = 0; start + length <= string.length(); start++ )
+            {
+                int i = 0;
+                while ( i < length && ( anyChars.get( i ) || string.charAt( start + i ) == literal.charAt( i ) ) )
+                {
+                    i++;
+                }
+                if ( i == length )
+                {
+                    return true;
+                }
+            }
             return false;
         }
     }
@@ -31,6 +31,7 @@ import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectBuildingException;
 import org.codehaus.mojo.license.model.LicenseMap;
 import org.codehaus.mojo.license.utils.SortedProperties;
+import org.codehaus.mojo.license.utils.UrlContentCache;
 
 import java.io.File;
 import java.io.IOException;
@@ -43,7 +44,6 @@ import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.SortedSet;
-import java.util.TreeMap;
 import org.eclipse.aether.repository.RemoteRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -99,9 +99,14 @@ public class DefaultThirdPartyHelper
     private final boolean verbose;
 
     /**
-     * Cache of dependencies (as maven project) loaded.
+     * Third-party descriptors known to be missing, or {@code null}.
      */
-    private static SortedMap<String, MavenProject> artifactCache;
+    private final ThirdPartyDescriptorMissCache descriptorMissCache;
+
+    /**
+     * Cache to fetch the remote configuration URLs with, or {@code null}.
+     */
+    private final UrlContentCache urlContentCache;
 
     /**
      * Constructor of the helper.
@@ -119,6 +124,33 @@ public class DefaultThirdPartyHelper
                                     DependenciesTool dependenciesTool, ThirdPartyTool thirdPartyTool,
                                     List<ArtifactRepository> remoteRepositoriesCoreApi,
                                     List<RemoteRepository> remoteRepositories )
+    {
+        // CHECKSTYLE_ON: ParameterNumber
+        this( project, encoding, verbose, dependenciesTool, thirdPartyTool, remoteRepositoriesCoreApi,
+              remoteRepositories, null, null );
+    }
+
+    /**
+     * Constructor of the helper.
+     *
+     * @param project             Current maven project
+     * @param encoding            Encoding used to read and write files
+     * @param verbose             Verbose flag
+     * @param dependenciesTool    tool to load dependencies
+     * @param thirdPartyTool      tool to load third-parties descriptors
+     * @param remoteRepositoriesCoreApi maven remote repositories, in the core api format
+     * @param remoteRepositories  maven remote repositories
+     * @param descriptorMissCache third-party descriptors known to be missing, or {@code null}
+     * @param urlContentCache     cache to fetch the remote configuration URLs with, or {@code null}
+     * @since 2.0.1
+     */
+    // CHECKSTYLE_OFF: ParameterNumber
+    public DefaultThirdPartyHelper( MavenProject project, String encoding, boolean verbose,
+                                    DependenciesTool dependenciesTool, ThirdPartyTool thirdPartyTool,
+                                    List<ArtifactRepository> remoteRepositoriesCoreApi,
+                                    List<RemoteRepository> remoteRepositories,
+                                    ThirdPartyDescriptorMissCache descriptorMissCache,
+                                    UrlContentCache urlContentCache )
     {
         // CHECKSTYLE_ON: ParameterNumber
         this.project = project;
@@ -128,19 +160,31 @@ public class DefaultThirdPartyHelper
         this.thirdPartyTool = thirdPartyTool;
         this.remoteRepositoriesCoreApi = remoteRepositoriesCoreApi;
         this.remoteRepositories = remoteRepositories;
-        this.thirdPartyTool.setVerbose( verbose );
+        this.descriptorMissCache = descriptorMissCache;
+        this.urlContentCache = urlContentCache;
+        // the tool is a singleton: the modules of an aggregator build create their helpers concurrently, with the
+        // verbose mode the aggregator already set
+        if ( thirdPartyTool.isVerbose() != verbose )
+        {
+            this.thirdPartyTool.setVerbose( verbose );
+        }
     }
 
     /**
      * {@inheritDoc}
      */
+    @Deprecated
     public SortedMap<String, MavenProject> getArtifactCache()
     {
-        if ( artifactCache == null )
-        {
-            artifactCache = new TreeMap<>();
-        }
-        return artifactCache;
+        return getDependencyCache().toMap();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public DependencyCache getDependencyCache()
+    {
+        return dependenciesTool.getDependencyCache();
     }
 
     /**
@@ -149,8 +193,11 @@ public class DefaultThirdPartyHelper
     public SortedMap<String, MavenProject> loadDependencies( MavenProjectDependenciesConfigurator configuration,
                                                              ResolvedProjectDependencies dependencyArtifacts )
     {
-        return dependenciesTool.loadProjectDependencies( dependencyArtifacts, configuration,
-                remoteRepositoriesCoreApi, getArtifactCache() );
+        DependencyCache cache = getDependencyCache();
+        SortedMap<String, MavenProject> result = dependenciesTool.loadProjectDependencies( dependencyArtifacts,
+                configuration, remoteRepositoriesCoreApi, cache );
+        LOG.debug( "Dependency cache: {}", cache.getStatistics() );
+        return result;
     }
 
     /**
@@ -162,6 +209,12 @@ public class DefaultThirdPartyHelper
                                                                       LicenseMap licenseMap )
             throws ThirdPartyToolException, IOException
     {
+        if ( descriptorMissCache != null && thirdPartyTool instanceof DefaultThirdPartyTool )
+        {
+            return ( (DefaultThirdPartyTool) thirdPartyTool ).loadThirdPartyDescriptorsForUnsafeMapping(
+                    topLevelDependencies, encoding, projects, unsafeDependencies, licenseMap, remoteRepositories,
+                    descriptorMissCache );
+        }
         return thirdPartyTool.loadThirdPartyDescriptorsForUnsafeMapping( topLevelDependencies, encoding, projects,
                 unsafeDependencies, licenseMap, remoteRepositories );
     }
@@ -173,6 +226,11 @@ public class DefaultThirdPartyHelper
                                                SortedMap<String, MavenProject> projectDependencies )
       throws IOException, MojoExecutionException
     {
+        if ( urlContentCache != null && thirdPartyTool instanceof DefaultThirdPartyTool )
+        {
+            return ( (DefaultThirdPartyTool) thirdPartyTool ).loadUnsafeMapping( licenseMap, projectDependencies,
+                    encoding, missingFile, missingFileUrl, urlContentCache );
+        }
         return thirdPartyTool.loadUnsafeMapping( licenseMap, projectDependencies, encoding, missingFile,
                 missingFileUrl );
     }
@@ -51,11 +51,14 @@ import org.apache.maven.model.License;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.MavenProjectHelper;
+import org.apache.maven.settings.Proxy;
 import org.codehaus.mojo.license.LicenseMojoUtils;
 import org.codehaus.mojo.license.model.LicenseMap;
 import org.codehaus.mojo.license.utils.FileUtil;
 import org.codehaus.mojo.license.utils.MojoHelper;
+import org.codehaus.mojo.license.utils.SharedHttpClient;
 import org.codehaus.mojo.license.utils.SortedProperties;
+import org.codehaus.mojo.license.utils.UrlContentCache;
 import org.codehaus.mojo.license.utils.UrlRequester;
 import org.codehaus.plexus.component.annotations.Component;
 import org.codehaus.plexus.component.annotations.Requirement;
@@ -67,6 +70,7 @@ import org.eclipse.aether.resolution.ArtifactRequest;
 import org.eclipse.aether.resolution.ArtifactResolutionException;
 import org.eclipse.aether.resolution.ArtifactResult;
 import org.eclipse.aether.transfer.ArtifactNotFoundException;
+import org.eclipse.aether.transfer.RepositoryOfflineException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -206,6 +210,36 @@ public class DefaultThirdPartyTool
                                                                        List<RemoteRepository> remoteRepositories )
             throws ThirdPartyToolException, IOException
     {
+        return loadThirdPartyDescriptorsForUnsafeMapping( topLevelDependencies, encoding, projects,
+                unsafeDependencies, licenseMap, remoteRepositories, null );
+    }
+
+    /**
+     * Collect license information from property file, 'third-party' classified artifacts, and .license.properties
+     * dependencies, skipping the third party descriptors known to be missing.
+     *
+     * @param topLevelDependencies top-level dependencies to scan for .license.properties files.
+     * @param encoding             encoding used to read or write properties files
+     * @param projects             all projects where to read third parties descriptors
+     * @param unsafeDependencies   all unsafe projects
+     * @param licenseMap           license map where to store new licenses
+     * @param remoteRepositories   remote repositories
+     * @param missCache            the third party descriptors known to be missing, or {@code null} to look up all
+     *                             of them
+     * @return the map of loaded missing from the remote missing third party files
+     * @throws ThirdPartyToolException if any
+     * @throws IOException             if any
+     * @since 2.0.1
+     */
+    public SortedProperties loadThirdPartyDescriptorsForUnsafeMapping( Set<Artifact> topLevelDependencies,
+                                                                       String encoding,
+                                                                       Collection<MavenProject> projects,
+                                                                       SortedSet<MavenProject> unsafeDependencies,
+                                                                       LicenseMap licenseMap,
+                                                                       List<RemoteRepository> remoteRepositories,
+                                                                       ThirdPartyDescriptorMissCache missCache )
+            throws ThirdPartyToolException, IOException
+    {
 
         SortedProperties result = new SortedProperties( encoding );
         Map<String, MavenProject> unsafeProjects = new HashMap<>();
@@ -215,6 +249,10 @@ public class DefaultThirdPartyTool
             unsafeProjects.put( id, unsafeDependency );
         }
 
+        List<File> thirdPartyDescriptors = CollectionUtils.isEmpty( unsafeDependencies )
+                ? Collections.<File>emptyList()
+                : resolveThirdPartyDescriptors( projects, remoteRepositories, missCache );
+        int index = 0;
         for ( MavenProject mavenProject : projects )
         {
 
@@ -225,7 +263,7 @@ public class DefaultThirdPartyTool
                 break;
             }
 
-            File thirdPartyDescriptor = resolvThirdPartyDescriptor( mavenProject, remoteRepositories );
+            File thirdPartyDescriptor = thirdPartyDescriptors.get( index++ );
 
             if ( thirdPartyDescriptor != null && thirdPartyDescriptor.exists() && thirdPartyDescriptor.length() > 0 )
             {
@@ -422,8 +460,9 @@ public class DefaultThirdPartyTool
             {
                 LOG.warn( "No license [{}] found, will create it.", mainLicense );
             }
-            mainSet = new TreeSet<>( projectComparator );
-            licenseMap.put( mainLicense, mainSet );
+            licenseMap.put( mainLicense, new TreeSet<>( projectComparator ) );
+            // the map keeps its own set
+            mainSet = licenseMap.get( mainLicense );
         }
         for ( String license : licenses )
         {
@@ -455,6 +494,33 @@ public class DefaultThirdPartyTool
                                                String encoding,
                                                File missingFile,
                                                String missingFileUrl ) throws IOException, MojoExecutionException
+    {
+        return loadUnsafeMapping( licenseMap, artifactCache, encoding, missingFile, missingFileUrl,
+                                  getSessionUrlContentCache() );
+    }
+
+    /**
+     * Loads unsafe mappings, fetching {@code missingFileUrl} through the given cache.
+     *
+     * @param licenseMap      the license map
+     * @param artifactCache   the artifact cache
+     * @param encoding        encoding used to load missing file
+     * @param missingFile     location of the optional missing file
+     * @param missingFileUrl  location of an optional missing file extension that can be downloaded from some
+     *                        resource hoster and that will be merged with the content of the missing file.
+     * @param urlContentCache the cache to fetch {@code missingFileUrl} with, or {@code null} to fetch it
+     * @return the unsafe mapping
+     * @throws IOException if pb while reading missing file
+     * @throws MojoExecutionException if any
+     * @since 2.0.1
+     */
+    public SortedProperties loadUnsafeMapping( LicenseMap licenseMap,
+                                               SortedMap<String, MavenProject> artifactCache,
+                                               String encoding,
+                                               File missingFile,
+                                               String missingFileUrl,
+                                               UrlContentCache urlContentCache )
+        throws IOException, MojoExecutionException
     {
         Map<String, MavenProject> snapshots = new HashMap<>();
 
@@ -494,7 +560,7 @@ public class DefaultThirdPartyTool
         }
         if ( UrlRequester.isStringUrl( missingFileUrl ) )
         {
-            String httpRequestResult = UrlRequester.getFromUrl( missingFileUrl );
+            String httpRequestResult = UrlRequester.getFromUrl( missingFileUrl, urlContentCache );
             unsafeMappings.load( new ByteArrayInputStream( httpRequestResult.getBytes() ) );
         }
 
@@ -599,11 +665,30 @@ public class DefaultThirdPartyTool
      */
     public void overrideLicenses( LicenseMap licenseMap, SortedMap<String, MavenProject> artifactCache, String encoding,
             String overrideUrl ) throws IOException
+    {
+        overrideLicenses( licenseMap, artifactCache, encoding, overrideUrl, getSessionUrlContentCache() );
+    }
+
+    /**
+     * Overrides licenses, fetching {@code overrideUrl} through the given cache.
+     *
+     * @param licenseMap      license map
+     * @param artifactCache   cache of dependencies (used for id migration from missing file)
+     * @param encoding        encoding used to load override file
+     * @param overrideUrl     location of an optional override file extension that can be downloaded from some
+     *                        resource hoster
+     * @param urlContentCache the cache to fetch {@code overrideUrl} with, or {@code null} to fetch it
+     * @throws IOException if pb while reading override file
+     * @since 2.0.1
+     */
+    public void overrideLicenses( LicenseMap licenseMap, SortedMap<String, MavenProject> artifactCache, String encoding,
+            String overrideUrl, UrlContentCache urlContentCache ) throws IOException
     {
         if ( LicenseMojoUtils.isValid( overrideUrl ) )
         {
             final SortedProperties overrideMappings = new SortedProperties( encoding );
-            try ( Reader reader = new StringReader( UrlRequester.getFromUrl( overrideUrl, encoding ) ) )
+            try ( Reader reader = new StringReader( UrlRequester.getFromUrl( overrideUrl, encoding,
+                    urlContentCache ) ) )
             {
                 overrideMappings.load( reader );
             }
@@ -725,6 +810,21 @@ public class DefaultThirdPartyTool
     // Private methods
     // ----------------------------------------------------------------------
 
+    /**
+     * @return the cache of the contents fetched during the build (the remote configuration URLs are then fetched once
+     *         per build), or {@code null} outside of a build
+     */
+    private UrlContentCache getSessionUrlContentCache()
+    {
+        if ( mavenSession == null || mavenSession.getRepositorySession() == null )
+        {
+            return null;
+        }
+        Proxy proxy = mavenSession.getSettings() == null ? null
+                        : SharedHttpClient.findActiveProxy( mavenSession.getSettings().getProxies() );
+        return UrlContentCache.forSession( mavenSession, proxy, null, 0L );
+    }
+
     /**
      * @param project         not null
      * @param localRepository not null
@@ -787,6 +887,112 @@ public class DefaultThirdPartyTool
         return result;
     }
 
+    /**
+     * Resolves the third party descriptors of the given projects with a single request.
+     *
+     * @param projects           not null
+     * @param remoteRepositories not null
+     * @param missCache          the descriptors known to be missing, or {@code null}
+     * @return the descriptor of each project, in the same order, {@code null} when it does not exist
+     * @throws ThirdPartyToolException if a descriptor could not be resolved for another reason than being missing
+     */
+    private List<File> resolveThirdPartyDescriptors( Collection<MavenProject> projects,
+                                                     List<RemoteRepository> remoteRepositories,
+                                                     ThirdPartyDescriptorMissCache missCache )
+            throws ThirdPartyToolException
+    {
+        List<File> result = new ArrayList<>( projects.size() );
+        List<ArtifactRequest> requests = new ArrayList<>();
+        List<Integer> requestIndexes = new ArrayList<>();
+        for ( MavenProject project : projects )
+        {
+            if ( missCache != null && missCache.isMissing( project.getGroupId(), project.getArtifactId(),
+                    project.getVersion(), remoteRepositories ) )
+            {
+                LOG.debug( "Skipped missing third party descriptor of {}", project.getId() );
+            }
+            else
+            {
+                requestIndexes.add( result.size() );
+                requests.add( new ArtifactRequest()
+                        .setArtifact( new DefaultArtifact( project.getGroupId(), project.getArtifactId(),
+                                DESCRIPTOR_CLASSIFIER, null, project.getVersion(),
+                                new DefaultArtifactType( DESCRIPTOR_TYPE ) ) )
+                        .setRepositories( remoteRepositories ) );
+            }
+            result.add( null );
+        }
+        if ( requests.isEmpty() )
+        {
+            return result;
+        }
+
+        List<ArtifactResult> artifactResults;
+        try
+        {
+            artifactResults = aetherRepoSystem.resolveArtifacts( mavenSession.getRepositorySession(), requests );
+        }
+        catch ( ArtifactResolutionException e )
+        {
+            // the results of the resolved descriptors are still there
+            artifactResults = e.getResults();
+        }
+
+        for ( int i = 0; i < artifactResults.size(); i++ )
+        {
+            ArtifactResult artifactResult = artifactResults.get( i );
+            if ( artifactResult.isResolved() )
+            {
+                result.set( requestIndexes.get( i ), artifactResult.getArtifact().getFile() );
+                continue;
+            }
+            List<Exception> exceptions = artifactResult.getExceptions();
+            if ( !exceptions.isEmpty() && !( exceptions.get( 0 ) instanceof ArtifactNotFoundException ) )
+            {
+                Exception e = exceptions.get( 0 );
+                throw new ThirdPartyToolException(
+                        "ArtifactResolutionException: Unable to locate third party descriptor: " + e.getMessage(), e );
+            }
+            org.eclipse.aether.artifact.Artifact artifact = artifactResult.getRequest().getArtifact();
+            LOG.debug( "Unable to locate third party descriptor {}", artifact );
+            // offline, the descriptor may still exist in the remote repositories
+            if ( missCache != null && !mavenSession.isOffline() && isNotFoundEverywhere( exceptions ) )
+            {
+                missCache.putMissing( artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion(),
+                        remoteRepositories );
+            }
+        }
+        if ( missCache != null )
+        {
+            try
+            {
+                missCache.store();
+            }
+            catch ( IOException e )
+            {
+                LOG.warn( "Could not store the missing third party descriptors: {}", e.getMessage() );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param exceptions the exceptions of an unresolved artifact
+     * @return {@code true} if the artifact was looked up in all the repositories and was not found in any of them
+     */
+    private static boolean isNotFoundEverywhere( List<Exception> exceptions )
+    {
+        for ( Exception exception : exceptions )
+        {
+            if ( !( exception instanceof ArtifactNotFoundException )
+                    || exception.getCause() instanceof RepositoryOfflineException )
+            {
+                return false;
+            }
+        }
+        return !exceptions.isEmpty();
+    }
+
     public File resolveMissingLicensesDescriptor( String groupId, String artifactId, String version,
             List<RemoteRepository> remoteRepositories )
             throws IOException, ArtifactResolutionException, ArtifactNotFoundException
@@ -32,6 +32,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -70,7 +71,15 @@ public class DependenciesTool
     @Requirement
     private MavenSession mavenSession;
 
-    // CHECKSTYLE_OFF: MethodLength
+    /**
+     * @return the cache of the dependencies loaded during the current build
+     * @since 2.0.1
+     */
+    public DependencyCache getDependencyCache()
+    {
+        return DependencyCache.forSession( mavenSession.getRepositorySession() );
+    }
+
     /**
      * For a given {@code project}, obtain the universe of its dependencies after applying transitivity and
      * filtering rules given in the {@code configuration} object.
@@ -83,12 +92,40 @@ public class DependenciesTool
      * @param cache              a optional cache where to keep resolved dependencies
      * @return the map of resolved dependencies indexed by their unique id.
      * @see MavenProjectDependenciesConfigurator
+     * @deprecated since 2.0.1, use
+     *             {@link #loadProjectDependencies(ResolvedProjectDependencies, MavenProjectDependenciesConfigurator,
+     *             List, DependencyCache)} with {@link #getDependencyCache()}, which is bounded and bound to the build
      */
+    @Deprecated
     public SortedMap<String, MavenProject> loadProjectDependencies( ResolvedProjectDependencies artifacts,
                                                                     MavenProjectDependenciesConfigurator configuration,
                                                                     List<ArtifactRepository> remoteRepositories,
                                                                     SortedMap<String, MavenProject> cache )
     {
+        return loadProjectDependencies( artifacts, configuration, remoteRepositories,
+                                        cache == null ? null : new MapDependencyCache( cache ) );
+    }
+
+    // CHECKSTYLE_OFF: MethodLength
+    /**
+     * For a given {@code project}, obtain the universe of its dependencies after applying transitivity and
+     * filtering rules given in the {@code configuration} object.
+     *
+     * Result is given in a map where keys are unique artifact id
+     *
+     * @param artifacts       the project dependencies
+     * @param configuration      the configuration
+     * @param remoteRepositories remote repositories used to resolve dependencies
+     * @param cache              a optional cache where to keep resolved dependencies (only a slim record of each
+     *                           dependency is kept)
+     * @return the map of resolved dependencies indexed by their unique id.
+     * @see MavenProjectDependenciesConfigurator
+     */
+    public SortedMap<String, MavenProject> loadProjectDependencies( ResolvedProjectDependencies artifacts,
+                                                                    MavenProjectDependenciesConfigurator configuration,
+                                                                    List<ArtifactRepository> remoteRepositories,
+                                                                    DependencyCache cache )
+    {
 
         final ArtifactFilters artifactFilters = configuration.getArtifactFilters();
 
@@ -114,11 +151,8 @@ public class DependenciesTool
         Map<String, Artifact> excludeArtifacts = new HashMap<>();
         Map<String, Artifact> includeArtifacts = new HashMap<>();
 
+        // projects loaded by this call
         SortedMap<String, MavenProject> localCache = new TreeMap<>();
-        if ( cache != null )
-        {
-            localCache.putAll( cache );
-        }
         ProjectBuildingRequest projectBuildingRequest
                 = new DefaultProjectBuildingRequest( mavenSession.getProjectBuildingRequest() )
                         .setValidationLevel( ModelBuildingRequest.VALIDATION_LEVEL_MINIMAL )
@@ -129,91 +163,109 @@ public class DependenciesTool
                         .setProcessPlugins( false )
                         .setRemoteRepositories( remoteRepositories );
 
-        for ( Artifact artifact : depArtifacts )
-        {
-
-            excludeArtifacts.put( artifact.getId(), artifact );
+        DependencyProjectBuilder projectBuilder = new DependencyProjectBuilder( mavenProjectBuilder,
+                projectBuildingRequest, configuration, mavenSession.getRepositorySession() );
+        projectBuilder.prefetch( getArtifactsToBuild( depArtifacts, artifactFilters, cache ) );
 
-            if ( DefaultThirdPartyTool.LICENSE_DB_TYPE.equals( artifact.getType() ) )
-            {
-                // the special dependencies for license databases don't count.
-                // Note that this will still see transitive deps of a license db; so using the build helper inside of
-                // another project to make them will be noisy.
-                continue;
-            }
-
-            if ( !artifactFilters.isIncluded( artifact ) )
+        try
+        {
+            for ( Artifact artifact : depArtifacts )
             {
-                LOG.debug( "Excluding artifact {}", artifact );
-                continue;
-            }
 
-            String id = MojoHelper.getArtifactId( artifact );
+                excludeArtifacts.put( artifact.getId(), artifact );
 
-            if ( verbose )
-            {
-                LOG.info( "detected artifact {}", id );
-            }
+                if ( DefaultThirdPartyTool.LICENSE_DB_TYPE.equals( artifact.getType() ) )
+                {
+                    // the special dependencies for license databases don't count.
+                    // Note that this will still see transitive deps of a license db; so using the build helper inside
+                    // of another project to make them will be noisy.
+                    continue;
+                }
 
-            MavenProject depMavenProject;
+                if ( !artifactFilters.isIncluded( artifact ) )
+                {
+                    LOG.debug( "Excluding artifact {}", artifact );
+                    continue;
+                }
 
-            // try to get project from cache
-            depMavenProject = localCache.get( id );
+                String id = MojoHelper.getArtifactId( artifact );
 
-            if ( depMavenProject != null )
-            {
                 if ( verbose )
                 {
-                    LOG.info( "add dependency [{}] (from cache)", id  );
+                    LOG.info( "detected artifact {}", id );
                 }
-            }
-            else
-            {
-                // build project
 
-                try
+                MavenProject depMavenProject;
+
+                // try to get project from cache
+                depMavenProject = localCache.get( id );
+                if ( depMavenProject == null && cache != null )
                 {
-                    depMavenProject
-                            = mavenProjectBuilder.build( artifact, true, projectBuildingRequest ).getProject();
-                    depMavenProject.getArtifact().setScope( artifact.getScope() );
+                    depMavenProject = cache.get( id );
+                    if ( depMavenProject != null )
+                    {
+                        localCache.put( id, depMavenProject );
+                    }
+                }
 
-                    // In case maven-metadata.xml has different artifactId, groupId or version.
-                    if ( !depMavenProject.getGroupId().equals( artifact.getGroupId() ) )
+                if ( depMavenProject != null )
+                {
+                    if ( verbose )
                     {
-                        depMavenProject.setGroupId( artifact.getGroupId() );
-                        depMavenProject.getArtifact().setGroupId( artifact.getGroupId() );
+                        LOG.info( "add dependency [{}] (from cache)", id  );
                     }
-                    if ( !depMavenProject.getArtifactId().equals( artifact.getArtifactId() ) )
+                }
+                else
+                {
+                    // build project
+
+                    try
                     {
-                        depMavenProject.setArtifactId( artifact.getArtifactId() );
-                        depMavenProject.getArtifact().setArtifactId( artifact.getArtifactId() );
+                        depMavenProject = projectBuilder.build( id, artifact );
+                        depMavenProject.getArtifact().setScope( artifact.getScope() );
+
+                        // In case maven-metadata.xml has different artifactId, groupId or version.
+                        if ( !depMavenProject.getGroupId().equals( artifact.getGroupId() ) )
+                        {
+                            depMavenProject.setGroupId( artifact.getGroupId() );
+                            depMavenProject.getArtifact().setGroupId( artifact.getGroupId() );
+                        }
+                        if ( !depMavenProject.getArtifactId().equals( artifact.getArtifactId() ) )
+                        {
+                            depMavenProject.setArtifactId( artifact.getArtifactId() );
+                            depMavenProject.getArtifact().setArtifactId( artifact.getArtifactId() );
+                        }
+                        if ( !depMavenProject.getVersion().equals( artifact.getVersion() ) )
+                        {
+                            depMavenProject.setVersion( artifact.getVersion() );
+                            depMavenProject.getArtifact().setVersion( artifact.getVersion() );
+                        }
                     }
-                    if ( !depMavenProject.getVersion().equals( artifact.getVersion() ) )
+                    catch ( ProjectBuildingException e )
                     {
-                        depMavenProject.setVersion( artifact.getVersion() );
-                        depMavenProject.getArtifact().setVersion( artifact.getVersion() );
+                        LOG.warn( "Unable to obtain POM for artifact: {}", artifact, e );
+                        continue;
                     }
-                }
-                catch ( ProjectBuildingException e )
-                {
-                    LOG.warn( "Unable to obtain POM for artifact: {}", artifact, e );
-                    continue;
-                }
 
-                if ( verbose )
-                {
-                    LOG.info( "add dependency [{}]", id );
-                }
+                    if ( verbose )
+                    {
+                        LOG.info( "add dependency [{}]", id );
+                    }
 
-                // store it also in cache
-                localCache.put( id, depMavenProject );
-            }
+                    // store it also in cache
+                    localCache.put( id, depMavenProject );
+                }
 
-            // keep the project
-            result.put( id, depMavenProject );
+                // keep the project
+                result.put( id, depMavenProject );
 
-            excludeArtifacts.remove( artifact.getId() );
-            includeArtifacts.put( artifact.getId(), artifact );
+                excludeArtifacts.remove( artifact.getId() );
+                includeArtifacts.put( artifact.getId(), artifact );
+            }
+        }
+        finally
+        {
+            projectBuilder.close();
         }
 
         // exclude artifacts from the result that contain excluded artifacts in the dependency trail
@@ -243,10 +295,100 @@ public class DependenciesTool
 
         if ( cache != null )
         {
-            cache.putAll( result );
+            for ( Map.Entry<String, MavenProject> entry : result.entrySet() )
+            {
+                cache.put( entry.getKey(), entry.getValue() );
+            }
         }
 
         return result;
     }
     // CHECKSTYLE_ON: MethodLength
+
+    /**
+     * @param depArtifacts    the dependencies to load
+     * @param artifactFilters the filters to apply to the dependencies
+     * @param cache           the projects already built, or {@code null}
+     * @return the dependencies whose project will be built by {@link #loadProjectDependencies}, by artifact unique id
+     *         in the order they will be built
+     */
+    private Map<String, Artifact> getArtifactsToBuild( Set<Artifact> depArtifacts, ArtifactFilters artifactFilters,
+                                                       DependencyCache cache )
+    {
+        Map<String, Artifact> result = new LinkedHashMap<>();
+        for ( Artifact artifact : depArtifacts )
+        {
+            if ( DefaultThirdPartyTool.LICENSE_DB_TYPE.equals( artifact.getType() )
+                    || !artifactFilters.isIncluded( artifact ) )
+            {
+                continue;
+            }
+            String id = MojoHelper.getArtifactId( artifact );
+            if ( ( cache == null || !cache.contains( id ) ) && !result.containsKey( id ) )
+            {
+                result.put( id, artifact );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adapts a plain map, which keeps the whole projects and is never evicted, to a {@link DependencyCache}.
+     */
+    private static class MapDependencyCache
+        extends DependencyCache
+    {
+        private final Map<String, MavenProject> projects;
+
+        MapDependencyCache( Map<String, MavenProject> projects )
+        {
+            super( 0 );
+            this.projects = projects;
+        }
+
+        @Override
+        public MavenProject get( String id )
+        {
+            synchronized ( projects )
+            {
+                return projects.get( id );
+            }
+        }
+
+        @Override
+        public boolean contains( String id )
+        {
+            synchronized ( projects )
+            {
+                return projects.containsKey( id );
+            }
+        }
+
+        @Override
+        public void put( String id, MavenProject project )
+        {
+            synchronized ( projects )
+            {
+                projects.put( id, project );
+            }
+        }
+
+        @Override
+        public SortedMap<String, MavenProject> toMap()
+        {
+            synchronized ( projects )
+            {
+                return new TreeMap<>( projects );
+            }
+        }
+
+        @Override
+        public String getStatistics()
+        {
+            synchronized ( projects )
+            {
+                return projects.size() + " entries";
+            }
+        }
+    }
 }
@@ -0,0 +1,52 @@
+package org.codehaus.mojo.license.api;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+
+/**
+ * Contract to configure how the dependency tool builds the projects of the dependencies, in addition to the
+ * dependencies to load.
+ * <p>
+ * The tools still accept a plain {@link MavenProjectDependenciesConfigurator}: its dependencies are then built one
+ * after the other, without any license metadata cache.
+ *
+ * @see DependenciesTool
+ * @since 2.0.1
+ */
+public interface DependencyBuildConfigurator
+    extends MavenProjectDependenciesConfigurator
+{
+
+    /**
+     * @return the number of threads used to build the projects of the dependencies ({@code 1} to build them one after
+     *         the other)
+     */
+    int getDependencyThreads();
+
+    /**
+     * @return the directory of the {@link LicenseMetadataCache} to read the licenses of the dependencies from, or
+     *         {@code null} to always build the projects of the dependencies
+     */
+    File getLicenseMetadataCacheDirectory();
+}
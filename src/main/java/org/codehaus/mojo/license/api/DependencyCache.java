@@ -0,0 +1,273 @@
+package org.codehaus.mojo.license.api;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.model.License;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.mojo.license.utils.SharedDataUtil;
+import org.eclipse.aether.RepositorySystemSession;
+
+/**
+ * The cache of the dependencies loaded by the {@link DependenciesTool} during a build, shared by all the modules of
+ * the reactor.
+ * <p>
+ * Only a slim record of each dependency is kept (its coordinates, scope, name, url and licenses), so that the
+ * projects built for the dependencies can be garbage collected once their licenses are read. The cache is bound to
+ * the repository session of the build (so it does not outlive the build in a long running Maven process) and holds
+ * at most a given number of dependencies, the least recently used ones being evicted first.
+ * <p>
+ * <b>Note:</b> This class is thread safe.
+ *
+ * @since 2.0.1
+ */
+public class DependencyCache
+{
+    /**
+     * Default maximum number of dependencies kept in the cache.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    /**
+     * The slim record kept for a dependency.
+     */
+    private static class Record
+    {
+        private final String groupId;
+
+        private final String artifactId;
+
+        private final String version;
+
+        private final String type;
+
+        private final String classifier;
+
+        private final String scope;
+
+        private final String name;
+
+        private final String url;
+
+        private final List<License> licenses;
+
+        Record( MavenProject project )
+        {
+            this.groupId = project.getGroupId();
+            this.artifactId = project.getArtifactId();
+            this.version = project.getVersion();
+            this.type = project.getArtifact().getType();
+            this.classifier = project.getArtifact().getClassifier();
+            this.scope = project.getArtifact().getScope();
+            this.name = project.getName();
+            this.url = project.getUrl();
+            List<License> copies = new ArrayList<>();
+            if ( project.getLicenses() != null )
+            {
+                for ( License license : project.getLicenses() )
+                {
+                    copies.add( license.clone() );
+                }
+            }
+            this.licenses = Collections.unmodifiableList( copies );
+        }
+
+        MavenProject toProject()
+        {
+            List<License> copies = new ArrayList<>();
+            for ( License license : licenses )
+            {
+                copies.add( license.clone() );
+            }
+            MavenProject project = newProject( groupId, artifactId, version, type, classifier, name, url, copies );
+            project.getArtifact().setScope( scope );
+            return project;
+        }
+    }
+
+    private final int maxEntries;
+
+    /**
+     * Entries in access order (least recently used first).
+     */
+    private final LinkedHashMap<String, Record> entries;
+
+    private long hits;
+
+    private long misses;
+
+    private long evictions;
+
+    /**
+     * @param maxEntries the maximum number of dependencies to keep
+     */
+    public DependencyCache( final int maxEntries )
+    {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<String, Record>( 16, 0.75f, true )
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry( Map.Entry<String, Record> eldest )
+            {
+                if ( size() > DependencyCache.this.maxEntries )
+                {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Obtains the cache of the given build, creating it if needed.
+     *
+     * @param repositorySession the repository session of the build
+     * @return the cache of the build
+     */
+    public static DependencyCache forSession( RepositorySystemSession repositorySession )
+    {
+        return SharedDataUtil.getSessionValue( repositorySession, DependencyCache.class,
+                new SharedDataUtil.ValueFactory<DependencyCache>()
+                {
+                    @Override
+                    public DependencyCache create()
+                    {
+                        return new DependencyCache( DEFAULT_MAX_ENTRIES );
+                    }
+                } );
+    }
+
+    /**
+     * Obtains the given dependency from the cache.
+     *
+     * @param id the unique id of the dependency
+     * @return a new slim project of the dependency, or {@code null} if it is not in the cache
+     */
+    public MavenProject get( String id )
+    {
+        Record record;
+        synchronized ( entries )
+        {
+            record = entries.get( id );
+            if ( record == null )
+            {
+                misses++;
+                return null;
+            }
+            hits++;
+        }
+        return record.toProject();
+    }
+
+    /**
+     * @param id the unique id of a dependency
+     * @return {@code true} if the given dependency is in the cache (does not count as an access)
+     */
+    public boolean contains( String id )
+    {
+        synchronized ( entries )
+        {
+            return entries.containsKey( id );
+        }
+    }
+
+    /**
+     * Adds the given dependency to the cache; only a slim record of the project is kept.
+     *
+     * @param id      the unique id of the dependency
+     * @param project the project of the dependency
+     */
+    public void put( String id, MavenProject project )
+    {
+        Record record = new Record( project );
+        synchronized ( entries )
+        {
+            entries.put( id, record );
+        }
+    }
+
+    /**
+     * @return a copy of the content of the cache (does not count as an access), indexed by unique id
+     */
+    public SortedMap<String, MavenProject> toMap()
+    {
+        List<Map.Entry<String, Record>> records;
+        synchronized ( entries )
+        {
+            records = new ArrayList<>( entries.entrySet() );
+        }
+        SortedMap<String, MavenProject> result = new TreeMap<>();
+        for ( Map.Entry<String, Record> record : records )
+        {
+            result.put( record.getKey(), record.getValue().toProject() );
+        }
+        return result;
+    }
+
+    /**
+     * @return a summary of the cache usage (size, hits, misses and evictions)
+     */
+    public String getStatistics()
+    {
+        synchronized ( entries )
+        {
+            return String.format( "%d/%d entries, %d hits, %d misses, %d evictions", entries.size(), maxEntries, hits,
+                                  misses, evictions );
+        }
+    }
+
+    /**
+     * Creates a slim project, holding only the given metadata.
+     * <p>
+     * As the project builder does, the artifact of the project has the packaging as type.
+     */
+    static MavenProject newProject( String groupId, String artifactId, String version, String packaging,
+                                    String classifier, String name, String url, List<License> licenses )
+    {
+        Model model = new Model();
+        model.setGroupId( groupId );
+        model.setArtifactId( artifactId );
+        model.setVersion( version );
+        model.setPackaging( packaging );
+        model.setName( name );
+        model.setUrl( url );
+        model.setLicenses( licenses );
+        MavenProject project = new MavenProject( model );
+        project.setArtifact( new DefaultArtifact( groupId, artifactId, version, null, packaging, classifier,
+                                                  new DefaultArtifactHandler( packaging ) ) );
+        return project;
+    }
+}
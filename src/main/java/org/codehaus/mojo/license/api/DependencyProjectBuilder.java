@@ -0,0 +1,222 @@
+package org.codehaus.mojo.license.api;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.Closeable;
+import java.io.File;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.project.DefaultProjectBuildingRequest;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuilder;
+import org.apache.maven.project.ProjectBuildingException;
+import org.apache.maven.project.ProjectBuildingRequest;
+import org.codehaus.mojo.license.utils.FutureUtil;
+import org.eclipse.aether.RepositorySystemSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Builds the projects of the dependencies, reading their licenses from a {@link LicenseMetadataCache} when one is
+ * given.
+ * <p>
+ * With several threads, the projects of the dependencies given to {@link #prefetch(Map)} are built in the background,
+ * in the order they are given: at most a few builds per thread are started ahead of the ones obtained with
+ * {@link #build(String, Artifact)}, so that only a few projects are kept waiting to be obtained.
+ * <p>
+ * <b>Note:</b> This class is not thread safe, the projects must be prefetched and obtained by the same thread.
+ *
+ * @since 2.0.1
+ */
+public class DependencyProjectBuilder
+    implements Closeable
+{
+    private static final Logger LOG = LoggerFactory.getLogger( DependencyProjectBuilder.class );
+
+    /**
+     * Number of builds per thread which can be started ahead of the obtained ones.
+     */
+    private static final int PENDING_BUILDS_PER_THREAD = 2;
+
+    private final ProjectBuilder projectBuilder;
+
+    private final ProjectBuildingRequest projectBuildingRequest;
+
+    private final LicenseMetadataCache metadataCache;
+
+    private final ExecutorService executor;
+
+    private final int maxPending;
+
+    /**
+     * Builds started and not yet obtained, by artifact unique id.
+     */
+    private final Map<String, Future<MavenProject>> pendingBuilds = new LinkedHashMap<>();
+
+    /**
+     * Unique ids of the artifacts whose build was started (or done in the current thread).
+     */
+    private final Set<String> startedIds = new HashSet<>();
+
+    /**
+     * The artifacts to build in the background, by unique id.
+     */
+    private Iterator<Map.Entry<String, Artifact>> prefetched;
+
+    /**
+     * @param projectBuilder         the builder of the projects
+     * @param projectBuildingRequest the request to build the projects
+     * @param configuration          the configuration of the loading of the dependencies (see
+     *                               {@link DependencyBuildConfigurator})
+     * @param repositorySession      the current repository session
+     */
+    public DependencyProjectBuilder( ProjectBuilder projectBuilder, ProjectBuildingRequest projectBuildingRequest,
+                                     MavenProjectDependenciesConfigurator configuration,
+                                     RepositorySystemSession repositorySession )
+    {
+        this( projectBuilder, projectBuildingRequest,
+              configuration instanceof DependencyBuildConfigurator
+                              ? ( (DependencyBuildConfigurator) configuration ).getDependencyThreads() : 1,
+              configuration instanceof DependencyBuildConfigurator
+                              ? ( (DependencyBuildConfigurator) configuration ).getLicenseMetadataCacheDirectory()
+                              : null,
+              repositorySession );
+    }
+
+    /**
+     * @param projectBuilder         the builder of the projects
+     * @param projectBuildingRequest the request to build the projects
+     * @param threads                the number of threads building the projects ({@code 1} to build them only when
+     *                               they are obtained)
+     * @param metadataCacheDirectory the directory of the {@link LicenseMetadataCache}, or {@code null} to always build
+     *                               the projects
+     * @param repositorySession      the current repository session
+     */
+    public DependencyProjectBuilder( ProjectBuilder projectBuilder, ProjectBuildingRequest projectBuildingRequest,
+                                     int threads, File metadataCacheDirectory,
+                                     RepositorySystemSession repositorySession )
+    {
+        this.projectBuilder = projectBuilder;
+        this.projectBuildingRequest = projectBuildingRequest;
+        this.metadataCache = metadataCacheDirectory == null ? null
+                        : new LicenseMetadataCache( metadataCacheDirectory, repositorySession );
+        this.executor = threads > 1 ? Executors.newFixedThreadPool( threads ) : null;
+        this.maxPending = threads * PENDING_BUILDS_PER_THREAD;
+    }
+
+    /**
+     * Starts to build in the background the projects of the given artifacts, in order (nothing is done with a single
+     * thread).
+     *
+     * @param artifacts the artifacts which will be obtained, by unique id in the order they will be obtained
+     */
+    public void prefetch( Map<String, Artifact> artifacts )
+    {
+        if ( executor != null )
+        {
+            prefetched = artifacts.entrySet().iterator();
+            startBuilds();
+        }
+    }
+
+    /**
+     * Obtains the project of the given artifact, built in the background if it was prefetched, or in the current
+     * thread otherwise.
+     *
+     * @param id       the unique id of the artifact
+     * @param artifact the artifact
+     * @return the project (only the coordinates, name, url and licenses are set if it comes from the metadata cache)
+     * @throws ProjectBuildingException if could not build the project
+     */
+    public MavenProject build( String id, Artifact artifact ) throws ProjectBuildingException
+    {
+        startedIds.add( id );
+        Future<MavenProject> pendingBuild = pendingBuilds.remove( id );
+        startBuilds();
+        return pendingBuild != null
+                        ? FutureUtil.get( pendingBuild, ProjectBuildingException.class )
+                        : buildProject( artifact );
+    }
+
+    /**
+     * Stops the builds still pending.
+     */
+    @Override
+    public void close()
+    {
+        if ( executor != null )
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Starts the next prefetched builds, until the maximal number of pending builds is reached.
+     */
+    private void startBuilds()
+    {
+        while ( prefetched != null && prefetched.hasNext() && pendingBuilds.size() < maxPending )
+        {
+            Map.Entry<String, Artifact> next = prefetched.next();
+            if ( startedIds.add( next.getKey() ) )
+            {
+                final Artifact artifact = next.getValue();
+                pendingBuilds.put( next.getKey(), executor.submit( new Callable<MavenProject>()
+                {
+                    @Override
+                    public MavenProject call() throws ProjectBuildingException
+                    {
+                        return buildProject( artifact );
+                    }
+                } ) );
+            }
+        }
+    }
+
+    private MavenProject buildProject( Artifact artifact ) throws ProjectBuildingException
+    {
+        MavenProject project = metadataCache != null ? metadataCache.get( artifact ) : null;
+        if ( project != null )
+        {
+            LOG.debug( "Dependency [{}] read from the license metadata cache", artifact );
+            return project;
+        }
+        // a request is not meant to be shared between concurrent builds
+        ProjectBuildingRequest request = new DefaultProjectBuildingRequest( projectBuildingRequest );
+        project = projectBuilder.build( artifact, true, request ).getProject();
+        if ( metadataCache != null )
+        {
+            metadataCache.put( artifact, project );
+        }
+        return project;
+    }
+}
@@ -36,6 +36,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 /**
  * A helper to deal with freemarker templating.
@@ -48,6 +49,11 @@ public class FreeMarkerHelper
 
     public static final String TEMPLATE = "template";
 
+    /**
+     * Pattern of freemarker comments (in both syntaxes).
+     */
+    private static final Pattern COMMENT_PATTERN = Pattern.compile( "<#--.*?-->|\\[#--.*?--\\]", Pattern.DOTALL );
+
     /**
      * Shared freemarker configuration.
      *
@@ -83,6 +89,23 @@ public class FreeMarkerHelper
         return result;
     }
 
+    /**
+     * Tests if the given template may use the given variable.
+     * <p>
+     * This is a conservative check: the variable is said to be used as soon as his name appears in the template
+     * (except in comments).
+     *
+     * @param template     the template to test
+     * @param variableName the name of the variable
+     * @return {@code true} if the template may use the variable, {@code false} if it does not use it for sure
+     * @since 2.0.1
+     */
+    public static boolean isUsingVariable( Template template, String variableName )
+    {
+        String source = COMMENT_PATTERN.matcher( template.toString() ).replaceAll( "" );
+        return Pattern.compile( "\\b" + Pattern.quote( variableName ) + "\\b" ).matcher( source ).find();
+    }
+
     protected FreeMarkerHelper( TemplateLoader templateLoader )
     {
         this.templateLoader = templateLoader;
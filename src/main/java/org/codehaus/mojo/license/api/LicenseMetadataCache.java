@@ -0,0 +1,209 @@
+package org.codehaus.mojo.license.api;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.model.License;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.mojo.license.utils.FileUtil;
+import org.codehaus.mojo.license.utils.SharedDataUtil;
+import org.codehaus.mojo.license.utils.SortedProperties;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A persistent cache of the license metadata read from the effective POMs of the dependencies, so that the POMs of
+ * the dependencies already seen by a previous build do not need to be built again.
+ * <p>
+ * For each {@code groupId:artifactId:version}, the cache keeps the packaging, the name, the url and the licenses of
+ * the project in a small properties file. Released versions never change, so their entries are always valid; the
+ * entries of SNAPSHOT versions are only used while the POM file in the local repository keeps the same last
+ * modification time.
+ * <p>
+ * <b>Note:</b> This class is thread safe.
+ *
+ * @since 2.0.1
+ */
+public class LicenseMetadataCache
+{
+    private static final Logger LOG = LoggerFactory.getLogger( LicenseMetadataCache.class );
+
+    private static final String PACKAGING = "packaging";
+
+    private static final String NAME = "name";
+
+    private static final String URL = "url";
+
+    private static final String POM_LAST_MODIFIED = "pomLastModified";
+
+    private static final String LICENSES = "licenses";
+
+    private static final String LICENSE_PREFIX = "license.";
+
+    private final File directory;
+
+    private final RepositorySystemSession repositorySession;
+
+    /**
+     * @param directory         the directory of the cache
+     * @param repositorySession the session used to locate the POM files of the SNAPSHOT dependencies
+     */
+    public LicenseMetadataCache( File directory, RepositorySystemSession repositorySession )
+    {
+        this.directory = directory;
+        this.repositorySession = repositorySession;
+    }
+
+    /**
+     * Obtains the project of the given artifact from the cache.
+     * <p>
+     * The returned project only contains the coordinates, the packaging, the name, the url and the licenses of the
+     * project; its artifact is a new one.
+     *
+     * @param artifact the dependency
+     * @return the cached project, or {@code null} if the project must be built
+     */
+    public MavenProject get( Artifact artifact )
+    {
+        File file = getFile( artifact );
+        if ( !file.exists() )
+        {
+            return null;
+        }
+        SortedProperties properties;
+        int nbLicenses;
+        try
+        {
+            properties = new SortedProperties( "UTF-8" ).load( file );
+            nbLicenses = Integer.parseInt( properties.getProperty( LICENSES, "0" ) );
+        }
+        catch ( IOException | NumberFormatException e )
+        {
+            LOG.debug( "Could not read license metadata {}", file, e );
+            return null;
+        }
+        if ( artifact.isSnapshot() )
+        {
+            File pomFile = getPomFile( artifact );
+            if ( !pomFile.exists()
+                    || !String.valueOf( pomFile.lastModified() ).equals( properties.getProperty( POM_LAST_MODIFIED ) ) )
+            {
+                LOG.debug( "License metadata of {} is out of date", artifact );
+                return null;
+            }
+        }
+
+        List<License> licenses = new ArrayList<>();
+        for ( int i = 0; i < nbLicenses; i++ )
+        {
+            String prefix = LICENSE_PREFIX + i + ".";
+            License license = new License();
+            license.setName( properties.getProperty( prefix + NAME ) );
+            license.setUrl( properties.getProperty( prefix + URL ) );
+            license.setDistribution( properties.getProperty( prefix + "distribution" ) );
+            license.setComments( properties.getProperty( prefix + "comments" ) );
+            licenses.add( license );
+        }
+        return DependencyCache.newProject( artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion(),
+                                           properties.getProperty( PACKAGING, "jar" ), null,
+                                           properties.getProperty( NAME ), properties.getProperty( URL ), licenses );
+    }
+
+    /**
+     * Stores the license metadata of the given built project.
+     *
+     * @param artifact the dependency the project was built for
+     * @param project  the built project
+     */
+    public void put( Artifact artifact, MavenProject project )
+    {
+        SortedProperties properties = new SortedProperties( "UTF-8" );
+        if ( artifact.isSnapshot() )
+        {
+            File pomFile = getPomFile( artifact );
+            if ( !pomFile.exists() )
+            {
+                // can not be revalidated
+                return;
+            }
+            properties.setProperty( POM_LAST_MODIFIED, String.valueOf( pomFile.lastModified() ) );
+        }
+        setProperty( properties, PACKAGING, project.getPackaging() );
+        setProperty( properties, NAME, project.getName() );
+        setProperty( properties, URL, project.getUrl() );
+        List<License> licenses = project.getLicenses();
+        if ( licenses != null )
+        {
+            properties.setProperty( LICENSES, String.valueOf( licenses.size() ) );
+            for ( int i = 0; i < licenses.size(); i++ )
+            {
+                String prefix = LICENSE_PREFIX + i + ".";
+                License license = licenses.get( i );
+                setProperty( properties, prefix + NAME, license.getName() );
+                setProperty( properties, prefix + URL, license.getUrl() );
+                setProperty( properties, prefix + "distribution", license.getDistribution() );
+                setProperty( properties, prefix + "comments", license.getComments() );
+            }
+        }
+
+        File file = getFile( artifact );
+        try
+        {
+            FileUtil.createDirectoryIfNecessary( file.getParentFile() );
+            SharedDataUtil.storeProperties( properties, file );
+        }
+        catch ( IOException e )
+        {
+            LOG.warn( "Could not store license metadata of {} into {}", artifact, file, e );
+        }
+    }
+
+    private File getFile( Artifact artifact )
+    {
+        return FileUtil.getFile( directory, artifact.getGroupId(), artifact.getArtifactId(),
+                                 artifact.getVersion() + ".properties" );
+    }
+
+    private File getPomFile( Artifact artifact )
+    {
+        DefaultArtifact pom = new DefaultArtifact( artifact.getGroupId(), artifact.getArtifactId(), "pom",
+                                                   artifact.getVersion() );
+        return new File( repositorySession.getLocalRepository().getBasedir(),
+                         repositorySession.getLocalRepositoryManager().getPathForLocalArtifact( pom ) );
+    }
+
+    private static void setProperty( SortedProperties properties, String key, String value )
+    {
+        if ( value != null )
+        {
+            properties.setProperty( key, value );
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package org.codehaus.mojo.license.api;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.codehaus.mojo.license.utils.SharedDataUtil;
+import org.codehaus.mojo.license.utils.SortedProperties;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A persistent cache of the third-party descriptors which could not be found in the remote repositories, so that the
+ * same lookups are not done again by each build.
+ * <p>
+ * A miss is recorded for each {@code groupId:artifactId:version} and each remote repository it was looked up in, and
+ * is forgotten after a time to live; a descriptor is only considered missing if it was missed in all the
+ * repositories of the lookup. SNAPSHOT versions are never cached, as their descriptors may be deployed at any time.
+ * <p>
+ * <b>Note:</b> This class is thread safe.
+ *
+ * @since 2.0.1
+ */
+public class ThirdPartyDescriptorMissCache
+{
+    private static final Logger LOG = LoggerFactory.getLogger( ThirdPartyDescriptorMissCache.class );
+
+    private static final String SNAPSHOT_SUFFIX = "-SNAPSHOT";
+
+    private final File file;
+
+    private final long timeToLive;
+
+    /**
+     * Time of each unexpired miss, as loaded plus the ones added during this build.
+     */
+    private final ConcurrentMap<String, Long> misses = new ConcurrentHashMap<>();
+
+    /**
+     * Misses added during this build.
+     */
+    private final ConcurrentMap<String, Long> addedMisses = new ConcurrentHashMap<>();
+
+    ThirdPartyDescriptorMissCache( File file, long timeToLive )
+    {
+        this.file = file;
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Loads the cache from the given file.
+     *
+     * @param file       the cache file (may not exist)
+     * @param timeToLive time in milliseconds during which a miss is kept
+     * @return the loaded cache, empty if the file does not exist
+     * @throws IOException if could not read the cache file
+     */
+    public static ThirdPartyDescriptorMissCache load( File file, long timeToLive ) throws IOException
+    {
+        ThirdPartyDescriptorMissCache cache = new ThirdPartyDescriptorMissCache( file, timeToLive );
+        if ( file.exists() )
+        {
+            cache.readMisses( new SortedProperties( "UTF-8" ).load( file ), cache.misses, System.currentTimeMillis() );
+        }
+        LOG.debug( "Loaded {} third-party descriptor misses from {}", cache.misses.size(), file );
+        return cache;
+    }
+
+    /**
+     * Obtains the cache of the given file for the build, loading it on the first call; the modules of the build then
+     * share the same cache instead of each loading and storing the file.
+     *
+     * @param repositorySession the repository session of the build
+     * @param file              the cache file (may not exist)
+     * @param timeToLive        time in milliseconds during which a miss is kept
+     * @return the cache of the file for the build
+     * @throws IOException if could not read the cache file
+     */
+    public static ThirdPartyDescriptorMissCache forSession( RepositorySystemSession repositorySession, File file,
+                                                            long timeToLive ) throws IOException
+    {
+        ConcurrentMap<File, ThirdPartyDescriptorMissCache> cachesByFile =
+            SharedDataUtil.getSessionValue( repositorySession, ThirdPartyDescriptorMissCache.class,
+                    new SharedDataUtil.ValueFactory<ConcurrentMap<File, ThirdPartyDescriptorMissCache>>()
+                    {
+                        @Override
+                        public ConcurrentMap<File, ThirdPartyDescriptorMissCache> create()
+                        {
+                            return new ConcurrentHashMap<>();
+                        }
+                    } );
+        ThirdPartyDescriptorMissCache cache = cachesByFile.get( file );
+        if ( cache == null )
+        {
+            ThirdPartyDescriptorMissCache loaded = load( file, timeToLive );
+            cache = cachesByFile.putIfAbsent( file, loaded );
+            if ( cache == null )
+            {
+                cache = loaded;
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * @param groupId      the groupId of the descriptor
+     * @param artifactId   the artifactId of the descriptor
+     * @param version      the version of the descriptor
+     * @param repositories the repositories the descriptor would be looked up in
+     * @return {@code true} if the descriptor was recently missed in all the given repositories
+     */
+    public boolean isMissing( String groupId, String artifactId, String version, List<RemoteRepository> repositories )
+    {
+        if ( version.endsWith( SNAPSHOT_SUFFIX ) || repositories.isEmpty() )
+        {
+            return false;
+        }
+        long expired = System.currentTimeMillis() - timeToLive;
+        for ( RemoteRepository repository : repositories )
+        {
+            Long time = misses.get( getKey( groupId, artifactId, version, repository ) );
+            if ( time == null || time < expired )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Records that the descriptor was not found in any of the given repositories.
+     *
+     * @param groupId      the groupId of the descriptor
+     * @param artifactId   the artifactId of the descriptor
+     * @param version      the version of the descriptor
+     * @param repositories the repositories the descriptor was looked up in
+     */
+    public void putMissing( String groupId, String artifactId, String version, List<RemoteRepository> repositories )
+    {
+        if ( version.endsWith( SNAPSHOT_SUFFIX ) )
+        {
+            return;
+        }
+        Long now = System.currentTimeMillis();
+        for ( RemoteRepository repository : repositories )
+        {
+            String key = getKey( groupId, artifactId, version, repository );
+            misses.put( key, now );
+            addedMisses.put( key, now );
+        }
+    }
+
+    /**
+     * Merges the misses added since the last store into the cache file, dropping the expired ones.
+     *
+     * @throws IOException if could not write the cache file
+     */
+    public void store() throws IOException
+    {
+        final Map<String, Long> toStore = new HashMap<>( addedMisses );
+        if ( toStore.isEmpty() )
+        {
+            return;
+        }
+        File lockFile = new File( file.getParentFile(), file.getName() + ".lock" );
+        SortedProperties properties = SharedDataUtil.mergeProperties( file, lockFile,
+                new SharedDataUtil.PropertiesMerger()
+                {
+                    @Override
+                    public void merge( SortedProperties stored )
+                    {
+                        Map<String, Long> merged = new HashMap<>();
+                        readMisses( stored, merged, System.currentTimeMillis() );
+                        merged.putAll( toStore );
+                        stored.clear();
+                        for ( Map.Entry<String, Long> entry : merged.entrySet() )
+                        {
+                            stored.setProperty( entry.getKey(), String.valueOf( entry.getValue() ) );
+                        }
+                    }
+                } );
+        LOG.debug( "Stored {} third-party descriptor misses into {}", properties.size(), file );
+        // the misses added in the meantime are stored by the next call
+        for ( Map.Entry<String, Long> entry : toStore.entrySet() )
+        {
+            addedMisses.remove( entry.getKey(), entry.getValue() );
+        }
+    }
+
+    private void readMisses( Properties properties, Map<String, Long> result, long now )
+    {
+        for ( Map.Entry<Object, Object> property : properties.entrySet() )
+        {
+            try
+            {
+                long time = Long.parseLong( (String) property.getValue() );
+                if ( time >= now - timeToLive )
+                {
+                    result.put( (String) property.getKey(), time );
+                }
+            }
+            catch ( NumberFormatException e )
+            {
+                LOG.debug( "Skipped invalid third-party descriptor miss {}", property.getKey() );
+            }
+        }
+    }
+
+    private static String getKey( String groupId, String artifactId, String version, RemoteRepository repository )
+    {
+        return groupId + ":" + artifactId + ":" + version + "@" + repository.getUrl();
+    }
+}
@@ -120,9 +120,18 @@ public interface ThirdPartyHelper
      * Obtains the cache of loaded dependencies indexed by their gav.
      *
      * @return the cache of loaded dependencies indexed by their gav
+     * @deprecated since 2.0.1, use {@link #getDependencyCache()}: the dependencies are now kept in a bounded cache of
+     *             the build session, the returned map is only a copy of its current content
      */
+    @Deprecated
     SortedMap<String, MavenProject> getArtifactCache();
 
+    /**
+     * @return the cache of the dependencies loaded during the current build
+     * @since 2.0.1
+     */
+    DependencyCache getDependencyCache();
+
     /**
      * Loads unsafe mappings. Unsafe mappings are files that supply license metadata
      * for artifacts that lack it in their POM models. It's called 'unsafe' because its
@@ -0,0 +1,300 @@
+package org.codehaus.mojo.license.download;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.io.FilenameUtils;
+import org.codehaus.mojo.license.utils.FileUtil;
+import org.codehaus.mojo.license.utils.SortedProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A persistent index of the HTTP validators ({@code ETag} and {@code Last-Modified}) of the downloaded licenses, used
+ * to revalidate the local license files with conditional requests instead of downloading them again.
+ * <p>
+ * For each license key (the URL, followed by the digest of the content sanitizers applied to it if any), the index
+ * keeps the validators sent by the server with the name and the sha1 of the local file where the sanitized content was
+ * stored.
+ * <p>
+ * <b>Note:</b> This class is thread safe.
+ *
+ * @since 2.0.1
+ */
+public class LicenseDownloadIndex
+{
+    private static final Logger LOG = LoggerFactory.getLogger( LicenseDownloadIndex.class );
+
+    /**
+     * Separator of the fields of an entry (can not appear in a sha1, an entity tag or a HTTP date).
+     */
+    private static final String SEPARATOR = "\t";
+
+    /**
+     * Value stored for a missing validator.
+     */
+    private static final String NONE = "-";
+
+    /**
+     * Validators of a license and the local file they apply to.
+     */
+    public static class Entry
+    {
+        private final String fileName;
+
+        private final String sha1;
+
+        private final String etag;
+
+        private final String lastModified;
+
+        Entry( String fileName, String sha1, String etag, String lastModified )
+        {
+            this.fileName = fileName;
+            this.sha1 = sha1;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        static Entry parse( String value )
+        {
+            String[] parts = value.split( SEPARATOR );
+            if ( parts.length != 4 )
+            {
+                return null;
+            }
+            return new Entry( parts[3], parts[0], NONE.equals( parts[1] ) ? null : parts[1],
+                    NONE.equals( parts[2] ) ? null : parts[2] );
+        }
+
+        String format()
+        {
+            return sha1 + SEPARATOR + ( etag == null ? NONE : etag ) + SEPARATOR
+                    + ( lastModified == null ? NONE : lastModified ) + SEPARATOR + fileName;
+        }
+
+        /**
+         * @return the sha1 of the local file content
+         */
+        public String getSha1()
+        {
+            return sha1;
+        }
+
+        /**
+         * @return the {@code ETag} sent by the server, or {@code null}
+         */
+        public String getEtag()
+        {
+            return etag;
+        }
+
+        /**
+         * @return the {@code Last-Modified} date sent by the server, or {@code null}
+         */
+        public String getLastModified()
+        {
+            return lastModified;
+        }
+
+        Entry withFileName( String otherFileName )
+        {
+            return new Entry( otherFileName, sha1, etag, lastModified );
+        }
+    }
+
+    private final File indexFile;
+
+    private final File licensesOutputDirectory;
+
+    private final boolean sameFileRequired;
+
+    private final LicenseFileHashes fileHashes;
+
+    /**
+     * Entries loaded from the index file.
+     */
+    private final ConcurrentMap<String, Entry> previousEntries = new ConcurrentHashMap<>();
+
+    /**
+     * Entries of the licenses seen during this build (the only ones to be stored).
+     */
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    LicenseDownloadIndex( File indexFile, File licensesOutputDirectory, boolean sameFileRequired,
+                          LicenseFileHashes fileHashes )
+    {
+        this.indexFile = indexFile;
+        this.licensesOutputDirectory = licensesOutputDirectory;
+        this.sameFileRequired = sameFileRequired;
+        this.fileHashes = fileHashes;
+    }
+
+    /**
+     * Loads the index from the given file.
+     *
+     * @param indexFile               the index file (may not exist)
+     * @param licensesOutputDirectory the directory containing the license files
+     * @param sameFileRequired        {@code true} if a license can only be revalidated if it was downloaded to the
+     *                                same file (i.e. when licenses are organized by dependencies)
+     * @param fileHashes              the memo used to compute the sha1 of the local files, or {@code null} to always
+     *                                compute them
+     * @return the loaded index, empty if the file does not exist
+     * @throws IOException if could not read the index file
+     */
+    public static LicenseDownloadIndex load( File indexFile, File licensesOutputDirectory, boolean sameFileRequired,
+                                             LicenseFileHashes fileHashes )
+        throws IOException
+    {
+        LicenseDownloadIndex index =
+            new LicenseDownloadIndex( indexFile, licensesOutputDirectory, sameFileRequired, fileHashes );
+        if ( indexFile.exists() )
+        {
+            SortedProperties properties = new SortedProperties( "UTF-8" ).load( indexFile );
+            for ( Map.Entry<Object, Object> property : properties.entrySet() )
+            {
+                Entry entry = Entry.parse( (String) property.getValue() );
+                if ( entry != null )
+                {
+                    index.previousEntries.put( (String) property.getKey(), entry );
+                }
+            }
+            LOG.debug( "Loaded {} entries from index {}", index.previousEntries.size(), indexFile );
+        }
+        return index;
+    }
+
+    /**
+     * @return {@code true} if a license can only be revalidated if it was downloaded to the same file
+     */
+    public boolean isSameFileRequired()
+    {
+        return sameFileRequired;
+    }
+
+    /**
+     * Obtains the validators of the given license, if the local file they apply to still exists unchanged.
+     *
+     * @param key        the license key
+     * @param outputFile the file where the license would be downloaded
+     * @param sameFile   {@code true} if the validators can only be used if they apply to {@code outputFile} (its
+     *                   extension apart), {@code false} if they can apply to any file
+     * @return the validators to send, or {@code null} if the URL must be downloaded unconditionally
+     * @throws IOException if could not compute the sha1 of the local file
+     */
+    public Entry get( String key, File outputFile, boolean sameFile ) throws IOException
+    {
+        Entry entry = previousEntries.get( key );
+        if ( entry == null || ( entry.etag == null && entry.lastModified == null ) )
+        {
+            return null;
+        }
+        File file = getFile( entry );
+        if ( sameFile && !FilenameUtils.removeExtension( file.getPath() )
+                .equals( FilenameUtils.removeExtension( outputFile.getPath() ) ) )
+        {
+            return null;
+        }
+        if ( !file.exists() || !entry.sha1.equals( sha1( file ) ) )
+        {
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * @param entry an entry of this index
+     * @return the local file the given entry applies to
+     */
+    public File getFile( Entry entry )
+    {
+        return new File( licensesOutputDirectory, entry.fileName );
+    }
+
+    /**
+     * Records that the content of the given license did not change since the given entry was obtained.
+     *
+     * @param key   the license key
+     * @param entry the entry returned by {@link #get(String, File, boolean)}
+     */
+    public void putUnchanged( String key, Entry entry )
+    {
+        entries.put( key, entry );
+    }
+
+    /**
+     * Records the validators of a downloaded license.
+     *
+     * @param key          the license key
+     * @param file         the local file where the content was stored
+     * @param sha1         the sha1 of the local file
+     * @param etag         the {@code ETag} sent by the server, or {@code null}
+     * @param lastModified the {@code Last-Modified} date sent by the server, or {@code null}
+     */
+    public void put( String key, File file, String sha1, String etag, String lastModified )
+    {
+        entries.put( key, new Entry( file.getName(), sha1, etag, lastModified ) );
+    }
+
+    /**
+     * Records that the content of the given license was moved to another local file.
+     *
+     * @param key  the license key
+     * @param file the new local file
+     */
+    public void updateFile( String key, File file )
+    {
+        Entry entry = entries.get( key );
+        if ( entry != null )
+        {
+            entries.put( key, entry.withFileName( file.getName() ) );
+        }
+    }
+
+    private String sha1( File file ) throws IOException
+    {
+        return fileHashes != null ? fileHashes.sha1( file ) : FileUtil.sha1( file.toPath() );
+    }
+
+    /**
+     * Stores the entries of the licenses seen during this build into the index file.
+     *
+     * @throws IOException if could not write the index file
+     */
+    public void store() throws IOException
+    {
+        SortedProperties properties = new SortedProperties( "UTF-8" );
+        for ( Map.Entry<String, Entry> entry : entries.entrySet() )
+        {
+            properties.setProperty( entry.getKey(), entry.getValue().format() );
+        }
+        FileUtil.createDirectoryIfNecessary( indexFile.getParentFile() );
+        properties.store( indexFile );
+        LOG.debug( "Stored {} entries into index {}", entries.size(), indexFile );
+    }
+}
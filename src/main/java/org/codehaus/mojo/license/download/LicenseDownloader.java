@@ -43,32 +43,21 @@ import java.util.regex.Pattern;
 
 import org.apache.commons.codec.binary.Hex;
 import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
-import org.apache.http.HttpException;
-import org.apache.http.HttpHost;
-import org.apache.http.HttpRequest;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.StatusLine;
-import org.apache.http.auth.AuthScope;
-import org.apache.http.auth.Credentials;
-import org.apache.http.auth.UsernamePasswordCredentials;
-import org.apache.http.client.CredentialsProvider;
-import org.apache.http.client.config.RequestConfig;
-import org.apache.http.client.config.RequestConfig.Builder;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
-import org.apache.http.conn.routing.HttpRoutePlanner;
 import org.apache.http.entity.ContentType;
-import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClientBuilder;
-import org.apache.http.impl.client.HttpClients;
-import org.apache.http.impl.conn.DefaultProxyRoutePlanner;
-import org.apache.http.protocol.HttpContext;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.settings.Proxy;
 import org.codehaus.mojo.license.spdx.SpdxLicenseList.Attachments.ContentSanitizer;
 import org.codehaus.mojo.license.utils.FileUtil;
+import org.codehaus.mojo.license.utils.SharedHttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -84,74 +73,41 @@ public class LicenseDownloader implements AutoCloseable
 
     private static final Pattern EXTENSION_PATTERN = Pattern.compile( "\\.[a-z]{1,4}$", Pattern.CASE_INSENSITIVE );
 
+    private final SharedHttpClient httpClients;
+
     private final CloseableHttpClient client;
 
     private final Map<String, ContentSanitizer> contentSanitizers;
     private final Charset charset;
 
-    public LicenseDownloader( Proxy proxy, int connectTimeout, int socketTimeout, int connectionRequestTimeout,
-                              Map<String, ContentSanitizer> contentSanitizers, Charset charset )
+    private final LicenseDownloadIndex downloadIndex;
+
+    private final LicenseStore licenseStore;
+
+    /**
+     * Note: a {@link LicenseDownloader} can be used from several threads at the same time, as long as they do not
+     * download into the same file.
+     *
+     * @param httpClients the HTTP clients of the build to download with (closed with this downloader, unless shared
+     *                    with the build session)
+     * @param maxConnections maximum number of simultaneous connections required to the same host
+     * @param downloadIndex the index used to revalidate the licenses already downloaded, or {@code null} to always
+     *                      download them unconditionally
+     * @param licenseStore the machine-wide store to take the licenses from (unless they are revalidated) and to add
+     *                     the downloaded licenses to, or {@code null}
+     */
+    public LicenseDownloader( SharedHttpClient httpClients, Proxy proxy, int connectTimeout, int socketTimeout,
+                              int connectionRequestTimeout, Map<String, ContentSanitizer> contentSanitizers,
+                              Charset charset, int maxConnections,
+                              LicenseDownloadIndex downloadIndex, LicenseStore licenseStore )
     {
         this.contentSanitizers = contentSanitizers;
         this.charset = charset;
-        final Builder configBuilder = RequestConfig.copy( RequestConfig.DEFAULT ) //
-                        .setConnectTimeout( connectTimeout ) //
-                        .setSocketTimeout( socketTimeout ) //
-                        .setConnectionRequestTimeout( connectionRequestTimeout );
-
-        if ( proxy != null )
-        {
-            configBuilder.setProxy( new HttpHost( proxy.getHost(), proxy.getPort(), proxy.getProtocol() ) );
-        }
-
-        HttpClientBuilder clientBuilder = HttpClients.custom().setDefaultRequestConfig( configBuilder.build() );
-        if ( proxy != null )
-        {
-            if ( proxy.getUsername() != null && proxy.getPassword() != null )
-            {
-                final CredentialsProvider credsProvider = new BasicCredentialsProvider();
-                final Credentials creds = new UsernamePasswordCredentials( proxy.getUsername(), proxy.getPassword() );
-                credsProvider.setCredentials( new AuthScope( proxy.getHost(), proxy.getPort() ), creds );
-                clientBuilder.setDefaultCredentialsProvider( credsProvider );
-            }
-            final String rawNonProxyHosts = proxy.getNonProxyHosts();
-            if ( rawNonProxyHosts != null )
-            {
-                final String[] nonProxyHosts = rawNonProxyHosts.split( "|" );
-                if ( nonProxyHosts.length > 0 )
-                {
-                    final List<Pattern> nonProxyPatterns = new ArrayList<>();
-                    for ( String nonProxyHost : nonProxyHosts )
-                    {
-                        final Pattern pat =
-                            Pattern.compile( nonProxyHost.replaceAll( "\\.", "\\\\." ).replaceAll( "\\*", ".*" ),
-                                             Pattern.CASE_INSENSITIVE );
-                        nonProxyPatterns.add( pat );
-                    }
-                    final HttpHost proxyHost = new HttpHost( proxy.getHost(), proxy.getPort() );
-                    final HttpRoutePlanner routePlanner = new DefaultProxyRoutePlanner( proxyHost )
-                    {
-
-                        @Override
-                        protected HttpHost determineProxy( HttpHost target, HttpRequest request, HttpContext context )
-                            throws HttpException
-                        {
-                            for ( Pattern pattern : nonProxyPatterns )
-                            {
-                                if ( pattern.matcher( target.getHostName() ).matches() )
-                                {
-                                    return null;
-                                }
-                            }
-                            return super.determineProxy( target, request, context );
-                        }
-
-                    };
-                    clientBuilder.setRoutePlanner( routePlanner );
-                }
-            }
-        }
-        this.client = clientBuilder.build();
+        this.downloadIndex = downloadIndex;
+        this.licenseStore = licenseStore;
+        this.httpClients = httpClients;
+        httpClients.ensureMaxConnections( maxConnections );
+        this.client = httpClients.getClient( proxy, connectTimeout, socketTimeout, connectionRequestTimeout );
     }
 
     /**
@@ -197,10 +153,48 @@ public class LicenseDownloader implements AutoCloseable
         }
         else
         {
+            final String licenseKey = getLicenseKey( licenseUrlString, sanitizers );
+            if ( licenseStore != null && downloadIndex == null )
+            {
+                final LicenseStore.Entry stored = licenseStore.get( licenseKey );
+                final String expectedSha1 = fileNameEntry.getSha1();
+                if ( stored != null && ( expectedSha1 == null || expectedSha1.equals( stored.getSha1() ) ) )
+                {
+                    File updatedFile = fileNameEntry.isPreferred() ? outputFile
+                                    : updateFileExtension( outputFile, stored.getMimeType() );
+                    LOG.debug( "Copying '{}' from the license store -> '{}'", licenseUrlString, updatedFile );
+                    licenseStore.copyTo( stored, updatedFile );
+                    return LicenseDownloadResult.success( updatedFile, stored.getSha1(), fileNameEntry.isPreferred() );
+                }
+            }
+
             LOG.debug( "About to download '{}'", licenseUrlString );
-            try ( CloseableHttpResponse response = client.execute( new HttpGet( licenseUrlString ) ) )
+            final HttpGet get = new HttpGet( licenseUrlString );
+            /* a preferred file name must be kept; other names only matter if the licenses are organized by dependency */
+            final LicenseDownloadIndex.Entry validators = downloadIndex == null ? null
+                            : downloadIndex.get( licenseKey, outputFile,
+                                                 fileNameEntry.isPreferred() || downloadIndex.isSameFileRequired() );
+            if ( validators != null )
+            {
+                if ( validators.getEtag() != null )
+                {
+                    get.setHeader( HttpHeaders.IF_NONE_MATCH, validators.getEtag() );
+                }
+                if ( validators.getLastModified() != null )
+                {
+                    get.setHeader( HttpHeaders.IF_MODIFIED_SINCE, validators.getLastModified() );
+                }
+            }
+            try ( CloseableHttpResponse response = client.execute( get ) )
             {
                 final StatusLine statusLine = response.getStatusLine();
+                if ( validators != null && statusLine.getStatusCode() == HttpStatus.SC_NOT_MODIFIED )
+                {
+                    final File file = downloadIndex.getFile( validators );
+                    LOG.debug( "'{}' not modified since it was downloaded to '{}'", licenseUrlString, file );
+                    downloadIndex.putUnchanged( licenseKey, validators );
+                    return LicenseDownloadResult.success( file, validators.getSha1(), fileNameEntry.isPreferred() );
+                }
                 if ( statusLine.getStatusCode() != HttpStatus.SC_OK )
                 {
                     return LicenseDownloadResult.failure( "'" + licenseUrlString + "' returned "
@@ -246,8 +240,9 @@ public class LicenseDownloader implements AutoCloseable
                                     + "' or (c) split the entry so that"
                                     + " its URLs return content with different sha1 sums." );
                             }
-                            return LicenseDownloadResult.success( updatedFile, actualSha1,
-                                                                  fileNameEntry.isPreferred() );
+                            return recordDownload( licenseUrlString, response, licenseKey, contentType,
+                                                   LicenseDownloadResult.success( updatedFile, actualSha1,
+                                                                                    fileNameEntry.isPreferred() ) );
                         }
                         catch ( NoSuchAlgorithmException e )
                         {
@@ -262,7 +257,9 @@ public class LicenseDownloader implements AutoCloseable
                         try ( BufferedReader r =
                                         new BufferedReader( new InputStreamReader( entity.getContent(), cs ) ) )
                         {
-                            return sanitize( r, updatedFile, cs, sanitizers, fileNameEntry.isPreferred() );
+                            return recordDownload( licenseUrlString, response, licenseKey, contentType,
+                                                   sanitize( r, updatedFile, cs, sanitizers,
+                                                               fileNameEntry.isPreferred() ) );
                         }
                     }
                 }
@@ -274,6 +271,83 @@ public class LicenseDownloader implements AutoCloseable
         }
     }
 
+    /**
+     * Records a successful download into the {@link #downloadIndex} (its validators) and the {@link #licenseStore}
+     * (its content), if any.
+     *
+     * @param licenseUrlString the downloaded URL
+     * @param response the HTTP response
+     * @param licenseKey the key of the license in the {@link #downloadIndex} and the {@link #licenseStore}
+     * @param contentType the content type of the response, or {@code null}
+     * @param result the download result
+     * @return the given {@code result}
+     */
+    private LicenseDownloadResult recordDownload( String licenseUrlString, HttpResponse response, String licenseKey,
+                                                  ContentType contentType, LicenseDownloadResult result )
+    {
+        if ( !result.isSuccess() )
+        {
+            return result;
+        }
+        if ( downloadIndex != null )
+        {
+            final Header etag = response.getFirstHeader( HttpHeaders.ETAG );
+            final Header lastModified = response.getFirstHeader( HttpHeaders.LAST_MODIFIED );
+            downloadIndex.put( licenseKey, result.getFile(), result.getSha1(),
+                               etag != null ? etag.getValue() : null,
+                               lastModified != null ? lastModified.getValue() : null );
+        }
+        if ( licenseStore != null )
+        {
+            try
+            {
+                licenseStore.put( licenseKey, result.getFile(), result.getSha1(),
+                                  contentType != null ? contentType.getMimeType() : null );
+            }
+            catch ( IOException e )
+            {
+                LOG.warn( "Could not add '{}' to the license store: {}", licenseUrlString, e.getMessage() );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param licenseUrlString the license URL
+     * @param sanitizers the content sanitizers applied to the license
+     * @return the key of the license in the {@link #downloadIndex} and the {@link #licenseStore}: the URL, followed by
+     *         the digest of the sanitizers if any, as the same URL gives different local files with other sanitizers
+     */
+    static String getLicenseKey( String licenseUrlString, List<ContentSanitizer> sanitizers )
+    {
+        if ( sanitizers.isEmpty() )
+        {
+            return licenseUrlString;
+        }
+        final StringBuilder sb = new StringBuilder();
+        for ( ContentSanitizer sanitizer : sanitizers )
+        {
+            sb.append( sanitizer.getContentPattern().pattern() ).append( '\n' )
+                .append( sanitizer.getContentReplacement() ).append( '\n' );
+        }
+        return licenseUrlString + " " + DigestUtils.sha1Hex( sb.toString() );
+    }
+
+    /**
+     * Notifies that the license downloaded from the given URL was moved to another file.
+     *
+     * @param licenseUrlString the downloaded URL
+     * @param newFile the new location of the license
+     */
+    public void fileMoved( String licenseUrlString, File newFile )
+    {
+        if ( downloadIndex != null )
+        {
+            final String licenseKey = getLicenseKey( licenseUrlString, filterSanitizers( licenseUrlString ) );
+            downloadIndex.updateFile( licenseKey, newFile );
+        }
+    }
+
     static LicenseDownloadResult sanitize( BufferedReader r, File out, Charset charset,
                                            List<ContentSanitizer> sanitizers, boolean preferredFileName )
         throws IOException
@@ -330,10 +404,14 @@ public class LicenseDownloader implements AutoCloseable
         return outputFile;
     }
 
+    /**
+     * Closes the connections of the clients, unless they are shared with the build session (which closes them when it
+     * ends).
+     */
     @Override
     public void close() throws IOException
     {
-        client.close();
+        httpClients.close();
     }
 
     /**
@@ -0,0 +1,93 @@
+package org.codehaus.mojo.license.download;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+
+import org.codehaus.mojo.license.utils.FileFingerprint;
+import org.codehaus.mojo.license.utils.FileFingerprintMemo;
+
+/**
+ * A persistent memo of the sha1 of the license files, so that a file is only read again when its size or its last
+ * modification time changed since its sha1 was computed (see {@link FileFingerprint}).
+ * <p>
+ * <b>Note:</b> This class is thread safe.
+ *
+ * @since 2.0.1
+ */
+public class LicenseFileHashes
+{
+    /**
+     * Version of the hashes file format.
+     */
+    private static final String FORMAT_VERSION = "1";
+
+    private final FileFingerprintMemo memo;
+
+    LicenseFileHashes( FileFingerprintMemo memo )
+    {
+        this.memo = memo;
+    }
+
+    /**
+     * Loads the memoized hashes from the given file.
+     *
+     * @param hashesFile the hashes file (may be {@code null} to not persist the hashes, or may not exist)
+     * @return the loaded hashes, empty if the file does not exist
+     * @throws IOException if could not read the hashes file
+     */
+    public static LicenseFileHashes load( File hashesFile ) throws IOException
+    {
+        return new LicenseFileHashes( FileFingerprintMemo.load( hashesFile, FORMAT_VERSION ) );
+    }
+
+    /**
+     * Obtains the sha1 of the given file, computing it only if the file changed since it was last computed.
+     *
+     * @param file the file to hash
+     * @return the sha1 of the file content
+     * @throws IOException if could not read the file
+     */
+    public String sha1( File file ) throws IOException
+    {
+        FileFingerprintMemo.Entry entry = memo.get( file );
+        if ( entry != null && entry.getFingerprint().getSha1() != null )
+        {
+            return entry.getFingerprint().getSha1();
+        }
+        FileFingerprint fingerprint = FileFingerprint.of( file, null );
+        memo.put( file, fingerprint, "" );
+        return fingerprint.getSha1();
+    }
+
+    /**
+     * Stores the hashes of the files seen during this build into the hashes file (if any).
+     *
+     * @throws IOException if could not write the hashes file
+     */
+    public void store() throws IOException
+    {
+        memo.store();
+    }
+}
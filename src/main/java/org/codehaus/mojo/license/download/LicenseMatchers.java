@@ -23,10 +23,14 @@ package org.codehaus.mojo.license.download;
  */
 
 import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 import org.apache.maven.plugin.MojoExecutionException;
@@ -64,12 +68,14 @@ public class LicenseMatchers
         {
             if ( licenseMatchersFile != null && licenseMatchersFile.exists() )
             {
-                final List<ProjectLicenseInfo> replacements =
-                    LicenseSummaryReader.parseLicenseSummary( licenseMatchersFile );
-
-                for ( ProjectLicenseInfo dependency : replacements )
+                try ( InputStream in = Files.newInputStream( licenseMatchersFile.toPath() );
+                      LicenseSummaryReader reader = new LicenseSummaryReader( in ) )
                 {
-                    matchers.add( DependencyMatcher.of( dependency ) );
+                    ProjectLicenseInfo dependency;
+                    while ( ( dependency = reader.next() ) != null )
+                    {
+                        matchers.add( DependencyMatcher.of( dependency ) );
+                    }
                 }
             }
         }
@@ -92,12 +98,167 @@ public class LicenseMatchers
                                         : Pattern.compile( string, Pattern.CASE_INSENSITIVE );
     }
 
+    /**
+     * Characters having a special meaning in a regular expression.
+     */
+    private static final String REGEX_META_CHARACTERS = "\\^$.|?*+()[]{}";
+
+    private static final String QUOTE_START = "\\Q";
+
+    private static final String QUOTE_END = "\\E";
+
+    /**
+     * Obtains the key of the strings the given pattern can match, if it only matches a literal string.
+     * <p>
+     * The key is the literal with its ASCII letters in lower case, so that the key of any string matched by the
+     * pattern (see {@link #key(String)}) is equal to it, whether the pattern is case insensitive or not.
+     *
+     * @param pattern a groupId or artifactId pattern
+     * @return the key of the literal matched by the pattern, or {@code null} if the pattern is a true regular
+     * expression
+     */
+    static String literalKey( Pattern pattern )
+    {
+        if ( ( pattern.flags() & ~Pattern.CASE_INSENSITIVE ) != 0 )
+        {
+            return null;
+        }
+        String regex = pattern.pattern();
+        if ( regex.startsWith( QUOTE_START ) && regex.endsWith( QUOTE_END )
+            && regex.indexOf( QUOTE_END, QUOTE_START.length() ) == regex.length() - QUOTE_END.length() )
+        {
+            // as written by Pattern.quote(), unless the literal contains \E
+            return key( regex.substring( QUOTE_START.length(), regex.length() - QUOTE_END.length() ) );
+        }
+        for ( int i = 0; i < regex.length(); i++ )
+        {
+            if ( REGEX_META_CHARACTERS.indexOf( regex.charAt( i ) ) >= 0 )
+            {
+                return null;
+            }
+        }
+        return key( regex );
+    }
+
+    /**
+     * @param string a groupId or an artifactId, may be {@code null}
+     * @return the string with its ASCII letters in lower case (as {@link Pattern#CASE_INSENSITIVE} ignores the case
+     * of ASCII letters only)
+     */
+    static String key( String string )
+    {
+        if ( string == null )
+        {
+            return "";
+        }
+        char[] chars = null;
+        for ( int i = 0; i < string.length(); i++ )
+        {
+            char c = string.charAt( i );
+            if ( c >= 'A' && c <= 'Z' )
+            {
+                if ( chars == null )
+                {
+                    chars = string.toCharArray();
+                }
+                chars[i] = (char) ( c + ( 'a' - 'A' ) );
+            }
+        }
+        return chars == null ? string : new String( chars );
+    }
+
+    private static void addToBucket( Map<String, List<Integer>> buckets, String key, int index )
+    {
+        List<Integer> bucket = buckets.get( key );
+        if ( bucket == null )
+        {
+            bucket = new ArrayList<>();
+            buckets.put( key, bucket );
+        }
+        bucket.add( index );
+    }
+
     private final List<DependencyMatcher> matchers;
 
+    /**
+     * Indexes of the matchers with a literal groupId and a literal artifactId, by groupId and artifactId keys.
+     */
+    private final Map<String, List<Integer>> byGroupIdAndArtifactId = new HashMap<>();
+
+    /**
+     * Indexes of the matchers with only a literal groupId, by groupId key.
+     */
+    private final Map<String, List<Integer>> byGroupId = new HashMap<>();
+
+    /**
+     * Indexes of the matchers with only a literal artifactId, by artifactId key.
+     */
+    private final Map<String, List<Integer>> byArtifactId = new HashMap<>();
+
+    /**
+     * Indexes of the matchers with a true pattern for both the groupId and the artifactId.
+     */
+    private final List<Integer> unindexed = new ArrayList<>();
+
     private LicenseMatchers( List<DependencyMatcher> matchers )
     {
         super();
         this.matchers = matchers;
+        for ( int i = 0; i < matchers.size(); i++ )
+        {
+            DependencyMatcher matcher = matchers.get( i );
+            String groupIdKey = literalKey( matcher.groupId );
+            String artifactIdKey = literalKey( matcher.artifactId );
+            if ( groupIdKey != null && artifactIdKey != null )
+            {
+                addToBucket( byGroupIdAndArtifactId, groupIdKey + ':' + artifactIdKey, i );
+            }
+            else if ( groupIdKey != null )
+            {
+                addToBucket( byGroupId, groupIdKey, i );
+            }
+            else if ( artifactIdKey != null )
+            {
+                addToBucket( byArtifactId, artifactIdKey, i );
+            }
+            else
+            {
+                unindexed.add( i );
+            }
+        }
+    }
+
+    /**
+     * Obtains the matchers which may match the groupId and the artifactId of the given dependency.
+     *
+     * @param dependency the dependency
+     * @return the candidate matchers, in the order they were given
+     */
+    private List<DependencyMatcher> getCandidates( ProjectLicenseInfo dependency )
+    {
+        String groupIdKey = key( dependency.getGroupId() );
+        String artifactIdKey = key( dependency.getArtifactId() );
+        List<Integer> indexes = new ArrayList<>( unindexed );
+        addAll( indexes, byGroupIdAndArtifactId.get( groupIdKey + ':' + artifactIdKey ) );
+        addAll( indexes, byGroupId.get( groupIdKey ) );
+        addAll( indexes, byArtifactId.get( artifactIdKey ) );
+        // the last matching matcher wins, so the order matters
+        Collections.sort( indexes );
+
+        List<DependencyMatcher> result = new ArrayList<>( indexes.size() );
+        for ( Integer index : indexes )
+        {
+            result.add( matchers.get( index ) );
+        }
+        return result;
+    }
+
+    private static void addAll( List<Integer> indexes, List<Integer> bucket )
+    {
+        if ( bucket != null )
+        {
+            indexes.addAll( bucket );
+        }
     }
 
     /**
@@ -107,7 +268,7 @@ public class LicenseMatchers
      */
     public void replaceMatches( ProjectLicenseInfo dependency )
     {
-        for ( DependencyMatcher matcher : matchers )
+        for ( DependencyMatcher matcher : getCandidates( dependency ) )
         {
             if ( matcher.matches( dependency ) )
             {
@@ -0,0 +1,363 @@
+package org.codehaus.mojo.license.download;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.codehaus.mojo.license.utils.FileUtil;
+import org.codehaus.mojo.license.utils.SharedDataUtil;
+import org.codehaus.mojo.license.utils.SortedProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A persistent store of license files shared by all the projects of a machine.
+ * <p>
+ * The license contents are stored by sha1 in the {@code objects} directory, and an index maps each license URL (and
+ * the content sanitizers applied to it) to the sha1 and the mime type of its content. When the store grows over its
+ * maximal size, the least recently used contents are evicted.
+ * <p>
+ * Several builds can use the same store at the same time: contents are written atomically and the index is merged
+ * with the one stored by the other builds under a file lock.
+ * <p>
+ * <b>Note:</b> This class is thread safe.
+ *
+ * @since 2.0.1
+ */
+public class LicenseStore
+{
+    private static final Logger LOG = LoggerFactory.getLogger( LicenseStore.class );
+
+    private static final String INDEX_FILE_NAME = "index.properties";
+
+    private static final String LOCK_FILE_NAME = ".lock";
+
+    private static final String OBJECTS_DIRECTORY_NAME = "objects";
+
+    /**
+     * Separator of the fields of an entry (can not appear in a sha1 or a mime type).
+     */
+    private static final String SEPARATOR = "\t";
+
+    /**
+     * Value stored for a missing mime type.
+     */
+    private static final String NONE = "-";
+
+    /**
+     * A license content found in the store.
+     */
+    public static class Entry
+    {
+        private final String sha1;
+
+        private final String mimeType;
+
+        Entry( String sha1, String mimeType )
+        {
+            this.sha1 = sha1;
+            this.mimeType = mimeType;
+        }
+
+        static Entry parse( String value )
+        {
+            String[] parts = value.split( SEPARATOR );
+            if ( parts.length != 2 )
+            {
+                return null;
+            }
+            return new Entry( parts[0], NONE.equals( parts[1] ) ? null : parts[1] );
+        }
+
+        String format()
+        {
+            return sha1 + SEPARATOR + ( mimeType == null ? NONE : mimeType );
+        }
+
+        /**
+         * @return the sha1 of the content
+         */
+        public String getSha1()
+        {
+            return sha1;
+        }
+
+        /**
+         * @return the mime type the content was served with, or {@code null}
+         */
+        public String getMimeType()
+        {
+            return mimeType;
+        }
+    }
+
+    private final File directory;
+
+    private final long maxSize;
+
+    /**
+     * Entries of the index, as loaded plus the ones added during this build.
+     */
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Keys of the entries added during this build.
+     */
+    private final Set<String> addedKeys = Collections.newSetFromMap( new ConcurrentHashMap<String, Boolean>() );
+
+    LicenseStore( File directory, long maxSize )
+    {
+        this.directory = directory;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Opens the store located in the given directory.
+     *
+     * @param directory the store directory (created if needed)
+     * @param maxSize   the maximal size in bytes of the stored contents
+     * @return the store
+     * @throws IOException if could not read the store index
+     */
+    public static LicenseStore open( File directory, long maxSize ) throws IOException
+    {
+        LicenseStore store = new LicenseStore( directory, maxSize );
+        FileUtil.createDirectoryIfNecessary( directory );
+        File indexFile = new File( directory, INDEX_FILE_NAME );
+        if ( indexFile.exists() )
+        {
+            readIndex( new SortedProperties( "UTF-8" ).load( indexFile ), store.entries );
+        }
+        LOG.debug( "Opened license store {} with {} entries", directory, store.entries.size() );
+        return store;
+    }
+
+    /**
+     * Obtains the content stored for the given key.
+     *
+     * @param key the license URL, plus anything else the content depends on
+     * @return the stored entry, or {@code null} if the store has no content for the given key
+     */
+    public Entry get( String key )
+    {
+        Entry entry = entries.get( key );
+        if ( entry == null )
+        {
+            return null;
+        }
+        File object = getObjectFile( entry.sha1 );
+        if ( !object.exists() )
+        {
+            entries.remove( key );
+            return null;
+        }
+        touch( object );
+        return entry;
+    }
+
+    /**
+     * Copies the stored content of the given entry to the given file.
+     *
+     * @param entry  an entry returned by {@link #get(String)}
+     * @param target the file to copy the content to (replaced if it exists)
+     * @throws IOException if could not copy the content
+     */
+    public void copyTo( Entry entry, File target ) throws IOException
+    {
+        // not linked: the license files may be rewritten in place later, which would corrupt the store
+        Files.copy( getObjectFile( entry.sha1 ).toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING );
+    }
+
+    /**
+     * Adds the given license file to the store.
+     *
+     * @param key      the license URL, plus anything else the content depends on
+     * @param file     the license file
+     * @param sha1     the sha1 of the license file
+     * @param mimeType the mime type the content was served with, or {@code null}
+     * @throws IOException if could not copy the license file to the store
+     */
+    public void put( String key, File file, String sha1, String mimeType ) throws IOException
+    {
+        File object = getObjectFile( sha1 );
+        if ( object.exists() )
+        {
+            touch( object );
+        }
+        else
+        {
+            FileUtil.createDirectoryIfNecessary( object.getParentFile() );
+            FileUtil.writeAtomically( object, Files.readAllBytes( file.toPath() ) );
+        }
+        entries.put( key, new Entry( sha1, mimeType ) );
+        addedKeys.add( key );
+    }
+
+    /**
+     * Merges the entries added during this build into the index of the store, then evicts the least recently used
+     * contents if the store is too big.
+     *
+     * @throws IOException if could not write the index
+     */
+    public void store() throws IOException
+    {
+        SortedProperties properties = SharedDataUtil.mergeProperties( new File( directory, INDEX_FILE_NAME ),
+                new File( directory, LOCK_FILE_NAME ), new SharedDataUtil.PropertiesMerger()
+                {
+                    @Override
+                    public void merge( SortedProperties stored )
+                    {
+                        mergeIndex( stored );
+                    }
+                } );
+        LOG.debug( "Stored {} entries into license store {}", properties.size(), directory );
+    }
+
+    /**
+     * Merges the index with the stored one and evicts the contents, the store being locked.
+     */
+    private void mergeIndex( SortedProperties stored )
+    {
+        Map<String, Entry> index = new HashMap<>();
+        readIndex( stored, index );
+        for ( String key : addedKeys )
+        {
+            index.put( key, entries.get( key ) );
+        }
+
+        evict();
+        stored.clear();
+        for ( Map.Entry<String, Entry> entry : index.entrySet() )
+        {
+            // contents may have been evicted by this build or by another one
+            if ( getObjectFile( entry.getValue().sha1 ).exists() )
+            {
+                stored.setProperty( entry.getKey(), entry.getValue().format() );
+            }
+        }
+    }
+
+    /**
+     * Deletes the least recently used contents until the store is not bigger than {@link #maxSize}.
+     */
+    private void evict()
+    {
+        List<File> objects = new ArrayList<>();
+        long size = 0L;
+        File[] dirs = new File( directory, OBJECTS_DIRECTORY_NAME ).listFiles();
+        if ( dirs != null )
+        {
+            for ( File dir : dirs )
+            {
+                File[] files = dir.listFiles();
+                if ( files != null )
+                {
+                    for ( File file : files )
+                    {
+                        objects.add( file );
+                        size += file.length();
+                    }
+                }
+            }
+        }
+        if ( size <= maxSize )
+        {
+            return;
+        }
+        final Map<File, Long> lastModified = new HashMap<>();
+        for ( File object : objects )
+        {
+            lastModified.put( object, object.lastModified() );
+        }
+        Collections.sort( objects, new Comparator<File>()
+        {
+            @Override
+            public int compare( File o1, File o2 )
+            {
+                return lastModified.get( o1 ).compareTo( lastModified.get( o2 ) );
+            }
+        } );
+        int nbEvicted = 0;
+        for ( File object : objects )
+        {
+            if ( size <= maxSize )
+            {
+                break;
+            }
+            long length = object.length();
+            if ( object.delete() )
+            {
+                size -= length;
+                nbEvicted++;
+            }
+        }
+        LOG.debug( "Evicted {} contents from license store {}", nbEvicted, directory );
+    }
+
+    private static void readIndex( Properties properties, Map<String, Entry> index )
+    {
+        for ( Map.Entry<Object, Object> property : properties.entrySet() )
+        {
+            Entry entry = Entry.parse( (String) property.getValue() );
+            if ( entry != null )
+            {
+                index.put( (String) property.getKey(), entry );
+            }
+        }
+    }
+
+    private File getObjectFile( String sha1 )
+    {
+        return FileUtil.getFile( directory, OBJECTS_DIRECTORY_NAME, sha1.substring( 0, 2 ), sha1 );
+    }
+
+    /**
+     * Marks the given content as used now (the last modification time is used to evict the least recently used
+     * contents).
+     */
+    private static void touch( File object )
+    {
+        try
+        {
+            Files.setLastModifiedTime( object.toPath(), FileTime.fromMillis( System.currentTimeMillis() ) );
+        }
+        catch ( IOException e )
+        {
+            LOG.debug( "Could not touch {}", object, e );
+        }
+    }
+}
@@ -22,38 +22,66 @@ package org.codehaus.mojo.license.download;
  * #L%
  */
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
-import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 /**
  * A LicenseSummaryReader.
+ * <p>
+ * The summary is read as a stream, one dependency at a time (see {@link #next()}), so that big summaries do not
+ * need to be loaded in memory.
  *
  * @author Paul Gier
  * @version $Revision$
  * @since 1.0
  */
 public class LicenseSummaryReader
+    implements Closeable
 {
 
+    private static final XMLInputFactory XML_INPUT_FACTORY;
+
+    static
+    {
+        XML_INPUT_FACTORY = XMLInputFactory.newInstance();
+        XML_INPUT_FACTORY.setProperty( XMLInputFactory.IS_COALESCING, Boolean.TRUE );
+    }
+
+    private final XMLStreamReader reader;
+
+    /**
+     * Depth of the {@code dependencies} element, {@code -1} until it is found.
+     */
+    private int dependenciesDepth = -1;
+
+    private int depth;
+
+    private boolean ended;
+
+    /**
+     * @param licSummaryIS Input stream containing the license data (not closed by this reader)
+     * @throws XMLStreamException if there is a problem parsing the XML stream
+     * @since 2.0.1
+     */
+    public LicenseSummaryReader( InputStream licSummaryIS )
+        throws XMLStreamException
+    {
+        this.reader = XML_INPUT_FACTORY.createXMLStreamReader( licSummaryIS );
+    }
+
     public static List<ProjectLicenseInfo> parseLicenseSummary( File licSummaryFile )
-        throws IOException, ParserConfigurationException, SAXException
+        throws IOException, XMLStreamException
     {
         if ( licSummaryFile.exists() )
         {
@@ -70,125 +98,267 @@ public class LicenseSummaryReader
      *
      * @param licSummaryIS Input stream containing the license data
      * @return List of DependencyProject objects
-     * @throws IOException                  if there is a problem reading the InputStream
-     * @throws ParserConfigurationException if there is a problem parsing the XML stream
-     * @throws SAXException                 if there is a problem parsing the XML stream
+     * @throws XMLStreamException if there is a problem parsing the XML stream
      */
     public static List<ProjectLicenseInfo> parseLicenseSummary( InputStream licSummaryIS )
-        throws IOException, ParserConfigurationException, SAXException
+        throws XMLStreamException
     {
         List<ProjectLicenseInfo> dependencies = new ArrayList<>();
-
-        DocumentBuilderFactory docBuilderFactory = DocumentBuilderFactory.newInstance();
-        DocumentBuilder docBuilder = docBuilderFactory.newDocumentBuilder();
-        Document doc = docBuilder.parse( licSummaryIS );
-
-        // normalize text representation
-        doc.getDocumentElement().normalize();
-        Element documentElement = doc.getDocumentElement();
-
-        Node dependenciesNode = documentElement.getElementsByTagName( "dependencies" ).item( 0 );
-        NodeList dependencyNodes = dependenciesNode.getChildNodes();
-
-        for ( int i = 0; i < dependencyNodes.getLength(); ++i )
+        try ( LicenseSummaryReader summaryReader = new LicenseSummaryReader( licSummaryIS ) )
         {
-            Node dependencyNode = dependencyNodes.item( i );
-            if ( dependencyNode.getNodeType() == Node.ELEMENT_NODE )
+            ProjectLicenseInfo dependency;
+            while ( ( dependency = summaryReader.next() ) != null )
             {
-                dependencies.add( parseDependencyNode( dependencyNode ) );
+                dependencies.add( dependency );
             }
         }
-
         return dependencies;
+    }
 
+    /**
+     * Reads the next dependency of the summary, i.e. the next child element of the first {@code dependencies}
+     * element.
+     *
+     * @return the next dependency, or {@code null} if there is no more dependency
+     * @throws XMLStreamException if there is a problem parsing the XML stream
+     * @since 2.0.1
+     */
+    public ProjectLicenseInfo next()
+        throws XMLStreamException
+    {
+        while ( !ended && reader.hasNext() )
+        {
+            int event = reader.next();
+            if ( event == XMLStreamConstants.START_ELEMENT )
+            {
+                depth++;
+                if ( dependenciesDepth < 0 )
+                {
+                    // the root element itself does not count
+                    if ( depth > 1 && "dependencies".equals( reader.getLocalName() ) )
+                    {
+                        dependenciesDepth = depth;
+                    }
+                }
+                else
+                {
+                    // a child of the dependencies element
+                    ProjectLicenseInfo dependency = parseDependency();
+                    depth--;
+                    return dependency;
+                }
+            }
+            else if ( event == XMLStreamConstants.END_ELEMENT )
+            {
+                if ( depth == dependenciesDepth )
+                {
+                    // only the first dependencies element is read
+                    ended = true;
+                }
+                depth--;
+            }
+        }
+        return null;
     }
 
-    private static ProjectLicenseInfo parseDependencyNode( Node dependencyNode )
+    /**
+     * Closes the underlying XML reader (but not the input stream).
+     */
+    @Override
+    public void close()
     {
-        ProjectLicenseInfo dependency = new ProjectLicenseInfo();
-        NodeList depElements = dependencyNode.getChildNodes();
-        for ( int i = 0; i < depElements.getLength(); ++i )
+        try
+        {
+            reader.close();
+        }
+        catch ( XMLStreamException e )
         {
-            Node node = depElements.item( i );
+            // nothing more to read
+        }
+    }
 
-            if ( node.getNodeName().equals( "groupId" ) )
+    /**
+     * Parses the dependency element the reader is on, leaving the reader on its end.
+     */
+    private ProjectLicenseInfo parseDependency()
+        throws XMLStreamException
+    {
+        ProjectLicenseInfo dependency = new ProjectLicenseInfo();
+        while ( nextChildElement() )
+        {
+            String name = reader.getLocalName();
+            if ( name.equals( "groupId" ) )
             {
-                dependency.setGroupId( node.getTextContent() );
+                dependency.setGroupId( readTextContent() );
             }
-            else if ( node.getNodeName().equals( "artifactId" ) )
+            else if ( name.equals( "artifactId" ) )
             {
-                dependency.setArtifactId( node.getTextContent() );
+                dependency.setArtifactId( readTextContent() );
             }
-            else if ( node.getNodeName().equals( "version" ) )
+            else if ( name.equals( "version" ) )
             {
-                dependency.setVersion( node.getTextContent() );
+                dependency.setVersion( readTextContent() );
             }
-            else if ( node.getNodeName().equals( "licenses" ) )
+            else if ( name.equals( "licenses" ) )
             {
-                Map.Entry<Boolean, List<ProjectLicense>> entry = parseLicenses( node );
-                dependency.setLicenses( entry.getValue() );
-                dependency.setApproved( entry.getKey() );
+                boolean approved = isApproved();
+                dependency.setLicenses( parseLicenses( approved ) );
+                dependency.setApproved( approved );
             }
-            else if ( node.getNodeName().equals( "matchLicenses" ) )
+            else if ( name.equals( "matchLicenses" ) )
             {
                 dependency.setHasMatchLicenses( true );
-                dependency.setMatchLicenses( parseLicenses( node ).getValue() );
+                dependency.setMatchLicenses( parseLicenses( isApproved() ) );
+            }
+            else
+            {
+                skipElement();
             }
         }
         return dependency;
     }
 
-    private static Map.Entry<Boolean, List<ProjectLicense>> parseLicenses( Node node )
+    private boolean isApproved()
+    {
+        return Boolean.parseBoolean( reader.getAttributeValue( null, "approved" ) );
+    }
+
+    /**
+     * Parses the licenses element the reader is on, leaving the reader on its end.
+     */
+    private List<ProjectLicense> parseLicenses( boolean approved )
+        throws XMLStreamException
     {
         final List<ProjectLicense> result = new ArrayList<ProjectLicense>();
-        final NodeList licensesChildNodes = node.getChildNodes();
-        final Node approvedNode = node.getAttributes().getNamedItem( "approved" );
-        boolean approved = Boolean.parseBoolean( approvedNode != null ? approvedNode.getNodeValue() : "false" );
-        for ( int j = 0; j < licensesChildNodes.getLength(); ++j )
+        while ( nextChildElement() )
         {
-            final Node licensesChildNode = licensesChildNodes.item( j );
-            final String nodeName = licensesChildNode.getNodeName();
-            if ( nodeName.equals( "license" ) )
+            if ( reader.getLocalName().equals( "license" ) )
             {
                 if ( approved )
                 {
                     throw new IllegalStateException( "Cannot combine approved=\"true\" with <license> elements" );
                 }
-                result.add( parseLicense( licensesChildNode ) );
+                result.add( parseLicense() );
+            }
+            else
+            {
+                skipElement();
             }
         }
-        return new AbstractMap.SimpleImmutableEntry<Boolean, List<ProjectLicense>>( approved, result );
+        return result;
     }
 
-    private static ProjectLicense parseLicense( Node licenseNode )
+    /**
+     * Parses the license element the reader is on, leaving the reader on its end.
+     */
+    private ProjectLicense parseLicense()
+        throws XMLStreamException
     {
         ProjectLicense license = new ProjectLicense();
-        NodeList licenseElements = licenseNode.getChildNodes();
-        for ( int i = 0; i < licenseElements.getLength(); ++i )
+        while ( nextChildElement() )
         {
-            Node node = licenseElements.item( i );
-            if ( node.getNodeName().equals( "name" ) )
+            String name = reader.getLocalName();
+            if ( name.equals( "name" ) )
+            {
+                license.setName( readTextContent() );
+            }
+            else if ( name.equals( "url" ) )
             {
-                license.setName( node.getTextContent() );
+                license.setUrl( readTextContent() );
             }
-            else if ( node.getNodeName().equals( "url" ) )
+            else if ( name.equals( "distribution" ) )
             {
-                license.setUrl( node.getTextContent() );
+                license.setDistribution( readTextContent() );
             }
-            else if ( node.getNodeName().equals( "distribution" ) )
+            else if ( name.equals( "comments" ) )
             {
-                license.setDistribution( node.getTextContent() );
+                license.setComments( readTextContent() );
             }
-            else if ( node.getNodeName().equals( "comments" ) )
+            else if ( name.equals( "file" ) )
             {
-                license.setComments( node.getTextContent() );
+                license.setFile( readTextContent() );
             }
-            else if ( node.getNodeName().equals( "file" ) )
+            else
             {
-                license.setFile( node.getTextContent() );
+                skipElement();
             }
         }
         return license;
     }
 
+    /**
+     * Moves to the next child element of the current element.
+     *
+     * @return {@code true} if the reader is on the next child element, {@code false} if it is on the end of the
+     * current element
+     */
+    private boolean nextChildElement()
+        throws XMLStreamException
+    {
+        while ( true )
+        {
+            int event = reader.next();
+            if ( event == XMLStreamConstants.START_ELEMENT )
+            {
+                return true;
+            }
+            if ( event == XMLStreamConstants.END_ELEMENT )
+            {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Reads the text of the current element and of all its descendants (as the DOM {@code getTextContent()}),
+     * leaving the reader on its end.
+     */
+    private String readTextContent()
+        throws XMLStreamException
+    {
+        StringBuilder result = new StringBuilder();
+        int level = 1;
+        while ( level > 0 )
+        {
+            switch ( reader.next() )
+            {
+                case XMLStreamConstants.START_ELEMENT:
+                    level++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    level--;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    result.append( reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength() );
+                    break;
+                default:
+                    break;
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Skips the current element, leaving the reader on its end.
+     */
+    private void skipElement()
+        throws XMLStreamException
+    {
+        int level = 1;
+        while ( level > 0 )
+        {
+            int event = reader.next();
+            if ( event == XMLStreamConstants.START_ELEMENT )
+            {
+                level++;
+            }
+            else if ( event == XMLStreamConstants.END_ELEMENT )
+            {
+                level--;
+            }
+        }
+    }
+
 }
@@ -23,21 +23,15 @@ package org.codehaus.mojo.license.download;
  */
 
 import org.codehaus.mojo.license.Eol;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
-import java.io.StringWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.util.List;
@@ -46,6 +40,9 @@ import java.util.regex.Pattern;
 
 /**
  * A LicenseSummaryWriter.
+ * <p>
+ * The summary is written as a stream, one dependency at a time (see {@link #write(ProjectLicenseInfo)}), in the
+ * format (declaration, indentation and escaping) the summaries have always been written with.
  *
  * @author Paul Gier
  * @version $Revision$
@@ -53,160 +50,261 @@ import java.util.regex.Pattern;
  */
 public class LicenseSummaryWriter
 {
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    private static final String DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>";
+
+    private static final String INDENT = "  ";
+
+    private final XMLStreamWriter writer;
+
+    private final String eol;
+
+    private final boolean writeVersions;
+
+    /**
+     * {@code true} until the first dependency is written.
+     */
+    private boolean empty = true;
+
+    /**
+     * Starts a summary.
+     *
+     * @param out           where to write the summary (not closed by this writer)
+     * @param eol           the line separator to use
+     * @param writeVersions {@code true} to write the versions of the dependencies
+     * @throws IOException        if could not write the summary
+     * @throws XMLStreamException if could not write the summary
+     * @since 2.0.1
+     */
+    public LicenseSummaryWriter( Writer out, Eol eol, boolean writeVersions )
+        throws IOException, XMLStreamException
+    {
+        this.eol = eol.getEolString();
+        this.writeVersions = writeVersions;
+        out.write( DECLARATION );
+        out.write( this.eol );
+        this.writer = XML_OUTPUT_FACTORY.createXMLStreamWriter( out );
+        writer.writeStartElement( "licenseSummary" );
+    }
+
     public static void writeLicenseSummary( List<ProjectLicenseInfo> dependencies, File outputFile, Charset charset,
             Eol eol, boolean writeVersions )
-        throws ParserConfigurationException, TransformerException, IOException
+        throws IOException, XMLStreamException
     {
-        DocumentBuilderFactory fact = DocumentBuilderFactory.newInstance();
-        DocumentBuilder parser = fact.newDocumentBuilder();
-        Document doc = parser.newDocument();
-
-        Node root = doc.createElement( "licenseSummary" );
-        doc.appendChild( root );
-        Node dependenciesNode = doc.createElement( "dependencies" );
-        root.appendChild( dependenciesNode );
-
-        for ( ProjectLicenseInfo dep : dependencies )
+        try ( Writer out = new BufferedWriter(
+                new OutputStreamWriter( Files.newOutputStream( outputFile.toPath() ), charset ) ) )
         {
-            dependenciesNode.appendChild( createDependencyNode( doc, dep, writeVersions ) );
+            LicenseSummaryWriter summaryWriter = new LicenseSummaryWriter( out, eol, writeVersions );
+            for ( ProjectLicenseInfo dep : dependencies )
+            {
+                summaryWriter.write( dep );
+            }
+            summaryWriter.close();
         }
+    }
 
-        // Prepare the output file File
-        try ( StringWriter sw = new StringWriter() )
+    /**
+     * Writes the given dependency.
+     *
+     * @param dep the dependency
+     * @throws XMLStreamException if could not write the dependency
+     * @since 2.0.1
+     */
+    public void write( ProjectLicenseInfo dep )
+        throws XMLStreamException
+    {
+        if ( empty )
         {
-            Transformer xformer = TransformerFactory.newInstance().newTransformer();
-            xformer.setOutputProperty( OutputKeys.INDENT, "yes" );
-            xformer.setOutputProperty( "{http://xml.apache.org/xslt}indent-amount", "2" );
-            xformer.transform( new DOMSource( doc ), new StreamResult( sw ) );
-
-            final String platformEol = Eol.PLATFORM.getEolString();
-            final String outputString = !platformEol.equals( eol.getEolString() )
-                        ? sw.toString().replace( platformEol, eol.getEolString() )
-                        : sw.toString();
-            Files.write( outputFile.toPath(), outputString.getBytes( charset ) );
+            indent( 1 );
+            writer.writeStartElement( "dependencies" );
+            empty = false;
         }
-    }
 
-    public static Node createDependencyNode( Document doc, ProjectLicenseInfo dep, boolean writeVersions )
-    {
         final List<String> messages = dep.getDownloaderMessages();
         final boolean hasDownloaderMessages = messages != null && !messages.isEmpty();
 
-        final Node depNode = doc.createElement( "dependency" );
-
-        final Node groupIdNode = doc.createElement( "groupId" );
-        groupIdNode.appendChild( doc.createTextNode( patternOrText( dep.getGroupId(), hasDownloaderMessages ) ) );
-        depNode.appendChild( groupIdNode );
+        indent( 2 );
+        writer.writeStartElement( "dependency" );
 
-        final Node artifactIdNode = doc.createElement( "artifactId" );
-        artifactIdNode.appendChild( doc.createTextNode( patternOrText( dep.getArtifactId(), hasDownloaderMessages ) ) );
-        depNode.appendChild( artifactIdNode );
+        writeTextElement( 3, "groupId", patternOrText( dep.getGroupId(), hasDownloaderMessages ) );
+        writeTextElement( 3, "artifactId", patternOrText( dep.getArtifactId(), hasDownloaderMessages ) );
 
         if ( writeVersions )
         {
-            final Node versionNode = doc.createElement( "version" );
-            versionNode.appendChild( doc.createTextNode( patternOrText( dep.getVersion(), hasDownloaderMessages ) ) );
-            depNode.appendChild( versionNode );
+            writeTextElement( 3, "version", patternOrText( dep.getVersion(), hasDownloaderMessages ) );
         }
         else if ( hasDownloaderMessages  )
         {
-            depNode.appendChild( doc.createComment( " <version>" + dep.getVersion() + "</version> " ) );
+            writeComment( 3, " <version>" + dep.getVersion() + "</version> " );
         }
 
+        final boolean hasLicenses = dep.getLicenses() != null && dep.getLicenses().size() > 0;
         if ( hasDownloaderMessages  )
         {
-            Node matchLicensesNode = doc.createElement( "matchLicenses" );
-            if ( dep.getLicenses() == null || dep.getLicenses().size() == 0 )
+            indent( 3 );
+            writer.writeStartElement( "matchLicenses" );
+            if ( !hasLicenses )
             {
-                matchLicensesNode.appendChild( doc.createComment( " Match dependency with no licenses " ) );
+                writeComment( 4, " Match dependency with no licenses " );
             }
             else
             {
                 for ( ProjectLicense lic : dep.getLicenses() )
                 {
-                    matchLicensesNode.appendChild( createLicenseNode( doc, lic, true ) );
+                    writeLicense( 4, lic, true );
                 }
             }
-            depNode.appendChild( matchLicensesNode );
+            indent( 3 );
+            writer.writeEndElement();
         }
 
-
-        Node licensesNode = doc.createElement( "licenses" );
-        if ( dep.getLicenses() == null || dep.getLicenses().size() == 0 )
+        indent( 3 );
+        writer.writeStartElement( "licenses" );
+        if ( !hasLicenses )
         {
             final String comment =
                 hasDownloaderMessages ? " Manually add license elements here: " : " No license information available. ";
-            licensesNode.appendChild( doc.createComment( comment ) );
+            writeComment( 4, comment );
         }
         else
         {
             if ( hasDownloaderMessages )
             {
-                licensesNode.appendChild( doc.createComment( " Manually fix the existing license nodes: " ) );
+                writeComment( 4, " Manually fix the existing license nodes: " );
             }
             for ( ProjectLicense lic : dep.getLicenses() )
             {
-                licensesNode.appendChild( createLicenseNode( doc, lic, false ) );
+                writeLicense( 4, lic, false );
             }
         }
-        depNode.appendChild( licensesNode );
+        indent( 3 );
+        writer.writeEndElement();
 
         if ( hasDownloaderMessages )
         {
-            final Node downloaderMessagesNode = doc.createElement( "downloaderMessages" );
+            indent( 3 );
+            writer.writeStartElement( "downloaderMessages" );
             for ( String msg : messages )
             {
-                final Node downloaderMessageNode = doc.createElement( "downloaderMessage" );
-                downloaderMessageNode.appendChild( doc.createTextNode( msg ) );
-                downloaderMessagesNode.appendChild( downloaderMessageNode );
+                writeTextElement( 4, "downloaderMessage", msg );
             }
-            depNode.appendChild( downloaderMessagesNode );
+            indent( 3 );
+            writer.writeEndElement();
         }
 
-        return depNode;
+        indent( 2 );
+        writer.writeEndElement();
+    }
 
+    /**
+     * Ends the summary.
+     *
+     * @throws XMLStreamException if could not write the summary
+     * @since 2.0.1
+     */
+    public void close()
+        throws XMLStreamException
+    {
+        indent( 1 );
+        if ( empty )
+        {
+            writer.writeEmptyElement( "dependencies" );
+        }
+        else
+        {
+            writer.writeEndElement();
+        }
+        writer.writeCharacters( eol );
+        writer.writeEndElement();
+        writer.writeCharacters( eol );
+        writer.flush();
     }
 
-    public static Node createLicenseNode( Document doc, ProjectLicense lic, boolean isMatcher )
+    private void writeLicense( int level, ProjectLicense lic, boolean isMatcher )
+        throws XMLStreamException
     {
-        Node licenseNode = doc.createElement( "license" );
+        indent( level );
+        if ( lic.getName() == null && lic.getUrl() == null && lic.getDistribution() == null && lic.getFile() == null
+            && lic.getComments() == null )
+        {
+            writer.writeEmptyElement( "license" );
+            return;
+        }
 
+        writer.writeStartElement( "license" );
         if ( lic.getName() != null )
         {
-            Node licNameNode = doc.createElement( "name" );
-            licNameNode.appendChild( doc.createTextNode( patternOrText( lic.getName(), isMatcher ) ) );
-            licenseNode.appendChild( licNameNode );
+            writeTextElement( level + 1, "name", patternOrText( lic.getName(), isMatcher ) );
         }
-
         if ( lic.getUrl() != null )
         {
-            Node licUrlNode = doc.createElement( "url" );
-            licUrlNode.appendChild( doc.createTextNode( patternOrText( lic.getUrl(), isMatcher ) ) );
-            licenseNode.appendChild( licUrlNode );
+            writeTextElement( level + 1, "url", patternOrText( lic.getUrl(), isMatcher ) );
         }
-
         if ( lic.getDistribution() != null )
         {
-            Node licDistNode = doc.createElement( "distribution" );
-            licDistNode.appendChild( doc.createTextNode( patternOrText( lic.getDistribution(), isMatcher ) ) );
-            licenseNode.appendChild( licDistNode );
+            writeTextElement( level + 1, "distribution", patternOrText( lic.getDistribution(), isMatcher ) );
         }
-
         if ( lic.getFile() != null )
         {
-            Node licFileNode = doc.createElement( "file" );
-            licFileNode.appendChild( doc.createTextNode( patternOrText( lic.getFile(), isMatcher ) ) );
-            licenseNode.appendChild( licFileNode );
+            writeTextElement( level + 1, "file", patternOrText( lic.getFile(), isMatcher ) );
         }
-
         if ( lic.getComments() != null )
         {
-            Node licCommentsNode = doc.createElement( "comments" );
-            licCommentsNode.appendChild( doc.createTextNode( patternOrText( lic.getComments(), isMatcher ) ) );
-            licenseNode.appendChild( licCommentsNode );
+            writeTextElement( level + 1, "comments", patternOrText( lic.getComments(), isMatcher ) );
         }
+        indent( level );
+        writer.writeEndElement();
+    }
 
-        return licenseNode;
+    private void writeTextElement( int level, String name, String text )
+        throws XMLStreamException
+    {
+        indent( level );
+        if ( text == null || text.isEmpty() )
+        {
+            writer.writeEmptyElement( name );
+            return;
+        }
+        writer.writeStartElement( name );
+        int start = 0;
+        for ( int i = 0; i < text.length(); i++ )
+        {
+            char c = text.charAt( i );
+            if ( c == '\n' || c == '\r' )
+            {
+                writer.writeCharacters( text.substring( start, i ) );
+                if ( c == '\n' )
+                {
+                    writer.writeCharacters( eol );
+                }
+                else
+                {
+                    // a raw carriage return would be read back as a line feed
+                    writer.writeEntityRef( "#13" );
+                }
+                start = i + 1;
+            }
+        }
+        writer.writeCharacters( text.substring( start ) );
+        writer.writeEndElement();
+    }
+
+    private void writeComment( int level, String comment )
+        throws XMLStreamException
+    {
+        indent( level );
+        writer.writeComment( comment );
+    }
+
+    private void indent( int level )
+        throws XMLStreamException
+    {
+        writer.writeCharacters( eol );
+        for ( int i = 0; i < level; i++ )
+        {
+            writer.writeCharacters( INDENT );
+        }
     }
 
     private static final Pattern WHITESPACE_PATTERN = Pattern.compile( "\\s{2,}" );
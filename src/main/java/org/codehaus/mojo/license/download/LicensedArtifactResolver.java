@@ -23,6 +23,7 @@ package org.codehaus.mojo.license.download;
  */
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -38,6 +39,8 @@ import org.apache.maven.project.ProjectBuildingException;
 import org.apache.maven.project.ProjectBuildingRequest;
 import org.codehaus.mojo.license.api.ArtifactFilters;
 import org.codehaus.mojo.license.api.DefaultThirdPartyTool;
+import org.codehaus.mojo.license.api.DependencyProjectBuilder;
+import org.codehaus.mojo.license.api.LicenseMetadataCache;
 import org.codehaus.mojo.license.api.MavenProjectDependenciesConfigurator;
 import org.codehaus.mojo.license.api.ResolvedProjectDependencies;
 import org.codehaus.mojo.license.download.LicensedArtifact.Builder;
@@ -120,80 +123,90 @@ public class LicensedArtifactResolver
                         .setResolveDependencies( false )
                         .setProcessPlugins( false );
 
-        for ( Artifact artifact : depArtifacts )
+        DependencyProjectBuilder projectBuilder = new DependencyProjectBuilder( mavenProjectBuilder,
+                projectBuildingRequest, configuration, mavenSession.getRepositorySession() );
+        projectBuilder.prefetch( getArtifactsToBuild( depArtifacts, artifactFilters, result ) );
+
+        try
         {
+            for ( Artifact artifact : depArtifacts )
+            {
 
-            excludeArtifacts.put( artifact.getId(), artifact );
+                excludeArtifacts.put( artifact.getId(), artifact );
 
-            if ( DefaultThirdPartyTool.LICENSE_DB_TYPE.equals( artifact.getType() ) )
-            {
-                // the special dependencies for license databases don't count.
-                // Note that this will still see transitive deps of a license db; so using the build helper inside of
-                // another project to make them will be noisy.
-                continue;
-            }
+                if ( DefaultThirdPartyTool.LICENSE_DB_TYPE.equals( artifact.getType() ) )
+                {
+                    // the special dependencies for license databases don't count.
+                    // Note that this will still see transitive deps of a license db; so using the build helper inside
+                    // of another project to make them will be noisy.
+                    continue;
+                }
 
-            if ( !artifactFilters.isIncluded( artifact ) )
-            {
-                LOG.debug( "Excluding artifact {}", artifact );
-                continue;
-            }
+                if ( !artifactFilters.isIncluded( artifact ) )
+                {
+                    LOG.debug( "Excluding artifact {}", artifact );
+                    continue;
+                }
 
-            final String id = artifact.getGroupId() + ":" + artifact.getArtifactId() + ":" + artifact.getVersion();
+                final String id = artifact.getGroupId() + ":" + artifact.getArtifactId() + ":" + artifact.getVersion();
 
-            if ( verbose )
-            {
-                LOG.info( "detected artifact {}", id );
-            }
+                if ( verbose )
+                {
+                    LOG.info( "detected artifact {}", id );
+                }
 
-            LicensedArtifact depMavenProject;
+                LicensedArtifact depMavenProject;
 
-            // try to get project from cache
-            depMavenProject = result.get( id );
+                // try to get project from cache
+                depMavenProject = result.get( id );
 
-            if ( depMavenProject != null )
-            {
-                LOG.debug( "Dependency [{}] already present in the result", id );
-            }
-            else
-            {
-                // build project
-                final Builder laBuilder =
-                    LicensedArtifact.builder( artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion() );
-                try
+                if ( depMavenProject != null )
+                {
+                    LOG.debug( "Dependency [{}] already present in the result", id );
+                }
+                else
                 {
-                    final MavenProject project = mavenProjectBuilder
-                            .build( artifact, true, projectBuildingRequest )
-                            .getProject();
-                    List<org.apache.maven.model.License> lics = project.getLicenses();
-                    if ( lics != null )
+                    // build project
+                    final Builder laBuilder = LicensedArtifact.builder( artifact.getGroupId(),
+                                                                        artifact.getArtifactId(),
+                                                                        artifact.getVersion() );
+                    try
                     {
-                        for ( org.apache.maven.model.License lic : lics )
+                        final MavenProject project = projectBuilder.build( id, artifact );
+                        List<org.apache.maven.model.License> lics = project.getLicenses();
+                        if ( lics != null )
                         {
-                            laBuilder.license( new License( lic.getName(), lic.getUrl(), lic.getDistribution(),
-                                                            lic.getComments() ) );
+                            for ( org.apache.maven.model.License lic : lics )
+                            {
+                                laBuilder.license( new License( lic.getName(), lic.getUrl(), lic.getDistribution(),
+                                                                lic.getComments() ) );
+                            }
                         }
                     }
-                }
-                catch ( ProjectBuildingException e )
-                {
-                    laBuilder.errorMessage( "Could not create effective POM for '" + id + "': "
-                        + e.getClass().getSimpleName() + ": " + e.getMessage() );
-                }
+                    catch ( ProjectBuildingException e )
+                    {
+                        laBuilder.errorMessage( "Could not create effective POM for '" + id + "': "
+                            + e.getClass().getSimpleName() + ": " + e.getMessage() );
+                    }
 
-                depMavenProject = laBuilder.build();
+                    depMavenProject = laBuilder.build();
 
-                if ( verbose )
-                {
-                    LOG.info( "add dependency [{}]", id );
-                }
+                    if ( verbose )
+                    {
+                        LOG.info( "add dependency [{}]", id );
+                    }
 
-                result.put( id, depMavenProject );
-            }
+                    result.put( id, depMavenProject );
+                }
 
 
-            excludeArtifacts.remove( artifact.getId() );
-            includeArtifacts.put( artifact.getId(), artifact );
+                excludeArtifacts.remove( artifact.getId() );
+                includeArtifacts.put( artifact.getId(), artifact );
+            }
+        }
+        finally
+        {
+            projectBuilder.close();
         }
 
         // exclude artifacts from the result that contain excluded artifacts in the dependency trail
@@ -223,4 +236,31 @@ public class LicensedArtifactResolver
 
     }
     // CHECKSTYLE_ON: MethodLength
+
+    /**
+     * @param depArtifacts    the dependencies to load
+     * @param artifactFilters the filters to apply to the dependencies
+     * @param result          the licensed artifacts already loaded
+     * @return the dependencies whose project will be built by {@link #loadProjectDependencies}, by artifact unique id
+     *         in the order they will be built
+     */
+    private Map<String, Artifact> getArtifactsToBuild( Set<Artifact> depArtifacts, ArtifactFilters artifactFilters,
+                                                       Map<String, LicensedArtifact> result )
+    {
+        Map<String, Artifact> artifacts = new LinkedHashMap<>();
+        for ( Artifact artifact : depArtifacts )
+        {
+            if ( DefaultThirdPartyTool.LICENSE_DB_TYPE.equals( artifact.getType() )
+                    || !artifactFilters.isIncluded( artifact ) )
+            {
+                continue;
+            }
+            String id = artifact.getGroupId() + ":" + artifact.getArtifactId() + ":" + artifact.getVersion();
+            if ( !result.containsKey( id ) && !artifacts.containsKey( id ) )
+            {
+                artifacts.put( id, artifact );
+            }
+        }
+        return artifacts;
+    }
 }
@@ -22,19 +22,16 @@ package org.codehaus.mojo.license.header;
  * #L%
  */
 
-import java.io.ByteArrayInputStream;
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
-import java.io.Reader;
-import java.io.Writer;
+import java.io.StringReader;
+import java.io.StringWriter;
 import org.codehaus.mojo.license.header.transformer.FileHeaderTransformer;
 import org.nuiton.processor.Processor;
 
 /**
  * File header processor.
+ * <p>
+ * <b>Note:</b> A processor (and his filter) is stateful and must not be shared between threads.
  *
  * @author tchemit dev@tchemit.fr
  * @since 1.0
@@ -101,28 +98,21 @@ public class FileHeaderProcessor extends Processor
         return filter.isDetectHeader();
     }
 
-    public synchronized void process( String inputContent, File outputFile, String encoding ) throws IOException
+    /**
+     * Process the given content in memory.
+     *
+     * @param inputContent the content to process
+     * @return the processed content
+     * @throws IOException if any pb while processing content
+     */
+    public String process( String inputContent ) throws IOException
     {
 
         filter.reset();
 
-        Reader input = new InputStreamReader( new ByteArrayInputStream( inputContent.getBytes( encoding ) ), encoding );
-        try
-        {
-            Writer output = new OutputStreamWriter( new FileOutputStream( outputFile ), encoding );
-            try
-            {
-                process( input, output );
-            }
-            finally
-            {
-                output.close();
-            }
-        }
-        finally
-        {
-            input.close();
-        }
+        StringWriter output = new StringWriter( inputContent.length() + 1024 );
+        process( new StringReader( inputContent ), output );
+        return output.toString();
     }
 
     public String getFileHeaderDescription()
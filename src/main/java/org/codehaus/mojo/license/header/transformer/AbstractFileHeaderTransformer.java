@@ -22,7 +22,6 @@ package org.codehaus.mojo.license.header.transformer;
  * #L%
  */
 
-import org.apache.commons.lang3.StringUtils;
 import org.codehaus.mojo.license.header.FileHeader;
 import org.codehaus.mojo.license.model.Copyright;
 
@@ -69,6 +68,11 @@ public abstract class AbstractFileHeaderTransformer
      */
     private String sectionDelimiter = DEFAULT_SECTION_DELIMITER;
 
+    /**
+     * compiled section delimiter (lazy, reset when the section delimiter changes).
+     */
+    private volatile Pattern sectionDelimiterPattern;
+
     /**
      * start process tag.
      */
@@ -180,6 +184,7 @@ public abstract class AbstractFileHeaderTransformer
     public void setSectionDelimiter( String sectionDelimiter )
     {
         this.sectionDelimiter = sectionDelimiter;
+        this.sectionDelimiterPattern = null;
     }
 
     /**
@@ -283,14 +288,10 @@ public abstract class AbstractFileHeaderTransformer
     {
         if ( isEmptyLineAfterHeader() )
         {
-            String[] contentSplit = content.split( "\\r?\\n", 2 );
-            if ( contentSplit.length > 0 )
+            int firstLineEnd = content.indexOf( '\n' );
+            if ( !isBlank( content, 0, firstLineEnd == -1 ? content.length() : firstLineEnd ) )
             {
-                final String line = contentSplit[0].trim();
-                if ( line.length() > 0 )
-                {
-                    return header + getLineSeparator() + content;
-                }
+                return header + getLineSeparator() + content;
             }
         }
         return header + content;
@@ -343,7 +344,7 @@ public abstract class AbstractFileHeaderTransformer
     {
         FileHeader model = new FileHeader();
 
-        String[] sections = header.split( getSectionDelimiter() );
+        String[] sections = getSectionDelimiterPattern().split( header );
         if ( sections.length != 3 )
         {
             throw new IllegalStateException( "could not find 3 sections in\n" + header );
@@ -433,26 +434,47 @@ public abstract class AbstractFileHeaderTransformer
      */
     public String boxComment( String header, boolean withTags )
     {
-        StringBuilder buffer = new StringBuilder();
+        StringBuilder buffer = new StringBuilder( header.length() * 2 );
         if ( withTags )
         {
             buffer.append( getCommentStartTag() ).append( getLineSeparator() );
         }
-        for ( String line : header.split( "\\r?\\n" ) )
+        String prefix = getCommentLinePrefix();
+        String lineSeparator = getLineSeparator();
+        boolean trim = isTrimHeaderLine();
+        if ( header.isEmpty() )
+        {
+            appendBoxedLine( buffer, prefix, header, 0, 0, trim );
+            buffer.append( lineSeparator );
+        }
+        // lines are separated by \n or \r\n, and the trailing empty lines are dropped (as String.split does)
+        int pendingEmptyLines = 0;
+        int start = 0;
+        int length = header.length();
+        while ( start < length )
         {
-            if ( isTrimHeaderLine() )
+            int newLine = header.indexOf( '\n', start );
+            int next = newLine == -1 ? length : newLine + 1;
+            int end = newLine == -1 ? length : newLine;
+            if ( end > start && newLine != -1 && header.charAt( end - 1 ) == '\r' )
+            {
+                end--;
+            }
+            if ( end == start )
             {
-              StringBuilder lineBuffer = new StringBuilder();
-              lineBuffer.append( getCommentLinePrefix() );
-              lineBuffer.append( line );
-              buffer.append( StringUtils.stripEnd( lineBuffer.toString(), null ) );
+                pendingEmptyLines++;
             }
             else
             {
-               buffer.append( getCommentLinePrefix() );
-               buffer.append( line );
+                for ( ; pendingEmptyLines > 0; pendingEmptyLines-- )
+                {
+                    appendBoxedLine( buffer, prefix, header, start, start, trim );
+                    buffer.append( lineSeparator );
+                }
+                appendBoxedLine( buffer, prefix, header, start, end, trim );
+                buffer.append( lineSeparator );
             }
-            buffer.append( getLineSeparator() );
+            start = next;
         }
         if ( withTags )
         {
@@ -466,37 +488,39 @@ public abstract class AbstractFileHeaderTransformer
      */
     public String unboxComent( String header )
     {
-        StringBuilder buffer = new StringBuilder();
-        int prefixLength = getCommentLinePrefix().length();
-        for ( String line : header.split( getLineSeparator() + "" ) )
+        StringBuilder buffer = new StringBuilder( header.length() );
+        String prefix = getCommentLinePrefix();
+        String trimmedPrefix = prefix.trim();
+        String lineSeparator = getLineSeparator();
+        String commentStartTag = getCommentStartTag();
+        String commentEndTag = getCommentEndTag();
+        int start = 0;
+        int length = header.length();
+        while ( start < length )
         {
-            if ( StringUtils.isEmpty( line ) || line.contains( getCommentStartTag() )
-                    || line.contains( getCommentEndTag() ) )
+            int end = header.indexOf( lineSeparator, start );
+            if ( end == -1 )
             {
-
-                // not be unboxed, but just skipped
-                continue;
+                end = length;
             }
-            int index = line.indexOf( getCommentLinePrefix() );
-            if ( index > -1 )
-            {
-
-                // remove comment prefix
-                line = line.substring( index + prefixLength );
-            }
-            else
+            if ( end > start && !regionContains( header, start, end, commentStartTag )
+                    && !regionContains( header, start, end, commentEndTag ) )
             {
-                String s = getCommentLinePrefix().trim();
-                if ( line.startsWith( s ) )
+                int index = regionIndexOf( header, start, end, prefix );
+                if ( index > -1 )
                 {
-                    line = line.substring( s.length() );
+
+                    // remove comment prefix
+                    buffer.append( header, index + prefix.length(), end );
                 }
-                else
+                else if ( header.startsWith( trimmedPrefix, start ) && start + trimmedPrefix.length() <= end )
                 {
-                    line = "";
+                    buffer.append( header, start + trimmedPrefix.length(), end );
                 }
+                buffer.append( lineSeparator );
             }
-            buffer.append( line ).append( getLineSeparator() );
+            // else not be unboxed, but just skipped
+            start = end + Math.max( lineSeparator.length(), 1 );
         }
         return buffer.toString();
     }
@@ -518,16 +542,26 @@ public abstract class AbstractFileHeaderTransformer
      */
     public String unboxProcessTag( String boxedHeader )
     {
-        StringBuilder buffer = new StringBuilder();
-        for ( String line : boxedHeader.split( getLineSeparator() + "" ) )
+        StringBuilder buffer = new StringBuilder( boxedHeader.length() );
+        String lineSeparator = getLineSeparator();
+        String processStartTag = getProcessStartTag();
+        String processEndTag = getProcessEndTag();
+        int start = 0;
+        int length = boxedHeader.length();
+        while ( start < length )
         {
-            if ( StringUtils.isEmpty( line ) || line.contains( getProcessStartTag() )
-                    || line.contains( getProcessEndTag() ) )
+            int end = boxedHeader.indexOf( lineSeparator, start );
+            if ( end == -1 )
             {
-                // not be unboxed, but just skipped
-                continue;
+                end = length;
             }
-            buffer.append( line ).append( getLineSeparator() );
+            if ( end > start && !regionContains( boxedHeader, start, end, processStartTag )
+                    && !regionContains( boxedHeader, start, end, processEndTag ) )
+            {
+                buffer.append( boxedHeader, start, end ).append( lineSeparator );
+            }
+            // else not be unboxed, but just skipped
+            start = end + Math.max( lineSeparator.length(), 1 );
         }
         return buffer.toString();
     }
@@ -553,25 +587,115 @@ public abstract class AbstractFileHeaderTransformer
      */
     public boolean isLicenseEquals( FileHeader header1, FileHeader header2 )
     {
-        String license1 = removeSpaces( header1.getLicense() );
-        String license2 = removeSpaces( header2.getLicense() );
-        return license1.equals( license2 );
+        return equalsIgnoreSpaces( header1.getLicense(), header2.getLicense() );
+    }
+
+    /**
+     * Compares two texts, ignoring the whitespaces (as matched by {@code \\s} in a regular expression).
+     *
+     * @param str1 first text
+     * @param str2 second text
+     * @return {@code true} if the texts are equal once their whitespaces are removed
+     */
+    static boolean equalsIgnoreSpaces( String str1, String str2 )
+    {
+        int i1 = 0;
+        int i2 = 0;
+        int length1 = str1.length();
+        int length2 = str2.length();
+        while ( true )
+        {
+            while ( i1 < length1 && isSpace( str1.charAt( i1 ) ) )
+            {
+                i1++;
+            }
+            while ( i2 < length2 && isSpace( str2.charAt( i2 ) ) )
+            {
+                i2++;
+            }
+            if ( i1 == length1 || i2 == length2 )
+            {
+                return i1 == length1 && i2 == length2;
+            }
+            if ( str1.charAt( i1++ ) != str2.charAt( i2++ ) )
+            {
+                return false;
+            }
+        }
+    }
+
+    private Pattern getSectionDelimiterPattern()
+    {
+        Pattern pattern = sectionDelimiterPattern;
+        if ( pattern == null )
+        {
+            // the section delimiter is a regular expression
+            pattern = Pattern.compile( getSectionDelimiter() );
+            sectionDelimiterPattern = pattern;
+        }
+        return pattern;
     }
 
-    private static final Pattern REMOVE_SPACE_PATTERN = Pattern.compile( "(\\s+)" );
+    /**
+     * Appends the prefix and the given line to the buffer, removing the trailing whitespaces of both if required.
+     */
+    private static void appendBoxedLine( StringBuilder buffer, String prefix, String text, int start, int end,
+                                         boolean trim )
+    {
+        int lineStart = buffer.length();
+        buffer.append( prefix ).append( text, start, end );
+        if ( trim )
+        {
+            int lineEnd = buffer.length();
+            while ( lineEnd > lineStart && Character.isWhitespace( buffer.charAt( lineEnd - 1 ) ) )
+            {
+                lineEnd--;
+            }
+            buffer.setLength( lineEnd );
+        }
+    }
 
-    private String removeSpaces( String str )
+    /**
+     * @return {@code true} if the given character is matched by {@code \\s} in a regular expression
+     */
+    private static boolean isSpace( char c )
     {
-        Matcher matcher = REMOVE_SPACE_PATTERN.matcher( str );
-        String result;
-        if ( matcher.find() )
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /**
+     * @return {@code true} if the given region has no character but the ones removed by {@link String#trim()}
+     */
+    private static boolean isBlank( String text, int start, int end )
+    {
+        for ( int i = start; i < end; i++ )
         {
-            result = matcher.replaceAll( "" );
+            if ( text.charAt( i ) > ' ' )
+            {
+                return false;
+            }
         }
-        else
+        return true;
+    }
+
+    private static boolean regionContains( String text, int start, int end, String searched )
+    {
+        return regionIndexOf( text, start, end, searched ) != -1;
+    }
+
+    /**
+     * @return the index of the first occurrence of {@code searched} within the given region of {@code text}, or
+     * {@code -1}
+     */
+    private static int regionIndexOf( String text, int start, int end, String searched )
+    {
+        for ( int i = start, last = end - searched.length(); i <= last; i++ )
         {
-            result = str;
+            if ( text.startsWith( searched, i ) )
+            {
+                return i;
+            }
         }
-        return result;
+        return -1;
     }
 }
@@ -22,14 +22,16 @@ package org.codehaus.mojo.license.model;
  * #L%
  */
 
+
 import org.apache.maven.project.MavenProject;
 import org.codehaus.mojo.license.utils.MojoHelper;
 
-import java.util.ArrayList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashSet;
-import java.util.List;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
@@ -39,20 +41,33 @@ import java.util.TreeSet;
 
 /**
  * Map of artifacts (stub in mavenproject) group by their license.
+ * <p>
+ * The map also maintains the reverse index, from each dependency to its licenses, as the sets of dependencies it
+ * holds are modified, so that the licenses of a dependency are found without scanning the whole map. The map and its
+ * sets of dependencies may be modified through any of their methods or views; the sub maps are read-only.
  *
  * @author tchemit dev@tchemit.fr
  * @since 1.0
  */
 public class LicenseMap
-    extends TreeMap<String, SortedSet<MavenProject>>
+    extends AbstractMap<String, SortedSet<MavenProject>>
+    implements SortedMap<String, SortedSet<MavenProject>>
 {
 
-    private static final long serialVersionUID = 864199843545688069L;
-
     public static final String UNKNOWN_LICENSE_MESSAGE = "Unknown license";
 
     private final Comparator<MavenProject> projectComparator;
 
+    /**
+     * Dependencies of each license.
+     */
+    private final TreeMap<String, SortedSet<MavenProject>> projectsByLicense = new TreeMap<>();
+
+    /**
+     * Licenses of each dependency, ordered with the comparator of the map.
+     */
+    private final TreeMap<MavenProject, SortedSet<String>> licensesByDependency;
+
     /**
      * Default contructor.
      */
@@ -64,6 +79,7 @@ public class LicenseMap
     public LicenseMap( Comparator<MavenProject> projectComparator )
     {
         this.projectComparator = projectComparator;
+        this.licensesByDependency = new TreeMap<>( projectComparator );
     }
 
     /**
@@ -80,12 +96,30 @@ public class LicenseMap
         SortedSet<MavenProject> valueList = get( key );
         if ( valueList == null )
         {
-
-            valueList = new TreeSet<>( projectComparator );
+            valueList = new ProjectSet( key );
+            projectsByLicense.put( key, valueList );
         }
 
         valueList.add( value );
-        return put( key, valueList );
+        return valueList;
+    }
+
+    /**
+     * Store in the license map the given projects for a given license, replacing the projects already stored for it.
+     * <p>
+     * The map keeps its own copy of the given set: further modifications must be done on the set returned by
+     * {@link #get(Object)}.
+     *
+     * @param key   the license on which to associate the given projects
+     * @param value the projects to register in the license map
+     * @return the projects previously associated with the license, or {@code null}
+     */
+    @Override
+    public SortedSet<MavenProject> put( String key, SortedSet<MavenProject> value )
+    {
+        SortedSet<MavenProject> previous = remove( key );
+        projectsByLicense.put( key, newProjectSet( key, value ) );
+        return previous;
     }
 
     /**
@@ -97,7 +131,6 @@ public class LicenseMap
     {
         for ( Map.Entry<String, SortedSet<MavenProject>> entry : licenseMap.entrySet() )
         {
-
             String key = entry.getKey();
 
             // handle multiple values as a set to avoid duplicates
@@ -105,49 +138,131 @@ public class LicenseMap
             if ( valueList == null )
             {
 
-                valueList = new TreeSet<>( projectComparator );
+                valueList = new ProjectSet( key );
+                projectsByLicense.put( key, valueList );
             }
 
             valueList.addAll( entry.getValue() );
-            put( key, valueList );
         }
 
     }
 
+    @Override
+    public SortedSet<MavenProject> get( Object key )
+    {
+        return projectsByLicense.get( key );
+    }
+
+    @Override
+    public boolean containsKey( Object key )
+    {
+        return projectsByLicense.containsKey( key );
+    }
+
+    @Override
+    public int size()
+    {
+        return projectsByLicense.size();
+    }
+
     /**
-     * Build a dependencies map from the license map, this is a map of license for each project registered in the
-     * license map.
+     * Removes the given license from the map.
+     * <p>
+     * The returned set keeps its projects, but is no more part of the map.
      *
-     * @return the generated dependencies map
+     * @param key the license to remove
+     * @return the projects of the license, or {@code null}
      */
-    public SortedMap<MavenProject, String[]> toDependencyMap()
+    @Override
+    public SortedSet<MavenProject> remove( Object key )
     {
-        SortedMap<MavenProject, Set<String>> tmp = new TreeMap<>( projectComparator );
+        SortedSet<MavenProject> projects = projectsByLicense.remove( key );
+        if ( projects != null )
+        {
+            ( (ProjectSet) projects ).detach();
+        }
+        return projects;
+    }
 
-        for ( Map.Entry<String, SortedSet<MavenProject>> entry : entrySet() )
+    @Override
+    public void clear()
+    {
+        for ( SortedSet<MavenProject> projects : projectsByLicense.values() )
         {
-            String license = entry.getKey();
-            SortedSet<MavenProject> set = entry.getValue();
-            for ( MavenProject p : set )
-            {
-                Set<String> list = tmp.get( p );
-                if ( list == null )
-                {
-                    list = new HashSet<>();
-                    tmp.put( p, list );
-                }
-                list.add( license );
-            }
+            ( (ProjectSet) projects ).detach();
         }
+        projectsByLicense.clear();
+    }
+
+    @Override
+    public Set<Map.Entry<String, SortedSet<MavenProject>>> entrySet()
+    {
+        return new EntrySet();
+    }
+
+    @Override
+    public Comparator<? super String> comparator()
+    {
+        return projectsByLicense.comparator();
+    }
+
+    @Override
+    public SortedMap<String, SortedSet<MavenProject>> subMap( String fromKey, String toKey )
+    {
+        return Collections.unmodifiableSortedMap( projectsByLicense.subMap( fromKey, toKey ) );
+    }
 
+    @Override
+    public SortedMap<String, SortedSet<MavenProject>> headMap( String toKey )
+    {
+        return Collections.unmodifiableSortedMap( projectsByLicense.headMap( toKey ) );
+    }
+
+    @Override
+    public SortedMap<String, SortedSet<MavenProject>> tailMap( String fromKey )
+    {
+        return Collections.unmodifiableSortedMap( projectsByLicense.tailMap( fromKey ) );
+    }
+
+    @Override
+    public String firstKey()
+    {
+        return projectsByLicense.firstKey();
+    }
+
+    @Override
+    public String lastKey()
+    {
+        return projectsByLicense.lastKey();
+    }
+
+    /**
+     * Obtains the licenses of the given dependency, using the reverse index of the map.
+     *
+     * @param project a dependency
+     * @return the licenses of the dependency, in their natural order (empty if the dependency is not in the map)
+     * @since 2.0.1
+     */
+    public Set<String> getLicenses( MavenProject project )
+    {
+        SortedSet<String> licenses = licensesByDependency.get( project );
+        return licenses == null ? Collections.<String>emptySet() : Collections.unmodifiableSet( licenses );
+    }
+
+    /**
+     * Build a dependencies map from the license map, this is a map of license for each project registered in the
+     * license map.
+     *
+     * @return the generated dependencies map
+     */
+    public SortedMap<MavenProject, String[]> toDependencyMap()
+    {
         SortedMap<MavenProject, String[]> result = new TreeMap<>( projectComparator );
-        for ( Map.Entry<MavenProject, Set<String>> entry : tmp.entrySet() )
+        for ( Map.Entry<MavenProject, SortedSet<String>> entry : licensesByDependency.entrySet() )
         {
-            List<String> value = new ArrayList<>( entry.getValue() );
-            Collections.sort( value );
-            result.put( entry.getKey(), value.toArray( new String[value.size()] ) );
+            SortedSet<String> licenses = entry.getValue();
+            result.put( entry.getKey(), licenses.toArray( new String[licenses.size()] ) );
         }
-        tmp.clear();
         return result;
     }
 
@@ -158,19 +273,275 @@ public class LicenseMap
         return result;
     }
 
+    /**
+     * Removes the given project from all the licenses it is registered for.
+     *
+     * @param project the project to remove
+     */
     public void removeProject( MavenProject project )
     {
-        for ( Map.Entry<String, SortedSet<MavenProject>> entry : entrySet() )
+        SortedSet<String> licenses = licensesByDependency.get( project );
+        if ( licenses != null )
+        {
+            for ( String license : new TreeSet<>( licenses ) )
+            {
+                get( license ).remove( project );
+            }
+        }
+    }
+
+    private ProjectSet newProjectSet( String license, Collection<MavenProject> projects )
+    {
+        ProjectSet result = new ProjectSet( license );
+        if ( projects != null )
+        {
+            result.addAll( projects );
+        }
+        return result;
+    }
+
+    private void indexAdded( String license, MavenProject project )
+    {
+        SortedSet<String> licenses = licensesByDependency.get( project );
+        if ( licenses == null )
+        {
+            licenses = new TreeSet<>();
+            licensesByDependency.put( project, licenses );
+        }
+        licenses.add( license );
+    }
+
+    private void indexRemoved( String license, MavenProject project )
+    {
+        SortedSet<String> licenses = licensesByDependency.get( project );
+        if ( licenses != null )
         {
-            SortedSet<MavenProject> projects = entry.getValue();
-            for ( MavenProject mavenProject : projects )
+            licenses.remove( license );
+            if ( licenses.isEmpty() )
             {
-                if ( project.equals( mavenProject ) )
+                licensesByDependency.remove( project );
+            }
+        }
+    }
+
+    /**
+     * The entries of the map, detaching the sets of projects removed or replaced through them.
+     */
+    private class EntrySet
+        extends AbstractSet<Map.Entry<String, SortedSet<MavenProject>>>
+    {
+        @Override
+        public Iterator<Map.Entry<String, SortedSet<MavenProject>>> iterator()
+        {
+            final Iterator<Map.Entry<String, SortedSet<MavenProject>>> iterator =
+                projectsByLicense.entrySet().iterator();
+            return new Iterator<Map.Entry<String, SortedSet<MavenProject>>>()
+            {
+                private Map.Entry<String, SortedSet<MavenProject>> current;
+
+                @Override
+                public boolean hasNext()
+                {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Map.Entry<String, SortedSet<MavenProject>> next()
+                {
+                    final Map.Entry<String, SortedSet<MavenProject>> entry = iterator.next();
+                    current = entry;
+                    return new SimpleEntry<String, SortedSet<MavenProject>>( entry )
+                    {
+                        private static final long serialVersionUID = 1L;
+
+                        @Override
+                        public SortedSet<MavenProject> setValue( SortedSet<MavenProject> value )
+                        {
+                            // detached first, since the new set may share projects with it
+                            ( (ProjectSet) entry.getValue() ).detach();
+                            ProjectSet projects = newProjectSet( entry.getKey(), value );
+                            super.setValue( projects );
+                            return entry.setValue( projects );
+                        }
+                    };
+                }
+
+                @Override
+                public void remove()
+                {
+                    // the entry may be reused by the tree once removed
+                    SortedSet<MavenProject> projects = current.getValue();
+                    iterator.remove();
+                    ( (ProjectSet) projects ).detach();
+                }
+            };
+        }
+
+        @Override
+        public int size()
+        {
+            return projectsByLicense.size();
+        }
+    }
+
+    /**
+     * The projects of a license, keeping the reverse index of the map up to date while the set is in the map.
+     */
+    private class ProjectSet
+        extends AbstractSet<MavenProject>
+        implements SortedSet<MavenProject>
+    {
+        private final String license;
+
+        private final TreeSet<MavenProject> projects = new TreeSet<>( projectComparator );
+
+        private boolean attached = true;
+
+        ProjectSet( String license )
+        {
+            this.license = license;
+        }
+
+        /**
+         * Removes the projects of the set from the index of the map, the set being no more part of the map.
+         */
+        void detach()
+        {
+            if ( attached )
+            {
+                attached = false;
+                for ( MavenProject project : projects )
+                {
+                    indexRemoved( license, project );
+                }
+            }
+        }
+
+        @Override
+        public boolean add( MavenProject project )
+        {
+            if ( projects.add( project ) )
+            {
+                if ( attached )
+                {
+                    indexAdded( license, project );
+                }
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean remove( Object o )
+        {
+            if ( !( o instanceof MavenProject ) )
+            {
+                return false;
+            }
+            // the stored project may be another instance, equal for the comparator
+            MavenProject stored = projects.ceiling( (MavenProject) o );
+            if ( stored != null && projectComparator.compare( stored, (MavenProject) o ) == 0 )
+            {
+                projects.remove( stored );
+                if ( attached )
                 {
-                    get( entry.getKey() ).remove( project );
-                    return;
+                    indexRemoved( license, stored );
                 }
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean contains( Object o )
+        {
+            return projects.contains( o );
+        }
+
+        @Override
+        public boolean removeAll( Collection<?> c )
+        {
+            boolean modified = false;
+            for ( Object o : c )
+            {
+                modified |= remove( o );
             }
+            return modified;
+        }
+
+        @Override
+        public Iterator<MavenProject> iterator()
+        {
+            final Iterator<MavenProject> iterator = projects.iterator();
+            return new Iterator<MavenProject>()
+            {
+                private MavenProject current;
+
+                @Override
+                public boolean hasNext()
+                {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public MavenProject next()
+                {
+                    current = iterator.next();
+                    return current;
+                }
+
+                @Override
+                public void remove()
+                {
+                    iterator.remove();
+                    if ( attached )
+                    {
+                        indexRemoved( license, current );
+                    }
+                }
+            };
+        }
+
+        @Override
+        public int size()
+        {
+            return projects.size();
+        }
+
+        @Override
+        public Comparator<? super MavenProject> comparator()
+        {
+            return projectComparator;
+        }
+
+        @Override
+        public SortedSet<MavenProject> subSet( MavenProject fromElement, MavenProject toElement )
+        {
+            return Collections.unmodifiableSortedSet( projects.subSet( fromElement, toElement ) );
+        }
+
+        @Override
+        public SortedSet<MavenProject> headSet( MavenProject toElement )
+        {
+            return Collections.unmodifiableSortedSet( projects.headSet( toElement ) );
+        }
+
+        @Override
+        public SortedSet<MavenProject> tailSet( MavenProject fromElement )
+        {
+            return Collections.unmodifiableSortedSet( projects.tailSet( fromElement ) );
+        }
+
+        @Override
+        public MavenProject first()
+        {
+            return projects.first();
+        }
+
+        @Override
+        public MavenProject last()
+        {
+            return projects.last();
         }
     }
 }
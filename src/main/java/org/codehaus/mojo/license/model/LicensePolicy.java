@@ -0,0 +1,116 @@
+package org.codehaus.mojo.license.model;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+
+import org.apache.maven.project.MavenProject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The licenses allowed and forbidden for the dependencies of a project.
+ * <p>
+ * A dependency violates the policy for a license if:
+ * <ul>
+ * <li>the license is excluded (blacklisted), or</li>
+ * <li>some licenses are included (whitelisted), the license is not one of them, and the dependency is not also
+ * licensed under an included license.</li>
+ * </ul>
+ * The licenses are compared exactly, as they are found in the license map.
+ *
+ * @since 2.0.1
+ */
+public class LicensePolicy
+{
+    private static final Logger LOG = LoggerFactory.getLogger( LicensePolicy.class );
+
+    private final Set<String> includedLicenses;
+
+    private final Set<String> excludedLicenses;
+
+    /**
+     * @param includedLicenses the licenses allowed (whitelist), all licenses are allowed if empty or {@code null}
+     * @param excludedLicenses the licenses forbidden (blacklist), may be {@code null}
+     */
+    public LicensePolicy( Collection<String> includedLicenses, Collection<String> excludedLicenses )
+    {
+        this.includedLicenses = includedLicenses == null ? new HashSet<String>() : new HashSet<>( includedLicenses );
+        this.excludedLicenses = excludedLicenses == null ? new HashSet<String>() : new HashSet<>( excludedLicenses );
+    }
+
+    /**
+     * Finds the dependencies violating the policy, in a time linear in the size of the given license map (the other
+     * licenses of a dependency are read from the reverse index of the map).
+     *
+     * @param licenseMap the licenses of the dependencies
+     * @return the dependencies violating the policy, grouped by the forbidden license (empty if none)
+     */
+    public LicenseMap getViolations( LicenseMap licenseMap )
+    {
+        LicenseMap violations = new LicenseMap();
+        for ( Map.Entry<String, SortedSet<MavenProject>> entry : licenseMap.entrySet() )
+        {
+            String license = entry.getKey();
+            boolean excluded = excludedLicenses.contains( license );
+            if ( !excluded && ( includedLicenses.isEmpty() || includedLicenses.contains( license ) ) )
+            {
+                continue;
+            }
+            for ( MavenProject dependency : entry.getValue() )
+            {
+                String includedLicense = excluded ? null : getIncludedLicense( licenseMap.getLicenses( dependency ) );
+                if ( includedLicense != null )
+                {
+                    LOG.info( "License: '{}' for '{}' is OK since it is also licensed under '{}'",
+                              license, dependency, includedLicense );
+                }
+                else
+                {
+                    violations.put( license, dependency );
+                }
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * @param licenses the licenses of a dependency, in their natural order
+     * @return the first of the given licenses which is included, or {@code null} if none
+     */
+    private String getIncludedLicense( Set<String> licenses )
+    {
+        for ( String license : licenses )
+        {
+            if ( includedLicenses.contains( license ) )
+            {
+                return license;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,126 @@
+package org.codehaus.mojo.license.utils;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.helpers.FormattingTuple;
+import org.slf4j.helpers.MessageFormatter;
+
+/**
+ * A logger which records messages and only sends them to the target {@link Logger} on {@link #flush()}.
+ * <p>
+ * Used by work done on several threads to keep the log output in a deterministic order: each unit of work logs into
+ * its own {@link DeferredLogger} and the caller flushes them one after the other.
+ *
+ * @since 2.0.1
+ */
+public class DeferredLogger
+{
+    private enum Level
+    {
+        DEBUG, INFO, WARN
+    }
+
+    /**
+     * A recorded message.
+     */
+    private static class Entry
+    {
+        private final Level level;
+
+        private final String message;
+
+        private final Throwable throwable;
+
+        Entry( Level level, String message, Throwable throwable )
+        {
+            this.level = level;
+            this.message = message;
+            this.throwable = throwable;
+        }
+    }
+
+    private final Logger target;
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    public DeferredLogger( Logger target )
+    {
+        this.target = target;
+    }
+
+    public boolean isDebugEnabled()
+    {
+        return target.isDebugEnabled();
+    }
+
+    public void debug( String format, Object... arguments )
+    {
+        if ( target.isDebugEnabled() )
+        {
+            add( Level.DEBUG, format, arguments );
+        }
+    }
+
+    public void info( String format, Object... arguments )
+    {
+        add( Level.INFO, format, arguments );
+    }
+
+    public void warn( String format, Object... arguments )
+    {
+        add( Level.WARN, format, arguments );
+    }
+
+    /**
+     * Sends all recorded messages to the target logger (in the order they were recorded) and forget them.
+     */
+    public void flush()
+    {
+        for ( Entry entry : entries )
+        {
+            switch ( entry.level )
+            {
+                case DEBUG:
+                    target.debug( entry.message, entry.throwable );
+                    break;
+                case INFO:
+                    target.info( entry.message, entry.throwable );
+                    break;
+                default:
+                    target.warn( entry.message, entry.throwable );
+                    break;
+            }
+        }
+        entries.clear();
+    }
+
+    private void add( Level level, String format, Object... arguments )
+    {
+        FormattingTuple tuple = MessageFormatter.arrayFormat( format, arguments );
+        entries.add( new Entry( level, tuple.getMessage(), tuple.getThrowable() ) );
+    }
+}
@@ -0,0 +1,176 @@
+package org.codehaus.mojo.license.utils;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * The fingerprint of a file (its size, last modification time and sha1), to find out cheaply whether the file changed
+ * since the fingerprint was taken.
+ * <p>
+ * A file modified again within the granularity of the file system clock keeps the same last modification time, so the
+ * time of a file modified too recently is not recorded: such a file is only recognized by its sha1. Conversely, a
+ * fingerprint taken without reading the whole file has no sha1: the file is then only recognized by its size and last
+ * modification time.
+ *
+ * @since 2.0.1
+ */
+public final class FileFingerprint
+{
+    /**
+     * Time in milliseconds a file must not have been modified for before its last modification time can be trusted.
+     */
+    private static final long RACY_DELAY = 2000L;
+
+    /**
+     * Separator of the fields of a fingerprint (can not appear in a number or a sha1).
+     */
+    static final String SEPARATOR = "\t";
+
+    /**
+     * Value stored for a missing sha1.
+     */
+    private static final String NONE = "-";
+
+    private final long size;
+
+    /**
+     * Last modification time of the file, or {@code 0} if it could not be trusted.
+     */
+    private final long lastModified;
+
+    /**
+     * Sha1 of the file, or {@code null} if it was not computed.
+     */
+    private final String sha1;
+
+    private FileFingerprint( long size, long lastModified, String sha1 )
+    {
+        this.size = size;
+        this.lastModified = lastModified;
+        this.sha1 = sha1;
+    }
+
+    /**
+     * Takes the fingerprint of the given file.
+     *
+     * @param file    the file
+     * @param content the current content of the file if known (to not read it again), or {@code null}
+     * @return the fingerprint of the file
+     * @throws IOException if could not compute the sha1 of the file
+     */
+    public static FileFingerprint of( File file, byte[] content ) throws IOException
+    {
+        long size = file.length();
+        long lastModified = file.lastModified();
+        String sha1 = content != null && content.length == size ? DigestUtils.sha1Hex( content )
+                : FileUtil.sha1( file.toPath() );
+        if ( file.length() != size || file.lastModified() != lastModified )
+        {
+            // modified while it was read
+            lastModified = 0L;
+        }
+        return new FileFingerprint( size, trustedLastModified( lastModified ), sha1 );
+    }
+
+    /**
+     * Takes the fingerprint of the given file without reading it.
+     *
+     * @param file the file
+     * @return the fingerprint of the file, or {@code null} if it was modified too recently to be recognized later
+     */
+    public static FileFingerprint ofMetadata( File file )
+    {
+        long lastModified = trustedLastModified( file.lastModified() );
+        return lastModified == 0L ? null : new FileFingerprint( file.length(), lastModified, null );
+    }
+
+    /**
+     * @return the sha1 of the file, or {@code null} if it was not computed
+     */
+    public String getSha1()
+    {
+        return sha1;
+    }
+
+    /**
+     * Checks whether the given file still matches this fingerprint: its size and last modification time did not
+     * change, or its size and sha1 did not change.
+     *
+     * @param file the file
+     * @return this fingerprint if the file did not change, a new fingerprint if only its last modification time
+     *         changed, or {@code null} if the file changed
+     * @throws IOException if could not compute the sha1 of the file
+     */
+    public FileFingerprint check( File file ) throws IOException
+    {
+        if ( file.length() != size )
+        {
+            return null;
+        }
+        if ( lastModified != 0L && file.lastModified() == lastModified )
+        {
+            return this;
+        }
+        if ( sha1 == null )
+        {
+            return null;
+        }
+        FileFingerprint current = of( file, null );
+        return current.size == size && sha1.equals( current.sha1 ) ? current : null;
+    }
+
+    /**
+     * @param parts the fields of a record, starting with the ones of a fingerprint
+     * @return the parsed fingerprint, or {@code null} if the fields are invalid
+     */
+    static FileFingerprint parse( String[] parts )
+    {
+        try
+        {
+            return new FileFingerprint( Long.parseLong( parts[0] ), Long.parseLong( parts[1] ),
+                    NONE.equals( parts[2] ) ? null : parts[2] );
+        }
+        catch ( NumberFormatException e )
+        {
+            return null;
+        }
+    }
+
+    String format()
+    {
+        return size + SEPARATOR + lastModified + SEPARATOR + ( sha1 == null ? NONE : sha1 );
+    }
+
+    /**
+     * @param lastModified the last modification time of a file
+     * @return the given time, or {@code 0} if the file was modified too recently for the time to be trusted
+     */
+    private static long trustedLastModified( long lastModified )
+    {
+        return lastModified < System.currentTimeMillis() - RACY_DELAY ? lastModified : 0L;
+    }
+}
@@ -0,0 +1,241 @@
+package org.codehaus.mojo.license.utils;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A persistent memo of values obtained from files, each one kept with the {@link FileFingerprint} of its file so that
+ * it is only used as long as the file does not change.
+ * <p>
+ * The memo is bound to a version (e.g. a hash of the configuration the values depend on): if the version changes then
+ * the memo is discarded. Only the entries of the files seen during the build are stored.
+ * <p>
+ * <b>Note:</b> This class is thread safe.
+ *
+ * @since 2.0.1
+ */
+public class FileFingerprintMemo
+{
+    private static final Logger LOG = LoggerFactory.getLogger( FileFingerprintMemo.class );
+
+    /**
+     * Key of the version in the memo file (can not be a file path).
+     */
+    private static final String VERSION_KEY = "@version";
+
+    /**
+     * The value memoized for a file, with the fingerprint of the file.
+     */
+    public static final class Entry
+    {
+        private final FileFingerprint fingerprint;
+
+        private final String value;
+
+        Entry( FileFingerprint fingerprint, String value )
+        {
+            this.fingerprint = fingerprint;
+            this.value = value;
+        }
+
+        static Entry parse( String record )
+        {
+            String[] parts = record.split( FileFingerprint.SEPARATOR, 4 );
+            if ( parts.length != 4 )
+            {
+                return null;
+            }
+            FileFingerprint fingerprint = FileFingerprint.parse( parts );
+            return fingerprint == null ? null : new Entry( fingerprint, parts[3] );
+        }
+
+        String format()
+        {
+            return fingerprint.format() + FileFingerprint.SEPARATOR + value;
+        }
+
+        /**
+         * @return the fingerprint of the file
+         */
+        public FileFingerprint getFingerprint()
+        {
+            return fingerprint;
+        }
+
+        /**
+         * @return the memoized value
+         */
+        public String getValue()
+        {
+            return value;
+        }
+    }
+
+    private final File memoFile;
+
+    private final String version;
+
+    /**
+     * Entries loaded from the memo file.
+     */
+    private final ConcurrentMap<String, Entry> previousEntries = new ConcurrentHashMap<>();
+
+    /**
+     * Entries of the files seen during this build (the only ones to be stored).
+     */
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    FileFingerprintMemo( File memoFile, String version )
+    {
+        this.memoFile = memoFile;
+        this.version = version;
+    }
+
+    /**
+     * Loads the memo from the given file.
+     *
+     * @param memoFile the memo file (may be {@code null} to not persist the memo, or may not exist)
+     * @param version  the version of the memoized values
+     * @return the loaded memo, empty if the file does not exist or was stored with another version
+     * @throws IOException if could not read the memo file
+     */
+    public static FileFingerprintMemo load( File memoFile, String version ) throws IOException
+    {
+        FileFingerprintMemo memo = new FileFingerprintMemo( memoFile, version );
+        if ( memoFile != null && memoFile.exists() )
+        {
+            SortedProperties properties = new SortedProperties( "UTF-8" ).load( memoFile );
+            if ( version.equals( properties.getProperty( VERSION_KEY ) ) )
+            {
+                for ( Map.Entry<Object, Object> property : properties.entrySet() )
+                {
+                    String key = (String) property.getKey();
+                    Entry entry = Entry.parse( (String) property.getValue() );
+                    if ( !VERSION_KEY.equals( key ) && entry != null )
+                    {
+                        memo.previousEntries.put( key, entry );
+                    }
+                }
+                LOG.debug( "Loaded {} entries from {}", memo.previousEntries.size(), memoFile );
+            }
+            else
+            {
+                LOG.info( "Configuration has changed, discard {}", memoFile );
+            }
+        }
+        return memo;
+    }
+
+    /**
+     * Obtains the entry recorded for the given file, without checking whether the file changed since.
+     *
+     * @param file the file
+     * @return the recorded entry, or {@code null} if none
+     */
+    public Entry getRecorded( File file )
+    {
+        String key = file.getAbsolutePath();
+        Entry entry = entries.get( key );
+        return entry != null ? entry : previousEntries.get( key );
+    }
+
+    /**
+     * Obtains the entry of the given file if the file did not change since it was recorded, and keeps it for this
+     * build.
+     *
+     * @param file the file
+     * @return the entry of the file, or {@code null} if none or if the file changed
+     * @throws IOException if could not compute the sha1 of the file
+     */
+    public Entry get( File file ) throws IOException
+    {
+        Entry entry = getRecorded( file );
+        if ( entry == null )
+        {
+            return null;
+        }
+        FileFingerprint fingerprint = entry.fingerprint.check( file );
+        if ( fingerprint == null )
+        {
+            return null;
+        }
+        if ( fingerprint != entry.fingerprint )
+        {
+            entry = new Entry( fingerprint, entry.value );
+        }
+        entries.put( file.getAbsolutePath(), entry );
+        return entry;
+    }
+
+    /**
+     * Records the value of the given file.
+     *
+     * @param file        the file
+     * @param fingerprint the fingerprint of the file the value was obtained from
+     * @param value       the value
+     */
+    public void put( File file, FileFingerprint fingerprint, String value )
+    {
+        entries.put( file.getAbsolutePath(), new Entry( fingerprint, value ) );
+    }
+
+    /**
+     * Forgets the value of the given file.
+     *
+     * @param file the file
+     */
+    public void remove( File file )
+    {
+        entries.remove( file.getAbsolutePath() );
+    }
+
+    /**
+     * Stores the entries of the files seen during this build into the memo file (if any).
+     *
+     * @throws IOException if could not write the memo file
+     */
+    public void store() throws IOException
+    {
+        if ( memoFile == null )
+        {
+            return;
+        }
+        SortedProperties properties = new SortedProperties( "UTF-8" );
+        properties.setProperty( VERSION_KEY, version );
+        for ( Map.Entry<String, Entry> entry : entries.entrySet() )
+        {
+            properties.setProperty( entry.getKey(), entry.getValue().format() );
+        }
+        FileUtil.createDirectoryIfNecessary( memoFile.getParentFile() );
+        SharedDataUtil.storeProperties( properties, memoFile );
+        LOG.debug( "Stored {} entries into {}", entries.size(), memoFile );
+    }
+}
@@ -38,9 +38,18 @@ import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.Reader;
 import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.AclFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
@@ -49,6 +58,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Some basic file io utilities
@@ -252,6 +262,37 @@ public class FileUtil
         }
     }
 
+    /**
+     * Reads at most the given number of characters from the beginning of a file.
+     *
+     * @param file      the file to read
+     * @param encoding  encoding to read file
+     * @param maxLength maximum number of characters to read
+     * @return the beginning of the file (the whole content if the file has less than {@code maxLength} characters)
+     * @throws IOException if IO pb
+     */
+    public static String readPrefix( File file, String encoding, int maxLength )
+        throws IOException
+    {
+        // a character is always encoded at least on one byte
+        char[] buffer = new char[(int) Math.min( maxLength, file.length() )];
+        Reader in = new InputStreamReader( new FileInputStream( file ), encoding );
+        try
+        {
+            int length = 0;
+            int read;
+            while ( length < buffer.length && ( read = in.read( buffer, length, buffer.length - length ) ) != -1 )
+            {
+                length += read;
+            }
+            return new String( buffer, 0, length );
+        }
+        finally
+        {
+            in.close();
+        }
+    }
+
     /**
      * Print content to file. This method ensures that a platform specific line ending is used.
      *
@@ -284,6 +325,175 @@ public class FileUtil
         }
     }
 
+    /**
+     * Obtains the bytes {@link #printString(File, String, String)} would write for the given content (says with
+     * platform specific line endings).
+     *
+     * @param content  the content to print
+     * @param encoding the encoding to print in
+     * @return the printed content
+     * @throws IOException if IO pb
+     */
+    public static byte[] getPrintedBytes( String content, String encoding )
+        throws IOException
+    {
+        BufferedReader in = new BufferedReader( new StringReader( content ) );
+        StringWriter buffer = new StringWriter( content.length() + 256 );
+        PrintWriter out = new PrintWriter( buffer );
+        String line;
+        while ( ( line = in.readLine() ) != null )
+        {
+            out.println( line );
+        }
+        out.flush();
+        return buffer.toString().getBytes( encoding );
+    }
+
+    /**
+     * Replaces the content of the given file.
+     * <p>
+     * The content is written into a temporary file of the same directory, which is then renamed to the given file,
+     * so the file never contains a partial content. Symbolic links are followed (the file they point to is replaced)
+     * and the permissions, owner and group (or ACL) of the existing file are kept. If the existing file has several
+     * hard links, or if his attributes can not be copied, it is rewritten in place instead.
+     *
+     * @param file    the file to write to
+     * @param content the new content of the file
+     * @throws IOException if IO pb
+     */
+    public static void writeAtomically( File file, byte[] content )
+        throws IOException
+    {
+        Path target = file.toPath().toAbsolutePath();
+        boolean exists = Files.exists( target );
+        if ( !exists && Files.isSymbolicLink( target ) )
+        {
+            // a dangling link, create the file it points to
+            Files.write( target, content );
+            return;
+        }
+        if ( exists )
+        {
+            // write through symbolic links, as a plain write would
+            target = target.toRealPath();
+            if ( getLinkCount( target ) > 1 )
+            {
+                // renaming would detach the file from his other links
+                Files.write( target, content );
+                return;
+            }
+        }
+        Path tmp = writeTempFile( target, content );
+        try
+        {
+            if ( exists && !copyAttributes( target, tmp ) )
+            {
+                Files.write( target, content );
+                return;
+            }
+            try
+            {
+                Files.move( tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING );
+            }
+            catch ( AtomicMoveNotSupportedException e )
+            {
+                Files.move( tmp, target, StandardCopyOption.REPLACE_EXISTING );
+            }
+        }
+        finally
+        {
+            Files.deleteIfExists( tmp );
+        }
+    }
+
+    /**
+     * Writes the given content into a new temporary file of the directory of the given file.
+     * <p>
+     * Unlike {@link Files#createTempFile}, which restricts the temporary file to its owner, the file is created with
+     * the default permissions (the umask applies), so that a new file gets them once the temporary file is renamed.
+     *
+     * @param target  the file the temporary file will replace
+     * @param content the content to write
+     * @return the temporary file
+     * @throws IOException if IO pb
+     */
+    private static Path writeTempFile( Path target, byte[] content )
+        throws IOException
+    {
+        while ( true )
+        {
+            Path tmp = target.resolveSibling( "." + target.getFileName() + "."
+                    + Long.toHexString( ThreadLocalRandom.current().nextLong() ) + ".tmp" );
+            try
+            {
+                Files.write( tmp, content, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE );
+                return tmp;
+            }
+            catch ( FileAlreadyExistsException e )
+            {
+                // name already taken, try another one
+            }
+            catch ( IOException | RuntimeException e )
+            {
+                Files.deleteIfExists( tmp );
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * @return the number of hard links of the given file, {@code 1} if the file system does not tell
+     */
+    private static int getLinkCount( Path file ) throws IOException
+    {
+        try
+        {
+            return (Integer) Files.getAttribute( file, "unix:nlink" );
+        }
+        catch ( UnsupportedOperationException | IllegalArgumentException e )
+        {
+            return 1;
+        }
+    }
+
+    /**
+     * Copies the access attributes of a file to another one.
+     *
+     * @return {@code true} if the attributes were copied, {@code false} if they could not be
+     */
+    private static boolean copyAttributes( Path source, Path target )
+    {
+        try
+        {
+            PosixFileAttributeView sourceView = Files.getFileAttributeView( source, PosixFileAttributeView.class );
+            if ( sourceView != null )
+            {
+                PosixFileAttributes attributes = sourceView.readAttributes();
+                PosixFileAttributeView targetView = Files.getFileAttributeView( target, PosixFileAttributeView.class );
+                targetView.setPermissions( attributes.permissions() );
+                PosixFileAttributes targetAttributes = targetView.readAttributes();
+                if ( !attributes.owner().equals( targetAttributes.owner() ) )
+                {
+                    targetView.setOwner( attributes.owner() );
+                }
+                if ( !attributes.group().equals( targetAttributes.group() ) )
+                {
+                    targetView.setGroup( attributes.group() );
+                }
+            }
+            AclFileAttributeView sourceAclView = Files.getFileAttributeView( source, AclFileAttributeView.class );
+            if ( sourceAclView != null )
+            {
+                Files.getFileAttributeView( target, AclFileAttributeView.class ).setAcl( sourceAclView.getAcl() );
+            }
+            return true;
+        }
+        catch ( IOException | UnsupportedOperationException | SecurityException e )
+        {
+            return false;
+        }
+    }
+
     public static List<File> orderFiles( Collection<File> files )
     {
         List<File> result = new ArrayList<>( files );
@@ -0,0 +1,114 @@
+package org.codehaus.mojo.license.utils;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Obtains the results of tasks run on an executor, rethrowing their failures as they were thrown by the tasks.
+ *
+ * @since 2.0.1
+ */
+public final class FutureUtil
+{
+    private FutureUtil()
+    {
+        // hide constructor
+    }
+
+    /**
+     * Waits for the given task and obtains its result.
+     *
+     * @param future        the task
+     * @param exceptionType the checked exception the task may throw
+     * @param <T>           the type of the result
+     * @param <X>           the type of the checked exception
+     * @return the result of the task
+     * @throws X if the task failed with it
+     * @see #get(Future, Class, Class, Class)
+     */
+    public static <T, X extends Exception> T get( Future<T> future, Class<X> exceptionType ) throws X
+    {
+        return get( future, exceptionType, exceptionType, exceptionType );
+    }
+
+    /**
+     * Waits for the given task and obtains its result.
+     * <p>
+     * A failure of the task of one of the given types, a {@link RuntimeException} or an {@link Error} is rethrown
+     * as is, any other one is wrapped in an {@link IllegalStateException}. If the current thread is interrupted, its
+     * interrupt status is restored and an {@link IllegalStateException} is thrown.
+     *
+     * @param future         the task
+     * @param exceptionType1 a checked exception the task may throw
+     * @param exceptionType2 a checked exception the task may throw
+     * @param exceptionType3 a checked exception the task may throw
+     * @param <T>            the type of the result
+     * @param <X1>           the type of the first checked exception
+     * @param <X2>           the type of the second checked exception
+     * @param <X3>           the type of the third checked exception
+     * @return the result of the task
+     * @throws X1 if the task failed with it
+     * @throws X2 if the task failed with it
+     * @throws X3 if the task failed with it
+     */
+    public static <T, X1 extends Exception, X2 extends Exception, X3 extends Exception> T get( Future<T> future,
+            Class<X1> exceptionType1, Class<X2> exceptionType2, Class<X3> exceptionType3 ) throws X1, X2, X3
+    {
+        try
+        {
+            return future.get();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException( "Interrupted while waiting for a task", e );
+        }
+        catch ( ExecutionException e )
+        {
+            Throwable cause = e.getCause();
+            if ( exceptionType1.isInstance( cause ) )
+            {
+                throw exceptionType1.cast( cause );
+            }
+            if ( exceptionType2.isInstance( cause ) )
+            {
+                throw exceptionType2.cast( cause );
+            }
+            if ( exceptionType3.isInstance( cause ) )
+            {
+                throw exceptionType3.cast( cause );
+            }
+            if ( cause instanceof RuntimeException )
+            {
+                throw (RuntimeException) cause;
+            }
+            if ( cause instanceof Error )
+            {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException( cause );
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.codehaus.mojo.license.utils;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+
+/**
+ * Runs tasks on an executor while keeping their logs in submission order.
+ * <p>
+ * Each task logs into its own {@link DeferredLogger}, which is flushed once the task and all the tasks submitted
+ * before it are done. At most {@code maxPending} tasks wait to be completed: submitting more tasks blocks until the
+ * oldest ones are done.
+ * <p>
+ * <b>Note:</b> This class is not thread safe, the tasks must be submitted and awaited by the same thread.
+ *
+ * @since 2.0.1
+ */
+public class OrderedTasks
+{
+    /**
+     * A unit of work.
+     */
+    public interface Task
+    {
+        /**
+         * @param log where to log
+         * @throws IOException if the work failed
+         */
+        void run( DeferredLogger log ) throws IOException;
+    }
+
+    private final Logger target;
+
+    private final ExecutorService executor;
+
+    private final int maxPending;
+
+    private final Deque<Future<Void>> pendingFutures = new ArrayDeque<>();
+
+    private final Deque<DeferredLogger> pendingLogs = new ArrayDeque<>();
+
+    /**
+     * @param target     the logger the logs of the tasks are sent to
+     * @param executor   the executor running the tasks, or {@code null} to run them in the current thread
+     * @param maxPending the number of tasks which can wait to be completed
+     */
+    public OrderedTasks( Logger target, ExecutorService executor, int maxPending )
+    {
+        this.target = target;
+        this.executor = executor;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Runs the given task, or submits it to the executor.
+     *
+     * @param task the task to run
+     * @throws IOException if the task (or an older one) failed
+     */
+    public void submit( final Task task ) throws IOException
+    {
+        final DeferredLogger log = new DeferredLogger( target );
+        if ( executor == null )
+        {
+            try
+            {
+                task.run( log );
+            }
+            finally
+            {
+                log.flush();
+            }
+            return;
+        }
+        pendingLogs.add( log );
+        pendingFutures.add( executor.submit( new Callable<Void>()
+        {
+            @Override
+            public Void call() throws IOException
+            {
+                task.run( log );
+                return null;
+            }
+        } ) );
+        awaitPending( maxPending );
+    }
+
+    /**
+     * Waits for all the submitted tasks to be done.
+     *
+     * @throws IOException if a task failed
+     */
+    public void awaitAll() throws IOException
+    {
+        awaitPending( 0 );
+    }
+
+    /**
+     * Waits for the oldest tasks to be done, until at most the given number of tasks are pending.
+     */
+    private void awaitPending( int maxPendingTasks ) throws IOException
+    {
+        while ( pendingFutures.size() > maxPendingTasks )
+        {
+            try
+            {
+                FutureUtil.get( pendingFutures.removeFirst(), IOException.class );
+            }
+            finally
+            {
+                pendingLogs.removeFirst().flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package org.codehaus.mojo.license.utils;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import org.apache.maven.execution.ExecutionEvent;
+import org.apache.maven.execution.ExecutionListener;
+import org.apache.maven.execution.MavenSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Closes a resource of the build session when the session ends, a plugin having no other way to be notified of the
+ * end of the build.
+ * <p>
+ * The listener is chained with the execution listener of the build request, to which it forwards all the events.
+ *
+ * @since 2.0.1
+ */
+final class SessionEndListener
+    implements ExecutionListener
+{
+    private static final Logger LOG = LoggerFactory.getLogger( SessionEndListener.class );
+
+    private final ExecutionListener delegate;
+
+    private final Closeable resource;
+
+    private SessionEndListener( ExecutionListener delegate, Closeable resource )
+    {
+        this.delegate = delegate;
+        this.resource = resource;
+    }
+
+    /**
+     * Closes the given resource when the given build session ends.
+     *
+     * @param session  the build session
+     * @param resource the resource to close
+     */
+    static void register( MavenSession session, Closeable resource )
+    {
+        synchronized ( session.getRequest() )
+        {
+            ExecutionListener delegate = session.getRequest().getExecutionListener();
+            session.getRequest().setExecutionListener( new SessionEndListener( delegate, resource ) );
+        }
+    }
+
+    @Override
+    public void sessionEnded( ExecutionEvent event )
+    {
+        try
+        {
+            if ( delegate != null )
+            {
+                delegate.sessionEnded( event );
+            }
+        }
+        finally
+        {
+            try
+            {
+                resource.close();
+            }
+            catch ( IOException e )
+            {
+                LOG.warn( "Could not close {}: {}", resource, e.getMessage() );
+            }
+        }
+    }
+
+    @Override
+    public void projectDiscoveryStarted( ExecutionEvent event )
+    {
+        if ( delegate != null )
+        {
+            delegate.projectDiscoveryStarted( event );
+        }
+    }
+
+    @Override
+    public void sessionStarted( ExecutionEvent event )
+    {
+        if ( delegate != null )
+        {
+            delegate.sessionStarted( event );
+        }
+    }
+
+    @Override
+    public void projectSkipped( ExecutionEvent event )
+    {
+        if ( delegate != null )
+        {
+            delegate.projectSkipped( event );
+        }
+    }
+
+    @Override
+    public void projectStarted( ExecutionEvent event )
+    {
+        if ( delegate != null )
+        {
+            delegate.projectStarted( event );
+        }
+    }
+
+    @Override
+    public void projectSucceeded( ExecutionEvent event )
+    {
+        if ( delegate != null )
+        {
+            delegate.projectSucceeded( event );
+        }
+    }
+
+    @Override
+    public void projectFailed( ExecutionEvent event )
+    {
+        if ( delegate != null )
+        {
+            delegate.projectFailed( event );
+        }
+    }
+
+    @Override
+    public void mojoSkipped( ExecutionEvent event )
+    {
+        if ( delegate != null )
+        {
+            delegate.mojoSkipped( event );
+        }
+    }
+
+    @Override
+    public void mojoStarted( ExecutionEvent event )
+    {
+        if ( delegate != null )
+        {
+            delegate.mojoStarted( event );
+        }
+    }
+
+    @Override
+    public void mojoSucceeded( ExecutionEvent event )
+    {
+        if ( delegate != null )
+        {
+            delegate.mojoSucceeded( event );
+        }
+    }
+
+    @Override
+    public void mojoFailed( ExecutionEvent event )
+    {
+        if ( delegate != null )
+        {
+            delegate.mojoFailed( event );
+        }
+    }
+
+    @Override
+    public void forkStarted( ExecutionEvent event )
+    {
+        if ( delegate != null )
+        {
+            delegate.forkStarted( event );
+        }
+    }
+
+    @Override
+    public void forkSucceeded( ExecutionEvent event )
+    {
+        if ( delegate != null )
+        {
+            delegate.forkSucceeded( event );
+        }
+    }
+
+    @Override
+    public void forkFailed( ExecutionEvent event )
+    {
+        if ( delegate != null )
+        {
+            delegate.forkFailed( event );
+        }
+    }
+
+    @Override
+    public void forkedProjectStarted( ExecutionEvent event )
+    {
+        if ( delegate != null )
+        {
+            delegate.forkedProjectStarted( event );
+        }
+    }
+
+    @Override
+    public void forkedProjectSucceeded( ExecutionEvent event )
+    {
+        if ( delegate != null )
+        {
+            delegate.forkedProjectSucceeded( event );
+        }
+    }
+
+    @Override
+    public void forkedProjectFailed( ExecutionEvent event )
+    {
+        if ( delegate != null )
+        {
+            delegate.forkedProjectFailed( event );
+        }
+    }
+}
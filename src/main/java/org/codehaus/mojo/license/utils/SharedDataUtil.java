@@ -0,0 +1,152 @@
+package org.codehaus.mojo.license.utils;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SessionData;
+
+/**
+ * Utilities for the data shared between the modules of a build (kept in the repository session) and between the
+ * builds (kept in properties files updated under a file lock).
+ *
+ * @since 2.0.1
+ */
+public final class SharedDataUtil
+{
+    /**
+     * A file lock is held by the whole JVM, so the builds running in the same JVM must also be synchronized.
+     */
+    private static final Object STORE_LOCK = new Object();
+
+    /**
+     * Creates the value of a build when it is first needed.
+     *
+     * @param <T> the type of the value
+     */
+    public interface ValueFactory<T>
+    {
+        /**
+         * @return the new value
+         */
+        T create();
+    }
+
+    /**
+     * Merges the data of a build into the stored data.
+     */
+    public interface PropertiesMerger
+    {
+        /**
+         * @param stored the properties currently stored (empty if the file does not exist), to be updated with the
+         *               data of the build
+         * @throws IOException if the merge failed
+         */
+        void merge( SortedProperties stored ) throws IOException;
+    }
+
+    private SharedDataUtil()
+    {
+        // hide constructor
+    }
+
+    /**
+     * Obtains the value of the given build, creating it on the first call. The class (not its name) is the key, so
+     * other versions of the plugin get their own values.
+     * <p>
+     * <b>Note:</b> Concurrent first calls may create several values, only one of them is kept.
+     *
+     * @param repositorySession the repository session of the build
+     * @param key               the class owning the value
+     * @param factory           creates the value
+     * @param <T>               the type of the value
+     * @return the value of the build
+     */
+    public static <T> T getSessionValue( RepositorySystemSession repositorySession, Class<?> key,
+                                         ValueFactory<? extends T> factory )
+    {
+        SessionData data = repositorySession.getData();
+        Object value = data.get( key );
+        if ( value == null )
+        {
+            data.set( key, null, factory.create() );
+            value = data.get( key );
+        }
+        @SuppressWarnings( "unchecked" )
+        T result = (T) value;
+        return result;
+    }
+
+    /**
+     * Merges the data of a build into the given properties file, holding a lock on the given lock file as other
+     * builds may update it at the same time. The file is replaced atomically.
+     *
+     * @param file     the properties file (may not exist)
+     * @param lockFile the file to lock
+     * @param merger   merges the data of the build into the stored properties
+     * @return the stored properties
+     * @throws IOException if could not read or write the properties file
+     */
+    public static SortedProperties mergeProperties( File file, File lockFile, PropertiesMerger merger )
+        throws IOException
+    {
+        FileUtil.createDirectoryIfNecessary( file.getParentFile() );
+        synchronized ( STORE_LOCK )
+        {
+            try ( RandomAccessFile raf = new RandomAccessFile( lockFile, "rw" );
+                            FileChannel channel = raf.getChannel();
+                            FileLock lock = channel.lock() )
+            {
+                // other builds may have updated the file in the meantime
+                SortedProperties properties = new SortedProperties( "UTF-8" );
+                if ( file.exists() )
+                {
+                    properties.load( file );
+                }
+                merger.merge( properties );
+                storeProperties( properties, file );
+                return properties;
+            }
+        }
+    }
+
+    /**
+     * Stores the given properties into the given file, which is replaced atomically.
+     *
+     * @param properties the properties to store
+     * @param file       the file to write
+     * @throws IOException if could not write the file
+     */
+    public static void storeProperties( SortedProperties properties, File file ) throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        properties.store( out, null );
+        FileUtil.writeAtomically( file, out.toByteArray() );
+    }
+}
@@ -0,0 +1,359 @@
+package org.codehaus.mojo.license.utils;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+import org.apache.http.HeaderElement;
+import org.apache.http.HeaderElementIterator;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.Credentials;
+import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.CredentialsProvider;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.routing.HttpRoutePlanner;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.DefaultProxyRoutePlanner;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.protocol.HttpContext;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.settings.Proxy;
+import org.eclipse.aether.SessionData;
+
+/**
+ * Provides the HTTP clients used by the plugin.
+ * <p>
+ * All the clients of a build share the same pooling connection manager, which lives as long as the build session
+ * (see {@link #forSession(MavenSession)}), so that connections (and TLS sessions) are reused between requests and
+ * between mojo executions. The connections are closed when the build session ends. A client is built for each distinct
+ * proxy and timeouts configuration and kept for later use.
+ * <p>
+ * <b>Note:</b> This class is thread safe.
+ *
+ * @since 2.0.1
+ */
+public final class SharedHttpClient
+    implements Closeable
+{
+    /**
+     * Timeout used by the {@link #getDefaultClient(Proxy) default client} ({@code -1} means the system default).
+     */
+    private static final int DEFAULT_TIMEOUT = -1;
+
+    /**
+     * Maximum time (in milliseconds) to keep an idle connection alive if the server does not say otherwise.
+     */
+    private static final long DEFAULT_KEEP_ALIVE = 30000L;
+
+    /**
+     * Time (in milliseconds) after which an idle connection is checked before being reused.
+     */
+    private static final int VALIDATE_AFTER_INACTIVITY = 2000;
+
+    private static final int DEFAULT_MAX_PER_ROUTE = 8;
+
+    private static final int DEFAULT_MAX_TOTAL = 32;
+
+    /**
+     * Honours the {@code Keep-Alive} header of the server, or keeps the connection for {@link #DEFAULT_KEEP_ALIVE}.
+     */
+    private static final ConnectionKeepAliveStrategy KEEP_ALIVE_STRATEGY = new ConnectionKeepAliveStrategy()
+    {
+        @Override
+        public long getKeepAliveDuration( HttpResponse response, HttpContext context )
+        {
+            HeaderElementIterator it = new BasicHeaderElementIterator( response.headerIterator( HTTP.CONN_KEEP_ALIVE ) );
+            while ( it.hasNext() )
+            {
+                HeaderElement element = it.nextElement();
+                if ( "timeout".equalsIgnoreCase( element.getName() ) && element.getValue() != null )
+                {
+                    try
+                    {
+                        // CHECKSTYLE_OFF: MagicNumber
+                        return Long.parseLong( element.getValue() ) * 1000L;
+                        // CHECKSTYLE_ON: MagicNumber
+                    }
+                    catch ( NumberFormatException e )
+                    {
+                        // use the default value
+                    }
+                }
+            }
+            return DEFAULT_KEEP_ALIVE;
+        }
+    };
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    private final ConcurrentMap<String, CloseableHttpClient> clients = new ConcurrentHashMap<>();
+
+    /**
+     * {@code true} if the connections are closed at the end of the build session, not by {@link #close()}.
+     */
+    private final boolean sessionScoped;
+
+    /**
+     * Creates clients which do not share their connections with the build session, e.g. when there is no session.
+     * Their connections are closed by {@link #close()}.
+     */
+    public SharedHttpClient()
+    {
+        this( false );
+    }
+
+    private SharedHttpClient( boolean sessionScoped )
+    {
+        this.sessionScoped = sessionScoped;
+        connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setDefaultMaxPerRoute( DEFAULT_MAX_PER_ROUTE );
+        connectionManager.setMaxTotal( DEFAULT_MAX_TOTAL );
+        connectionManager.setValidateAfterInactivity( VALIDATE_AFTER_INACTIVITY );
+    }
+
+    /**
+     * Obtains the clients of the given build, whose connections are closed when the build session ends.
+     *
+     * @param session the build session
+     * @return the clients of the build
+     */
+    public static SharedHttpClient forSession( final MavenSession session )
+    {
+        final SessionData data = session.getRepositorySession().getData();
+        return SharedDataUtil.getSessionValue( session.getRepositorySession(), SharedHttpClient.class,
+                new SharedDataUtil.ValueFactory<SharedHttpClient>()
+                {
+                    @Override
+                    public SharedHttpClient create()
+                    {
+                        final SharedHttpClient created = new SharedHttpClient( true );
+                        // the clients of a concurrent first call are not used, they are closed too
+                        SessionEndListener.register( session, new Closeable()
+                        {
+                            @Override
+                            public void close()
+                            {
+                                data.set( SharedHttpClient.class, created, null );
+                                created.shutdown();
+                            }
+                        } );
+                        return created;
+                    }
+                } );
+    }
+
+    /**
+     * Finds the first active http proxy among the given ones.
+     *
+     * @param proxies the proxies declared in the {@code settings.xml} file (may be {@code null})
+     * @return the active proxy, or {@code null} if none
+     */
+    public static Proxy findActiveProxy( List<Proxy> proxies )
+    {
+        if ( proxies != null )
+        {
+            for ( Proxy proxy : proxies )
+            {
+                if ( proxy.isActive() && "http".equals( proxy.getProtocol() ) )
+                {
+                    return proxy;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Makes sure the connection pool can open at least the given number of connections to the same host.
+     *
+     * @param maxConnections the number of connections required
+     */
+    public synchronized void ensureMaxConnections( int maxConnections )
+    {
+        if ( connectionManager.getDefaultMaxPerRoute() < maxConnections )
+        {
+            connectionManager.setDefaultMaxPerRoute( maxConnections );
+        }
+        if ( connectionManager.getMaxTotal() < maxConnections )
+        {
+            connectionManager.setMaxTotal( maxConnections );
+        }
+    }
+
+    /**
+     * Obtains the client to use when no specific timeouts are required.
+     * <p>
+     * <b>Note:</b> The returned client is shared, it must not be closed.
+     *
+     * @param proxy the proxy to use, or {@code null} to connect directly
+     * @return the shared client
+     */
+    public CloseableHttpClient getDefaultClient( Proxy proxy )
+    {
+        return getClient( proxy, DEFAULT_TIMEOUT, DEFAULT_TIMEOUT, DEFAULT_TIMEOUT );
+    }
+
+    /**
+     * Obtains the client for the given configuration.
+     * <p>
+     * <b>Note:</b> The returned client is shared, it must not be closed.
+     *
+     * @param proxy                    the proxy to use, or {@code null} to connect directly
+     * @param connectTimeout           connect timeout in milliseconds
+     * @param socketTimeout            socket timeout in milliseconds
+     * @param connectionRequestTimeout timeout in milliseconds to obtain a connection from the pool
+     * @return the shared client
+     */
+    public CloseableHttpClient getClient( Proxy proxy, int connectTimeout, int socketTimeout,
+                                          int connectionRequestTimeout )
+    {
+        StringBuilder key = new StringBuilder();
+        key.append( connectTimeout ).append( '|' ).append( socketTimeout ).append( '|' )
+                .append( connectionRequestTimeout );
+        if ( proxy != null )
+        {
+            // the settings (hence the password of a given proxy) do not change during a build
+            key.append( '|' ).append( proxy.getId() ).append( '|' ).append( proxy.getHost() ).append( '|' )
+                    .append( proxy.getPort() ).append( '|' ).append( proxy.getProtocol() ).append( '|' )
+                    .append( proxy.getUsername() ).append( '|' ).append( proxy.getNonProxyHosts() );
+        }
+        String clientKey = key.toString();
+        CloseableHttpClient client = clients.get( clientKey );
+        if ( client == null )
+        {
+            client = createClient( proxy, connectTimeout, socketTimeout, connectionRequestTimeout );
+            CloseableHttpClient existing = clients.putIfAbsent( clientKey, client );
+            if ( existing != null )
+            {
+                client = existing;
+            }
+        }
+        return client;
+    }
+
+    /**
+     * Closes the connections of clients which do not share them with the build session. The connections of a build
+     * session are closed when the session ends.
+     */
+    @Override
+    public void close()
+    {
+        if ( !sessionScoped )
+        {
+            shutdown();
+        }
+    }
+
+    private void shutdown()
+    {
+        connectionManager.shutdown();
+    }
+
+    private CloseableHttpClient createClient( Proxy proxy, int connectTimeout, int socketTimeout,
+                                              int connectionRequestTimeout )
+    {
+        final RequestConfig.Builder configBuilder = RequestConfig.copy( RequestConfig.DEFAULT ) //
+                        .setConnectTimeout( connectTimeout ) //
+                        .setSocketTimeout( socketTimeout ) //
+                        .setConnectionRequestTimeout( connectionRequestTimeout );
+
+        if ( proxy != null && proxy.getNonProxyHosts() == null )
+        {
+            // otherwise the route planner decides (a proxy in the request config would take precedence over it)
+            configBuilder.setProxy( new HttpHost( proxy.getHost(), proxy.getPort(), proxy.getProtocol() ) );
+        }
+
+        HttpClientBuilder clientBuilder = HttpClients.custom() //
+                        .setDefaultRequestConfig( configBuilder.build() ) //
+                        .setConnectionManager( connectionManager ) //
+                        .setConnectionManagerShared( true ) //
+                        .setKeepAliveStrategy( KEEP_ALIVE_STRATEGY );
+        if ( proxy == null )
+        {
+            // honours the http.proxyHost, ... system properties
+            clientBuilder.useSystemProperties();
+        }
+        else
+        {
+            if ( proxy.getUsername() != null && proxy.getPassword() != null )
+            {
+                final CredentialsProvider credsProvider = new BasicCredentialsProvider();
+                final Credentials creds = new UsernamePasswordCredentials( proxy.getUsername(), proxy.getPassword() );
+                credsProvider.setCredentials( new AuthScope( proxy.getHost(), proxy.getPort() ), creds );
+                clientBuilder.setDefaultCredentialsProvider( credsProvider );
+            }
+            final String rawNonProxyHosts = proxy.getNonProxyHosts();
+            if ( rawNonProxyHosts != null )
+            {
+                final String[] nonProxyHosts = rawNonProxyHosts.split( "\\|" );
+                if ( nonProxyHosts.length > 0 )
+                {
+                    final List<Pattern> nonProxyPatterns = new ArrayList<>();
+                    for ( String nonProxyHost : nonProxyHosts )
+                    {
+                        final Pattern pat =
+                            Pattern.compile( nonProxyHost.trim().replaceAll( "\\.", "\\\\." ).replaceAll( "\\*", ".*" ),
+                                             Pattern.CASE_INSENSITIVE );
+                        nonProxyPatterns.add( pat );
+                    }
+                    final HttpHost proxyHost = new HttpHost( proxy.getHost(), proxy.getPort() );
+                    final HttpRoutePlanner routePlanner = new DefaultProxyRoutePlanner( proxyHost )
+                    {
+
+                        @Override
+                        protected HttpHost determineProxy( HttpHost target, HttpRequest request, HttpContext context )
+                            throws HttpException
+                        {
+                            for ( Pattern pattern : nonProxyPatterns )
+                            {
+                                if ( pattern.matcher( target.getHostName() ).matches() )
+                                {
+                                    return null;
+                                }
+                            }
+                            return super.determineProxy( target, request, context );
+                        }
+
+                    };
+                    clientBuilder.setRoutePlanner( routePlanner );
+                }
+            }
+        }
+        return clientBuilder.build();
+    }
+}
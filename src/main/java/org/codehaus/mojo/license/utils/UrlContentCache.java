@@ -0,0 +1,323 @@
+package org.codehaus.mojo.license.utils;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.commons.codec.binary.Hex;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.settings.Proxy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A cache of the contents of the remote configuration URLs ({@code missingFileUrl}, {@code overrideUrl},
+ * {@code licenseMergesUrl}, {@code artifactFiltersUrl}, ...), so that each URL is only fetched once per build.
+ * <p>
+ * The contents fetched during a build are kept in the build session and reused by all its modules. If a directory
+ * is given, the contents are also stored there with their HTTP validators ({@code ETag} and {@code Last-Modified});
+ * the next builds reuse them as they are during a time to live, then revalidate them with conditional requests.
+ * <p>
+ * The cache also holds the HTTP client to fetch the contents with, as configured by the mojo which created it.
+ * <p>
+ * <b>Note:</b> This class is thread safe.
+ *
+ * @since 2.0.1
+ */
+public class UrlContentCache
+{
+    private static final Logger LOG = LoggerFactory.getLogger( UrlContentCache.class );
+
+    private static final String URL = "url";
+
+    private static final String CHARSET = "charset";
+
+    private static final String ETAG = "etag";
+
+    private static final String LAST_MODIFIED = "lastModified";
+
+    private static final String FETCHED = "fetched";
+
+    /**
+     * The content of an URL.
+     */
+    public static class Entry
+    {
+        private final byte[] content;
+
+        private final String charset;
+
+        private final String etag;
+
+        private final String lastModified;
+
+        private final long fetched;
+
+        /**
+         * @param content      the raw content
+         * @param charset      the charset the content was served with, or {@code null}
+         * @param etag         the {@code ETag} sent by the server, or {@code null}
+         * @param lastModified the {@code Last-Modified} date sent by the server, or {@code null}
+         * @param fetched      the time the content was fetched or revalidated
+         */
+        public Entry( byte[] content, String charset, String etag, String lastModified, long fetched )
+        {
+            this.content = content;
+            this.charset = charset;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.fetched = fetched;
+        }
+
+        /**
+         * @param defaultCharset the charset to use if the server did not send one
+         * @return the content as a string
+         */
+        public String getContent( Charset defaultCharset )
+        {
+            return new String( content, charset == null ? defaultCharset : Charset.forName( charset ) );
+        }
+
+        /**
+         * @return the {@code ETag} sent by the server, or {@code null}
+         */
+        public String getEtag()
+        {
+            return etag;
+        }
+
+        /**
+         * @return the {@code Last-Modified} date sent by the server, or {@code null}
+         */
+        public String getLastModified()
+        {
+            return lastModified;
+        }
+
+        /**
+         * @param time the time the content was revalidated
+         * @return the same content revalidated at the given time
+         */
+        public Entry revalidated( long time )
+        {
+            return new Entry( content, charset, etag, lastModified, time );
+        }
+    }
+
+    /**
+     * What is kept in the session of a build.
+     */
+    private static class SessionEntries
+    {
+        private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+        private final ConcurrentMap<String, Object> locks = new ConcurrentHashMap<>();
+    }
+
+    private final SessionEntries session;
+
+    private final CloseableHttpClient httpClient;
+
+    private final File directory;
+
+    private final long timeToLive;
+
+    UrlContentCache( File directory, long timeToLive )
+    {
+        this( new SessionEntries(), new SharedHttpClient().getDefaultClient( null ), directory, timeToLive );
+    }
+
+    private UrlContentCache( SessionEntries session, CloseableHttpClient httpClient, File directory,
+                             long timeToLive )
+    {
+        this.session = session;
+        this.httpClient = httpClient;
+        this.directory = directory;
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Obtains the cache of the given build.
+     *
+     * @param mavenSession the build session
+     * @param proxy        the proxy to fetch the contents through, or {@code null} to connect directly
+     * @param directory    the directory where the contents are stored for the next builds, or {@code null} to only
+     *                     keep them during the build
+     * @param timeToLive   time in milliseconds during which a stored content is used without revalidation
+     * @return the cache of the build
+     */
+    public static UrlContentCache forSession( MavenSession mavenSession, Proxy proxy, File directory,
+                                              long timeToLive )
+    {
+        SessionEntries session = SharedDataUtil.getSessionValue( mavenSession.getRepositorySession(),
+                UrlContentCache.class, new SharedDataUtil.ValueFactory<SessionEntries>()
+                {
+                    @Override
+                    public SessionEntries create()
+                    {
+                        return new SessionEntries();
+                    }
+                } );
+        return new UrlContentCache( session,
+                                    SharedHttpClient.forSession( mavenSession ).getDefaultClient( proxy ),
+                                    directory, timeToLive );
+    }
+
+    /**
+     * @return the shared client to fetch the contents with (it must not be closed)
+     */
+    public CloseableHttpClient getHttpClient()
+    {
+        return httpClient;
+    }
+
+    /**
+     * @param url an URL
+     * @return the object to synchronize on while fetching the given URL, so that it is only fetched once
+     */
+    public Object getLock( String url )
+    {
+        Object lock = new Object();
+        Object existing = session.locks.putIfAbsent( url, lock );
+        return existing == null ? lock : existing;
+    }
+
+    /**
+     * Obtains the content of the given URL from the cache.
+     *
+     * @param url the URL
+     * @return the cached content (see {@link #isFresh(String, Entry)}), or {@code null}
+     */
+    public Entry get( String url )
+    {
+        Entry entry = session.entries.get( url );
+        if ( entry == null && directory != null )
+        {
+            entry = load( url );
+        }
+        return entry;
+    }
+
+    /**
+     * @param url   the URL
+     * @param entry the entry returned by {@link #get(String)}
+     * @return {@code true} if the content can be used as it is, {@code false} if it must be revalidated
+     */
+    public boolean isFresh( String url, Entry entry )
+    {
+        return session.entries.get( url ) == entry || System.currentTimeMillis() - entry.fetched < timeToLive;
+    }
+
+    /**
+     * Records the content of the given URL, fetched or revalidated during this build.
+     *
+     * @param url   the URL
+     * @param entry the content
+     */
+    public void put( String url, Entry entry )
+    {
+        session.entries.put( url, entry );
+        if ( directory != null )
+        {
+            try
+            {
+                store( url, entry );
+            }
+            catch ( IOException e )
+            {
+                LOG.debug( "Could not store the content of {}", url, e );
+            }
+        }
+    }
+
+    private Entry load( String url )
+    {
+        File propertiesFile = getFile( url, ".properties" );
+        File contentFile = getFile( url, ".content" );
+        if ( !propertiesFile.exists() || !contentFile.exists() )
+        {
+            return null;
+        }
+        try
+        {
+            SortedProperties properties = new SortedProperties( "UTF-8" ).load( propertiesFile );
+            if ( !url.equals( properties.getProperty( URL ) ) )
+            {
+                return null;
+            }
+            return new Entry( Files.readAllBytes( contentFile.toPath() ), properties.getProperty( CHARSET ),
+                    properties.getProperty( ETAG ), properties.getProperty( LAST_MODIFIED ),
+                    Long.parseLong( properties.getProperty( FETCHED, "0" ) ) );
+        }
+        catch ( IOException | NumberFormatException e )
+        {
+            LOG.debug( "Could not read the stored content of {}", url, e );
+            return null;
+        }
+    }
+
+    private void store( String url, Entry entry ) throws IOException
+    {
+        SortedProperties properties = new SortedProperties( "UTF-8" );
+        properties.setProperty( URL, url );
+        setProperty( properties, CHARSET, entry.charset );
+        setProperty( properties, ETAG, entry.etag );
+        setProperty( properties, LAST_MODIFIED, entry.lastModified );
+        properties.setProperty( FETCHED, String.valueOf( entry.fetched ) );
+
+        FileUtil.createDirectoryIfNecessary( directory );
+        FileUtil.writeAtomically( getFile( url, ".content" ), entry.content );
+        SharedDataUtil.storeProperties( properties, getFile( url, ".properties" ) );
+    }
+
+    private static void setProperty( SortedProperties properties, String key, String value )
+    {
+        if ( value != null )
+        {
+            properties.setProperty( key, value );
+        }
+    }
+
+    private File getFile( String url, String extension )
+    {
+        try
+        {
+            MessageDigest md = MessageDigest.getInstance( "SHA-1" );
+            return new File( directory, Hex.encodeHexString( md.digest( url.getBytes( StandardCharsets.UTF_8 ) ) )
+                    + extension );
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            throw new IllegalStateException( e );
+        }
+    }
+}
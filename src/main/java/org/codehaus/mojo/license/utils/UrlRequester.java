@@ -32,12 +32,16 @@ import java.util.ArrayList;
 import java.util.List;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.entity.ContentType;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
 import org.apache.maven.plugin.MojoExecutionException;
 
 
@@ -90,6 +94,20 @@ public class UrlRequester
         return getFromUrl( url, "UTF-8" );
     }
 
+    /**
+     * Returns the content of the resource pointed by the given URL as a string.
+     *
+     * @param url   the resource destination that is expected to contain pure text
+     * @param cache the cache of the contents fetched over http, or {@code null} to fetch the content
+     * @return the string representation of the resource at the given URL
+     * @throws IOException If an I/O error occurs when retrieve of the content URL
+     * @since 2.0.1
+     */
+    public static String getFromUrl( String url, UrlContentCache cache ) throws IOException
+    {
+        return getFromUrl( url, "UTF-8", cache );
+    }
+
     /**
      * Returns the content of the resource pointed by the given URL as a string.
      *
@@ -99,6 +117,21 @@ public class UrlRequester
      * @throws IOException If an I/O error occurs when retrieve of the content URL
      */
     public static String getFromUrl( String url, String encoding ) throws IOException
+    {
+        return getFromUrl( url, encoding, null );
+    }
+
+    /**
+     * Returns the content of the resource pointed by the given URL as a string.
+     *
+     * @param url      the resource destination that is expected to contain pure text
+     * @param encoding the resource content encoding
+     * @param cache    the cache of the contents fetched over http, or {@code null} to fetch the content
+     * @return the string representation of the resource at the given URL
+     * @throws IOException If an I/O error occurs when retrieve of the content URL
+     * @since 2.0.1
+     */
+    public static String getFromUrl( String url, String encoding, UrlContentCache cache ) throws IOException
     {
         // by RFC url is composed by <protocol>:<schema-part>.
         // Here could not be used the URL parser because classpath does not have a registered Handler
@@ -124,31 +157,24 @@ public class UrlRequester
         }
         else if ( "http".equals( protocol ) || "https".equals( protocol ) )
         {
-            try ( CloseableHttpClient httpClient = HttpClientBuilder.create().build() )
+            if ( cache == null )
             {
-                HttpGet get = new HttpGet( url );
-                try ( CloseableHttpResponse response = httpClient.execute( get ) )
+                try ( CloseableHttpClient httpClient = HttpClients.createSystem() )
                 {
-                    int responseCode = response.getStatusLine().getStatusCode();
-                    // CHECKSTYLE_OFF: MagicNumber
-                    if ( responseCode >= 200 && responseCode < 300 )
-                    // CHECKSTYLE_ON: MagicNumber
-                    {
-                        // server has response and there might be a not empty payload
-                        HttpEntity entity = response.getEntity();
-                        ContentType contentType = ContentType.get( entity );
-                        if ( contentType != null )
-                        {
-                            charset = contentType.getCharset();
-                        }
-
-                        result = IOUtils.toString( entity.getContent(),  charset );
-                    }
-                    else
+                    result = fetch( httpClient, url, null ).getContent( charset );
+                }
+            }
+            else
+            {
+                synchronized ( cache.getLock( url ) )
+                {
+                    UrlContentCache.Entry entry = cache.get( url );
+                    if ( entry == null || !cache.isFresh( url, entry ) )
                     {
-                        throw new IOException( "For the URL (" + url + ") the server responded with "
-                                + response.getStatusLine() );
+                        entry = fetch( cache.getHttpClient(), url, entry );
+                        cache.put( url, entry );
                     }
+                    result = entry.getContent( charset );
                 }
             }
         }
@@ -159,6 +185,65 @@ public class UrlRequester
         return result;
     }
 
+    /**
+     * Fetches the content of the given http URL.
+     *
+     * @param httpClient the client to fetch with
+     * @param url        the URL
+     * @param previous   a previous content of the URL to revalidate, or {@code null}
+     * @return the fetched content, or {@code previous} revalidated if it did not change
+     * @throws IOException if the server did not respond with a success
+     */
+    private static UrlContentCache.Entry fetch( CloseableHttpClient httpClient, String url,
+                                                UrlContentCache.Entry previous )
+        throws IOException
+    {
+        HttpGet get = new HttpGet( url );
+        if ( previous != null )
+        {
+            if ( previous.getEtag() != null )
+            {
+                get.setHeader( HttpHeaders.IF_NONE_MATCH, previous.getEtag() );
+            }
+            if ( previous.getLastModified() != null )
+            {
+                get.setHeader( HttpHeaders.IF_MODIFIED_SINCE, previous.getLastModified() );
+            }
+        }
+        try ( CloseableHttpResponse response = httpClient.execute( get ) )
+        {
+            int responseCode = response.getStatusLine().getStatusCode();
+            if ( responseCode == HttpStatus.SC_NOT_MODIFIED && previous != null )
+            {
+                return previous.revalidated( System.currentTimeMillis() );
+            }
+            // CHECKSTYLE_OFF: MagicNumber
+            if ( responseCode >= 200 && responseCode < 300 )
+            // CHECKSTYLE_ON: MagicNumber
+            {
+                // server has response and there might be a not empty payload
+                HttpEntity entity = response.getEntity();
+                ContentType contentType = ContentType.get( entity );
+                Charset charset = contentType == null ? null : contentType.getCharset();
+
+                return new UrlContentCache.Entry( IOUtils.toByteArray( entity.getContent() ),
+                        charset == null ? null : charset.name(), getHeader( response, HttpHeaders.ETAG ),
+                        getHeader( response, HttpHeaders.LAST_MODIFIED ), System.currentTimeMillis() );
+            }
+            else
+            {
+                throw new IOException( "For the URL (" + url + ") the server responded with "
+                        + response.getStatusLine() );
+            }
+        }
+    }
+
+    private static String getHeader( HttpResponse response, String name )
+    {
+        Header header = response.getFirstHeader( name );
+        return header == null ? null : header.getValue();
+    }
+
     /**
      * will download a external resource and read the content of the file that will then be translated into a
      * new list. <br>
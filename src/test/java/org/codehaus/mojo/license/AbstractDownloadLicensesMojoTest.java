@@ -0,0 +1,165 @@
+package org.codehaus.mojo.license;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.codehaus.mojo.license.AbstractDownloadLicensesMojo.ErrorRemedy;
+import org.codehaus.mojo.license.download.Cache;
+import org.codehaus.mojo.license.download.LicenseDownloader;
+import org.codehaus.mojo.license.download.LicenseFileHashes;
+import org.codehaus.mojo.license.download.LicensedArtifact;
+import org.codehaus.mojo.license.download.PreferredFileNames;
+import org.codehaus.mojo.license.download.ProjectLicense;
+import org.codehaus.mojo.license.download.ProjectLicenseInfo;
+import org.codehaus.mojo.license.download.UrlReplacements;
+import org.codehaus.mojo.license.osgi.JarEmbeddedFiles;
+import org.codehaus.mojo.license.spdx.SpdxLicenseList.Attachments.ContentSanitizer;
+import org.codehaus.mojo.license.utils.FileUtil;
+import org.codehaus.mojo.license.utils.SharedHttpClient;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class AbstractDownloadLicensesMojoTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void sharedUrlWithExistingFile() throws Exception
+    {
+        File outputDirectory = folder.newFolder( "licenses" );
+        String url = newLicense( "mit.txt", "MIT" );
+        /* the license of the first project was downloaded by a previous build */
+        FileUtil.printString( new File( outputDirectory, "g.a1_mit" ), "MIT (old)", "UTF-8" );
+
+        List<ProjectLicenseInfo> depProjects = new ArrayList<>();
+        depProjects.add( newProject( "a1", "mit", url ) );
+        depProjects.add( newProject( "a2", "mit", url ) );
+        download( outputDirectory, depProjects );
+
+        Assert.assertEquals( "g.a1_mit", depProjects.get( 0 ).getLicenses().get( 0 ).getFile() );
+        Assert.assertEquals( "g.a2_mit", depProjects.get( 1 ).getLicenses().get( 0 ).getFile() );
+        /* the second project reuses what the first project has, as when downloading sequentially */
+        Assert.assertEquals( "MIT (old)", read( new File( outputDirectory, "g.a2_mit" ) ) );
+    }
+
+    @Test
+    public void sharedUrls() throws Exception
+    {
+        File outputDirectory = folder.newFolder( "licenses" );
+        String mit = newLicense( "mit.txt", "MIT" );
+        String asl = newLicense( "asl.txt", "ASL" );
+
+        List<ProjectLicenseInfo> depProjects = new ArrayList<>();
+        for ( int i = 0; i < 8; i++ )
+        {
+            depProjects.add( newProject( "a" + i, i % 2 == 0 ? "mit" : "asl", i % 2 == 0 ? mit : asl ) );
+        }
+        download( outputDirectory, depProjects );
+
+        for ( int i = 0; i < 8; i++ )
+        {
+            String name = i % 2 == 0 ? "mit" : "asl";
+            String file = "g.a" + i + "_" + name;
+            Assert.assertEquals( file, depProjects.get( i ).getLicenses().get( 0 ).getFile() );
+            Assert.assertEquals( name.toUpperCase(), read( new File( outputDirectory, file ) ) );
+        }
+    }
+
+    private void download( File outputDirectory, List<ProjectLicenseInfo> depProjects ) throws Exception
+    {
+        AbstractDownloadLicensesMojo mojo = new AbstractDownloadLicensesMojo()
+        {
+            @Override
+            protected boolean isSkip()
+            {
+                return false;
+            }
+
+            @Override
+            protected Map<String, LicensedArtifact> getDependencies()
+            {
+                return Collections.emptyMap();
+            }
+        };
+        set( mojo, "errorRemedy", ErrorRemedy.failFast );
+        set( mojo, "organizeLicensesByDependencies", true );
+        set( mojo, "licensesOutputDirectory", outputDirectory );
+        set( mojo, "preferredFileNames", PreferredFileNames.build( outputDirectory, null ) );
+        set( mojo, "cache", new Cache( false ) );
+        set( mojo, "urlReplacements", UrlReplacements.builder().useDefaults( false ).build() );
+        set( mojo, "fileHashes", LicenseFileHashes.load( null ) );
+        set( mojo, "embeddedJarFiles", new JarEmbeddedFiles() );
+
+        ExecutorService executor = Executors.newFixedThreadPool( 2 );
+        try ( LicenseDownloader licenseDownloader =
+            new LicenseDownloader( new SharedHttpClient(), null, 1000, 1000, 1000,
+                                   Collections.<String, ContentSanitizer>emptyMap(), StandardCharsets.UTF_8, 2, null,
+                                   null ) )
+        {
+            mojo.downloadAllLicenses( licenseDownloader, executor, depProjects );
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    private String newLicense( String name, String content ) throws IOException
+    {
+        File file = new File( folder.getRoot(), name );
+        FileUtil.printString( file, content, "UTF-8" );
+        return file.toURI().toString().replace( "file:/", "file:///" );
+    }
+
+    private static ProjectLicenseInfo newProject( String artifactId, String licenseName, String url )
+    {
+        ProjectLicenseInfo depProject = new ProjectLicenseInfo( "g", artifactId, "1.0" );
+        depProject.addLicense( new ProjectLicense( licenseName, url, null, null, null ) );
+        return depProject;
+    }
+
+    private static String read( File file ) throws IOException
+    {
+        return FileUtil.readAsString( file, "UTF-8" ).trim();
+    }
+
+    private static void set( Object target, String name, Object value ) throws ReflectiveOperationException
+    {
+        Field field = AbstractDownloadLicensesMojo.class.getDeclaredField( name );
+        field.setAccessible( true );
+        field.set( target, value );
+    }
+}
@@ -0,0 +1,181 @@
+package org.codehaus.mojo.license;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+
+import org.codehaus.mojo.license.header.FileHeader;
+import org.codehaus.mojo.license.header.FileHeaderProcessor;
+import org.codehaus.mojo.license.header.InvalideFileHeaderException;
+import org.codehaus.mojo.license.header.UpdateFileHeaderFilter;
+import org.codehaus.mojo.license.header.transformer.FileHeaderTransformer;
+import org.codehaus.mojo.license.header.transformer.JavaFileHeaderTransformer;
+import org.codehaus.mojo.license.model.Copyright;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests that {@link AbstractFileHeaderMojo#processHeader(FileHeaderProcessor, File, String, String, String)} gives
+ * the same result as the processing of the whole content, whatever the route it takes.
+ */
+public class AbstractFileHeaderMojoTest
+{
+    private static final String START = FileHeaderTransformer.DEFAULT_PROCESS_START_TAG;
+
+    private static final String END = FileHeaderTransformer.DEFAULT_PROCESS_END_TAG;
+
+    private static final File FILE = new File( "A.java" );
+
+    private static final String CODE = "package org.example;\n\npublic class A\n{\n}\n";
+
+    @Test
+    public void noStartTag() throws IOException
+    {
+        Assert.assertNull( processHeader( CODE, "Description" ) );
+    }
+
+    @Test
+    public void singleCompleteHeader() throws IOException
+    {
+        String content = "// first line\n" + newProcessor( "Old description" ).addHeader( CODE );
+
+        String updated = processHeader( content, "New description" );
+        Assert.assertTrue( updated.contains( "New description" ) );
+        Assert.assertTrue( updated.startsWith( "// first line\n" ) );
+        Assert.assertTrue( updated.endsWith( CODE ) );
+
+        Assert.assertEquals( content, processHeader( content, "Old description" ) );
+
+        // the header ends the file, without line terminator
+        content = newProcessor( "Old description" ).addHeader( "" ).trim();
+        Assert.assertTrue( processHeader( content, "New description" ).contains( "New description" ) );
+
+        // Windows line terminators
+        content = newProcessor( "Old description" ).addHeader( CODE ).replace( "\n", "\r\n" );
+        Assert.assertTrue( processHeader( content, "New description" ).contains( "New description" ) );
+    }
+
+    @Test
+    public void headerNotFullyDetected() throws IOException
+    {
+        // the start tag of the slice is followed by another one before the end tag
+        String content = "/*\n * " + START + "\n * " + START + "\n * " + END + "\n */\n" + CODE;
+
+        FileHeaderProcessor processor = newProcessor( "Description" );
+        processHeader( processor, content );
+        Assert.assertFalse( processor.isTouched() );
+        Assert.assertTrue( processor.isDetectHeader() );
+    }
+
+    @Test
+    public void severalStartTags() throws IOException
+    {
+        String header = newProcessor( "Old description" ).addHeader( "" );
+        String content = header + CODE + header;
+
+        // only one header is allowed
+        FileHeaderProcessor wholeContentProcessor = newProcessor( "New description" );
+        try
+        {
+            wholeContentProcessor.process( content );
+            Assert.fail( "several headers must be rejected" );
+        }
+        catch ( IllegalStateException e )
+        {
+            // expected
+        }
+        try
+        {
+            AbstractFileHeaderMojo.processHeader( newProcessor( "New description" ), FILE, content, START, END );
+            Assert.fail( "several headers must be rejected" );
+        }
+        catch ( InvalideFileHeaderException e )
+        {
+            // expected
+        }
+
+        // another start tag after a complete header
+        content = newProcessor( "Old description" ).addHeader( CODE ) + "// " + START + "\n";
+        try
+        {
+            AbstractFileHeaderMojo.processHeader( newProcessor( "New description" ), FILE, content, START, END );
+            Assert.fail( "a start tag after the header must be rejected" );
+        }
+        catch ( InvalideFileHeaderException e )
+        {
+            Assert.assertTrue( e.getMessage().contains( START ) );
+        }
+    }
+
+    private static String processHeader( String content, String description ) throws IOException
+    {
+        return processHeader( newProcessor( description ), content );
+    }
+
+    /**
+     * Processes the header of the given content, and checks it gives the same result as the processing of the whole
+     * content with the same configuration.
+     */
+    private static String processHeader( FileHeaderProcessor processor, String content ) throws IOException
+    {
+        String result = AbstractFileHeaderMojo.processHeader( processor, FILE, content, START, END );
+
+        FileHeaderProcessor wholeContentProcessor = newProcessor( processor.getFileHeaderDescription() );
+        String expected = wholeContentProcessor.process( content );
+        Assert.assertEquals( wholeContentProcessor.isTouched(), processor.isTouched() );
+        Assert.assertEquals( wholeContentProcessor.isModified(), processor.isModified() );
+        if ( result == null )
+        {
+            // nothing detected in the whole content either
+            Assert.assertFalse( wholeContentProcessor.isDetectHeader() );
+            Assert.assertEquals( content, expected );
+        }
+        else
+        {
+            Assert.assertEquals( wholeContentProcessor.isDetectHeader(), processor.isDetectHeader() );
+            Assert.assertEquals( expected, result );
+        }
+        return result;
+    }
+
+    private static FileHeaderProcessor newProcessor( String description )
+    {
+        JavaFileHeaderTransformer transformer = new JavaFileHeaderTransformer();
+        transformer.setProcessStartTag( START );
+        transformer.setProcessEndTag( END );
+        transformer.setSectionDelimiter( FileHeaderTransformer.DEFAULT_SECTION_DELIMITER );
+        transformer.setLineSeparator( "\n" );
+
+        FileHeader header = new FileHeader();
+        header.setDescription( description );
+        header.setCopyright( Copyright.newCopyright( 2010, "Example Inc." ) );
+        header.setLicense( "Licensed under the Apache License, Version 2.0" );
+
+        UpdateFileHeaderFilter filter = new UpdateFileHeaderFilter();
+        filter.setUpdateDescription( true );
+        filter.setUpdateCopyright( true );
+        filter.setUpdateLicense( true );
+        return new FileHeaderProcessor( filter, header, transformer );
+    }
+}
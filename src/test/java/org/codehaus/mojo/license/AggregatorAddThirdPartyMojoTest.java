@@ -0,0 +1,142 @@
+package org.codehaus.mojo.license;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.codehaus.mojo.license.AggregatorAddThirdPartyMojo.ModuleTask;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AggregatorAddThirdPartyMojoTest
+{
+    private static final int NB_MODULES = 16;
+
+    @Test
+    public void mergeInModuleOrder() throws Exception
+    {
+        final List<Integer> merged = Collections.synchronizedList( new ArrayList<Integer>() );
+        final AtomicIntegerArray collected = new AtomicIntegerArray( NB_MODULES );
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final Thread mergeThread = Thread.currentThread();
+
+        AggregatorAddThirdPartyMojo.forEachModule( NB_MODULES, 4, new ModuleTask()
+        {
+            @Override
+            public void run( int index )
+            {
+                int nbRunning = running.incrementAndGet();
+                synchronized ( maxRunning )
+                {
+                    maxRunning.set( Math.max( maxRunning.get(), nbRunning ) );
+                }
+                // the first modules are the slowest ones
+                sleep( NB_MODULES - index );
+                running.decrementAndGet();
+                collected.incrementAndGet( index );
+            }
+        }, new ModuleTask()
+        {
+            @Override
+            public void run( int index )
+            {
+                Assert.assertSame( mergeThread, Thread.currentThread() );
+                Assert.assertEquals( "merged before being collected", 1, collected.get( index ) );
+                merged.add( index );
+            }
+        } );
+
+        List<Integer> expected = new ArrayList<>();
+        for ( int i = 0; i < NB_MODULES; i++ )
+        {
+            expected.add( i );
+            Assert.assertEquals( 1, collected.get( i ) );
+        }
+        Assert.assertEquals( expected, merged );
+        Assert.assertTrue( "the modules should be collected concurrently", maxRunning.get() > 1 );
+        Assert.assertTrue( "at most 4 modules should be collected at the same time", maxRunning.get() <= 4 );
+    }
+
+    @Test
+    public void failureAfterPreviousMerges()
+    {
+        final List<Integer> merged = Collections.synchronizedList( new ArrayList<Integer>() );
+        try
+        {
+            AggregatorAddThirdPartyMojo.forEachModule( NB_MODULES, 4, new ModuleTask()
+            {
+                @Override
+                public void run( int index ) throws IOException
+                {
+                    sleep( NB_MODULES - index );
+                    if ( index == 5 )
+                    {
+                        throw new IOException( "module " + index );
+                    }
+                }
+            }, new ModuleTask()
+            {
+                @Override
+                public void run( int index )
+                {
+                    merged.add( index );
+                }
+            } );
+            Assert.fail( "the failure of the module should be rethrown" );
+        }
+        catch ( Exception e )
+        {
+            Assert.assertEquals( IOException.class, e.getClass() );
+            Assert.assertEquals( "module 5", e.getMessage() );
+        }
+        Assert.assertEquals( merged.toString(), 5, merged.size() );
+    }
+
+    @Test
+    public void dependencyThreadsAreShared()
+    {
+        Assert.assertEquals( 1, AggregatorAddThirdPartyMojo.getDependencyThreadsPerModule( 1, 4 ) );
+        Assert.assertEquals( 1, AggregatorAddThirdPartyMojo.getDependencyThreadsPerModule( 4, 4 ) );
+        Assert.assertEquals( 2, AggregatorAddThirdPartyMojo.getDependencyThreadsPerModule( 8, 4 ) );
+        Assert.assertEquals( 8, AggregatorAddThirdPartyMojo.getDependencyThreadsPerModule( 8, 1 ) );
+    }
+
+    private static void sleep( int millis )
+    {
+        try
+        {
+            TimeUnit.MILLISECONDS.sleep( millis );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package org.codehaus.mojo.license;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+
+import org.codehaus.mojo.license.utils.FileUtil;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FileHeaderIndexTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void unchangedFile() throws IOException
+    {
+        File indexFile = new File( folder.getRoot(), "index.properties" );
+        File file = newFile( "A.java", "class A {}" );
+
+        FileHeaderIndex index = FileHeaderIndex.load( indexFile, "config" );
+        Assert.assertNull( index.get( file, false ) );
+        index.put( file, FileState.uptodate, null );
+        index.store();
+
+        index = FileHeaderIndex.load( indexFile, "config" );
+        Assert.assertEquals( FileState.uptodate, index.get( file, false ) );
+
+        // only the last modification time changed
+        Assert.assertTrue( file.setLastModified( file.lastModified() - 10000L ) );
+        Assert.assertEquals( FileState.uptodate, index.get( file, false ) );
+    }
+
+    @Test
+    public void changedFile() throws IOException
+    {
+        File indexFile = new File( folder.getRoot(), "index.properties" );
+        File file = newFile( "A.java", "class A {}" );
+
+        FileHeaderIndex index = FileHeaderIndex.load( indexFile, "config" );
+        index.put( file, FileState.uptodate, null );
+        index.store();
+
+        FileUtil.printString( file, "class B {}", "UTF-8" );
+        Assert.assertTrue( file.setLastModified( file.lastModified() - 10000L ) );
+        index = FileHeaderIndex.load( indexFile, "config" );
+        Assert.assertNull( index.get( file, false ) );
+    }
+
+    @Test
+    public void fileChangedWithinTimeGranularity() throws IOException
+    {
+        File indexFile = new File( folder.getRoot(), "index.properties" );
+        File file = newFile( "A.java", "class A {}" );
+        long lastModified = file.lastModified();
+
+        FileHeaderIndex index = FileHeaderIndex.load( indexFile, "config" );
+        index.put( file, FileState.uptodate, "class A {}".getBytes( "UTF-8" ) );
+        index.store();
+
+        // same size and same last modification time, as if modified within the same clock tick
+        FileUtil.printString( file, "class B {}", "UTF-8" );
+        Assert.assertTrue( file.setLastModified( lastModified ) );
+        index = FileHeaderIndex.load( indexFile, "config" );
+        Assert.assertNull( index.get( file, false ) );
+    }
+
+    @Test
+    public void changedConfiguration() throws IOException
+    {
+        File indexFile = new File( folder.getRoot(), "index.properties" );
+        File file = newFile( "A.java", "class A {}" );
+
+        FileHeaderIndex index = FileHeaderIndex.load( indexFile, "config" );
+        index.put( file, FileState.uptodate, null );
+        index.store();
+
+        index = FileHeaderIndex.load( indexFile, "otherConfig" );
+        Assert.assertNull( index.get( file, false ) );
+    }
+
+    @Test
+    public void statesToRewriteOnlyReusedOnDryRun() throws IOException
+    {
+        File indexFile = new File( folder.getRoot(), "index.properties" );
+        File file = newFile( "A.java", "class A {}" );
+
+        FileHeaderIndex index = FileHeaderIndex.load( indexFile, "config" );
+        index.put( file, FileState.add, null );
+        index.store();
+
+        index = FileHeaderIndex.load( indexFile, "config" );
+        Assert.assertNull( index.get( file, false ) );
+        Assert.assertEquals( FileState.add, index.get( file, true ) );
+    }
+
+    @Test
+    public void fileRecordedWithoutContent() throws IOException
+    {
+        File indexFile = new File( folder.getRoot(), "index.properties" );
+        File file = newFile( "A.java", "class A {}" );
+        long lastModified = file.lastModified() - 10000L;
+        Assert.assertTrue( file.setLastModified( lastModified ) );
+
+        FileHeaderIndex index = FileHeaderIndex.load( indexFile, "config" );
+        index.putMetadata( file, FileState.uptodate );
+        index.store();
+
+        index = FileHeaderIndex.load( indexFile, "config" );
+        Assert.assertEquals( FileState.uptodate, index.get( file, false ) );
+
+        // without sha1, a file whose last modification time changed is processed again
+        Assert.assertTrue( file.setLastModified( lastModified - 10000L ) );
+        Assert.assertNull( index.get( file, false ) );
+
+        // nor is a file modified too recently recorded
+        index = FileHeaderIndex.load( indexFile, "config" );
+        index.putMetadata( newFile( "B.java", "class B {}" ), FileState.uptodate );
+        index.store();
+        index = FileHeaderIndex.load( indexFile, "config" );
+        Assert.assertNull( index.get( new File( folder.getRoot(), "B.java" ), true ) );
+    }
+
+    private File newFile( String name, String content ) throws IOException
+    {
+        File file = new File( folder.getRoot(), name );
+        FileUtil.printString( file, content, "UTF-8" );
+        return file;
+    }
+}
@@ -0,0 +1,173 @@
+package org.codehaus.mojo.license;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.codehaus.mojo.license.utils.FileUtil;
+import org.codehaus.plexus.util.DirectoryScanner;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SourceFileScannerTest
+{
+    private static final String[] FILES = {
+        "A.java", "README", "pom.xml", "main/java/org/B.java", "main/java/org/b.txt", "main/resources/c.xml",
+        "main/node_modules/lib/d.java", "main/node_modules/e.java", "test/java/org/BTest.java",
+        "test/resources/deep/er/f.java", "node_modules/g.java", "generated/h.java" };
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void sameFilesAsDirectoryScanner() throws IOException
+    {
+        for ( String file : FILES )
+        {
+            FileUtil.printString( new File( folder.getRoot(), file ), "content", "UTF-8" );
+        }
+        assertSameFiles( new String[] { "**/*" }, null );
+        assertSameFiles( new String[] { "**/*.java" }, new String[] { "**/node_modules/**" } );
+        assertSameFiles( new String[] { "main/", "*.xml" }, new String[] { "**/lib/**", "**/org/*.txt" } );
+        assertSameFiles( new String[] { "**/?.java", "test/**/deep/**" }, new String[] { "generated/" } );
+        assertSameFiles( new String[] { "%regex[.*Test\\.java]", "%ant[**/*.xml]" }, new String[] { "test/**/er/**" } );
+        assertSameFiles( new String[] { "**" }, new String[] { "**" } );
+    }
+
+    @Test
+    public void handlerFailureStopsScan() throws IOException
+    {
+        for ( int i = 0; i < 3000; i++ )
+        {
+            FileUtil.printString( new File( folder.getRoot(), "dir" + ( i % 10 ) + "/sub/F" + i + ".java" ), "content",
+                                  "UTF-8" );
+        }
+        SourceFileScanner scanner = new SourceFileScanner( null, null, Collections.singletonMap( "java", "java" ),
+                                                           Collections.<String, String>emptyMap(), 4 );
+        try
+        {
+            scanner.scan( Collections.singletonList( folder.getRoot() ), new SourceFileScanner.Handler()
+            {
+                @Override
+                public void handle( File file, String commentStyle ) throws IOException
+                {
+                    throw new IOException( "failed on " + file.getName() );
+                }
+            } );
+            Assert.fail( "the failure of the handler must be reported" );
+        }
+        catch ( IOException e )
+        {
+            Assert.assertTrue( e.getMessage().startsWith( "failed on F" ) );
+        }
+    }
+
+    @Test
+    public void sameOrderWhateverTheThreads() throws IOException
+    {
+        for ( int i = 0; i < 200; i++ )
+        {
+            FileUtil.printString( new File( folder.getRoot(), "dir" + ( i % 7 ) + "/sub" + ( i % 3 ) + "/deep/F" + i
+                    + ".java" ), "content", "UTF-8" );
+        }
+        for ( String file : FILES )
+        {
+            FileUtil.printString( new File( folder.getRoot(), file ), "content", "UTF-8" );
+        }
+        List<File> expected = scan( 1 );
+        Assert.assertEquals( 208, expected.size() );
+        for ( int threads : new int[] { 2, 4, 8 } )
+        {
+            Assert.assertEquals( expected, scan( threads ) );
+        }
+    }
+
+    @Test
+    public void toRegex()
+    {
+        Assert.assertEquals( "(?:[^/]*/)*[^/]*\\Q.java\\E", SourceFileScanner.toRegex( "**/*.java", '/' ) );
+        Assert.assertEquals( "\\Qa\\E(?:/.*)?", SourceFileScanner.toRegex( "a/", '/' ) );
+        Assert.assertEquals( "\\Qa\\E/[^/]\\Qb\\E", SourceFileScanner.toRegex( "a//?b", '/' ) );
+        Assert.assertTrue( SourceFileScanner.isDirectoryPattern( "**/target/**" ) );
+        Assert.assertFalse( SourceFileScanner.isDirectoryPattern( "**/*.java" ) );
+    }
+
+    private List<File> scan( int threads ) throws IOException
+    {
+        final List<File> result = new ArrayList<>();
+        new SourceFileScanner( null, null, Collections.singletonMap( "java", "java" ),
+                               Collections.<String, String>emptyMap(), threads )
+            .scan( Collections.singletonList( folder.getRoot() ), new SourceFileScanner.Handler()
+            {
+                @Override
+                public void handle( File file, String commentStyle )
+                {
+                    result.add( file );
+                }
+            } );
+        return result;
+    }
+
+    private void assertSameFiles( String[] includes, String[] excludes ) throws IOException
+    {
+        DirectoryScanner ds = new DirectoryScanner();
+        ds.setBasedir( folder.getRoot() );
+        ds.setIncludes( includes );
+        ds.setExcludes( excludes );
+        ds.scan();
+        Set<String> expected = new TreeSet<>( Arrays.asList( ds.getIncludedFiles() ) );
+
+        Map<String, String> extensionToCommentStyle = new HashMap<>();
+        extensionToCommentStyle.put( "java", "java" );
+        extensionToCommentStyle.put( "xml", "xml" );
+        extensionToCommentStyle.put( "txt", "properties" );
+        Map<String, String> extraFiles = Collections.singletonMap( "README", "properties" );
+        for ( int threads : new int[] { 1, 4 } )
+        {
+            final Set<String> actual = new TreeSet<>();
+            new SourceFileScanner( includes, excludes, extensionToCommentStyle, extraFiles, threads )
+                .scan( Collections.singletonList( folder.getRoot() ), new SourceFileScanner.Handler()
+                {
+                    @Override
+                    public void handle( File file, String commentStyle )
+                    {
+                        Assert.assertNotNull( commentStyle );
+                        actual.add( folder.getRoot().toPath().relativize( file.toPath() ).toString() );
+                    }
+                } );
+            Assert.assertEquals( Arrays.toString( includes ) + " " + Arrays.toString( excludes ), expected,
+                                 actual );
+        }
+    }
+}
@@ -152,6 +152,48 @@ public class ArtifactFiltersTest
 
     }
 
+    @Test
+    public void compiledGaPatterns()
+        throws InvalidVersionSpecificationException
+    {
+        final Artifact jar1 =
+            new DefaultArtifact( "org.group1", "artifact1", VersionRange.createFromVersionSpec( "1.0" ), "compile",
+                                 "jar", "", null );
+        final Artifact jar2 =
+            new DefaultArtifact( "org.group2", "artifact2", VersionRange.createFromVersionSpec( "1.0" ), "compile",
+                                 "jar", "", null );
+        final Artifact jar3 =
+            new DefaultArtifact( "com.group3", "artifact3", VersionRange.createFromVersionSpec( "1.0" ), "compile",
+                                 "jar", "", null );
+
+        // literal keys
+        ArtifactFilters filters =
+            ArtifactFilters.buidler().includeGas( "org\\.group1:artifact1", "org\\.group2:.*" )
+                .excludeGa( ".*:artifact2" ).build();
+        Assert.assertTrue( filters.isIncluded( jar1 ) );
+        Assert.assertFalse( filters.isIncluded( jar2 ) );
+        Assert.assertFalse( filters.isIncluded( jar3 ) );
+
+        // groupId and artifactId substrings, "." matching any character
+        filters = ArtifactFilters.of( "org.group", null, null, "t2", null, null, null, null, true, null, "UTF-8" );
+        Assert.assertTrue( filters.isIncluded( jar1 ) );
+        Assert.assertFalse( filters.isIncluded( jar2 ) );
+        Assert.assertFalse( filters.isIncluded( jar3 ) );
+        filters = ArtifactFilters.of( "orgXgroup", null, null, null, null, null, null, null, true, null, "UTF-8" );
+        Assert.assertFalse( filters.isIncluded( jar1 ) );
+
+        // regular expressions combined in a single alternation
+        filters = ArtifactFilters.buidler()
+            .includeGas( "com\\..*:artifact[0-9]", "(org)\\.group1:.+", "(?i)ORG.*2" )
+            .excludeGas( "(a)\\1:.*" ).build();
+        Assert.assertTrue( filters.isIncluded( jar1 ) );
+        Assert.assertTrue( filters.isIncluded( jar2 ) );
+        Assert.assertTrue( filters.isIncluded( jar3 ) );
+        filters = ArtifactFilters.buidler().includeGas( "x", "(org)\\.group1:.+" ).build();
+        Assert.assertTrue( filters.isIncluded( jar1 ) );
+        Assert.assertFalse( filters.isIncluded( jar2 ) );
+    }
+
     @Test
     public void urlContent()
         throws IOException, InvalidVersionSpecificationException
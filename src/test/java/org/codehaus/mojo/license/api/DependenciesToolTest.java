@@ -0,0 +1,397 @@
+package org.codehaus.mojo.license.api;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.License;
+import org.apache.maven.model.building.ModelProblem;
+import org.apache.maven.model.building.ModelSource;
+import org.apache.maven.project.DefaultProjectBuildingRequest;
+import org.apache.maven.project.DependencyResolutionResult;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuilder;
+import org.apache.maven.project.ProjectBuildingException;
+import org.apache.maven.project.ProjectBuildingRequest;
+import org.apache.maven.project.ProjectBuildingResult;
+import org.codehaus.mojo.license.utils.MojoHelper;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DependenciesToolTest
+{
+    private static final int NB_ARTIFACTS = 12;
+
+    @Test
+    public void concurrentBuildsGiveSequentialResult() throws Exception
+    {
+        SortedMap<String, MavenProject> sequential = load( 1, null );
+        SlowProjectBuilder builder = new SlowProjectBuilder();
+        SortedMap<String, MavenProject> concurrent = load( 4, builder );
+
+        Assert.assertTrue( "the projects should be built concurrently", builder.maxRunning.get() > 1 );
+        Assert.assertEquals( sequential.keySet(), concurrent.keySet() );
+        Assert.assertEquals( NB_ARTIFACTS - 1, concurrent.size() );
+        for ( Artifact artifact : newArtifacts() )
+        {
+            String id = MojoHelper.getArtifactId( artifact );
+            if ( "broken".equals( artifact.getArtifactId() ) )
+            {
+                Assert.assertFalse( concurrent.containsKey( id ) );
+                continue;
+            }
+            MavenProject project = concurrent.get( id );
+            Assert.assertEquals( artifact.getScope(), project.getArtifact().getScope() );
+            Assert.assertEquals( artifact.getArtifactId() + " license",
+                                 ( (License) project.getLicenses().get( 0 ) ).getName() );
+        }
+        for ( AtomicInteger count : builder.builds.values() )
+        {
+            Assert.assertEquals( 1, count.get() );
+        }
+    }
+
+    @Test
+    public void cachedProjectsAreNotBuilt() throws Exception
+    {
+        DependencyCache cache = new DependencyCache( DependencyCache.DEFAULT_MAX_ENTRIES );
+        Artifact cached = newArtifacts().iterator().next();
+        cache.put( MojoHelper.getArtifactId( cached ), newProject( cached ) );
+
+        SlowProjectBuilder builder = new SlowProjectBuilder();
+        SortedMap<String, MavenProject> result = load( 4, builder, cache );
+
+        Assert.assertNull( builder.builds.get( MojoHelper.getArtifactId( cached ) ) );
+        Assert.assertEquals( NB_ARTIFACTS - 1, result.size() );
+        Assert.assertEquals( NB_ARTIFACTS - 1, builder.builds.size() );
+    }
+
+    @Test
+    public void plainConfiguratorBuildsSequentially() throws Exception
+    {
+        final MavenProjectDependenciesConfigurator configuration = newConfiguration( 4 );
+        MavenProjectDependenciesConfigurator plain = new MavenProjectDependenciesConfigurator()
+        {
+            @Override
+            public boolean isIncludeTransitiveDependencies()
+            {
+                return configuration.isIncludeTransitiveDependencies();
+            }
+
+            @Override
+            public boolean isExcludeTransitiveDependencies()
+            {
+                return configuration.isExcludeTransitiveDependencies();
+            }
+
+            @Override
+            public ArtifactFilters getArtifactFilters()
+            {
+                return configuration.getArtifactFilters();
+            }
+
+            @Override
+            public boolean isVerbose()
+            {
+                return configuration.isVerbose();
+            }
+        };
+        SlowProjectBuilder builder = new SlowProjectBuilder();
+        Set<Artifact> artifacts = newArtifacts();
+        SortedMap<String, MavenProject> result = newTool( builder ).loadProjectDependencies(
+                new ResolvedProjectDependencies( artifacts, artifacts ), plain,
+                Collections.<ArtifactRepository>emptyList(), (DependencyCache) null );
+
+        Assert.assertEquals( load( 1, null ).keySet(), result.keySet() );
+        Assert.assertEquals( 1, builder.maxRunning.get() );
+    }
+
+    @Test
+    public void onlyAFewBuildsAreStartedAhead() throws Exception
+    {
+        SlowProjectBuilder builder = new SlowProjectBuilder();
+        Map<String, Artifact> artifacts = new LinkedHashMap<>();
+        for ( Artifact artifact : newArtifacts() )
+        {
+            artifacts.put( MojoHelper.getArtifactId( artifact ), artifact );
+        }
+        try ( DependencyProjectBuilder projectBuilder = new DependencyProjectBuilder( builder,
+                new DefaultProjectBuildingRequest(), 2, null, new DefaultRepositorySystemSession() ) )
+        {
+            projectBuilder.prefetch( artifacts );
+            TimeUnit.MILLISECONDS.sleep( 100 );
+            Assert.assertEquals( 4, builder.builds.size() );
+
+            Map.Entry<String, Artifact> first = artifacts.entrySet().iterator().next();
+            Assert.assertEquals( first.getValue().getArtifactId(),
+                                 projectBuilder.build( first.getKey(), first.getValue() ).getArtifactId() );
+            TimeUnit.MILLISECONDS.sleep( 100 );
+            Assert.assertEquals( 5, builder.builds.size() );
+        }
+    }
+
+    @Test
+    @SuppressWarnings( "deprecation" )
+    public void mapCache() throws Exception
+    {
+        DependenciesTool tool = newTool( new SlowProjectBuilder() );
+        Set<Artifact> artifacts = newArtifacts();
+        SortedMap<String, MavenProject> cache = new TreeMap<>();
+        SortedMap<String, MavenProject> result =
+            tool.loadProjectDependencies( new ResolvedProjectDependencies( artifacts, artifacts ),
+                                          newConfiguration( 2 ), Collections.<ArtifactRepository>emptyList(),
+                                          cache );
+
+        Assert.assertEquals( result, cache );
+        Assert.assertEquals( NB_ARTIFACTS - 1, cache.size() );
+    }
+
+    private static SortedMap<String, MavenProject> load( int nbThreads, SlowProjectBuilder builder ) throws Exception
+    {
+        return load( nbThreads, builder != null ? builder : new SlowProjectBuilder(), null );
+    }
+
+    private static SortedMap<String, MavenProject> load( int nbThreads, ProjectBuilder builder,
+                                                         DependencyCache cache )
+        throws Exception
+    {
+        Set<Artifact> artifacts = newArtifacts();
+        return newTool( builder ).loadProjectDependencies( new ResolvedProjectDependencies( artifacts, artifacts ),
+                                                           newConfiguration( nbThreads ),
+                                                           Collections.<ArtifactRepository>emptyList(), cache );
+    }
+
+    private static DependenciesTool newTool( ProjectBuilder builder ) throws Exception
+    {
+        DependenciesTool tool = new DependenciesTool();
+        set( tool, "mavenProjectBuilder", builder );
+        set( tool, "mavenSession", new MavenSession( null, new DefaultRepositorySystemSession(),
+                                                     new DefaultMavenExecutionRequest(),
+                                                     new DefaultMavenExecutionResult() ) );
+        return tool;
+    }
+
+    private static MavenProjectDependenciesConfigurator newConfiguration( final int nbThreads )
+    {
+        return new DependencyBuildConfigurator()
+        {
+            @Override
+            public boolean isIncludeTransitiveDependencies()
+            {
+                return true;
+            }
+
+            @Override
+            public boolean isExcludeTransitiveDependencies()
+            {
+                return false;
+            }
+
+            @Override
+            public ArtifactFilters getArtifactFilters()
+            {
+                return ArtifactFilters.buidler().build();
+            }
+
+            @Override
+            public boolean isVerbose()
+            {
+                return false;
+            }
+
+            @Override
+            public int getDependencyThreads()
+            {
+                return nbThreads;
+            }
+
+            @Override
+            public File getLicenseMetadataCacheDirectory()
+            {
+                return null;
+            }
+        };
+    }
+
+    private static Set<Artifact> newArtifacts()
+    {
+        Set<Artifact> artifacts = new LinkedHashSet<>();
+        for ( int i = 0; i < NB_ARTIFACTS - 1; i++ )
+        {
+            artifacts.add( newArtifact( "a" + i, i % 2 == 0 ? "compile" : "runtime" ) );
+        }
+        artifacts.add( newArtifact( "broken", "compile" ) );
+        return artifacts;
+    }
+
+    private static Artifact newArtifact( String artifactId, String scope )
+    {
+        return new DefaultArtifact( "g", artifactId, "1.0", scope, "jar", null, new DefaultArtifactHandler( "jar" ) );
+    }
+
+    private static MavenProject newProject( Artifact artifact )
+    {
+        MavenProject project = new MavenProject();
+        project.setGroupId( artifact.getGroupId() );
+        project.setArtifactId( artifact.getArtifactId() );
+        project.setVersion( artifact.getVersion() );
+        project.setArtifact( newArtifact( artifact.getArtifactId(), null ) );
+        License license = new License();
+        license.setName( artifact.getArtifactId() + " license" );
+        project.getModel().addLicense( license );
+        return project;
+    }
+
+    private static void set( Object target, String name, Object value ) throws ReflectiveOperationException
+    {
+        Field field = DependenciesTool.class.getDeclaredField( name );
+        field.setAccessible( true );
+        field.set( target, value );
+    }
+
+    /**
+     * Builds the projects of the first artifacts slower than the ones of the last artifacts, so that they complete
+     * in another order than the dependencies when run concurrently.
+     */
+    private static class SlowProjectBuilder
+        implements ProjectBuilder
+    {
+        private final ConcurrentMap<String, AtomicInteger> builds = new ConcurrentHashMap<>();
+
+        private final AtomicInteger running = new AtomicInteger();
+
+        private final AtomicInteger maxRunning = new AtomicInteger();
+
+        @Override
+        public ProjectBuildingResult build( Artifact artifact, boolean allowStubModel,
+                                            ProjectBuildingRequest request )
+            throws ProjectBuildingException
+        {
+            String id = MojoHelper.getArtifactId( artifact );
+            builds.putIfAbsent( id, new AtomicInteger() );
+            builds.get( id ).incrementAndGet();
+            int nbRunning = running.incrementAndGet();
+            synchronized ( maxRunning )
+            {
+                maxRunning.set( Math.max( maxRunning.get(), nbRunning ) );
+            }
+            try
+            {
+                int index = Integer.parseInt( "0" + artifact.getArtifactId().replaceAll( "\\D", "" ) );
+                TimeUnit.MILLISECONDS.sleep( NB_ARTIFACTS - index );
+            }
+            catch ( InterruptedException e )
+            {
+                Thread.currentThread().interrupt();
+            }
+            finally
+            {
+                running.decrementAndGet();
+            }
+            if ( "broken".equals( artifact.getArtifactId() ) )
+            {
+                throw new ProjectBuildingException( id, "broken POM", (Throwable) null );
+            }
+            final MavenProject project = newProject( artifact );
+            return new ProjectBuildingResult()
+            {
+                @Override
+                public String getProjectId()
+                {
+                    return null;
+                }
+
+                @Override
+                public File getPomFile()
+                {
+                    return null;
+                }
+
+                @Override
+                public MavenProject getProject()
+                {
+                    return project;
+                }
+
+                @Override
+                public List<ModelProblem> getProblems()
+                {
+                    return new ArrayList<>();
+                }
+
+                @Override
+                public DependencyResolutionResult getDependencyResolutionResult()
+                {
+                    return null;
+                }
+            };
+        }
+
+        @Override
+        public ProjectBuildingResult build( File projectFile, ProjectBuildingRequest request )
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ProjectBuildingResult build( Artifact projectArtifact, ProjectBuildingRequest request )
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ProjectBuildingResult build( ModelSource modelSource, ProjectBuildingRequest request )
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<ProjectBuildingResult> build( List<File> pomFiles, boolean recursive,
+                                                  ProjectBuildingRequest request )
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
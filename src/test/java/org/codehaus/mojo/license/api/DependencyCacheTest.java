@@ -0,0 +1,97 @@
+package org.codehaus.mojo.license.api;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.SortedMap;
+
+import org.apache.maven.model.License;
+import org.apache.maven.project.MavenProject;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DependencyCacheTest
+{
+    @Test
+    public void slimRecord()
+    {
+        License license = new License();
+        license.setName( "MIT" );
+        MavenProject project = DependencyCache.newProject( "org.example", "lib", "1.0", "jar", "tests", "Library",
+                                                           "https://example.org",
+                                                           Collections.singletonList( license ) );
+        project.getArtifact().setScope( "test" );
+
+        DependencyCache cache = new DependencyCache( 10 );
+        cache.put( "org.example--lib--1.0", project );
+        license.setName( "changed" );
+
+        MavenProject cached = cache.get( "org.example--lib--1.0" );
+        Assert.assertNotSame( project, cached );
+        Assert.assertEquals( "Library", cached.getName() );
+        Assert.assertEquals( "https://example.org", cached.getUrl() );
+        Assert.assertEquals( "tests", cached.getArtifact().getClassifier() );
+        Assert.assertEquals( "test", cached.getArtifact().getScope() );
+        Assert.assertEquals( "MIT", cached.getLicenses().get( 0 ).getName() );
+        Assert.assertNull( cache.get( "org.example--other--1.0" ) );
+        Assert.assertEquals( "1/10 entries, 1 hits, 1 misses, 0 evictions", cache.getStatistics() );
+    }
+
+    @Test
+    public void evictLeastRecentlyUsed()
+    {
+        DependencyCache cache = new DependencyCache( 2 );
+        cache.put( "a", newProject( "a" ) );
+        cache.put( "b", newProject( "b" ) );
+        Assert.assertNotNull( cache.get( "a" ) );
+        cache.put( "c", newProject( "c" ) );
+
+        Assert.assertTrue( cache.contains( "a" ) );
+        Assert.assertFalse( cache.contains( "b" ) );
+        Assert.assertTrue( cache.contains( "c" ) );
+        Assert.assertEquals( "2/2 entries, 1 hits, 0 misses, 1 evictions", cache.getStatistics() );
+    }
+
+    @Test
+    public void toMapIsACopy()
+    {
+        DependencyCache cache = new DependencyCache( 10 );
+        cache.put( "b", newProject( "b" ) );
+        cache.put( "a", newProject( "a" ) );
+
+        SortedMap<String, MavenProject> map = cache.toMap();
+        Assert.assertEquals( Arrays.asList( "a", "b" ), new ArrayList<>( map.keySet() ) );
+        Assert.assertEquals( "a", map.get( "a" ).getName() );
+        map.remove( "a" );
+        Assert.assertTrue( cache.contains( "a" ) );
+        Assert.assertEquals( "2/10 entries, 0 hits, 0 misses, 0 evictions", cache.getStatistics() );
+    }
+
+    private static MavenProject newProject( String artifactId )
+    {
+        return DependencyCache.newProject( "org.example", artifactId, "1.0", "jar", null, artifactId, null,
+                                           Collections.<License>emptyList() );
+    }
+}
@@ -25,6 +25,7 @@ package org.codehaus.mojo.license.api;
 import java.util.HashMap;
 import java.util.Map;
 
+import freemarker.template.Template;
 import org.apache.maven.artifact.DefaultArtifact;
 import org.apache.maven.artifact.versioning.VersionRange;
 import org.apache.maven.project.MavenProject;
@@ -142,4 +143,18 @@ public class FreeMarkerHelperTest
         Assert.assertEquals( "projectName\n$Id:$\n$HeadURL:$", s );
         LOG.info( "{}", s );
     }
+
+    @Test
+    public void testIsUsingVariable()
+        throws Exception
+    {
+        FreeMarkerHelper helper = FreeMarkerHelper.newDefaultHelper();
+        Template template = helper.getTemplate( "/org/codehaus/mojo/license/default-file-header-description.ftl" );
+        Assert.assertFalse( FreeMarkerHelper.isUsingVariable( template, "file" ) );
+        Assert.assertTrue( FreeMarkerHelper.isUsingVariable( template, "projectName" ) );
+
+        helper = FreeMarkerHelper.newHelperFromContent( "<#-- no file here -->${projectName} - ${file.name}" );
+        template = helper.getTemplate( FreeMarkerHelper.TEMPLATE );
+        Assert.assertTrue( FreeMarkerHelper.isUsingVariable( template, "file" ) );
+    }
 }
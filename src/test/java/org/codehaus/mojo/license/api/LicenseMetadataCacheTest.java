@@ -0,0 +1,81 @@
+package org.codehaus.mojo.license.api;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.model.License;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LicenseMetadataCacheTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void releaseRoundTrip()
+    {
+        File directory = new File( folder.getRoot(), "metadata" );
+        Artifact artifact = new DefaultArtifact( "org.example", "lib", "1.0", "compile", "jar", null,
+                                                 new DefaultArtifactHandler( "jar" ) );
+
+        LicenseMetadataCache cache = new LicenseMetadataCache( directory, null );
+        Assert.assertNull( cache.get( artifact ) );
+
+        Model model = new Model();
+        model.setGroupId( "org.example" );
+        model.setArtifactId( "lib" );
+        model.setVersion( "1.0" );
+        model.setPackaging( "bundle" );
+        model.setName( "Example library" );
+        License license = new License();
+        license.setName( "The Apache Software License, Version 2.0" );
+        license.setUrl( "https://www.apache.org/licenses/LICENSE-2.0.txt" );
+        license.setDistribution( "repo" );
+        model.addLicense( license );
+        model.addLicense( new License() );
+        cache.put( artifact, new MavenProject( model ) );
+
+        MavenProject project = new LicenseMetadataCache( directory, null ).get( artifact );
+        Assert.assertNotNull( project );
+        Assert.assertEquals( "Example library", project.getName() );
+        Assert.assertNull( project.getUrl() );
+        Assert.assertEquals( "bundle", project.getArtifact().getType() );
+        Assert.assertEquals( "1.0", project.getArtifact().getVersion() );
+        Assert.assertEquals( 2, project.getLicenses().size() );
+        License cached = project.getLicenses().get( 0 );
+        Assert.assertEquals( license.getName(), cached.getName() );
+        Assert.assertEquals( license.getUrl(), cached.getUrl() );
+        Assert.assertEquals( "repo", cached.getDistribution() );
+        Assert.assertNull( cached.getComments() );
+        Assert.assertNull( project.getLicenses().get( 1 ).getName() );
+    }
+}
@@ -0,0 +1,132 @@
+package org.codehaus.mojo.license.api;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ThirdPartyDescriptorMissCacheTest
+{
+    private static final long TTL = TimeUnit.HOURS.toMillis( 1 );
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final RemoteRepository central =
+            new RemoteRepository.Builder( "central", "default", "https://repo.maven.apache.org/maven2" ).build();
+
+    private final RemoteRepository other =
+            new RemoteRepository.Builder( "other", "default", "https://repo.example.com/maven2" ).build();
+
+    @Test
+    public void missesAreStored() throws IOException
+    {
+        File file = new File( folder.getRoot(), "misses.properties" );
+        List<RemoteRepository> repositories = Collections.singletonList( central );
+
+        ThirdPartyDescriptorMissCache cache = ThirdPartyDescriptorMissCache.load( file, TTL );
+        Assert.assertFalse( cache.isMissing( "g", "a", "1.0", repositories ) );
+        cache.putMissing( "g", "a", "1.0", repositories );
+        Assert.assertTrue( cache.isMissing( "g", "a", "1.0", repositories ) );
+        cache.store();
+
+        cache = ThirdPartyDescriptorMissCache.load( file, TTL );
+        Assert.assertTrue( cache.isMissing( "g", "a", "1.0", repositories ) );
+        Assert.assertFalse( cache.isMissing( "g", "a", "2.0", repositories ) );
+
+        // a new repository may have the descriptor
+        Assert.assertFalse( cache.isMissing( "g", "a", "1.0", Arrays.asList( central, other ) ) );
+    }
+
+    @Test
+    public void expiredMissesAreForgotten() throws IOException
+    {
+        File file = new File( folder.getRoot(), "misses.properties" );
+        List<RemoteRepository> repositories = Collections.singletonList( central );
+
+        ThirdPartyDescriptorMissCache cache = ThirdPartyDescriptorMissCache.load( file, TTL );
+        cache.putMissing( "g", "a", "1.0", repositories );
+        cache.store();
+
+        cache = ThirdPartyDescriptorMissCache.load( file, -1L );
+        Assert.assertFalse( cache.isMissing( "g", "a", "1.0", repositories ) );
+    }
+
+    @Test
+    public void snapshotsAreNotCached() throws IOException
+    {
+        File file = new File( folder.getRoot(), "misses.properties" );
+        List<RemoteRepository> repositories = Collections.singletonList( central );
+
+        ThirdPartyDescriptorMissCache cache = ThirdPartyDescriptorMissCache.load( file, TTL );
+        cache.putMissing( "g", "a", "1.0-SNAPSHOT", repositories );
+        Assert.assertFalse( cache.isMissing( "g", "a", "1.0-SNAPSHOT", repositories ) );
+    }
+
+    @Test
+    public void sharedBySession() throws IOException
+    {
+        File file = new File( folder.getRoot(), "misses.properties" );
+        DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+
+        ThirdPartyDescriptorMissCache cache = ThirdPartyDescriptorMissCache.forSession( session, file, TTL );
+        Assert.assertSame( cache, ThirdPartyDescriptorMissCache.forSession( session, file, TTL ) );
+        Assert.assertNotSame( cache, ThirdPartyDescriptorMissCache.forSession( session,
+                new File( folder.getRoot(), "other.properties" ), TTL ) );
+        Assert.assertNotSame( cache, ThirdPartyDescriptorMissCache.forSession( new DefaultRepositorySystemSession(),
+                file, TTL ) );
+    }
+
+    @Test
+    public void missesAreStoredOnce() throws IOException
+    {
+        File file = new File( folder.getRoot(), "misses.properties" );
+        List<RemoteRepository> repositories = Collections.singletonList( central );
+
+        ThirdPartyDescriptorMissCache cache = ThirdPartyDescriptorMissCache.load( file, TTL );
+        cache.putMissing( "g", "a", "1.0", repositories );
+        cache.store();
+        Assert.assertTrue( file.delete() );
+
+        // nothing new to store
+        cache.store();
+        Assert.assertFalse( file.exists() );
+
+        cache.putMissing( "g", "b", "1.0", repositories );
+        cache.store();
+        cache = ThirdPartyDescriptorMissCache.load( file, TTL );
+        Assert.assertTrue( cache.isMissing( "g", "b", "1.0", repositories ) );
+        Assert.assertFalse( cache.isMissing( "g", "a", "1.0", repositories ) );
+    }
+}
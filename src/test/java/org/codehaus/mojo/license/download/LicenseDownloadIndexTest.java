@@ -0,0 +1,86 @@
+package org.codehaus.mojo.license.download;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+
+import org.codehaus.mojo.license.utils.FileUtil;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LicenseDownloadIndexTest
+{
+    private static final String URL = "https://example.com/LICENSE";
+
+    private static final String LAST_MODIFIED = "Wed, 21 Oct 2015 07:28:00 GMT";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void storedValidators() throws IOException
+    {
+        File indexFile = new File( folder.getRoot(), "index.properties" );
+        File file = newFile( "license.txt", "Some license" );
+
+        LicenseDownloadIndex index = LicenseDownloadIndex.load( indexFile, folder.getRoot(), false, null );
+        Assert.assertNull( index.get( URL, file, false ) );
+        index.put( URL, file, FileUtil.sha1( file.toPath() ), "\"abc\"", LAST_MODIFIED );
+        index.store();
+
+        index = LicenseDownloadIndex.load( indexFile, folder.getRoot(), false, null );
+        LicenseDownloadIndex.Entry entry = index.get( URL, new File( folder.getRoot(), "other.txt" ), false );
+        Assert.assertNotNull( entry );
+        Assert.assertEquals( "\"abc\"", entry.getEtag() );
+        Assert.assertEquals( LAST_MODIFIED, entry.getLastModified() );
+        Assert.assertEquals( file, index.getFile( entry ) );
+
+        Assert.assertNull( index.get( URL, new File( folder.getRoot(), "other.txt" ), true ) );
+        Assert.assertNotNull( index.get( URL, new File( folder.getRoot(), "license.html" ), true ) );
+    }
+
+    @Test
+    public void changedFile() throws IOException
+    {
+        File indexFile = new File( folder.getRoot(), "index.properties" );
+        File file = newFile( "license.txt", "Some license" );
+
+        LicenseDownloadIndex index = LicenseDownloadIndex.load( indexFile, folder.getRoot(), false, null );
+        index.put( URL, file, FileUtil.sha1( file.toPath() ), null, LAST_MODIFIED );
+        index.store();
+
+        FileUtil.printString( file, "Some other license", "UTF-8" );
+        index = LicenseDownloadIndex.load( indexFile, folder.getRoot(), false, null );
+        Assert.assertNull( index.get( URL, file, false ) );
+    }
+
+    private File newFile( String name, String content ) throws IOException
+    {
+        File file = new File( folder.getRoot(), name );
+        FileUtil.printString( file, content, "UTF-8" );
+        return file;
+    }
+}
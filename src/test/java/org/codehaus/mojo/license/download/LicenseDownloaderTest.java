@@ -23,7 +23,10 @@ package org.codehaus.mojo.license.download;
  */
 
 import java.io.File;
+import java.util.Collections;
+import java.util.List;
 
+import org.codehaus.mojo.license.spdx.SpdxLicenseList.Attachments.ContentSanitizer;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -36,6 +39,24 @@ public class LicenseDownloaderTest
         assertExtension( "path/to/file.txt", "path/to/file", null );
     }
 
+    @Test
+    public void licenseKeyDependsOnSanitizers()
+    {
+        final String url = "https://example.com/LICENSE";
+        final List<ContentSanitizer> none = Collections.emptyList();
+        final List<ContentSanitizer> trim =
+            Collections.singletonList( ContentSanitizer.compile( "trim", ".*", "\\s+$", "" ) );
+        final List<ContentSanitizer> other =
+            Collections.singletonList( ContentSanitizer.compile( "other", ".*", "\\s+$", "\n" ) );
+
+        Assert.assertEquals( url, LicenseDownloader.getLicenseKey( url, none ) );
+        Assert.assertNotEquals( url, LicenseDownloader.getLicenseKey( url, trim ) );
+        Assert.assertEquals( LicenseDownloader.getLicenseKey( url, trim ),
+                             LicenseDownloader.getLicenseKey( url, trim ) );
+        Assert.assertNotEquals( LicenseDownloader.getLicenseKey( url, trim ),
+                                LicenseDownloader.getLicenseKey( url, other ) );
+    }
+
     private static void assertExtension( String expected, String input, String mimeType )
     {
         final File in = new File( input );
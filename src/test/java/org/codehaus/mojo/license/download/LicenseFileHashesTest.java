@@ -0,0 +1,86 @@
+package org.codehaus.mojo.license.download;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+
+import org.codehaus.mojo.license.utils.FileUtil;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LicenseFileHashesTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void memoizedSha1() throws IOException
+    {
+        File hashesFile = new File( folder.getRoot(), "hashes.properties" );
+        File file = newFile( "license.txt", "Some license" );
+        String sha1 = FileUtil.sha1( file.toPath() );
+
+        LicenseFileHashes hashes = LicenseFileHashes.load( hashesFile );
+        Assert.assertEquals( sha1, hashes.sha1( file ) );
+        hashes.store();
+
+        // same size and last modification time: the memoized sha1 is used without reading the file
+        long lastModified = file.lastModified();
+        FileUtil.printString( file, "Some licensf", "UTF-8" );
+        Assert.assertTrue( file.setLastModified( lastModified ) );
+        hashes = LicenseFileHashes.load( hashesFile );
+        Assert.assertEquals( sha1, hashes.sha1( file ) );
+
+        Assert.assertTrue( file.setLastModified( lastModified - 10000L ) );
+        Assert.assertEquals( FileUtil.sha1( file.toPath() ), hashes.sha1( file ) );
+    }
+
+    @Test
+    public void recentlyModifiedFileNotMemoized() throws IOException
+    {
+        File hashesFile = new File( folder.getRoot(), "hashes.properties" );
+        File file = new File( folder.getRoot(), "license.txt" );
+        FileUtil.printString( file, "Some license", "UTF-8" );
+
+        LicenseFileHashes hashes = LicenseFileHashes.load( hashesFile );
+        hashes.sha1( file );
+        hashes.store();
+
+        long lastModified = file.lastModified();
+        FileUtil.printString( file, "Some licensf", "UTF-8" );
+        Assert.assertTrue( file.setLastModified( lastModified ) );
+        hashes = LicenseFileHashes.load( hashesFile );
+        Assert.assertEquals( FileUtil.sha1( file.toPath() ), hashes.sha1( file ) );
+    }
+
+    private File newFile( String name, String content ) throws IOException
+    {
+        File file = new File( folder.getRoot(), name );
+        FileUtil.printString( file, content, "UTF-8" );
+        Assert.assertTrue( file.setLastModified( file.lastModified() - 60000L ) );
+        return file;
+    }
+}
@@ -23,6 +23,7 @@ package org.codehaus.mojo.license.download;
  */
 
 import java.util.List;
+import java.util.regex.Pattern;
 
 import org.codehaus.mojo.license.download.LicenseMatchers.DependencyMatcher;
 import org.codehaus.mojo.license.download.LicenseMatchers.LicenseMatcher;
@@ -156,4 +157,39 @@ public class LicenseMatchersTest
 
     }
 
+    @Test
+    public void literalKey()
+    {
+        Assert.assertEquals( "mygroup", LicenseMatchers.literalKey( Pattern.compile( "myGroup" ) ) );
+        Assert.assertEquals( "my.group", LicenseMatchers.literalKey( Pattern.compile( Pattern.quote( "my.Group" ) ) ) );
+        Assert.assertEquals( "", LicenseMatchers.literalKey( Pattern.compile( "" ) ) );
+        Assert.assertNull( LicenseMatchers.literalKey( Pattern.compile( "my.group" ) ) );
+        Assert.assertNull( LicenseMatchers.literalKey( Pattern.compile( "\\Qa\\E\\s+\\Qb\\E" ) ) );
+        Assert.assertNull( LicenseMatchers.literalKey( Pattern.compile( "a b", Pattern.COMMENTS ) ) );
+    }
+
+    @Test
+    public void replaceMatchesLastMatchWins()
+    {
+        final ProjectLicenseInfo pattern = new ProjectLicenseInfo( "my.*", "myArtifact", null, true );
+        // only matches once the licenses were replaced by the literal matcher
+        pattern.addMatchLicense( new ProjectLicense( "literal", null, null, null, null ) );
+        pattern.addLicense( new ProjectLicense( "pattern", null, null, null, null ) );
+        final ProjectLicenseInfo literal = new ProjectLicenseInfo( "MYGROUP", "myArtifact", null, true );
+        literal.addLicense( new ProjectLicense( "literal", null, null, null, null ) );
+        final ProjectLicenseInfo other = new ProjectLicenseInfo( "otherGroup", "myArtifact", null, true );
+        other.addLicense( new ProjectLicense( "other", null, null, null, null ) );
+
+        ProjectLicenseInfo dep = new ProjectLicenseInfo( "myGroup", "myArtifact", "1.0" );
+        LicenseMatchers.builder().matcher( DependencyMatcher.of( literal ) ).matcher( DependencyMatcher.of( other ) )
+            .matcher( DependencyMatcher.of( pattern ) ).build().replaceMatches( dep );
+        Assert.assertEquals( "pattern", dep.getLicenses().get( 0 ).getName() );
+        Assert.assertTrue( dep.isApproved() );
+
+        dep = new ProjectLicenseInfo( "myGroup", "myArtifact", "1.0" );
+        LicenseMatchers.builder().matcher( DependencyMatcher.of( pattern ) ).matcher( DependencyMatcher.of( other ) )
+            .matcher( DependencyMatcher.of( literal ) ).build().replaceMatches( dep );
+        Assert.assertEquals( "literal", dep.getLicenses().get( 0 ).getName() );
+    }
+
 }
@@ -0,0 +1,88 @@
+package org.codehaus.mojo.license.download;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+
+import org.codehaus.mojo.license.utils.FileUtil;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LicenseStoreTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void storedContent() throws IOException
+    {
+        File storeDirectory = new File( folder.getRoot(), "store" );
+        File file = newFile( "license.txt", "Some license" );
+        String sha1 = FileUtil.sha1( file.toPath() );
+
+        LicenseStore store = LicenseStore.open( storeDirectory, 1024L );
+        Assert.assertNull( store.get( "https://example.com/LICENSE" ) );
+        store.put( "https://example.com/LICENSE", file, sha1, "text/plain" );
+        store.store();
+
+        store = LicenseStore.open( storeDirectory, 1024L );
+        LicenseStore.Entry entry = store.get( "https://example.com/LICENSE" );
+        Assert.assertNotNull( entry );
+        Assert.assertEquals( sha1, entry.getSha1() );
+        Assert.assertEquals( "text/plain", entry.getMimeType() );
+
+        File copy = new File( folder.getRoot(), "copy.txt" );
+        store.copyTo( entry, copy );
+        Assert.assertEquals( sha1, FileUtil.sha1( copy.toPath() ) );
+    }
+
+    @Test
+    public void leastRecentlyUsedEvicted() throws IOException
+    {
+        File storeDirectory = new File( folder.getRoot(), "store" );
+        File file1 = newFile( "license1.txt", "0123456789" );
+        File file2 = newFile( "license2.txt", "abcdefghij" );
+
+        LicenseStore store = LicenseStore.open( storeDirectory, 15L );
+        store.put( "url1", file1, FileUtil.sha1( file1.toPath() ), null );
+        File object1 = FileUtil.getFile( storeDirectory, "objects", FileUtil.sha1( file1.toPath() ).substring( 0, 2 ),
+                FileUtil.sha1( file1.toPath() ) );
+        Assert.assertTrue( object1.setLastModified( System.currentTimeMillis() - 60000L ) );
+        store.put( "url2", file2, FileUtil.sha1( file2.toPath() ), null );
+        store.store();
+
+        store = LicenseStore.open( storeDirectory, 15L );
+        Assert.assertNull( store.get( "url1" ) );
+        Assert.assertNotNull( store.get( "url2" ) );
+    }
+
+    private File newFile( String name, String content ) throws IOException
+    {
+        File file = new File( folder.getRoot(), name );
+        FileUtil.printString( file, content, "UTF-8" );
+        return file;
+    }
+}
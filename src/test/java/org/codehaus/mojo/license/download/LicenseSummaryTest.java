@@ -5,11 +5,9 @@ import org.codehaus.mojo.license.download.LicenseSummaryReader;
 import org.codehaus.mojo.license.download.LicenseSummaryWriter;
 import org.junit.Assert;
 import org.junit.Test;
-import org.xml.sax.SAXException;
 
-import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactoryConfigurationError;
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -26,13 +24,12 @@ public class LicenseSummaryTest
     /**
      * Test reading the license summary xml file into ProjectLicenseInfo objects
      *
-     * @throws IOException                  if any
-     * @throws ParserConfigurationException if any
-     * @throws SAXException                 if any
+     * @throws IOException        if any
+     * @throws XMLStreamException if any
      */
     @Test
     public void testReadLicenseSummary()
-        throws IOException, SAXException, ParserConfigurationException
+        throws IOException, XMLStreamException
     {
         File licenseSummaryFile = new File( "src/test/resources/license-summary-test.xml" );
         Assert.assertTrue( licenseSummaryFile.exists() );
@@ -58,16 +55,12 @@ public class LicenseSummaryTest
      * Test writing license information to a license.xml file and then read this file
      * back in to make sure it's ok.
      *
-     * @throws IOException                          if any
-     * @throws ParserConfigurationException         if any
-     * @throws TransformerFactoryConfigurationError if any
-     * @throws TransformerException                 if any
-     * @throws SAXException                         if any
+     * @throws IOException        if any
+     * @throws XMLStreamException if any
      */
     @Test
     public void testWriteReadLicenseSummary()
-        throws IOException, SAXException, ParserConfigurationException, TransformerFactoryConfigurationError,
-        TransformerException
+        throws IOException, XMLStreamException
     {
         List<ProjectLicenseInfo> licSummary = new ArrayList<>();
         ProjectLicenseInfo dep1 = new ProjectLicenseInfo( "org.test", "test1", "1.0" );
@@ -132,6 +125,29 @@ public class LicenseSummaryTest
 
     }
 
+    @Test
+    public void readDependenciesOneByOne()
+        throws XMLStreamException
+    {
+        String xml = "<licenseSummary><dependencies>"
+            + "<dependency><groupId>g1</groupId><artifactId>a1</artifactId></dependency>"
+            + "<dependency><groupId>g2</groupId><unknown><groupId>x</groupId></unknown>"
+            + "<licenses approved=\"true\"/></dependency>"
+            + "</dependencies><dependencies><dependency/></dependencies></licenseSummary>";
+        try ( LicenseSummaryReader reader =
+            new LicenseSummaryReader( new ByteArrayInputStream( xml.getBytes( StandardCharsets.UTF_8 ) ) ) )
+        {
+            ProjectLicenseInfo dep = reader.next();
+            Assert.assertEquals( "g1", dep.getGroupId() );
+            Assert.assertEquals( "a1", dep.getArtifactId() );
+            dep = reader.next();
+            Assert.assertEquals( "g2", dep.getGroupId() );
+            Assert.assertTrue( dep.isApproved() );
+            // only the first dependencies element is read
+            Assert.assertNull( reader.next() );
+        }
+    }
+
     @Test
     public void patternOrText()
     {
@@ -315,6 +315,25 @@ public class AbstractFileHeaderTransformerTest
         Assert.assertTrue(transformer.isTrimHeaderLine());
     }
 
+    @Test
+    public void testBoxCommentTrimHeaderLine()
+    {
+        transformer.setTrimHeaderLine( true );
+        transformer.setLineSeparator( "\n" );
+        Assert.assertEquals( " * line 1\n *\n *   line 3\n",
+                             transformer.boxComment( "line 1  \r\n\n  line 3\n\n", false ) );
+    }
+
+    @Test
+    public void testEqualsIgnoreSpaces()
+    {
+        Assert.assertTrue( AbstractFileHeaderTransformer.equalsIgnoreSpaces( "a b\r\n\tc ", " abc" ) );
+        Assert.assertTrue( AbstractFileHeaderTransformer.equalsIgnoreSpaces( " \n", "" ) );
+        Assert.assertFalse( AbstractFileHeaderTransformer.equalsIgnoreSpaces( "a b c", "ab" ) );
+        // only the characters matched by \s are ignored
+        Assert.assertFalse( AbstractFileHeaderTransformer.equalsIgnoreSpaces( "a\u00a0b", "ab" ) );
+    }
+
     public static void assertEquals( FileHeader model, FileHeader model2 )
     {
         Assert.assertEquals( model.getDescription(), model2.getDescription() );
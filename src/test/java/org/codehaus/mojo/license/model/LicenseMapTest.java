@@ -0,0 +1,196 @@
+package org.codehaus.mojo.license.model;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.mojo.license.utils.MojoHelper;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LicenseMapTest
+{
+    @Test
+    public void reverseIndex()
+    {
+        MavenProject a = newProject( "a" );
+        MavenProject b = newProject( "b" );
+        LicenseMap licenseMap = new LicenseMap();
+        licenseMap.put( "MIT", a );
+        licenseMap.put( "Apache", a );
+        licenseMap.put( "Apache", b );
+
+        Assert.assertEquals( new HashSet<>( Arrays.asList( "Apache", "MIT" ) ), licenseMap.getLicenses( a ) );
+        // another instance of the same artifact
+        Assert.assertEquals( Collections.singleton( "Apache" ), licenseMap.getLicenses( newProject( "b" ) ) );
+
+        SortedMap<MavenProject, String[]> dependencyMap = licenseMap.toDependencyMap();
+        Assert.assertArrayEquals( new String[] { "Apache", "MIT" }, dependencyMap.get( a ) );
+        // a new map each time
+        dependencyMap.remove( a );
+        Assert.assertArrayEquals( new String[] { "Apache", "MIT" }, licenseMap.toDependencyMap().get( a ) );
+
+        // modified through the set of the map
+        licenseMap.get( "Apache" ).remove( newProject( "a" ) );
+        Assert.assertEquals( Collections.singleton( "MIT" ), licenseMap.getLicenses( a ) );
+        Assert.assertArrayEquals( new String[] { "MIT" }, licenseMap.toDependencyMap().get( a ) );
+
+        licenseMap.remove( "MIT" );
+        Assert.assertTrue( licenseMap.getLicenses( a ).isEmpty() );
+        Assert.assertFalse( licenseMap.toDependencyMap().containsKey( a ) );
+    }
+
+    @Test
+    public void removeLicense()
+    {
+        MavenProject a = newProject( "a" );
+        LicenseMap licenseMap = new LicenseMap();
+        licenseMap.put( "MIT", a );
+        licenseMap.put( "Apache", a );
+
+        SortedSet<MavenProject> removed = licenseMap.remove( "MIT" );
+        Assert.assertEquals( Collections.singleton( a ), removed );
+        Assert.assertEquals( Collections.singleton( "Apache" ), licenseMap.getLicenses( a ) );
+
+        // no more part of the map
+        removed.add( newProject( "b" ) );
+        Assert.assertTrue( licenseMap.getLicenses( newProject( "b" ) ).isEmpty() );
+    }
+
+    @Test
+    public void modifiedThroughViews()
+    {
+        MavenProject a = newProject( "a" );
+        MavenProject b = newProject( "b" );
+        LicenseMap licenseMap = new LicenseMap();
+        licenseMap.put( "Apache", a );
+        licenseMap.put( "BSD", b );
+        licenseMap.put( "GPL", a );
+        licenseMap.put( "MIT", a );
+
+        Iterator<Map.Entry<String, SortedSet<MavenProject>>> entries = licenseMap.entrySet().iterator();
+        entries.next();
+        entries.remove();
+        Assert.assertEquals( new HashSet<>( Arrays.asList( "GPL", "MIT" ) ), licenseMap.getLicenses( a ) );
+
+        Map.Entry<String, SortedSet<MavenProject>> entry = entries.next();
+        Assert.assertEquals( "BSD", entry.getKey() );
+        SortedSet<MavenProject> projects = new TreeSet<>( MojoHelper.newMavenProjectComparator() );
+        projects.add( a );
+        entry.setValue( projects );
+        Assert.assertTrue( licenseMap.getLicenses( b ).isEmpty() );
+        Assert.assertEquals( new HashSet<>( Arrays.asList( "BSD", "GPL", "MIT" ) ), licenseMap.getLicenses( a ) );
+        Assert.assertEquals( Collections.singleton( a ), licenseMap.get( "BSD" ) );
+
+        licenseMap.keySet().remove( "GPL" );
+        Iterator<SortedSet<MavenProject>> values = licenseMap.values().iterator();
+        values.next();
+        values.remove();
+        Assert.assertEquals( Collections.singleton( "MIT" ), licenseMap.getLicenses( a ) );
+        Assert.assertEquals( Collections.singleton( "MIT" ), licenseMap.keySet() );
+        Assert.assertEquals( 1, licenseMap.toDependencyMap().size() );
+    }
+
+    @Test( expected = UnsupportedOperationException.class )
+    public void readOnlySubMap()
+    {
+        LicenseMap licenseMap = new LicenseMap();
+        licenseMap.put( "MIT", newProject( "a" ) );
+        licenseMap.headMap( "Z" ).remove( "MIT" );
+    }
+
+    @Test
+    public void removeProject()
+    {
+        MavenProject a = newProject( "a" );
+        LicenseMap licenseMap = new LicenseMap();
+        licenseMap.put( "MIT", a );
+        licenseMap.put( "Apache", a );
+        licenseMap.put( "Apache", newProject( "b" ) );
+
+        licenseMap.removeProject( a );
+        Assert.assertTrue( licenseMap.getLicenses( a ).isEmpty() );
+        Assert.assertTrue( licenseMap.get( "MIT" ).isEmpty() );
+        Assert.assertEquals( 1, licenseMap.get( "Apache" ).size() );
+    }
+
+    @Test
+    public void orderByName()
+    {
+        LicenseMap licenseMap = new LicenseMap();
+        licenseMap.put( "MIT", newProject( "a" ) );
+        licenseMap.put( "MIT", newProject( "b" ) );
+
+        LicenseMap byName = licenseMap.toLicenseMapOrderByName();
+        Assert.assertEquals( 2, byName.get( "MIT" ).size() );
+        Assert.assertEquals( Collections.singleton( "MIT" ), byName.getLicenses( newProject( "b" ) ) );
+    }
+
+    @Test
+    public void orderByNameWithSameName()
+    {
+        MavenProject a = newProject( "a", "lib" );
+        MavenProject b = newProject( "b", "lib" );
+        LicenseMap licenseMap = new LicenseMap();
+        licenseMap.put( "MIT", a );
+        licenseMap.put( "Apache", b );
+
+        // the same dependency for the comparator of the map
+        LicenseMap byName = licenseMap.toLicenseMapOrderByName();
+        Assert.assertEquals( new HashSet<>( Arrays.asList( "Apache", "MIT" ) ), byName.getLicenses( a ) );
+        Assert.assertEquals( 1, byName.toDependencyMap().size() );
+
+        byName.removeProject( b );
+        Assert.assertTrue( byName.getLicenses( a ).isEmpty() );
+        Assert.assertTrue( byName.get( "MIT" ).isEmpty() );
+    }
+
+    private static MavenProject newProject( String artifactId )
+    {
+        return newProject( artifactId, artifactId );
+    }
+
+    private static MavenProject newProject( String artifactId, String name )
+    {
+        Model model = new Model();
+        model.setGroupId( "org.example" );
+        model.setArtifactId( artifactId );
+        model.setVersion( "1.0" );
+        model.setName( name );
+        MavenProject project = new MavenProject( model );
+        project.setArtifact( new DefaultArtifact( "org.example", artifactId, "1.0", "compile", "jar", null,
+                                                  new DefaultArtifactHandler( "jar" ) ) );
+        return project;
+    }
+}
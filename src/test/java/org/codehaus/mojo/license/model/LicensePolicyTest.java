@@ -0,0 +1,91 @@
+package org.codehaus.mojo.license.model;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LicensePolicyTest
+{
+    @Test
+    public void excludedLicense()
+    {
+        LicenseMap licenseMap = new LicenseMap();
+        licenseMap.put( "GPL", newProject( "a" ) );
+        licenseMap.put( "Apache", newProject( "a" ) );
+        licenseMap.put( "MIT", newProject( "b" ) );
+
+        LicenseMap violations =
+            new LicensePolicy( null, Collections.singletonList( "GPL" ) ).getViolations( licenseMap );
+        Assert.assertEquals( Collections.singleton( "GPL" ), violations.keySet() );
+        Assert.assertEquals( 1, violations.get( "GPL" ).size() );
+    }
+
+    @Test
+    public void includedLicenses()
+    {
+        LicenseMap licenseMap = new LicenseMap();
+        // dual licensed
+        licenseMap.put( "GPL", newProject( "a" ) );
+        licenseMap.put( "Apache", newProject( "a" ) );
+        licenseMap.put( "GPL", newProject( "b" ) );
+        licenseMap.put( "GPL", newProject( "c" ) );
+        licenseMap.put( "MIT", newProject( "d" ) );
+
+        LicenseMap violations =
+            new LicensePolicy( Arrays.asList( "Apache", "MIT" ), null ).getViolations( licenseMap );
+        Assert.assertEquals( Collections.singleton( "GPL" ), violations.keySet() );
+        // every violating dependency is reported, but not the dual licensed one
+        Assert.assertEquals( 2, violations.get( "GPL" ).size() );
+        Assert.assertEquals( "b", violations.get( "GPL" ).first().getArtifactId() );
+        Assert.assertEquals( "c", violations.get( "GPL" ).last().getArtifactId() );
+    }
+
+    @Test
+    public void noPolicy()
+    {
+        LicenseMap licenseMap = new LicenseMap();
+        licenseMap.put( "GPL", newProject( "a" ) );
+
+        Assert.assertTrue( new LicensePolicy( null, null ).getViolations( licenseMap ).isEmpty() );
+    }
+
+    private static MavenProject newProject( String artifactId )
+    {
+        Model model = new Model();
+        model.setGroupId( "org.example" );
+        model.setArtifactId( artifactId );
+        model.setVersion( "1.0" );
+        MavenProject project = new MavenProject( model );
+        project.setArtifact( new DefaultArtifact( "org.example", artifactId, "1.0", "compile", "jar", null,
+                                                  new DefaultArtifactHandler( "jar" ) ) );
+        return project;
+    }
+}
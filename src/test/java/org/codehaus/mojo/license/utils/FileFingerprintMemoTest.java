@@ -0,0 +1,91 @@
+package org.codehaus.mojo.license.utils;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FileFingerprintMemoTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void memoizedValue() throws IOException
+    {
+        File memoFile = new File( folder.getRoot(), "memo/memo.properties" );
+        File file = newFile( "A.txt", "a" );
+
+        FileFingerprintMemo memo = FileFingerprintMemo.load( memoFile, "v1" );
+        Assert.assertNull( memo.get( file ) );
+        memo.put( file, FileFingerprint.of( file, null ), "some\tvalue" );
+        memo.store();
+
+        memo = FileFingerprintMemo.load( memoFile, "v1" );
+        FileFingerprintMemo.Entry entry = memo.get( file );
+        Assert.assertEquals( "some\tvalue", entry.getValue() );
+        Assert.assertEquals( FileUtil.sha1( file.toPath() ), entry.getFingerprint().getSha1() );
+
+        // another version discards the memo
+        Assert.assertNull( FileFingerprintMemo.load( memoFile, "v2" ).get( file ) );
+    }
+
+    @Test
+    public void touchedFileKeptWithItsNewTime() throws IOException
+    {
+        File memoFile = new File( folder.getRoot(), "memo.properties" );
+        File file = newFile( "A.txt", "a" );
+
+        FileFingerprintMemo memo = FileFingerprintMemo.load( memoFile, "v1" );
+        memo.put( file, FileFingerprint.of( file, null ), "value" );
+        memo.store();
+
+        Assert.assertTrue( file.setLastModified( file.lastModified() - 10000L ) );
+        memo = FileFingerprintMemo.load( memoFile, "v1" );
+        FileFingerprintMemo.Entry entry = memo.get( file );
+        Assert.assertEquals( "value", entry.getValue() );
+        Assert.assertSame( entry.getFingerprint(), entry.getFingerprint().check( file ) );
+        memo.store();
+
+        // a file recorded without reading it is recognized by its size and time
+        FileUtil.printString( file, "b", "UTF-8" );
+        Assert.assertTrue( file.setLastModified( file.lastModified() - 30000L ) );
+        memo = FileFingerprintMemo.load( memoFile, "v1" );
+        memo.put( file, FileFingerprint.ofMetadata( file ), "metadata" );
+        Assert.assertEquals( "metadata", memo.get( file ).getValue() );
+        Assert.assertNull( memo.get( file ).getFingerprint().getSha1() );
+    }
+
+    private File newFile( String name, String content ) throws IOException
+    {
+        File file = new File( folder.getRoot(), name );
+        FileUtil.printString( file, content, "UTF-8" );
+        Assert.assertTrue( file.setLastModified( file.lastModified() - 60000L ) );
+        return file;
+    }
+}
@@ -0,0 +1,139 @@
+package org.codehaus.mojo.license.utils;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FileUtilTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void writeAtomically() throws IOException
+    {
+        File file = new File( folder.getRoot(), "A.java" );
+        FileUtil.writeAtomically( file, bytes( "class A {}" ) );
+        Assert.assertEquals( "class A {}", read( file.toPath() ) );
+
+        FileUtil.writeAtomically( file, bytes( "class B {}" ) );
+        Assert.assertEquals( "class B {}", read( file.toPath() ) );
+        Assert.assertEquals( 1, folder.getRoot().list().length );
+    }
+
+    @Test
+    public void writeAtomicallyCreatesFileWithDefaultPermissions() throws IOException
+    {
+        Path plain = folder.newFile( "plain.java" ).toPath();
+        Assume.assumeTrue( Files.getFileStore( plain ).supportsFileAttributeView( PosixFileAttributeView.class ) );
+
+        File file = new File( folder.getRoot(), "A.java" );
+        FileUtil.writeAtomically( file, bytes( "class A {}" ) );
+
+        Assert.assertEquals( Files.getPosixFilePermissions( plain ),
+                             Files.getPosixFilePermissions( file.toPath() ) );
+    }
+
+    @Test
+    public void writeAtomicallyThroughSymbolicLink() throws IOException
+    {
+        Path target = folder.newFile( "A.java" ).toPath();
+        Files.write( target, bytes( "class A {}" ) );
+        Path link = folder.getRoot().toPath().resolve( "link.java" );
+        createSymbolicLink( link, target );
+
+        FileUtil.writeAtomically( link.toFile(), bytes( "class B {}" ) );
+
+        Assert.assertTrue( Files.isSymbolicLink( link ) );
+        Assert.assertEquals( target, Files.readSymbolicLink( link ) );
+        Assert.assertEquals( "class B {}", read( target ) );
+    }
+
+    @Test
+    public void writeAtomicallyThroughDanglingSymbolicLink() throws IOException
+    {
+        Path target = folder.getRoot().toPath().resolve( "A.java" );
+        Path link = folder.getRoot().toPath().resolve( "link.java" );
+        createSymbolicLink( link, target );
+
+        FileUtil.writeAtomically( link.toFile(), bytes( "class A {}" ) );
+
+        Assert.assertTrue( Files.isSymbolicLink( link ) );
+        Assert.assertEquals( "class A {}", read( target ) );
+    }
+
+    @Test
+    public void writeAtomicallyKeepsHardLinks() throws IOException
+    {
+        Path file = folder.newFile( "A.java" ).toPath();
+        Files.write( file, bytes( "class A {}" ) );
+        Path link = folder.getRoot().toPath().resolve( "link.java" );
+        try
+        {
+            Files.createLink( link, file );
+        }
+        catch ( IOException | UnsupportedOperationException e )
+        {
+            Assume.assumeNoException( e );
+        }
+
+        FileUtil.writeAtomically( link.toFile(), bytes( "class B {}" ) );
+
+        Assert.assertEquals( "class B {}", read( file ) );
+        Assert.assertEquals( "class B {}", read( link ) );
+    }
+
+    private static void createSymbolicLink( Path link, Path target ) throws IOException
+    {
+        try
+        {
+            Files.createSymbolicLink( link, target );
+        }
+        catch ( IOException | UnsupportedOperationException e )
+        {
+            // e.g. on Windows without the required privilege
+            Assume.assumeNoException( e );
+        }
+    }
+
+    private static byte[] bytes( String content )
+    {
+        return content.getBytes( StandardCharsets.UTF_8 );
+    }
+
+    private static String read( Path file ) throws IOException
+    {
+        return new String( Files.readAllBytes( file ), StandardCharsets.UTF_8 );
+    }
+}
@@ -0,0 +1,171 @@
+package org.codehaus.mojo.license.utils;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.Logger;
+
+public class OrderedTasksTest
+{
+    private final ExecutorService executor = Executors.newFixedThreadPool( 4 );
+
+    @After
+    public void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void logsInSubmissionOrder() throws IOException
+    {
+        List<String> messages = Collections.synchronizedList( new ArrayList<String>() );
+        final AtomicInteger nbDone = new AtomicInteger();
+        final Random random = new Random( 42 );
+        OrderedTasks tasks = new OrderedTasks( newLogger( messages ), executor, 8 );
+        for ( int i = 0; i < 100; i++ )
+        {
+            final int index = i;
+            final int delay = random.nextInt( 3 );
+            tasks.submit( new OrderedTasks.Task()
+            {
+                @Override
+                public void run( DeferredLogger log )
+                {
+                    log.info( "start {}", index );
+                    sleep( delay );
+                    log.info( "end {}", index );
+                    nbDone.incrementAndGet();
+                }
+            } );
+        }
+        tasks.awaitAll();
+
+        Assert.assertEquals( 100, nbDone.get() );
+        List<String> expected = new ArrayList<>();
+        for ( int i = 0; i < 100; i++ )
+        {
+            expected.add( "start " + i );
+            expected.add( "end " + i );
+        }
+        Assert.assertEquals( expected, messages );
+    }
+
+    @Test
+    public void failureIsRethrownAfterOlderLogs()
+    {
+        List<String> messages = Collections.synchronizedList( new ArrayList<String>() );
+        OrderedTasks tasks = new OrderedTasks( newLogger( messages ), executor, 8 );
+        try
+        {
+            for ( int i = 0; i < 4; i++ )
+            {
+                final int index = i;
+                tasks.submit( new OrderedTasks.Task()
+                {
+                    @Override
+                    public void run( DeferredLogger log ) throws IOException
+                    {
+                        log.info( "task {}", index );
+                        if ( index == 2 )
+                        {
+                            throw new IOException( "failure " + index );
+                        }
+                    }
+                } );
+            }
+            tasks.awaitAll();
+            Assert.fail( "the failure of the task should be rethrown" );
+        }
+        catch ( IOException e )
+        {
+            Assert.assertEquals( "failure 2", e.getMessage() );
+        }
+        Assert.assertEquals( "task 0", messages.get( 0 ) );
+        Assert.assertEquals( "task 1", messages.get( 1 ) );
+        Assert.assertEquals( "task 2", messages.get( 2 ) );
+    }
+
+    @Test
+    public void runsInCurrentThreadWithoutExecutor() throws IOException
+    {
+        List<String> messages = new ArrayList<>();
+        final Thread thread = Thread.currentThread();
+        OrderedTasks tasks = new OrderedTasks( newLogger( messages ), null, 0 );
+        tasks.submit( new OrderedTasks.Task()
+        {
+            @Override
+            public void run( DeferredLogger log )
+            {
+                log.info( "same thread {}", Thread.currentThread() == thread );
+            }
+        } );
+        Assert.assertEquals( Collections.singletonList( "same thread true" ), messages );
+    }
+
+    /**
+     * @return a logger recording the messages logged at info level into the given list
+     */
+    static Logger newLogger( final List<String> messages )
+    {
+        return (Logger) Proxy.newProxyInstance( Logger.class.getClassLoader(), new Class<?>[] { Logger.class },
+                new InvocationHandler()
+                {
+                    @Override
+                    public Object invoke( Object proxy, Method method, Object[] args )
+                    {
+                        if ( "info".equals( method.getName() ) )
+                        {
+                            messages.add( (String) args[0] );
+                        }
+                        return method.getReturnType() == boolean.class ? Boolean.FALSE : null;
+                    }
+                } );
+    }
+
+    private static void sleep( int millis )
+    {
+        try
+        {
+            TimeUnit.MILLISECONDS.sleep( millis );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
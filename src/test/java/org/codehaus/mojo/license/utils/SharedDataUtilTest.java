@@ -0,0 +1,86 @@
+package org.codehaus.mojo.license.utils;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SharedDataUtilTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void sessionValueCreatedOnce()
+    {
+        final int[] created = new int[1];
+        SharedDataUtil.ValueFactory<Object> factory = new SharedDataUtil.ValueFactory<Object>()
+        {
+            @Override
+            public Object create()
+            {
+                created[0]++;
+                return new Object();
+            }
+        };
+        DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+        Object value = SharedDataUtil.getSessionValue( session, SharedDataUtilTest.class, factory );
+        Assert.assertSame( value, SharedDataUtil.getSessionValue( session, SharedDataUtilTest.class, factory ) );
+        Assert.assertEquals( 1, created[0] );
+        Assert.assertNotSame( value, SharedDataUtil.getSessionValue( new DefaultRepositorySystemSession(),
+                                                                     SharedDataUtilTest.class, factory ) );
+    }
+
+    @Test
+    public void mergedWithStoredProperties() throws IOException
+    {
+        File file = new File( folder.getRoot(), "dir/data.properties" );
+        File lockFile = new File( folder.getRoot(), "dir/.lock" );
+        SharedDataUtil.mergeProperties( file, lockFile, new SharedDataUtil.PropertiesMerger()
+        {
+            @Override
+            public void merge( SortedProperties stored )
+            {
+                Assert.assertTrue( stored.isEmpty() );
+                stored.setProperty( "a", "1" );
+            }
+        } );
+        SortedProperties merged = SharedDataUtil.mergeProperties( file, lockFile, new SharedDataUtil.PropertiesMerger()
+        {
+            @Override
+            public void merge( SortedProperties stored )
+            {
+                Assert.assertEquals( "1", stored.getProperty( "a" ) );
+                stored.setProperty( "b", "2" );
+            }
+        } );
+        Assert.assertEquals( 2, merged.size() );
+        Assert.assertEquals( merged, new SortedProperties( "UTF-8" ).load( file ) );
+    }
+}
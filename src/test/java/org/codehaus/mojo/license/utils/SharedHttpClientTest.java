@@ -0,0 +1,94 @@
+package org.codehaus.mojo.license.utils;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import org.apache.maven.execution.AbstractExecutionListener;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.ExecutionEvent;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.settings.Proxy;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SharedHttpClientTest
+{
+    @Test
+    public void sessionScoped()
+    {
+        MavenSession session = newSession();
+        SharedHttpClient clients = SharedHttpClient.forSession( session );
+        Assert.assertSame( clients, SharedHttpClient.forSession( session ) );
+        Assert.assertNotSame( clients, SharedHttpClient.forSession( newSession() ) );
+    }
+
+    @Test
+    public void closedWhenTheSessionEnds()
+    {
+        final int[] ended = new int[1];
+        MavenSession session = newSession();
+        session.getRequest().setExecutionListener( new AbstractExecutionListener()
+        {
+            @Override
+            public void sessionEnded( ExecutionEvent event )
+            {
+                ended[0]++;
+            }
+        } );
+        SharedHttpClient clients = SharedHttpClient.forSession( session );
+        SharedHttpClient.forSession( session );
+
+        session.getRequest().getExecutionListener().sessionEnded( null );
+        Assert.assertEquals( 1, ended[0] );
+        Assert.assertNull( session.getRepositorySession().getData().get( SharedHttpClient.class ) );
+        Assert.assertNotSame( clients, SharedHttpClient.forSession( session ) );
+    }
+
+    @Test
+    public void clientByProxy()
+    {
+        SharedHttpClient clients = new SharedHttpClient();
+        Proxy proxy = newProxy( "proxy1" );
+        Assert.assertSame( clients.getDefaultClient( proxy ), clients.getDefaultClient( newProxy( "proxy1" ) ) );
+        Assert.assertNotSame( clients.getDefaultClient( proxy ), clients.getDefaultClient( newProxy( "proxy2" ) ) );
+        Assert.assertNotSame( clients.getDefaultClient( proxy ), clients.getDefaultClient( null ) );
+        Assert.assertNotSame( clients.getDefaultClient( proxy ), clients.getClient( proxy, 1000, 1000, 1000 ) );
+    }
+
+    private static MavenSession newSession()
+    {
+        return new MavenSession( null, new DefaultRepositorySystemSession(), new DefaultMavenExecutionRequest(),
+                                 new DefaultMavenExecutionResult() );
+    }
+
+    private static Proxy newProxy( String host )
+    {
+        Proxy proxy = new Proxy();
+        proxy.setHost( host );
+        proxy.setPort( 3128 );
+        proxy.setUsername( "user" );
+        proxy.setPassword( "secret" );
+        return proxy;
+    }
+}
@@ -0,0 +1,108 @@
+package org.codehaus.mojo.license.utils;
+
+/*
+ * #%L
+ * License Maven Plugin
+ * %%
+ * Copyright (C) 2020 Smartlogic
+ * %%
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU General Lesser Public
+ * License along with this program.  If not, see
+ * <http://www.gnu.org/licenses/lgpl-3.0.html>.
+ * #L%
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class UrlContentCacheTest
+{
+    private static final String URL = "https://example.com/missing.properties";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void contentsAreReusedDuringTheBuild()
+    {
+        UrlContentCache cache = new UrlContentCache( null, 0L );
+        Assert.assertNull( cache.get( URL ) );
+
+        UrlContentCache.Entry entry = newEntry( "a=b", 0L );
+        cache.put( URL, entry );
+        Assert.assertSame( entry, cache.get( URL ) );
+        Assert.assertTrue( cache.isFresh( URL, entry ) );
+        Assert.assertEquals( "a=b", entry.getContent( StandardCharsets.UTF_8 ) );
+    }
+
+    @Test
+    public void storedContentsAreRevalidatedOnceExpired() throws IOException
+    {
+        long ttl = TimeUnit.HOURS.toMillis( 1 );
+        new UrlContentCache( folder.getRoot(), ttl ).put( URL, newEntry( "a=b", System.currentTimeMillis() ) );
+
+        UrlContentCache cache = new UrlContentCache( folder.getRoot(), ttl );
+        UrlContentCache.Entry entry = cache.get( URL );
+        Assert.assertEquals( "a=b", entry.getContent( StandardCharsets.UTF_8 ) );
+        Assert.assertEquals( "\"v1\"", entry.getEtag() );
+        Assert.assertTrue( cache.isFresh( URL, entry ) );
+
+        new UrlContentCache( folder.getRoot(), ttl ).put( URL, newEntry( "a=b", 0L ) );
+        cache = new UrlContentCache( folder.getRoot(), ttl );
+        entry = cache.get( URL );
+        Assert.assertFalse( cache.isFresh( URL, entry ) );
+
+        // revalidated during this build
+        entry = entry.revalidated( System.currentTimeMillis() );
+        cache.put( URL, entry );
+        Assert.assertTrue( cache.isFresh( URL, entry ) );
+    }
+
+    @Test
+    public void eachCacheOfASessionKeepsItsOwnConfiguration() throws IOException
+    {
+        MavenSession session = new MavenSession( null, new DefaultRepositorySystemSession(),
+                                                 new DefaultMavenExecutionRequest(),
+                                                 new DefaultMavenExecutionResult() );
+        File directory = folder.newFolder();
+        UrlContentCache stored = UrlContentCache.forSession( session, null, directory, TimeUnit.HOURS.toMillis( 1 ) );
+        UrlContentCache notStored = UrlContentCache.forSession( session, null, null, 0L );
+
+        UrlContentCache.Entry entry = newEntry( "a=b", 0L );
+        notStored.put( URL, entry );
+        Assert.assertSame( entry, stored.get( URL ) );
+        Assert.assertTrue( notStored.isFresh( URL, entry ) );
+        Assert.assertEquals( 0, directory.list().length );
+
+        stored.put( URL, entry );
+        Assert.assertNotEquals( 0, directory.list().length );
+        Assert.assertNotNull( new UrlContentCache( directory, 0L ).get( URL ) );
+    }
+
+    private static UrlContentCache.Entry newEntry( String content, long fetched )
+    {
+        return new UrlContentCache.Entry( content.getBytes( StandardCharsets.UTF_8 ), "UTF-8", "\"v1\"", null,
+                fetched );
+    }
+}